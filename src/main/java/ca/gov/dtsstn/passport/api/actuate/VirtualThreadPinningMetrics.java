@@ -0,0 +1,68 @@
+package ca.gov.dtsstn.passport.api.actuate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Records the JFR {@code jdk.VirtualThreadPinned} event (a virtual thread that blocked while pinned to its carrier
+ * thread for at least {@code threshold}) as the {@code jvm.threads.virtual.pinned} timer. The top frame of each pinned
+ * stack is logged at {@code DEBUG}, to help track down the offending {@code synchronized} block.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public class VirtualThreadPinningMetrics implements MeterBinder, AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMetrics.class);
+
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+	private final Duration threshold;
+
+	@Nullable
+	private RecordingStream recordingStream;
+
+	public VirtualThreadPinningMetrics(Duration threshold) {
+		Assert.notNull(threshold, "threshold is required; it must not be null");
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry meterRegistry) {
+		final var pinned = Timer.builder("jvm.threads.virtual.pinned")
+			.description("Time that virtual threads spent blocked while pinned to their carrier thread")
+			.register(meterRegistry);
+
+		this.recordingStream = new RecordingStream();
+		recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+		recordingStream.setMaxAge(Duration.ofMinutes(1));
+		recordingStream.onEvent(PINNED_EVENT, event -> {
+			pinned.record(event.getDuration());
+			if (log.isDebugEnabled()) { log.debug("Virtual thread was pinned for {} at {}", event.getDuration(), topFrame(event)); }
+		});
+		recordingStream.startAsync();
+	}
+
+	@Override
+	public void close() {
+		if (recordingStream != null) { recordingStream.close(); }
+	}
+
+	private static String topFrame(RecordedEvent event) {
+		return Optional.ofNullable(event.getStackTrace())
+			.flatMap(stackTrace -> stackTrace.getFrames().stream().findFirst())
+			.map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+			.orElse("<unknown>");
+	}
+
+}
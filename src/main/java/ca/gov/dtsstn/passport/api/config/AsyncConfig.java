@@ -1,24 +1,101 @@
 package ca.gov.dtsstn.passport.api.config;
 
+import java.util.concurrent.Executor;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
 
+import ca.gov.dtsstn.passport.api.config.async.RejectionPolicyHandler;
+import ca.gov.dtsstn.passport.api.config.properties.AsyncProperties;
+import ca.gov.dtsstn.passport.api.config.properties.AsyncProperties.ExecutorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 
 /**
+ * Configures a bounded executor per event listener class, plus a default executor for every other {@code @Async}
+ * method. Executor metrics ({@code executor.*}, tagged with the bean name) are bound by Spring Boot's actuator.
+ * <p>
+ * When virtual threads are enabled ({@code spring.threads.virtual.enabled}), the executors run their tasks on virtual
+ * threads, but keep their pool sizes, bounded queues and rejection policies.
+ *
  * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
  */
 @EnableAsync
 @Configuration
-public class AsyncConfig {
+public class AsyncConfig implements AsyncConfigurer {
+
+	public static final String NOTIFICATION_EVENT_EXECUTOR = "notificationEventExecutor";
+
+	public static final String PASSPORT_STATUS_EVENT_EXECUTOR = "passportStatusEventExecutor";
+
+	public static final String TASK_EXECUTOR = "asyncTaskExecutor";
 
 	private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
 
+	private final AsyncProperties asyncProperties;
+
+	private final Environment environment;
+
+	private final MeterRegistry meterRegistry;
+
+	public AsyncConfig(AsyncProperties asyncProperties, Environment environment, MeterRegistry meterRegistry) {
+		Assert.notNull(asyncProperties, "asyncProperties is required; it must not be null");
+		Assert.notNull(environment, "environment is required; it must not be null");
+		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
+		this.asyncProperties = asyncProperties;
+		this.environment = environment;
+		this.meterRegistry = meterRegistry;
+	}
+
 	@PostConstruct
 	public void postConstruct() {
-		log.info("Enabled async processing");
+		log.info("Enabled async processing (virtual threads: {})", Threading.VIRTUAL.isActive(environment));
+	}
+
+	@Override
+	public Executor getAsyncExecutor() {
+		return asyncTaskExecutor();
+	}
+
+	@Bean(NOTIFICATION_EVENT_EXECUTOR) ThreadPoolTaskExecutor notificationEventExecutor() {
+		log.info("Creating '{}' bean", NOTIFICATION_EVENT_EXECUTOR);
+		return threadPoolTaskExecutor(NOTIFICATION_EVENT_EXECUTOR, "notification-event-", asyncProperties.notificationEvents());
+	}
+
+	@Bean(PASSPORT_STATUS_EVENT_EXECUTOR) ThreadPoolTaskExecutor passportStatusEventExecutor() {
+		log.info("Creating '{}' bean", PASSPORT_STATUS_EVENT_EXECUTOR);
+		return threadPoolTaskExecutor(PASSPORT_STATUS_EVENT_EXECUTOR, "passport-status-event-", asyncProperties.passportStatusEvents());
+	}
+
+	@Bean(TASK_EXECUTOR) ThreadPoolTaskExecutor asyncTaskExecutor() {
+		log.info("Creating '{}' bean", TASK_EXECUTOR);
+		return threadPoolTaskExecutor(TASK_EXECUTOR, "async-task-", asyncProperties.tasks());
+	}
+
+	/**
+	 * Creates an executor with a bounded queue, running its tasks on virtual threads if they are enabled. Queued tasks
+	 * are allowed to complete on shutdown so that audit events raised just before shutdown are not lost.
+	 */
+	private ThreadPoolTaskExecutor threadPoolTaskExecutor(String name, String threadNamePrefix, ExecutorProperties executorProperties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(executorProperties.corePoolSize());
+		executor.setMaxPoolSize(Math.max(executorProperties.corePoolSize(), executorProperties.maxPoolSize()));
+		executor.setQueueCapacity(executorProperties.queueCapacity());
+		executor.setKeepAliveSeconds((int) executorProperties.keepAlive().toSeconds());
+		executor.setRejectedExecutionHandler(new RejectionPolicyHandler(name, executorProperties.rejectionPolicy(), executorProperties.samplingRate(), meterRegistry));
+		executor.setThreadNamePrefix(threadNamePrefix);
+		if (Threading.VIRTUAL.isActive(environment)) { executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 1).factory()); }
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(10);
+		return executor;
 	}
 
 }
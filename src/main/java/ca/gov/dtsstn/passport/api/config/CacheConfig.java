@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import ca.gov.dtsstn.passport.api.config.cache.CaffeineCacheFactory;
+import ca.gov.dtsstn.passport.api.service.search.PassportStatusSearchCache;
 
 /**
  * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
@@ -26,6 +27,17 @@ public class CacheConfig {
 		return new CaffeineCacheFactory("esrf-emails");
 	}
 
+	/**
+	 * Only created when {@code application.caching.caches.passport-status-searches.enabled} is set, since evictions
+	 * only see writes made by this instance (see {@link PassportStatusSearchCache}).
+	 */
+	@ConfigurationProperties("application.caching.caches.passport-status-searches")
+	@ConditionalOnProperty(name = { "application.caching.caches.passport-status-searches.enabled" })
+	@Bean CaffeineCacheFactory passportStatusSearchesCache() {
+		log.info("Creating 'passportStatusSearchesCache' bean");
+		return new CaffeineCacheFactory("passport-status-searches");
+	}
+
 	@ConfigurationProperties("application.caching.caches.source-codes")
 	@Bean CaffeineCacheFactory sourceCodesCache() {
 		log.info("Creating 'sourceCodesCache' bean");
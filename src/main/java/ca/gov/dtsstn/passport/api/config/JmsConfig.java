@@ -4,11 +4,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
 import org.springframework.jms.support.converter.MessageConverter;
-import org.springframework.jms.support.converter.MessageType;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import ca.gov.dtsstn.passport.api.config.jms.ArtemisJournalCustomizer;
+import ca.gov.dtsstn.passport.api.config.jms.JacksonBinaryMessageConverter;
+import ca.gov.dtsstn.passport.api.config.properties.JmsProperties;
 
 /**
  * @author Sébastien Comeau (sebastien.comeau@hrsdc-rhdcc.gc.ca)
@@ -18,16 +18,17 @@ public class JmsConfig {
 
 	private static final Logger log = LoggerFactory.getLogger(JmsConfig.class);
 
-	@Bean MessageConverter jacksonJmsMessageConverter() {
-		log.info("Creating 'jacksonJmsMessageConverter' bean");
+	@Bean ArtemisJournalCustomizer artemisJournalCustomizer(JmsProperties jmsProperties) {
+		log.info("Creating 'artemisJournalCustomizer' bean");
+		return new ArtemisJournalCustomizer(jmsProperties.broker(), jmsProperties.destination().passportStatus());
+	}
 
-		final var objectMapper = new ObjectMapper();
-		objectMapper.findAndRegisterModules();
+	@Bean MessageConverter jacksonJmsMessageConverter(JmsProperties jmsProperties) {
+		log.info("Creating 'jacksonJmsMessageConverter' bean");
 
-		final var converter = new MappingJackson2MessageConverter();
-		converter.setTargetType(MessageType.TEXT);
+		final var messageProperties = jmsProperties.message();
+		final var converter = new JacksonBinaryMessageConverter(messageProperties.format(), messageProperties.compressionThreshold());
 		converter.setTypeIdPropertyName("_type");
-		converter.setObjectMapper(objectMapper);
 		return converter;
 	}
 
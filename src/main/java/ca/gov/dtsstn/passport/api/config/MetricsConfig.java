@@ -1,10 +1,15 @@
 package ca.gov.dtsstn.passport.api.config;
 
+import java.time.Duration;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import ca.gov.dtsstn.passport.api.actuate.VirtualThreadPinningMetrics;
 import io.micrometer.core.aop.CountedAspect;
 import io.micrometer.core.aop.TimedAspect;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -22,6 +27,12 @@ public class MetricsConfig {
 		return new CountedAspect(meterRegstry);
 	}
 
+	@ConditionalOnThreading(Threading.VIRTUAL)
+	@Bean VirtualThreadPinningMetrics virtualThreadPinningMetrics() {
+		log.info("Creating 'virtualThreadPinningMetrics' bean");
+		return new VirtualThreadPinningMetrics(Duration.ofMillis(20));
+	}
+
 	@Bean TimedAspect timedAspect(MeterRegistry meterRegstry) {
 		log.info("Creating 'timedAspect' bean");
 		return new TimedAspect(meterRegstry);
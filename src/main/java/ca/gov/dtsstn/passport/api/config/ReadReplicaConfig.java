@@ -0,0 +1,72 @@
+package ca.gov.dtsstn.passport.api.config;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.Assert;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import ca.gov.dtsstn.passport.api.config.properties.ReadReplicaProperties;
+import ca.gov.dtsstn.passport.api.data.ReadReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured {@link DataSource} with one that routes {@code @Transactional(readOnly = true)} work to
+ * a read replica. The primary and replica each get their own connection pool (and pool metrics).
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Configuration
+@ConditionalOnProperty({ "application.read-replica.enabled" })
+public class ReadReplicaConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+	@FlywayDataSource
+	@ConfigurationProperties("spring.datasource.hikari")
+	@Bean HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+		log.info("Creating 'primaryDataSource' bean");
+		final var dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@ConfigurationProperties("application.read-replica.hikari")
+	@Bean HikariDataSource replicaDataSource(ReadReplicaProperties readReplicaProperties) {
+		log.info("Creating 'replicaDataSource' bean");
+		Assert.hasText(readReplicaProperties.url(), "application.read-replica.url is required when the read replica is enabled");
+
+		final var dataSource = DataSourceBuilder.create()
+			.type(HikariDataSource.class)
+			.url(readReplicaProperties.url())
+			.username(readReplicaProperties.username())
+			.password(readReplicaProperties.password())
+			.build();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean ReadReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource, MeterRegistry meterRegistry, ReadReplicaProperties readReplicaProperties) {
+		log.info("Creating 'routingDataSource' bean");
+		return new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readReplicaProperties.maxLag(), readReplicaProperties.lagQuery(), meterRegistry);
+	}
+
+	@Primary
+	@Bean DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+		log.info("Creating 'dataSource' bean");
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+
+}
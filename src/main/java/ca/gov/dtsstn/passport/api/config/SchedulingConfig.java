@@ -0,0 +1,24 @@
+package ca.gov.dtsstn.passport.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@EnableScheduling
+@Configuration
+public class SchedulingConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(SchedulingConfig.class);
+
+	@PostConstruct
+	public void postConstruct() {
+		log.info("Enabled scheduled processing");
+	}
+
+}
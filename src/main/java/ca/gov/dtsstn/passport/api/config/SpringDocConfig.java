@@ -45,6 +45,7 @@ public class SpringDocConfig {
 		public static final String BAD_REQUEST_ERROR = "BadRequestError";
 		public static final String INTERNAL_SERVER_ERROR = "InternalServerError";
 		public static final String RESOURCE_NOT_FOUND_ERROR = "ResourceNotFoundError";
+		public static final String SERVICE_UNAVAILABLE_ERROR = "ServiceUnavailableError";
 		public static final String UNPROCESSABLE_ENTITY_ERROR = "UnprocessableEntityError";
 	}
 
@@ -96,6 +97,7 @@ public class SpringDocConfig {
 			openApi.getComponents().addExamples(ExampleRefs.BAD_REQUEST_ERROR, generateExample(null, "API-0400", "The the server cannot or will not process the request due to something that is perceived to be a client error.", "$.CertificateApplication.CertificateApplicationApplicant.PersonName.PersonGivenName[0]", "400", "Bad request"));
 			openApi.getComponents().addExamples(ExampleRefs.INTERNAL_SERVER_ERROR, generateExample("00000000-0000-0000-0000-000000000000", "API-0500", "An unexpected error has occurred.", null, "500", "Internal server error"));
 			openApi.getComponents().addExamples(ExampleRefs.RESOURCE_NOT_FOUND_ERROR, generateExample(null, "API-0404", "The requested resource was not found or the user does not have access to the resource.", null, "404", "Not found"));
+			openApi.getComponents().addExamples(ExampleRefs.SERVICE_UNAVAILABLE_ERROR, generateExample(null, "API-0503", "The server is temporarily unable to handle the request; please retry after the delay given by the Retry-After header.", null, "503", "Service unavailable"));
 			openApi.getComponents().addExamples(ExampleRefs.UNPROCESSABLE_ENTITY_ERROR, generateExample(null, "API-0422", "The server understands the request, but is unable to process it.", null, "422", "Unprocessable entity"));
 		};
 	}
@@ -0,0 +1,91 @@
+package ca.gov.dtsstn.passport.api.config.async;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import ca.gov.dtsstn.passport.api.config.properties.AsyncProperties.RejectionPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A {@link RejectedExecutionHandler} that applies a {@link RejectionPolicy} to tasks rejected by a saturated (or shut
+ * down) executor, counting each rejected task in {@code executor.rejected} (tagged with the executor name and the
+ * outcome: {@code caller_runs}, {@code sampled} or {@code dropped}).
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public class RejectionPolicyHandler implements RejectedExecutionHandler {
+
+	private static final Logger log = LoggerFactory.getLogger(RejectionPolicyHandler.class);
+
+	private final String name;
+
+	private final RejectionPolicy rejectionPolicy;
+
+	private final double samplingRate;
+
+	private final Counter callerRunsCounter;
+
+	private final Counter droppedCounter;
+
+	private final Counter sampledCounter;
+
+	public RejectionPolicyHandler(String name, RejectionPolicy rejectionPolicy, double samplingRate, MeterRegistry meterRegistry) {
+		Assert.hasText(name, "name is required; it must not be null or blank");
+		Assert.notNull(rejectionPolicy, "rejectionPolicy is required; it must not be null");
+		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
+		this.name = name;
+		this.rejectionPolicy = rejectionPolicy;
+		this.samplingRate = samplingRate;
+
+		this.callerRunsCounter = rejectedCounter(meterRegistry, name, "caller_runs");
+		this.droppedCounter = rejectedCounter(meterRegistry, name, "dropped");
+		this.sampledCounter = rejectedCounter(meterRegistry, name, "sampled");
+	}
+
+	@Override
+	public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+		if (executor.isShutdown()) {
+			log.warn("Executor [{}] is shut down; dropping task", name);
+			droppedCounter.increment();
+			return;
+		}
+
+		switch (rejectionPolicy) {
+			case CALLER_RUNS -> {
+				callerRunsCounter.increment();
+				task.run();
+			}
+
+			case DROP -> {
+				log.debug("Executor [{}] is saturated; dropping task", name);
+				droppedCounter.increment();
+			}
+
+			case SAMPLE -> {
+				if (ThreadLocalRandom.current().nextDouble() < samplingRate) {
+					sampledCounter.increment();
+					task.run();
+				}
+				else {
+					log.debug("Executor [{}] is saturated; dropping unsampled task", name);
+					droppedCounter.increment();
+				}
+			}
+		}
+	}
+
+	private static Counter rejectedCounter(MeterRegistry meterRegistry, String name, String outcome) {
+		return Counter.builder("executor.rejected")
+			.description("The number of tasks rejected by a saturated executor, by outcome")
+			.tag("name", name)
+			.tag("outcome", outcome)
+			.register(meterRegistry);
+	}
+
+}
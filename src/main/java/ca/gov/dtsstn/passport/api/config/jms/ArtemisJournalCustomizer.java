@@ -0,0 +1,71 @@
+package ca.gov.dtsstn.passport.api.config.jms;
+
+import java.nio.file.Path;
+
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jms.artemis.ArtemisConfigurationCustomizer;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import ca.gov.dtsstn.passport.api.config.properties.JmsProperties.BrokerProperties;
+
+/**
+ * Configures the embedded broker's journal and the paging of the passport status address.
+ * <p>
+ * When the broker is persistent, messages are written to a file journal (memory-mapped or NIO) under
+ * {@code dataDirectory}, so messages that were accepted but not yet consumed survive a restart. Regardless of
+ * persistence, once the passport status address holds more than {@code maxSize} of messages, further messages are paged
+ * to disk (also under {@code dataDirectory}) in {@code pageSize} files rather than held on the heap.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public class ArtemisJournalCustomizer implements ArtemisConfigurationCustomizer {
+
+	private static final Logger log = LoggerFactory.getLogger(ArtemisJournalCustomizer.class);
+
+	private final BrokerProperties brokerProperties;
+
+	private final String address;
+
+	public ArtemisJournalCustomizer(BrokerProperties brokerProperties, String address) {
+		Assert.notNull(brokerProperties, "brokerProperties is required; it must not be null");
+		Assert.hasText(address, "address is required; it must not be null or blank");
+		this.brokerProperties = brokerProperties;
+		this.address = address;
+	}
+
+	@Override
+	public void customize(Configuration configuration) {
+		// (spring boot only sets the bindings, large message and paging directories for a persistent broker)
+		final var dataDirectory = StringUtils.hasText(brokerProperties.dataDirectory())
+			? Path.of(brokerProperties.dataDirectory())
+			: Path.of(configuration.getJournalDirectory()).toAbsolutePath().getParent();
+
+		configuration.setBindingsDirectory(dataDirectory.resolve("bindings").toString());
+		configuration.setJournalDirectory(dataDirectory.resolve("journal").toString());
+		configuration.setLargeMessagesDirectory(dataDirectory.resolve("largemessages").toString());
+		configuration.setPagingDirectory(dataDirectory.resolve("paging").toString());
+
+		if (brokerProperties.persistent()) {
+			configuration.setPersistenceEnabled(true);
+			configuration.setJournalType(brokerProperties.journalType());
+			configuration.setJournalDatasync(brokerProperties.journalDatasync());
+			configuration.setJournalSyncTransactional(brokerProperties.journalSyncTransactional());
+			configuration.setJournalSyncNonTransactional(brokerProperties.journalSyncNonTransactional());
+			configuration.setJournalFileSize(Math.toIntExact(brokerProperties.journalFileSize().toBytes()));
+			configuration.setJournalMinFiles(brokerProperties.journalMinFiles());
+
+			log.info("Embedded broker is persistent; using a {} journal in [{}]", brokerProperties.journalType(), configuration.getJournalDirectory());
+		}
+
+		configuration.addAddressSetting(address, new AddressSettings()
+			.setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE)
+			.setMaxSizeBytes(brokerProperties.maxSize().toBytes())
+			.setPageSizeBytes(Math.toIntExact(brokerProperties.pageSize().toBytes())));
+	}
+
+}
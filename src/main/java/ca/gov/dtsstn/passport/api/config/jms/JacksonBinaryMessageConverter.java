@@ -0,0 +1,145 @@
+package ca.gov.dtsstn.passport.api.config.jms;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageType;
+import org.springframework.util.Assert;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+
+/**
+ * A {@link MappingJackson2MessageConverter} that writes messages in a compact binary format (Smile or CBOR) as
+ * {@link BytesMessage}s, gzipping any payload at least {@code compressionThreshold} in size.
+ * <p>
+ * The format and compression of each message are recorded in its {@value #CONTENT_TYPE_PROPERTY} and
+ * {@value #CONTENT_ENCODING_PROPERTY} properties, so any message can be read regardless of the configured format. In
+ * particular, JSON {@link TextMessage}s written before the binary format was enabled are still read as before.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public class JacksonBinaryMessageConverter extends MappingJackson2MessageConverter {
+
+	public static final String CONTENT_ENCODING_PROPERTY = "_contentEncoding";
+
+	public static final String CONTENT_TYPE_PROPERTY = "_contentType";
+
+	public static final String GZIP_CONTENT_ENCODING = "gzip";
+
+	public enum Format {
+
+		CBOR("application/cbor", CBORMapper::new),
+		JSON("application/json", ObjectMapper::new),
+		SMILE("application/x-jackson-smile", SmileMapper::new);
+
+		private final String contentType;
+
+		private final Supplier<ObjectMapper> objectMapperFactory;
+
+		Format(String contentType, Supplier<ObjectMapper> objectMapperFactory) {
+			this.contentType = contentType;
+			this.objectMapperFactory = objectMapperFactory;
+		}
+
+		public String getContentType() {
+			return contentType;
+		}
+
+		public static Format fromContentType(String contentType) {
+			return Arrays.stream(values())
+				.filter(format -> format.contentType.equals(contentType))
+				.findFirst().orElseThrow(() -> new MessageConversionException("Unsupported message content type [" + contentType + "]"));
+		}
+
+	}
+
+	private final Format format;
+
+	private final long compressionThreshold;
+
+	private final Map<Format, ObjectMapper> objectMappers = new EnumMap<>(Format.class);
+
+	public JacksonBinaryMessageConverter(Format format, DataSize compressionThreshold) {
+		Assert.notNull(format, "format is required; it must not be null");
+		Assert.notNull(compressionThreshold, "compressionThreshold is required; it must not be null");
+		this.format = format;
+		this.compressionThreshold = compressionThreshold.toBytes();
+
+		for (final var value : Format.values()) {
+			objectMappers.put(value, value.objectMapperFactory.get().findAndRegisterModules());
+		}
+
+		super.setObjectMapper(objectMappers.get(format));
+		super.setTargetType(format == Format.JSON ? MessageType.TEXT : MessageType.BYTES);
+	}
+
+	@Override
+	protected BytesMessage mapToBytesMessage(Object object, Session session, ObjectWriter objectWriter) throws JMSException, IOException {
+		final var bytes = objectWriter.writeValueAsBytes(object);
+		final var message = session.createBytesMessage();
+		message.setStringProperty(CONTENT_TYPE_PROPERTY, format.getContentType());
+
+		if (bytes.length >= compressionThreshold) {
+			message.setStringProperty(CONTENT_ENCODING_PROPERTY, GZIP_CONTENT_ENCODING);
+			message.writeBytes(gzip(bytes));
+		}
+		else {
+			message.writeBytes(bytes);
+		}
+
+		return message;
+	}
+
+	/**
+	 * Reads a {@link BytesMessage} in whatever format it was written. Messages without a {@value #CONTENT_TYPE_PROPERTY}
+	 * property are assumed to be (UTF-8) JSON.
+	 */
+	@Override
+	protected Object convertFromBytesMessage(BytesMessage message, JavaType targetJavaType) throws JMSException, IOException {
+		final var contentType = message.getStringProperty(CONTENT_TYPE_PROPERTY);
+		final var contentEncoding = message.getStringProperty(CONTENT_ENCODING_PROPERTY);
+		final var objectMapper = objectMappers.get(contentType == null ? Format.JSON : Format.fromContentType(contentType));
+
+		final var bytes = new byte[(int) message.getBodyLength()];
+		message.readBytes(bytes);
+
+		if (contentEncoding == null) { return objectMapper.readValue(bytes, targetJavaType); }
+		if (GZIP_CONTENT_ENCODING.equals(contentEncoding)) { return objectMapper.readValue(gunzip(bytes), targetJavaType); }
+		throw new MessageConversionException("Unsupported message content encoding [" + contentEncoding + "]");
+	}
+
+	@Override
+	protected Object convertFromTextMessage(TextMessage message, JavaType targetJavaType) throws JMSException, IOException {
+		return objectMappers.get(Format.JSON).readValue(message.getText(), targetJavaType);
+	}
+
+	protected static byte[] gzip(byte[] bytes) throws IOException {
+		final var byteArrayOutputStream = new ByteArrayOutputStream(bytes.length / 2);
+		try (final var gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) { gzipOutputStream.write(bytes); }
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	protected static byte[] gunzip(byte[] bytes) throws IOException {
+		try (final var gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) { return gzipInputStream.readAllBytes(); }
+	}
+
+}
@@ -0,0 +1,27 @@
+package ca.gov.dtsstn.passport.api.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Configuration for admission control of asynchronous passport status writes. While the passport status queue is
+ * deeper than {@code maxQueueDepth}, or its oldest message has been waiting longer than {@code maxConsumerLag}, new
+ * writes are rejected (with a {@code Retry-After} of {@code retryAfter}) rather than added to the queue.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Validated
+@ConfigurationProperties("application.admission-control")
+public record AdmissionControlProperties(
+	@DefaultValue("true") boolean enabled,
+	@DefaultValue("100000") @Min(1) long maxQueueDepth,
+	@DefaultValue("PT5M") @NotNull Duration maxConsumerLag,
+	@DefaultValue("PT5S") @NotNull Duration retryAfter,
+	@DefaultValue("PT1S") @NotNull Duration sampleInterval
+) {}
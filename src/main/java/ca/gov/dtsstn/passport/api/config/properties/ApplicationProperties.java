@@ -11,14 +11,32 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 @ConfigurationProperties("application")
 @EnableConfigurationProperties({
+	AdmissionControlProperties.class,
+	AsyncProperties.class,
+	BloomFilterProperties.class,
+	EventLogProperties.class,
 	GcNotifyProperties.class,
 	JmsProperties.class,
+	PartitioningProperties.class,
+	ReadReplicaProperties.class,
+	ReferenceDataProperties.class,
+	SearchIndexProperties.class,
 	SecurityProperties.class,
-	SwaggerUiProperties.class
+	SwaggerUiProperties.class,
+	SynchronousCreateProperties.class
 })
 public record ApplicationProperties(
+	@NestedConfigurationProperty AdmissionControlProperties admissionControl,
+	@NestedConfigurationProperty AsyncProperties async,
+	@NestedConfigurationProperty BloomFilterProperties bloomFilter,
+	@NestedConfigurationProperty EventLogProperties eventLog,
 	@NestedConfigurationProperty GcNotifyProperties gcnotify,
 	@NestedConfigurationProperty JmsProperties jms,
+	@NestedConfigurationProperty PartitioningProperties partitioning,
+	@NestedConfigurationProperty ReadReplicaProperties readReplica,
+	@NestedConfigurationProperty ReferenceDataProperties referenceData,
+	@NestedConfigurationProperty SearchIndexProperties searchIndex,
 	@NestedConfigurationProperty SecurityProperties security,
-	@NestedConfigurationProperty SwaggerUiProperties swaggerUi
+	@NestedConfigurationProperty SwaggerUiProperties swaggerUi,
+	@NestedConfigurationProperty SynchronousCreateProperties synchronousCreate
 ) {}
@@ -0,0 +1,59 @@
+package ca.gov.dtsstn.passport.api.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Configuration for the bounded executors that run {@code @Async} work. Passport status event listeners and
+ * notification event listeners each get their own pool (so a search spike cannot starve notification auditing); every
+ * other {@code @Async} method runs on the {@code tasks} pool.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Validated
+@ConfigurationProperties("application.async")
+public record AsyncProperties(
+	@DefaultValue @NotNull @Valid ExecutorProperties notificationEvents,
+	@DefaultValue @NotNull @Valid ExecutorProperties passportStatusEvents,
+	@DefaultValue @NotNull @Valid ExecutorProperties tasks
+) {
+
+	/**
+	 * Settings for a single executor. Threads are added (up to {@code maxPoolSize}) only once {@code queueCapacity}
+	 * tasks are waiting; after that, new tasks are handled according to the {@code rejectionPolicy}.
+	 */
+	public record ExecutorProperties(
+		@DefaultValue("2") @Min(1) int corePoolSize,
+		@DefaultValue("8") @Min(1) int maxPoolSize,
+		@DefaultValue("1000") @Min(0) int queueCapacity,
+		@DefaultValue("PT60S") @NotNull Duration keepAlive,
+		@DefaultValue("caller-runs") @NotNull RejectionPolicy rejectionPolicy,
+		@DefaultValue("0.1") @DecimalMin("0.0") @DecimalMax("1.0") double samplingRate
+	) {}
+
+	/**
+	 * What to do with a task when its executor is saturated.
+	 */
+	public enum RejectionPolicy {
+
+		/** Run the task on the submitting thread (slowing the caller down). */
+		CALLER_RUNS,
+
+		/** Discard the task (and count it). */
+		DROP,
+
+		/** Run a {@code samplingRate} fraction of tasks on the submitting thread and discard (and count) the rest. */
+		SAMPLE
+
+	}
+
+}
@@ -0,0 +1,26 @@
+package ca.gov.dtsstn.passport.api.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Configuration for the passport status search bloom filter.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Validated
+@ConfigurationProperties("application.bloom-filter")
+public record BloomFilterProperties(
+	@DefaultValue("false") boolean enabled,
+	@DefaultValue("2000000") @Positive long expectedInsertions,
+	@DefaultValue("0.01") @DecimalMin(value = "0.0", inclusive = false) @DecimalMax(value = "1.0", inclusive = false) double falsePositiveProbability,
+	@DefaultValue("PT6H") @NotNull Duration rebuildInterval
+) {}
@@ -0,0 +1,77 @@
+package ca.gov.dtsstn.passport.api.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Configuration for the batching event log writer.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Validated
+@ConfigurationProperties("application.event-log")
+public record EventLogProperties(
+	@DefaultValue("10000") @Positive int bufferCapacity,
+	@DefaultValue("100") @Positive int batchSize,
+	@DefaultValue("PT1S") @NotNull Duration flushInterval,
+	@DefaultValue("block") @NotNull OverflowPolicy overflowPolicy,
+	@Nullable String spillDirectory,
+	@DefaultValue("none") @NotNull DetailsCompression detailsCompression,
+	@DefaultValue("1KB") @NotNull DataSize detailsCompressionThreshold
+) {
+
+	/**
+	 * Spilled entries can hold personal information, so they are never spilled to a default (ie: shared temporary)
+	 * directory.
+	 */
+	@AssertTrue(message = "spill-directory is required when overflow-policy is spill")
+	public boolean isSpillDirectoryValid() {
+		return overflowPolicy != OverflowPolicy.SPILL || StringUtils.hasText(spillDirectory);
+	}
+
+	/**
+	 * How the {@code details} of an event log entry are stored.
+	 */
+	public enum DetailsCompression {
+
+		/** Store the details as (JSON) text in {@code event_log.details}. */
+		NONE,
+
+		/**
+		 * Store details at least {@code detailsCompressionThreshold} in size deflated in
+		 * {@code event_log.compressed_details}; smaller details are stored as text.
+		 */
+		DEFLATE
+
+	}
+
+	/**
+	 * What to do with an event log entry when the buffer is full.
+	 */
+	public enum OverflowPolicy {
+
+		/** Wait for space in the buffer. */
+		BLOCK,
+
+		/** Discard the entry (and count it). */
+		DROP,
+
+		/**
+		 * Append the entry to a file in {@code spillDirectory} (which is required); spilled entries are written once the
+		 * buffer drains.
+		 */
+		SPILL
+
+	}
+
+}
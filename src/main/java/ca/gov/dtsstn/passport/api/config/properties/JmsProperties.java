@@ -1,10 +1,19 @@
 package ca.gov.dtsstn.passport.api.config.properties;
 
+import java.time.Duration;
+
+import org.apache.activemq.artemis.core.server.JournalType;
 import org.apache.activemq.artemis.jms.client.ActiveMQQueue;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import ca.gov.dtsstn.passport.api.config.jms.JacksonBinaryMessageConverter.Format;
 import jakarta.jms.Destination;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -14,7 +23,10 @@ import jakarta.validation.constraints.NotNull;
 @Validated
 @ConfigurationProperties("application.jms")
 public record JmsProperties(
-	@NotNull DestinationProperties destination
+	@NotNull DestinationProperties destination,
+	@DefaultValue @NotNull @Valid ConsumerProperties consumer,
+	@DefaultValue @NotNull @Valid MessageProperties message,
+	@DefaultValue @NotNull @Valid BrokerProperties broker
 ) {
 
 	public record DestinationProperties(
@@ -27,4 +39,44 @@ public record JmsProperties(
 
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Settings for the batching passport status consumer. Each consumer drains up to {@code batchSize} messages (or
+	 * whatever arrives within {@code batchTimeout} of the first one) and processes them in a single transaction.
+	 */
+	public record ConsumerProperties(
+		@DefaultValue("100") @Min(1) int batchSize,
+		@DefaultValue("PT0.5S") @NotNull Duration batchTimeout,
+		@DefaultValue("1") @Min(1) int concurrency,
+		@DefaultValue("PT1S") @NotNull Duration receiveTimeout,
+		@DefaultValue("PT5S") @NotNull Duration recoveryInterval
+	) {}
+
+	/**
+	 * Settings for the wire format of outgoing messages. Incoming messages are always read in whatever format they were
+	 * written, so the format can be changed while messages are in flight.
+	 */
+	public record MessageProperties(
+		@DefaultValue("1KB") @NotNull DataSize compressionThreshold,
+		@DefaultValue("SMILE") @NotNull Format format
+	) {}
+
+	/**
+	 * Settings for the journal and paging of the embedded broker. When {@code persistent}, messages are written to a file
+	 * journal in {@code dataDirectory} (or the {@code spring.artemis.embedded.data-directory} if not set), and survive a
+	 * restart. Once the passport status address holds more than {@code maxSize} of messages, further messages are paged
+	 * to disk.
+	 */
+	public record BrokerProperties(
+		@DefaultValue("false") boolean persistent,
+		@Nullable String dataDirectory,
+		@DefaultValue("MAPPED") @NotNull JournalType journalType,
+		@DefaultValue("true") boolean journalDatasync,
+		@DefaultValue("true") boolean journalSyncTransactional,
+		@DefaultValue("true") boolean journalSyncNonTransactional,
+		@DefaultValue("10MB") @NotNull DataSize journalFileSize,
+		@DefaultValue("2") @Min(2) int journalMinFiles,
+		@DefaultValue("64MB") @NotNull DataSize maxSize,
+		@DefaultValue("10MB") @NotNull DataSize pageSize
+	) {}
+
+}
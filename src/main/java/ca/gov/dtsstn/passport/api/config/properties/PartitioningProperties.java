@@ -0,0 +1,45 @@
+package ca.gov.dtsstn.passport.api.config.properties;
+
+import java.time.Duration;
+import java.time.Period;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Configuration for the partitioning and retention of the {@code event_log} and {@code http_request} tables.
+ * <p>
+ * Partitions are always created ahead of time. Retention is disabled by default: enabling it deletes (or drops) data,
+ * so each table's retention must be set explicitly.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Validated
+@ConfigurationProperties("application.partitioning")
+public record PartitioningProperties(
+	@DefaultValue("false") boolean retentionEnabled,
+	@DefaultValue("month") @NotNull Interval interval,
+	@DefaultValue("2") @PositiveOrZero int premake,
+	@DefaultValue("PT1H") @NotNull Duration maintenanceInterval,
+	@Nullable Period eventLogRetention,
+	@Nullable Period httpRequestRetention
+) {
+
+	@AssertTrue(message = "event-log-retention and http-request-retention are required (and must be positive) when retention is enabled")
+	public boolean isRetentionValid() {
+		return !retentionEnabled || (isPositive(eventLogRetention) && isPositive(httpRequestRetention));
+	}
+
+	private static boolean isPositive(@Nullable Period period) {
+		return period != null && !period.isNegative() && !period.isZero();
+	}
+
+	public enum Interval { DAY, WEEK, MONTH }
+
+}
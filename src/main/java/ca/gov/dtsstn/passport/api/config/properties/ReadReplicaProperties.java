@@ -0,0 +1,40 @@
+package ca.gov.dtsstn.passport.api.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Configuration for the (optional) read replica that serves read-only transactions. Connection pool settings are bound
+ * from {@code application.read-replica.hikari}.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Validated
+@ConfigurationProperties("application.read-replica")
+public record ReadReplicaProperties(
+	@DefaultValue("false") boolean enabled,
+	@Nullable String url,
+	@Nullable String username,
+	@Nullable String password,
+	@DefaultValue("PT10S") @NotNull Duration maxLag,
+	@DefaultValue("PT5S") @NotNull Duration lagCheckInterval,
+	@DefaultValue(DEFAULT_LAG_QUERY) @NotBlank String lagQuery
+) {
+
+	/**
+	 * Replication lag (in seconds) of a PostgreSQL streaming replica; zero if the replica has replayed everything it
+	 * has received.
+	 */
+	public static final String DEFAULT_LAG_QUERY = """
+		SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+		            ELSE COALESCE(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP - pg_last_xact_replay_timestamp()), 0) END
+	""";
+
+}
@@ -0,0 +1,19 @@
+package ca.gov.dtsstn.passport.api.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Configuration for the in-memory passport status search index.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Validated
+@ConfigurationProperties("application.search-index")
+public record SearchIndexProperties(
+	@DefaultValue("false") boolean enabled,
+	@DefaultValue("1000000") @Positive int expectedSize
+) {}
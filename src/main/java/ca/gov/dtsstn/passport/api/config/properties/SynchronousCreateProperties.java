@@ -0,0 +1,25 @@
+package ca.gov.dtsstn.passport.api.config.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Configuration for synchronous ({@code async=false}) passport status creation, which writes directly to the database
+ * rather than through the JMS queue. The number of concurrent synchronous writers is bounded so that they cannot
+ * exhaust the database connection pool.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Validated
+@ConfigurationProperties("application.synchronous-create")
+public record SynchronousCreateProperties(
+	@DefaultValue("4") @Min(1) int maxConcurrency,
+	@DefaultValue("PT0.5S") @NotNull Duration acquireTimeout,
+	@DefaultValue("PT1S") @NotNull Duration retryAfter
+) {}
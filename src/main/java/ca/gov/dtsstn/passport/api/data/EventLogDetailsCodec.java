@@ -0,0 +1,103 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.unit.DataSize;
+
+import ca.gov.dtsstn.passport.api.config.properties.EventLogProperties.DetailsCompression;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity;
+
+/**
+ * Moves the {@code details} of an event log entry to {@code compressedDetails} (deflated) when compression is enabled
+ * and the details are at least {@code compressionThreshold} in size, and reads them back from either.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public class EventLogDetailsCodec {
+
+	private final DetailsCompression compression;
+
+	private final long compressionThreshold;
+
+	public EventLogDetailsCodec(DetailsCompression compression, DataSize compressionThreshold) {
+		Assert.notNull(compression, "compression is required; it must not be null");
+		Assert.notNull(compressionThreshold, "compressionThreshold is required; it must not be null");
+		this.compression = compression;
+		this.compressionThreshold = compressionThreshold.toBytes();
+	}
+
+	/**
+	 * Compresses the details of {@code eventLog} (in place) if they qualify for compression.
+	 */
+	public EventLogEntity encode(EventLogEntity eventLog) {
+		Assert.notNull(eventLog, "eventLog is required; it must not be null");
+
+		if (compression == DetailsCompression.NONE || eventLog.getDetails() == null) { return eventLog; }
+
+		final var bytes = eventLog.getDetails().getBytes(StandardCharsets.UTF_8);
+		if (bytes.length < compressionThreshold) { return eventLog; }
+
+		eventLog.setCompressedDetails(deflate(bytes));
+		eventLog.setDetails(null);
+		return eventLog;
+	}
+
+	/**
+	 * Returns the details of {@code eventLog}, decompressing them if necessary.
+	 */
+	@Nullable
+	public static String decode(EventLogEntity eventLog) {
+		Assert.notNull(eventLog, "eventLog is required; it must not be null");
+		if (eventLog.getCompressedDetails() == null) { return eventLog.getDetails(); }
+		return new String(inflate(eventLog.getCompressedDetails()), StandardCharsets.UTF_8);
+	}
+
+	protected static byte[] deflate(byte[] bytes) {
+		final var deflater = new Deflater(Deflater.BEST_SPEED);
+
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+
+			final var byteArrayOutputStream = new ByteArrayOutputStream(bytes.length / 2);
+			final var buffer = new byte[4096];
+			while (!deflater.finished()) { byteArrayOutputStream.write(buffer, 0, deflater.deflate(buffer)); }
+			return byteArrayOutputStream.toByteArray();
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	protected static byte[] inflate(byte[] bytes) {
+		final var inflater = new Inflater();
+
+		try {
+			inflater.setInput(bytes);
+
+			final var byteArrayOutputStream = new ByteArrayOutputStream(bytes.length * 4);
+			final var buffer = new byte[4096];
+
+			while (!inflater.finished()) {
+				final var length = inflater.inflate(buffer);
+				if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) { throw new DataFormatException("Truncated or invalid compressed details"); }
+				byteArrayOutputStream.write(buffer, 0, length);
+			}
+
+			return byteArrayOutputStream.toByteArray();
+		}
+		catch (final DataFormatException dataFormatException) {
+			throw new IllegalArgumentException("Compressed details are not valid deflate data", dataFormatException);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+}
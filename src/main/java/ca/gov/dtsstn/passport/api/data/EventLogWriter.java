@@ -0,0 +1,506 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ca.gov.dtsstn.passport.api.config.properties.EventLogProperties;
+import ca.gov.dtsstn.passport.api.config.properties.EventLogProperties.OverflowPolicy;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity.EventLogType;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntityBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Buffers event log entries in a bounded in-memory queue and inserts them in (JDBC batched) transactions of up to
+ * {@code batchSize} entries, at least every {@code flushInterval}.
+ * <p>
+ * When the buffer is full, the {@code overflowPolicy} decides whether the caller blocks, the entry is dropped, or the
+ * entry is appended to a spill file (which is replayed once the buffer has drained). A batch that cannot be inserted is
+ * spilled when spilling is enabled; otherwise it is retried, then inserted one entry at a time so that only the entries
+ * that cannot be inserted are dropped.
+ * <p>
+ * Spill files (and the spill directory, if it has to be created) are readable by their owner only. Every entry keeps
+ * the time it was written as its {@code createdDate}, however long it waits in the buffer or spill file.
+ * <p>
+ * Details are compressed (according to {@code detailsCompression}) as entries are written, on the caller's thread.
+ * <p>
+ * The writer is stopped after the web server and message consumers (see {@link #getPhase()}), at which point the
+ * buffer is flushed; anything written after that is inserted immediately.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class EventLogWriter implements SmartLifecycle {
+
+	private static final Logger log = LoggerFactory.getLogger(EventLogWriter.class);
+
+	private static final String SPILL_FILE_NAME = "event-log.jsonl";
+
+	private static final String REPLAY_FILE_SUFFIX = ".replay";
+
+	private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+
+	private static final Set<PosixFilePermission> OWNER_ONLY_FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+	private final EventLogProperties properties;
+
+	private final EventLogRepository repository;
+
+	private final BlockingQueue<EventLogEntity> buffer;
+
+	private final EventLogDetailsCodec detailsCodec;
+
+	private final ObjectMapper objectMapper;
+
+	@Nullable
+	private final Path spillDirectory;
+
+	private final ReentrantLock lifecycleLock = new ReentrantLock();
+
+	private final ReentrantLock spillLock = new ReentrantLock();
+
+	private final DistributionSummary batchSizes;
+
+	private final Counter droppedCounter;
+
+	private final Timer flushTimer;
+
+	private final Counter spilledCounter;
+
+	@Nullable
+	private Thread writerThread;
+
+	private volatile boolean running;
+
+	public EventLogWriter(EventLogProperties properties, MeterRegistry meterRegistry, EventLogRepository repository) {
+		Assert.notNull(properties, "properties is required; it must not be null");
+		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
+		Assert.notNull(repository, "repository is required; it must not be null");
+		this.properties = properties;
+		this.repository = repository;
+		this.buffer = new ArrayBlockingQueue<>(properties.bufferCapacity());
+		this.detailsCodec = new EventLogDetailsCodec(properties.detailsCompression(), properties.detailsCompressionThreshold());
+		this.objectMapper = new ObjectMapper().findAndRegisterModules();
+		this.spillDirectory = StringUtils.hasText(properties.spillDirectory()) ? Path.of(properties.spillDirectory()) : null;
+
+		Gauge.builder("event_logs.buffer.depth", buffer::size)
+			.description("Number of event log entries waiting to be inserted")
+			.register(meterRegistry);
+
+		this.batchSizes = DistributionSummary.builder("event_logs.batch.size")
+			.description("Number of event log entries inserted per batch")
+			.register(meterRegistry);
+
+		this.droppedCounter = Counter.builder("event_logs.dropped")
+			.description("Number of event log entries discarded because the buffer was full or they could not be inserted")
+			.register(meterRegistry);
+
+		this.flushTimer = Timer.builder("event_logs.flush")
+			.description("Time taken to insert a batch of event log entries")
+			.register(meterRegistry);
+
+		this.spilledCounter = Counter.builder("event_logs.spilled")
+			.description("Number of event log entries spilled to disk")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Queues {@code eventLog} to be inserted with the next batch (or inserts it immediately if the writer is not
+	 * running).
+	 */
+	public void write(EventLogEntity eventLog) {
+		Assert.notNull(eventLog, "eventLog is required; it must not be null");
+		detailsCodec.encode(eventLog);
+
+		if (eventLog.getLoggedDate() == null) { eventLog.setLoggedDate(Instant.now()); }
+
+		if (!running) {
+			repository.save(eventLog);
+			return;
+		}
+
+		switch (properties.overflowPolicy()) {
+			case BLOCK -> put(eventLog);
+			case DROP -> { if (!buffer.offer(eventLog)) { drop(List.of(eventLog)); } }
+			case SPILL -> { if (!buffer.offer(eventLog)) { spill(List.of(eventLog)); } }
+		}
+
+		// the writer might have stopped (and flushed the buffer) while this entry was being queued
+		if (!running) { flushBuffer(); }
+	}
+
+	@Override
+	public void start() {
+		lifecycleLock.lock();
+
+		try {
+			if (running) { return; }
+
+			log.info("Starting event log writer (batch size: {}, flush interval: {}, overflow policy: {})", properties.batchSize(), properties.flushInterval(), properties.overflowPolicy());
+
+			this.running = true;
+			this.writerThread = Thread.ofPlatform().daemon().name("event-log-writer").start(this::run);
+		}
+		finally {
+			lifecycleLock.unlock();
+		}
+	}
+
+	@Override
+	public void stop() {
+		lifecycleLock.lock();
+
+		try {
+			if (!running) { return; }
+
+			log.info("Stopping event log writer; flushing {} buffered entries", buffer.size());
+			this.running = false;
+
+			try {
+				final var joinTimeout = properties.flushInterval().multipliedBy(2);
+				if (writerThread != null && !writerThread.join(joinTimeout)) { log.warn("Event log writer did not stop within {}", joinTimeout); }
+			}
+			catch (final InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			}
+
+			flushBuffer();
+			this.writerThread = null;
+		}
+		finally {
+			lifecycleLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Started before, and stopped after, the web server (and the message consumers), so that the buffer is not flushed
+	 * until nothing else is producing event log entries.
+	 */
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	/**
+	 * Inserts batches until stopped, replaying spilled entries whenever the buffer is idle.
+	 */
+	protected void run() {
+		final var batch = new ArrayList<EventLogEntity>(properties.batchSize());
+
+		while (running) {
+			try {
+				if (receiveBatch(batch)) { flush(batch); }
+				else { replaySpilled(); }
+			}
+			catch (final InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+				flush(batch);
+				return;
+			}
+			catch (final RuntimeException exception) {
+				log.error("Unexpected error in event log writer", exception);
+			}
+			finally {
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Fills {@code batch} with up to {@code batchSize} entries, waiting at most {@code flushInterval} after the first
+	 * entry arrives. Returns {@code false} if no entry arrived within {@code flushInterval}.
+	 */
+	protected boolean receiveBatch(List<EventLogEntity> batch) throws InterruptedException {
+		final var flushInterval = properties.flushInterval();
+
+		final var firstEventLog = buffer.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+		if (firstEventLog == null) { return false; }
+		batch.add(firstEventLog);
+
+		final var deadline = System.nanoTime() + flushInterval.toNanos();
+
+		while (batch.size() < properties.batchSize() && running) {
+			if (buffer.drainTo(batch, properties.batchSize() - batch.size()) > 0) { continue; }
+
+			final var eventLog = buffer.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			if (eventLog == null) { break; }
+			batch.add(eventLog);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Inserts {@code eventLogs} in a single transaction, spilling (or retrying) them if that fails.
+	 */
+	protected void flush(List<EventLogEntity> eventLogs) {
+		if (eventLogs.isEmpty()) { return; }
+
+		final var sample = Timer.start();
+
+		try {
+			saveBatch(eventLogs);
+		}
+		catch (final RuntimeException exception) {
+			log.error("Could not insert batch of {} event log entries", eventLogs.size(), exception);
+			if (properties.overflowPolicy() == OverflowPolicy.SPILL) { spill(eventLogs); }
+			else { retry(eventLogs); }
+		}
+		finally {
+			sample.stop(flushTimer);
+		}
+	}
+
+	/**
+	 * Retries a batch that could not be inserted, then falls back to inserting its entries one at a time, so that an
+	 * entry that can never be inserted (ie: one that violates a constraint) does not take the rest of its batch with it.
+	 * Entries are only dropped once they have failed on their own, or if the database cannot be reached at all.
+	 */
+	protected void retry(List<EventLogEntity> eventLogs) {
+		try {
+			saveBatch(eventLogs);
+			return;
+		}
+		catch (final RuntimeException exception) {
+			log.warn("Could not insert batch of {} event log entries on retry; inserting them one at a time", eventLogs.size(), exception);
+		}
+
+		for (var i = 0; i < eventLogs.size(); i++) {
+			final var eventLog = eventLogs.get(i);
+
+			try {
+				eventLog.setId(null);
+				repository.save(eventLog);
+			}
+			catch (final DataIntegrityViolationException exception) {
+				log.error("Could not insert event log entry [eventType: {}, description: {}, loggedDate: {}]; dropping it", eventLog.getEventType(), eventLog.getDescription(), eventLog.getLoggedDate(), exception);
+				drop(List.of(eventLog));
+			}
+			catch (final RuntimeException exception) {
+				log.error("Could not insert event log entries; dropping the remaining {} entries of the batch", eventLogs.size() - i, exception);
+				drop(eventLogs.subList(i, eventLogs.size()));
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Inserts {@code eventLogs} in a single (JDBC batched) transaction.
+	 */
+	protected void saveBatch(List<EventLogEntity> eventLogs) {
+		// a failed attempt is rolled back, but the ids it generated are not (and would make the entries look detached)
+		eventLogs.forEach(eventLog -> eventLog.setId(null));
+		repository.saveAll(eventLogs);
+		batchSizes.record(eventLogs.size());
+	}
+
+	/**
+	 * Drains and inserts everything currently in the buffer.
+	 */
+	protected void flushBuffer() {
+		final var batch = new ArrayList<EventLogEntity>(properties.batchSize());
+
+		while (buffer.drainTo(batch, properties.batchSize()) > 0) {
+			flush(batch);
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Appends {@code eventLogs} to the spill file (one JSON document per line), creating the spill directory and file
+	 * (readable by their owner only) if need be.
+	 */
+	protected void spill(Collection<EventLogEntity> eventLogs) {
+		if (spillDirectory == null) {
+			drop(eventLogs);
+			return;
+		}
+
+		spillLock.lock();
+
+		try {
+			final var lines = new ArrayList<String>(eventLogs.size());
+			for (final var eventLog : eventLogs) { lines.add(objectMapper.writeValueAsString(SpilledEventLog.of(eventLog))); }
+
+			final var spillFile = spillDirectory.resolve(SPILL_FILE_NAME);
+			Files.createDirectories(spillDirectory, ownerOnly(OWNER_ONLY_DIRECTORY_PERMISSIONS));
+			if (Files.notExists(spillFile)) { Files.createFile(spillFile, ownerOnly(OWNER_ONLY_FILE_PERMISSIONS)); }
+
+			Files.write(spillFile, lines, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+			spilledCounter.increment(eventLogs.size());
+		}
+		catch (final IOException ioException) {
+			log.error("Could not spill {} event log entries to [{}]", eventLogs.size(), spillDirectory, ioException);
+			drop(eventLogs);
+		}
+		finally {
+			spillLock.unlock();
+		}
+	}
+
+	/**
+	 * Inserts any spilled entries (including those left behind by a previous run), deleting each spill file once its
+	 * entries have been inserted. Replay is at-least-once: a file that fails part way through is retried in full.
+	 */
+	protected void replaySpilled() {
+		if (spillDirectory == null || !Files.isDirectory(spillDirectory)) { return; }
+
+		spillLock.lock();
+
+		try {
+			final var spillFile = spillDirectory.resolve(SPILL_FILE_NAME);
+			if (Files.exists(spillFile)) { Files.move(spillFile, spillDirectory.resolve("event-log-" + System.currentTimeMillis() + REPLAY_FILE_SUFFIX)); }
+		}
+		catch (final IOException ioException) {
+			log.error("Could not rotate event log spill file in [{}]", spillDirectory, ioException);
+			return;
+		}
+		finally {
+			spillLock.unlock();
+		}
+
+		try (final var replayFiles = Files.list(spillDirectory)) {
+			for (final var replayFile : replayFiles.filter(file -> file.toString().endsWith(REPLAY_FILE_SUFFIX)).sorted().toList()) {
+				final var replayed = replay(replayFile);
+				Files.delete(replayFile);
+				log.info("Replayed {} spilled event log entries from [{}]", replayed, replayFile);
+			}
+		}
+		catch (final IOException | RuntimeException exception) {
+			log.warn("Could not replay spilled event log entries from [{}]; will retry", spillDirectory, exception);
+		}
+	}
+
+	/**
+	 * Inserts the entries of {@code replayFile} in batches of up to {@code batchSize}, reading it one line at a time so
+	 * that a large spill file is never held in memory. Lines that cannot be parsed (ie: one left partly written by a
+	 * crash) are dropped. Returns the number of entries inserted.
+	 */
+	protected int replay(Path replayFile) throws IOException {
+		final var batch = new ArrayList<EventLogEntity>(properties.batchSize());
+		var replayed = 0;
+
+		try (final var reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+			for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+				if (!StringUtils.hasText(line)) { continue; }
+
+				try {
+					batch.add(detailsCodec.encode(objectMapper.readValue(line, SpilledEventLog.class).toEntity()));
+				}
+				catch (final JsonProcessingException jsonProcessingException) {
+					log.warn("Could not parse spilled event log entry in [{}]; dropping it", replayFile, jsonProcessingException);
+					droppedCounter.increment();
+					continue;
+				}
+
+				if (batch.size() == properties.batchSize()) {
+					repository.saveAll(batch);
+					replayed += batch.size();
+					batch.clear();
+				}
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			repository.saveAll(batch);
+			replayed += batch.size();
+		}
+
+		return replayed;
+	}
+
+	private void drop(Collection<EventLogEntity> eventLogs) {
+		log.debug("Dropping {} event log entries", eventLogs.size());
+		droppedCounter.increment(eventLogs.size());
+	}
+
+	/**
+	 * Returns {@code permissions} as a file attribute, if the file system supports POSIX permissions.
+	 */
+	private static FileAttribute<?>[] ownerOnly(Set<PosixFilePermission> permissions) {
+		return FileSystems.getDefault().supportedFileAttributeViews().contains("posix")
+			? new FileAttribute<?>[] { PosixFilePermissions.asFileAttribute(permissions) }
+			: new FileAttribute<?>[0];
+	}
+
+	private void put(EventLogEntity eventLog) {
+		try {
+			buffer.put(eventLog);
+		}
+		catch (final InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+			repository.save(eventLog);
+		}
+	}
+
+	/**
+	 * The (JSON) form of a spilled event log entry. Details are always spilled uncompressed.
+	 */
+	record SpilledEventLog(
+		@Nullable String actor,
+		@Nullable Instant createdDate,
+		@Nullable EventLogType eventType,
+		@Nullable String description,
+		@Nullable String details,
+		@Nullable String source
+	) {
+
+		static SpilledEventLog of(EventLogEntity eventLog) {
+			final var createdDate = Optional.ofNullable(eventLog.getLoggedDate()).orElse(eventLog.getCreatedDate());
+			return new SpilledEventLog(eventLog.getActor(), createdDate, eventLog.getEventType(), eventLog.getDescription(), EventLogDetailsCodec.decode(eventLog), eventLog.getSource());
+		}
+
+		EventLogEntity toEntity() {
+			final var eventLog = new EventLogEntityBuilder()
+				.actor(actor)
+				.eventType(eventType)
+				.description(description)
+				.details(details)
+				.source(source)
+				.build();
+
+			eventLog.setLoggedDate(createdDate);
+			return eventLog;
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
+import ca.gov.dtsstn.passport.api.utils.StringUtils;
+
+/**
+ * Custom {@link PassportStatusRepository} fragment for set-based (batch) searches.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public interface PassportStatusBatchSearchRepository {
+
+	/**
+	 * Normalized file number search terms (see {@link StringUtils}).
+	 */
+	record FileNumberSearchTerms(String fileNumberNorm, LocalDate dateOfBirth, String givenNameNorm, String surnameNorm) {}
+
+	/**
+	 * The natural key of a passport status.
+	 */
+	record StatusVersion(String applicationRegisterSid, Long version) {}
+
+	/**
+	 * Performs a {@link PassportStatusRepository#fileNumberSearch(String, LocalDate, String, String)} for each of the
+	 * given search terms using a single query.
+	 *
+	 * @return the matching passport statuses of each search, in the same order as {@code searchTerms}
+	 */
+	List<List<PassportStatusEntity>> fileNumberSearch(List<FileNumberSearchTerms> searchTerms);
+
+	/**
+	 * Performs a {@link PassportStatusRepository#findByApplicationRegisterSidAndVersion(String, Long)} for each of the
+	 * given natural keys using a single query.
+	 *
+	 * @return the passport statuses that already exist (in no particular order)
+	 */
+	List<PassportStatusEntity> findAllByStatusVersions(Collection<StatusVersion> statusVersions);
+
+}
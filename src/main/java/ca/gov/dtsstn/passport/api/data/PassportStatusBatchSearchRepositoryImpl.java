@@ -0,0 +1,119 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.util.Assert;
+
+import com.google.common.collect.Lists;
+
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Resolves batch searches by joining a {@code VALUES} list of search terms against the {@code passport_status_latest}
+ * projection. The terms are numbered so that each row can be mapped back to the search it satisfies. Very large batches
+ * are split into several queries to keep the number of bind parameters in check.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public class PassportStatusBatchSearchRepositoryImpl implements PassportStatusBatchSearchRepository {
+
+	private static final String FILE_NUMBER_SEARCH_QUERY = """
+		SELECT terms.search_index, {ps.*}
+		  FROM (VALUES %s) AS terms (search_index, file_number_norm, date_of_birth, given_name_norm, surname_norm)
+		  JOIN passport_status_latest latest
+		    ON latest.file_number_norm = terms.file_number_norm
+		   AND latest.date_of_birth = terms.date_of_birth
+		   AND latest.given_name_norm = terms.given_name_norm
+		   AND latest.surname_norm = terms.surname_norm
+		  JOIN passport_status ps
+		    ON ps.id = latest.passport_status_id
+	""";
+
+	private static final String STATUS_VERSIONS_QUERY = """
+		SELECT ps.*
+		  FROM passport_status ps
+		 WHERE (ps.application_register_sid, ps.version) IN (%s)
+	""";
+
+	private static final String STATUS_VERSIONS_ROW = "(CAST(? AS VARCHAR(256)), CAST(? AS BIGINT))";
+
+	private static final int MAX_SEARCH_TERMS_PER_QUERY = 1000;
+
+	private static final String VALUES_ROW = "(CAST(? AS INTEGER), CAST(? AS VARCHAR(32)), CAST(? AS DATE), CAST(? AS VARCHAR(128)), CAST(? AS VARCHAR(128)))";
+
+	private final EntityManager entityManager;
+
+	public PassportStatusBatchSearchRepositoryImpl(EntityManager entityManager) {
+		Assert.notNull(entityManager, "entityManager is required; it must not be null");
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	public List<List<PassportStatusEntity>> fileNumberSearch(List<FileNumberSearchTerms> searchTerms) {
+		Assert.notNull(searchTerms, "searchTerms is required; it must not be null");
+
+		final var results = new ArrayList<List<PassportStatusEntity>>(searchTerms.size());
+		Lists.partition(searchTerms, MAX_SEARCH_TERMS_PER_QUERY).forEach(partition -> results.addAll(doFileNumberSearch(partition)));
+		return results;
+	}
+
+	@Override
+	public List<PassportStatusEntity> findAllByStatusVersions(Collection<StatusVersion> statusVersions) {
+		Assert.notNull(statusVersions, "statusVersions is required; it must not be null");
+
+		final var results = new ArrayList<PassportStatusEntity>(statusVersions.size());
+		Lists.partition(List.copyOf(statusVersions), MAX_SEARCH_TERMS_PER_QUERY).forEach(partition -> results.addAll(doFindAllByStatusVersions(partition)));
+		return results;
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	protected List<PassportStatusEntity> doFindAllByStatusVersions(List<StatusVersion> statusVersions) {
+		final var valuesRows = String.join(", ", Collections.nCopies(statusVersions.size(), STATUS_VERSIONS_ROW));
+		final var query = entityManager.createNativeQuery(STATUS_VERSIONS_QUERY.formatted(valuesRows), PassportStatusEntity.class);
+
+		IntStream.range(0, statusVersions.size()).forEach(index -> {
+			final var statusVersion = statusVersions.get(index);
+			query.setParameter((index * 2) + 1, statusVersion.applicationRegisterSid());
+			query.setParameter((index * 2) + 2, statusVersion.version());
+		});
+
+		return query.getResultList();
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	protected List<List<PassportStatusEntity>> doFileNumberSearch(List<FileNumberSearchTerms> searchTerms) {
+		final var results = new ArrayList<List<PassportStatusEntity>>(searchTerms.size());
+		searchTerms.forEach(terms -> results.add(new ArrayList<>(1)));
+
+		final var valuesRows = String.join(", ", Collections.nCopies(searchTerms.size(), VALUES_ROW));
+
+		final var query = entityManager.createNativeQuery(FILE_NUMBER_SEARCH_QUERY.formatted(valuesRows))
+			.unwrap(NativeQuery.class)
+			.addScalar("search_index", StandardBasicTypes.INTEGER)
+			.addEntity("ps", PassportStatusEntity.class);
+
+		IntStream.range(0, searchTerms.size()).forEach(index -> {
+			final var terms = searchTerms.get(index);
+			final var position = (index * 5) + 1;
+			query.setParameter(position, index);
+			query.setParameter(position + 1, terms.fileNumberNorm());
+			query.setParameter(position + 2, terms.dateOfBirth());
+			query.setParameter(position + 3, terms.givenNameNorm());
+			query.setParameter(position + 4, terms.surnameNorm());
+		});
+
+		for (final var row : (List<Object[]>) query.getResultList()) {
+			results.get((Integer) row[0]).add((PassportStatusEntity) row[1]);
+		}
+
+		return results;
+	}
+
+}
@@ -0,0 +1,31 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import java.util.List;
+
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
+
+/**
+ * Custom {@link PassportStatusRepository} fragment for conflict-free inserts.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public interface PassportStatusInsertRepository {
+
+	/**
+	 * Inserts the given (new) passport status unless one with the same {@code applicationRegisterSid} and
+	 * {@code version} already exists. The entity's id, audit and normalized search columns are populated before it is
+	 * inserted, but it is not attached to the persistence context.
+	 *
+	 * @return {@code true} if the passport status was inserted; {@code false} if it conflicted with an existing one
+	 */
+	boolean insertIfAbsent(PassportStatusEntity passportStatus);
+
+	/**
+	 * Performs an {@link #insertIfAbsent(PassportStatusEntity)} for each of the given passport statuses, as a single
+	 * JDBC batch. A passport status that conflicts with one inserted earlier in the same batch is not inserted.
+	 *
+	 * @return the passport statuses that were inserted (in order); the others conflicted with existing ones
+	 */
+	List<PassportStatusEntity> insertAllIfAbsent(List<PassportStatusEntity> passportStatuses);
+
+}
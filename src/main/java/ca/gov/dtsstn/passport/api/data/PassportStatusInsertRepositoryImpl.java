@@ -0,0 +1,181 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.BasicTypeReference;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Inserts passport statuses using {@code INSERT ... ON CONFLICT DO NOTHING}, which lets the
+ * {@code uq_application_register_sid_version} unique index detect duplicates. This replaces a lookup followed by an
+ * insert (two round trips, and a race between concurrent writers) with a single statement whose update count reports
+ * whether the row was inserted. The statement is supported by both PostgreSQL and H2 (in PostgreSQL mode).
+ * <p>
+ * Batches of passport statuses are inserted with a single JDBC batch of the same statement, whose per-row update
+ * counts tell the inserted rows from the conflicting ones. The parameters are bound with Hibernate's own value binders,
+ * so they are written exactly as the single-row insert writes them.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public class PassportStatusInsertRepositoryImpl implements PassportStatusInsertRepository {
+
+	private static final String INSERT_IF_ABSENT_QUERY = """
+		INSERT INTO passport_status
+			(id, application_register_sid, date_of_birth, email, file_number, given_name, manifest_number, surname, source_code_id, status_code_id, status_date, version,
+			 email_norm, file_number_norm, given_name_norm, surname_norm, created_by, created_date, last_modified_by, last_modified_date)
+		VALUES
+			(?1, ?2, ?3, ?4, ?5, ?6, ?7, ?8, ?9, ?10, ?11, ?12, ?13, ?14, ?15, ?16, ?17, ?18, ?19, ?20)
+		ON CONFLICT DO NOTHING
+	""";
+
+	/**
+	 * The same statement, with JDBC (rather than JPA) positional parameters.
+	 */
+	private static final String INSERT_ALL_IF_ABSENT_QUERY = INSERT_IF_ABSENT_QUERY.replaceAll("\\?\\d+", "?");
+
+	private final AuditingHandler auditingHandler;
+
+	private final EntityManager entityManager;
+
+	public PassportStatusInsertRepositoryImpl(AuditingHandler auditingHandler, EntityManager entityManager) {
+		Assert.notNull(auditingHandler, "auditingHandler is required; it must not be null");
+		Assert.notNull(entityManager, "entityManager is required; it must not be null");
+		this.auditingHandler = auditingHandler;
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	public boolean insertIfAbsent(PassportStatusEntity passportStatus) {
+		Assert.notNull(passportStatus, "passportStatus is required; it must not be null");
+		prepareInsert(passportStatus);
+
+		final var updateCount = entityManager.createNativeQuery(INSERT_IF_ABSENT_QUERY)
+			.unwrap(NativeQuery.class)
+			.setParameter(1, passportStatus.getId(), StandardBasicTypes.STRING)
+			.setParameter(2, passportStatus.getApplicationRegisterSid(), StandardBasicTypes.STRING)
+			.setParameter(3, passportStatus.getDateOfBirth(), StandardBasicTypes.LOCAL_DATE)
+			.setParameter(4, passportStatus.getEmail(), StandardBasicTypes.STRING)
+			.setParameter(5, passportStatus.getFileNumber(), StandardBasicTypes.STRING)
+			.setParameter(6, passportStatus.getGivenName(), StandardBasicTypes.STRING)
+			.setParameter(7, passportStatus.getManifestNumber(), StandardBasicTypes.STRING)
+			.setParameter(8, passportStatus.getSurname(), StandardBasicTypes.STRING)
+			.setParameter(9, passportStatus.getSourceCode().getId(), StandardBasicTypes.STRING)
+			.setParameter(10, passportStatus.getStatusCode().getId(), StandardBasicTypes.STRING)
+			.setParameter(11, passportStatus.getStatusDate(), StandardBasicTypes.LOCAL_DATE)
+			.setParameter(12, passportStatus.getVersion(), StandardBasicTypes.LONG)
+			.setParameter(13, passportStatus.getEmailNorm(), StandardBasicTypes.STRING)
+			.setParameter(14, passportStatus.getFileNumberNorm(), StandardBasicTypes.STRING)
+			.setParameter(15, passportStatus.getGivenNameNorm(), StandardBasicTypes.STRING)
+			.setParameter(16, passportStatus.getSurnameNorm(), StandardBasicTypes.STRING)
+			.setParameter(17, passportStatus.getCreatedBy(), StandardBasicTypes.STRING)
+			.setParameter(18, passportStatus.getCreatedDate(), StandardBasicTypes.INSTANT)
+			.setParameter(19, passportStatus.getLastModifiedBy(), StandardBasicTypes.STRING)
+			.setParameter(20, passportStatus.getLastModifiedDate(), StandardBasicTypes.INSTANT)
+			.executeUpdate();
+
+		if (updateCount == 1) { passportStatus.setIsNew(false); }
+		return updateCount == 1;
+	}
+
+	@Override
+	public List<PassportStatusEntity> insertAllIfAbsent(List<PassportStatusEntity> passportStatuses) {
+		Assert.notNull(passportStatuses, "passportStatuses is required; it must not be null");
+		if (passportStatuses.isEmpty()) { return List.of(); }
+
+		passportStatuses.forEach(this::prepareInsert);
+
+		final var session = entityManager.unwrap(SessionImplementor.class);
+		final var updateCounts = session.doReturningWork(connection -> {
+			try (final var statement = connection.prepareStatement(INSERT_ALL_IF_ABSENT_QUERY)) {
+				for (final var passportStatus : passportStatuses) {
+					bind(session, statement, passportStatus);
+					statement.addBatch();
+				}
+
+				return statement.executeBatch();
+			}
+		});
+
+		final var unknownIds = IntStream.range(0, passportStatuses.size())
+			.filter(index -> updateCounts[index] == Statement.SUCCESS_NO_INFO)
+			.mapToObj(index -> passportStatuses.get(index).getId())
+			.toList();
+
+		// some drivers (ie: pgjdbc with reWriteBatchedInserts) do not report per-row counts; the generated ids tell instead
+		final var insertedUnknownIds = unknownIds.isEmpty() ? Set.<String> of() : findExistingIds(unknownIds);
+
+		final var insertedPassportStatuses = new ArrayList<PassportStatusEntity>(passportStatuses.size());
+
+		for (var index = 0; index < passportStatuses.size(); index++) {
+			final var passportStatus = passportStatuses.get(index);
+
+			if (updateCounts[index] == 1 || insertedUnknownIds.contains(passportStatus.getId())) {
+				passportStatus.setIsNew(false);
+				insertedPassportStatuses.add(passportStatus);
+			}
+		}
+
+		return insertedPassportStatuses;
+	}
+
+	/**
+	 * Populates the id, audit and normalized search columns of the given (new) passport status.
+	 */
+	protected void prepareInsert(PassportStatusEntity passportStatus) {
+		Assert.isTrue(passportStatus.isNew(), "passportStatus must be a new instance");
+		Assert.notNull(passportStatus.getSourceCode(), "passportStatus.sourceCode is required; it must not be null");
+		Assert.notNull(passportStatus.getStatusCode(), "passportStatus.statusCode is required; it must not be null");
+
+		if (passportStatus.getId() == null) { passportStatus.setId(UUID.randomUUID().toString()); }
+		auditingHandler.markCreated(passportStatus);
+		passportStatus.normalizeSearchColumns();
+	}
+
+	protected void bind(SessionImplementor session, PreparedStatement statement, PassportStatusEntity passportStatus) throws SQLException {
+		bind(session, statement, 1, passportStatus.getId(), StandardBasicTypes.STRING);
+		bind(session, statement, 2, passportStatus.getApplicationRegisterSid(), StandardBasicTypes.STRING);
+		bind(session, statement, 3, passportStatus.getDateOfBirth(), StandardBasicTypes.LOCAL_DATE);
+		bind(session, statement, 4, passportStatus.getEmail(), StandardBasicTypes.STRING);
+		bind(session, statement, 5, passportStatus.getFileNumber(), StandardBasicTypes.STRING);
+		bind(session, statement, 6, passportStatus.getGivenName(), StandardBasicTypes.STRING);
+		bind(session, statement, 7, passportStatus.getManifestNumber(), StandardBasicTypes.STRING);
+		bind(session, statement, 8, passportStatus.getSurname(), StandardBasicTypes.STRING);
+		bind(session, statement, 9, passportStatus.getSourceCode().getId(), StandardBasicTypes.STRING);
+		bind(session, statement, 10, passportStatus.getStatusCode().getId(), StandardBasicTypes.STRING);
+		bind(session, statement, 11, passportStatus.getStatusDate(), StandardBasicTypes.LOCAL_DATE);
+		bind(session, statement, 12, passportStatus.getVersion(), StandardBasicTypes.LONG);
+		bind(session, statement, 13, passportStatus.getEmailNorm(), StandardBasicTypes.STRING);
+		bind(session, statement, 14, passportStatus.getFileNumberNorm(), StandardBasicTypes.STRING);
+		bind(session, statement, 15, passportStatus.getGivenNameNorm(), StandardBasicTypes.STRING);
+		bind(session, statement, 16, passportStatus.getSurnameNorm(), StandardBasicTypes.STRING);
+		bind(session, statement, 17, passportStatus.getCreatedBy(), StandardBasicTypes.STRING);
+		bind(session, statement, 18, passportStatus.getCreatedDate(), StandardBasicTypes.INSTANT);
+		bind(session, statement, 19, passportStatus.getLastModifiedBy(), StandardBasicTypes.STRING);
+		bind(session, statement, 20, passportStatus.getLastModifiedDate(), StandardBasicTypes.INSTANT);
+	}
+
+	protected <T> void bind(SessionImplementor session, PreparedStatement statement, int index, @Nullable T value, BasicTypeReference<T> type) throws SQLException {
+		session.getFactory().getTypeConfiguration().getBasicTypeRegistry().resolve(type).getJdbcValueBinder().bind(statement, value, index, session);
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	protected Set<String> findExistingIds(List<String> ids) {
+		return Set.copyOf(entityManager.createNativeQuery("SELECT id FROM passport_status WHERE id IN (?1)").setParameter(1, ids).getResultList());
+	}
+
+}
@@ -0,0 +1,114 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusLatestEntity;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Maintains the {@code passport_status_latest} projection table. All statements are plain SQL so they can be executed
+ * against both H2 and PostgreSQL.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Transactional
+public interface PassportStatusLatestRepository extends Repository<PassportStatusLatestEntity, String> {
+
+	/**
+	 * Inserts a projection row for the newest of the given passport statuses of each {@code applicationRegisterSid}
+	 * that does not have one yet. If a concurrent transaction is inserting the same {@code applicationRegisterSid}, the
+	 * insert waits for it to finish and then does nothing. Must be followed by
+	 * {@link #updateLatestIfNewer(Collection)} to complete an upsert.
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(nativeQuery = true, value = """
+		INSERT INTO passport_status_latest
+			(application_register_sid, passport_status_id, version, date_of_birth, email_norm, file_number_norm, given_name_norm, surname_norm)
+		SELECT ranked.application_register_sid, ranked.id, ranked.version, ranked.date_of_birth, ranked.email_norm, ranked.file_number_norm, ranked.given_name_norm, ranked.surname_norm
+		  FROM (SELECT ps.*, ROW_NUMBER() OVER (PARTITION BY ps.application_register_sid ORDER BY ps.version DESC) AS version_rank
+		          FROM passport_status ps
+		         WHERE ps.id IN (?1)) ranked
+		 WHERE ranked.version_rank = 1
+		ON CONFLICT DO NOTHING
+	""")
+	int insertLatestIfAbsent(Collection<String> passportStatusIds);
+
+	/**
+	 * Points each existing projection row at the newest of the given passport statuses of its
+	 * {@code applicationRegisterSid}, if that one is newer than the version it currently records. The version check is
+	 * made on the (locked) row, so concurrent writers of the same {@code applicationRegisterSid} can never replace a
+	 * newer version with an older one.
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(nativeQuery = true, value = """
+		UPDATE passport_status_latest
+		   SET (passport_status_id, version, date_of_birth, email_norm, file_number_norm, given_name_norm, surname_norm) = (
+		       SELECT ps.id, ps.version, ps.date_of_birth, ps.email_norm, ps.file_number_norm, ps.given_name_norm, ps.surname_norm
+		         FROM passport_status ps
+		        WHERE ps.id IN (?1)
+		          AND ps.application_register_sid = passport_status_latest.application_register_sid
+		        ORDER BY ps.version DESC
+		        FETCH FIRST 1 ROW ONLY)
+		 WHERE passport_status_latest.version < (
+		       SELECT MAX(ps.version)
+		         FROM passport_status ps
+		        WHERE ps.id IN (?1)
+		          AND ps.application_register_sid = passport_status_latest.application_register_sid)
+	""")
+	int updateLatestIfNewer(Collection<String> passportStatusIds);
+
+	@Modifying(flushAutomatically = true)
+	@Query(nativeQuery = true, value = "DELETE FROM passport_status_latest WHERE application_register_sid = ?1")
+	int deleteByApplicationRegisterSid(String applicationRegisterSid);
+
+	/**
+	 * Inserts the projection row for the newest version of the given {@code applicationRegisterSid}. Expects that no
+	 * row currently exists (see {@link #deleteByApplicationRegisterSid(String)}).
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(nativeQuery = true, value = """
+		INSERT INTO passport_status_latest
+			(application_register_sid, passport_status_id, version, date_of_birth, email_norm, file_number_norm, given_name_norm, surname_norm)
+		SELECT ps.application_register_sid, ps.id, ps.version, ps.date_of_birth, ps.email_norm, ps.file_number_norm, ps.given_name_norm, ps.surname_norm
+		  FROM passport_status ps
+		 WHERE ps.application_register_sid = ?1
+		 ORDER BY ps.version DESC
+		 FETCH FIRST 1 ROW ONLY
+	""")
+	int insertNewest(String applicationRegisterSid);
+
+	@Modifying(flushAutomatically = true)
+	@Query(nativeQuery = true, value = "DELETE FROM passport_status_latest")
+	int deleteAllRows();
+
+	/**
+	 * Inserts the projection rows for the newest version of every passport status. Expects the table to be empty
+	 * (see {@link #deleteAllRows()}).
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(nativeQuery = true, value = """
+		INSERT INTO passport_status_latest
+			(application_register_sid, passport_status_id, version, date_of_birth, email_norm, file_number_norm, given_name_norm, surname_norm)
+		SELECT ranked.application_register_sid, ranked.id, ranked.version, ranked.date_of_birth, ranked.email_norm, ranked.file_number_norm, ranked.given_name_norm, ranked.surname_norm
+		  FROM (SELECT ps.*, ROW_NUMBER() OVER (PARTITION BY ps.application_register_sid ORDER BY ps.version DESC) AS version_rank
+		          FROM passport_status ps) ranked
+		 WHERE ranked.version_rank = 1
+	""")
+	int insertAllNewest();
+
+	/**
+	 * Streams every projection row. Must be consumed within a transaction.
+	 */
+	@Query("SELECT latest FROM PassportStatusLatest latest")
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	Stream<PassportStatusLatestEntity> streamAll();
+
+}
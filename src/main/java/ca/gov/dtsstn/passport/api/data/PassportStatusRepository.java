@@ -3,37 +3,72 @@ package ca.gov.dtsstn.passport.api.data;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
+import ca.gov.dtsstn.passport.api.utils.StringUtils;
+import jakarta.persistence.QueryHint;
 
 /**
  * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
  */
 @SuppressWarnings({ "java:S2479" })
-public interface PassportStatusRepository extends JpaRepository<PassportStatusEntity, String> {
+public interface PassportStatusRepository extends JpaRepository<PassportStatusEntity, String>, PassportStatusBatchSearchRepository, PassportStatusInsertRepository {
 
+	/**
+	 * Finds the newest version of every passport status whose newest version matches the given search terms. Because
+	 * exactly one row is returned per {@code applicationRegisterSid}, the size of the result is also the number of
+	 * distinct {@code applicationRegisterSid}s that matched.
+	 * <p>
+	 * All string parameters must already be normalized (see {@link StringUtils}).
+	 */
 	@Query("""
-		SELECT ps FROM PassportStatus ps
-		 WHERE lower(email) = lower(?1)
-		   AND dateOfBirth = ?2
-		   AND lower(cast(remove_non_alpha_numeric(remove_diacritics(givenName)) as string)) = lower(cast(remove_non_alpha_numeric(remove_diacritics(?3)) as string))
-		   AND lower(cast(remove_non_alpha_numeric(remove_diacritics(surname))   as string)) = lower(cast(remove_non_alpha_numeric(remove_diacritics(?4)) as string))
-		   AND version = (SELECT max(version) FROM PassportStatus other WHERE other.applicationRegisterSid = ps.applicationRegisterSid)
+		SELECT ps FROM PassportStatusLatest latest JOIN latest.passportStatus ps
+		 WHERE latest.emailNorm = ?1
+		   AND latest.dateOfBirth = ?2
+		   AND latest.givenNameNorm = ?3
+		   AND latest.surnameNorm = ?4
 	""")
-	List<PassportStatusEntity> emailSearch(String email, LocalDate dateOfBirth, String givenName, String surname);
+	List<PassportStatusEntity> emailSearch(String emailNorm, LocalDate dateOfBirth, String givenNameNorm, String surnameNorm);
 
+	/**
+	 * Finds the newest version of every passport status whose newest version matches the given search terms. Because
+	 * exactly one row is returned per {@code applicationRegisterSid}, the size of the result is also the number of
+	 * distinct {@code applicationRegisterSid}s that matched.
+	 * <p>
+	 * All string parameters must already be normalized (see {@link StringUtils}).
+	 */
 	@Query("""
-		SELECT ps FROM PassportStatus ps
-		 WHERE lower(fileNumber) = lower(?1)
-		   AND dateOfBirth = ?2
-		   AND lower(cast(remove_non_alpha_numeric(remove_diacritics(givenName)) as string)) = lower(cast(remove_non_alpha_numeric(remove_diacritics(?3)) as string))
-		   AND lower(cast(remove_non_alpha_numeric(remove_diacritics(surname))   as string)) = lower(cast(remove_non_alpha_numeric(remove_diacritics(?4)) as string))
-		   AND version = (SELECT MAX(version) FROM PassportStatus other WHERE other.applicationRegisterSid = ps.applicationRegisterSid)
+		SELECT ps FROM PassportStatusLatest latest JOIN latest.passportStatus ps
+		 WHERE latest.fileNumberNorm = ?1
+		   AND latest.dateOfBirth = ?2
+		   AND latest.givenNameNorm = ?3
+		   AND latest.surnameNorm = ?4
 	""")
-	List<PassportStatusEntity> fileNumberSearch(String fileNumber, LocalDate dateOfBirth, String givenName, String surname);
+	List<PassportStatusEntity> fileNumberSearch(String fileNumberNorm, LocalDate dateOfBirth, String givenNameNorm, String surnameNorm);
+
+	/**
+	 * Streams the newest version of every passport status. Must be consumed within a transaction.
+	 */
+	@Query("SELECT ps FROM PassportStatusLatest latest JOIN latest.passportStatus ps")
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	Stream<PassportStatusEntity> streamAllLatest();
+
+	/**
+	 * Scrolls through every passport status. When given a keyset position, the next window is read using an (indexed)
+	 * range predicate on the sort properties, so the cost of each window is independent of how far into the table it
+	 * is. No count query is issued.
+	 */
+	Window<PassportStatusEntity> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 
 	List<PassportStatusEntity> findAllByApplicationRegisterSid(String applicationRegisterSid);
 
@@ -0,0 +1,136 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A {@link DataSource} that routes read-only transactions to a read replica and everything else to the primary.
+ * <p>
+ * The replica's lag is checked periodically; while it cannot be measured or exceeds {@code maxLag}, read-only
+ * transactions fall back to the primary.
+ * <p>
+ * Note: the transaction's read-only flag is only set after its connection has been requested, so this data source must
+ * be wrapped in a {@link LazyConnectionDataSourceProxy} (which defers fetching the connection until it is first used).
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+	public enum Target { PRIMARY, REPLICA }
+
+	private final DataSource replicaDataSource;
+
+	private final Duration maxLag;
+
+	private final String lagQuery;
+
+	private final Counter primaryFallbacks;
+
+	private final Counter replicaConnections;
+
+	@Nullable
+	private volatile Duration replicaLag;
+
+	private volatile boolean replicaAvailable;
+
+	public ReadReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource, Duration maxLag, String lagQuery, MeterRegistry meterRegistry) {
+		Assert.notNull(primaryDataSource, "primaryDataSource is required; it must not be null");
+		Assert.notNull(replicaDataSource, "replicaDataSource is required; it must not be null");
+		Assert.notNull(maxLag, "maxLag is required; it must not be null");
+		Assert.hasText(lagQuery, "lagQuery is required; it must not be null or blank");
+		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
+		this.replicaDataSource = replicaDataSource;
+		this.maxLag = maxLag;
+		this.lagQuery = lagQuery;
+
+		setDefaultTargetDataSource(primaryDataSource);
+		setTargetDataSources(Map.of(Target.PRIMARY, primaryDataSource, Target.REPLICA, replicaDataSource));
+
+		this.primaryFallbacks = Counter.builder("read_replica.connections")
+			.description("Number of read-only connections, by the data source that served them")
+			.tag("target", "primary")
+			.register(meterRegistry);
+		this.replicaConnections = Counter.builder("read_replica.connections")
+			.description("Number of read-only connections, by the data source that served them")
+			.tag("target", "replica")
+			.register(meterRegistry);
+
+		Gauge.builder("read_replica.available", this, dataSource -> dataSource.isReplicaAvailable() ? 1.0 : 0.0)
+			.description("Whether read-only transactions are currently routed to the read replica")
+			.register(meterRegistry);
+		Gauge.builder("read_replica.lag", this, ReadReplicaRoutingDataSource::replicaLagSeconds)
+			.description("Most recently measured replication lag of the read replica (NaN if it could not be measured)")
+			.baseUnit("seconds")
+			.register(meterRegistry);
+	}
+
+	public boolean isReplicaAvailable() {
+		return replicaAvailable;
+	}
+
+	/**
+	 * Measures the replica's lag, and marks it as (un)available accordingly.
+	 */
+	@Scheduled(fixedDelayString = "${application.read-replica.lag-check-interval}")
+	public void checkReplicaLag() {
+		this.replicaLag = measureReplicaLag();
+
+		final var isAvailable = replicaLag != null && replicaLag.compareTo(maxLag) <= 0;
+		if (isAvailable != replicaAvailable) {
+			if (isAvailable) { log.info("Read replica is available (lag: {}); routing read-only transactions to it", replicaLag); }
+			else { log.warn("Read replica is unavailable (lag: {}, max lag: {}); routing read-only transactions to the primary", replicaLag, maxLag); }
+		}
+
+		this.replicaAvailable = isAvailable;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) { return Target.PRIMARY; }
+
+		if (replicaAvailable) {
+			replicaConnections.increment();
+			return Target.REPLICA;
+		}
+
+		primaryFallbacks.increment();
+		return Target.PRIMARY;
+	}
+
+	@Nullable
+	protected Duration measureReplicaLag() {
+		try (final var connection = replicaDataSource.getConnection();
+				final var statement = connection.createStatement();
+				final var resultSet = statement.executeQuery(lagQuery)) {
+			return resultSet.next() ? Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000)) : null;
+		}
+		catch (final SQLException sqlException) {
+			log.debug("Could not measure read replica lag", sqlException);
+			return null;
+		}
+	}
+
+	private double replicaLagSeconds() {
+		final var lag = replicaLag;
+		return lag == null ? Double.NaN : lag.toMillis() / 1000.0;
+	}
+
+}
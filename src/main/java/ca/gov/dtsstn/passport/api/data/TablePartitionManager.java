@@ -0,0 +1,259 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import ca.gov.dtsstn.passport.api.config.properties.PartitioningProperties;
+import ca.gov.dtsstn.passport.api.config.properties.PartitioningProperties.Interval;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Maintains the {@code event_log} and {@code http_request} tables, which grow with every event and request.
+ * <p>
+ * On PostgreSQL, both tables are range-partitioned on {@code created_date} (see the v8.1 migration). This manager
+ * always creates the partitions for the current and next {@code premake} intervals ahead of time, so that new rows never
+ * land in the {@code _default} partition. When {@code retentionEnabled}, it also enforces retention by detaching and
+ * dropping every partition whose range has expired, so that expired rows are never deleted (or vacuumed) one by one.
+ * Only the (normally empty) {@code _default} partition is pruned with a {@code DELETE}.
+ * <p>
+ * Partition names encode their range ({@code {table}_{yyyymmdd}_{yyyymmdd}}), so the interval can be changed at any
+ * time: new partitions are trimmed to fit around the existing ones. Instances coordinate through an advisory lock, so
+ * only one of them maintains a given table at a time.
+ * <p>
+ * On any other database (ie: H2), or if a table is not partitioned, expired rows are deleted instead (again, only when
+ * {@code retentionEnabled}).
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class TablePartitionManager {
+
+	private static final Logger log = LoggerFactory.getLogger(TablePartitionManager.class);
+
+	static final String EVENT_LOG_TABLE = "event_log";
+
+	static final String HTTP_REQUEST_TABLE = "http_request";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final MeterRegistry meterRegistry;
+
+	private final PartitioningProperties properties;
+
+	private final TransactionTemplate transactionTemplate;
+
+	@Nullable
+	private volatile Boolean postgresql;
+
+	public TablePartitionManager(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, PartitioningProperties properties, PlatformTransactionManager transactionManager) {
+		Assert.notNull(jdbcTemplate, "jdbcTemplate is required; it must not be null");
+		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
+		Assert.notNull(properties, "properties is required; it must not be null");
+		Assert.notNull(transactionManager, "transactionManager is required; it must not be null");
+
+		this.jdbcTemplate = jdbcTemplate;
+		this.meterRegistry = meterRegistry;
+		this.properties = properties;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Creates upcoming partitions and, if retention is enabled, drops (or deletes) expired ones. Runs once shortly after
+	 * startup, then every {@code maintenance-interval}.
+	 */
+	@Scheduled(fixedDelayString = "${application.partitioning.maintenance-interval}")
+	public void maintain() {
+		maintain(EVENT_LOG_TABLE, properties.retentionEnabled() ? properties.eventLogRetention() : null);
+		maintain(HTTP_REQUEST_TABLE, properties.retentionEnabled() ? properties.httpRequestRetention() : null);
+	}
+
+	/**
+	 * Maintains {@code table}, dropping (or deleting) rows older than {@code retention} unless it is {@code null}.
+	 */
+	protected void maintain(String table, @Nullable Period retention) {
+		final var today = LocalDate.now();
+		final var cutoff = retention == null ? null : today.minus(retention);
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				if (isPartitioned(table)) { maintainPartitions(table, today, cutoff); }
+				else if (cutoff != null) { deleteExpiredRows(table, table, cutoff); }
+			});
+		}
+		catch (final DataAccessException | TransactionException exception) {
+			log.warn("Could not maintain table [{}]; will retry in {}", table, properties.maintenanceInterval(), exception);
+		}
+	}
+
+	protected void maintainPartitions(String table, LocalDate today, @Nullable LocalDate cutoff) {
+		if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, lockKey(table)))) {
+			log.debug("Table [{}] is being maintained by another instance; skipping", table);
+			return;
+		}
+
+		final var partitionNames = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)", String.class, table);
+		final var partitions = partitionNames.stream().map(name -> Partition.parse(table, name)).flatMap(Optional::stream).toList();
+		final var defaultPartition = table + "_default";
+		final var hasDefaultPartition = partitionNames.contains(defaultPartition);
+
+		for (final var partition : partitionsToCreate(table, partitions, today, properties.interval(), properties.premake())) {
+			if (hasDefaultPartition && hasRows(defaultPartition, partition.from(), partition.to())) {
+				// postgresql refuses to create a partition whose range has rows in the default partition
+				log.warn("Cannot create partition [{}]; the default partition [{}] has rows in its range", partition.name(), defaultPartition);
+				continue;
+			}
+
+			log.info("Creating partition [{}] for [{}, {})", partition.name(), partition.from(), partition.to());
+			jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')".formatted(partition.name(), table, partition.from(), partition.to()));
+			counter("table_partitions.created", "Number of table partitions created", table).increment();
+		}
+
+		if (cutoff == null) { return; }
+
+		for (final var partition : partitionsToDrop(partitions, cutoff)) {
+			log.info("Dropping expired partition [{}] for [{}, {})", partition.name(), partition.from(), partition.to());
+			jdbcTemplate.execute("ALTER TABLE %s DETACH PARTITION %s".formatted(table, partition.name()));
+			jdbcTemplate.execute("DROP TABLE %s".formatted(partition.name()));
+			counter("table_partitions.dropped", "Number of expired table partitions dropped", table).increment();
+		}
+
+		if (hasDefaultPartition) { deleteExpiredRows(table, defaultPartition, cutoff); }
+	}
+
+	protected void deleteExpiredRows(String table, String tableOrPartition, LocalDate cutoff) {
+		final var deleted = jdbcTemplate.update("DELETE FROM %s WHERE created_date < ?".formatted(tableOrPartition), cutoff.atStartOfDay());
+		if (deleted == 0) { return; }
+
+		log.info("Deleted {} expired rows from [{}]", deleted, tableOrPartition);
+		counter("table_retention.rows.deleted", "Number of expired rows deleted (rather than dropped with their partition)", table).increment(deleted);
+	}
+
+	protected boolean hasRows(String tableOrPartition, LocalDate from, LocalDate to) {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM %s WHERE created_date >= ? AND created_date < ?)".formatted(tableOrPartition), Boolean.class, from.atStartOfDay(), to.atStartOfDay()));
+	}
+
+	protected boolean isPartitioned(String table) {
+		if (!isPostgresql()) { return false; }
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))", Boolean.class, table));
+	}
+
+	protected boolean isPostgresql() {
+		if (postgresql == null) {
+			postgresql = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+		}
+
+		return Boolean.TRUE.equals(postgresql);
+	}
+
+	protected Counter counter(String name, String description, String table) {
+		return Counter.builder(name).description(description).tag("table", table).register(meterRegistry);
+	}
+
+	protected long lockKey(String table) {
+		return ("passport-status-api:partitions:" + table).hashCode();
+	}
+
+	/**
+	 * Returns the partitions needed to cover the interval containing {@code today} and the next {@code premake}
+	 * intervals, trimmed so that they do not overlap any of the {@code existing} partitions.
+	 */
+	static List<Partition> partitionsToCreate(String table, Collection<Partition> existing, LocalDate today, Interval interval, int premake) {
+		var until = floor(today, interval);
+		for (var i = 0; i <= premake; i++) { until = next(until, interval); }
+
+		final var partitions = new ArrayList<Partition>();
+		var from = floor(today, interval);
+
+		while (from.isBefore(until)) {
+			final var start = from;
+			final var covering = existing.stream().filter(partition -> partition.contains(start)).findFirst();
+
+			if (covering.isPresent()) {
+				from = covering.get().to();
+				continue;
+			}
+
+			// realign to the interval (after a covering partition of another interval) and stop short of the next one
+			final var end = next(floor(start, interval), interval);
+			final var to = existing.stream()
+				.map(Partition::from)
+				.filter(partitionStart -> partitionStart.isAfter(start) && partitionStart.isBefore(end))
+				.min(LocalDate::compareTo)
+				.orElse(end);
+
+			partitions.add(new Partition(table, from, to));
+			from = to;
+		}
+
+		return partitions;
+	}
+
+	/**
+	 * Returns the {@code existing} partitions whose every row was created before {@code cutoff}.
+	 */
+	static List<Partition> partitionsToDrop(Collection<Partition> existing, LocalDate cutoff) {
+		return existing.stream().filter(partition -> !partition.to().isAfter(cutoff)).toList();
+	}
+
+	static LocalDate floor(LocalDate date, Interval interval) {
+		return switch (interval) {
+			case DAY -> date;
+			case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+			case MONTH -> date.withDayOfMonth(1);
+		};
+	}
+
+	static LocalDate next(LocalDate date, Interval interval) {
+		return switch (interval) {
+			case DAY -> date.plusDays(1);
+			case WEEK -> date.plusWeeks(1);
+			case MONTH -> date.plusMonths(1);
+		};
+	}
+
+	/**
+	 * A partition of {@code table} holding the rows created in {@code [from, to)}.
+	 */
+	record Partition(String table, LocalDate from, LocalDate to) {
+
+		static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+		static Optional<Partition> parse(String table, String name) {
+			final var matcher = Pattern.compile(Pattern.quote(table) + "_(\\d{8})_(\\d{8})").matcher(name);
+			if (!matcher.matches()) { return Optional.empty(); }
+			return Optional.of(new Partition(table, LocalDate.parse(matcher.group(1), DATE_FORMAT), LocalDate.parse(matcher.group(2), DATE_FORMAT)));
+		}
+
+		boolean contains(LocalDate date) {
+			return !date.isBefore(from) && date.isBefore(to);
+		}
+
+		String name() {
+			return "%s_%s_%s".formatted(table, from.format(DATE_FORMAT), to.format(DATE_FORMAT));
+		}
+
+	}
+
+}
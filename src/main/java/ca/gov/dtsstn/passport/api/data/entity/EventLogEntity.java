@@ -10,6 +10,8 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Transient;
 
 /**
  * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
@@ -21,9 +23,15 @@ public class EventLogEntity extends AbstractEntity {
 	@Column(length = 256, nullable = false, updatable = false)
 	private String description;
 
-	@Column(length = 65536, nullable = false, updatable = false)
+	@Column(length = 65536, nullable = true, updatable = false)
 	private String details;
 
+	/**
+	 * The deflated (UTF-8 encoded) {@code details}, when they were large enough to be compressed.
+	 */
+	@Column(length = 65536, nullable = true, updatable = false)
+	private byte[] compressedDetails;
+
 	@Enumerated(EnumType.STRING)
 	@Column(length = 32, nullable = false, updatable = false)
 	private EventLogType eventType;
@@ -34,6 +42,13 @@ public class EventLogEntity extends AbstractEntity {
 	@Column(length = 256, nullable = true, updatable = false)
 	private String source;
 
+	/**
+	 * When the entry was logged, if it is inserted some time after that (ie: from the event log writer's buffer or spill
+	 * file). Replaces the audited {@code createdDate} when the entry is inserted.
+	 */
+	@Transient
+	private Instant loggedDate;
+
 	public EventLogEntity() {
 		super();
 	}
@@ -50,10 +65,12 @@ public class EventLogEntity extends AbstractEntity {
 			@Nullable EventLogType eventType,
 			@Nullable String description,
 			@Nullable String details,
+			@Nullable byte[] compressedDetails,
 			@Nullable String source) {
 		super(id, createdBy, createdDate, lastModifiedBy, lastModifiedDate, isNew);
 		this.description = description;
 		this.details = details;
+		this.compressedDetails = compressedDetails;
 		this.eventType = eventType;
 		this.actor = actor;
 		this.source = source;
@@ -75,6 +92,14 @@ public class EventLogEntity extends AbstractEntity {
 		this.details = details;
 	}
 
+	public byte[] getCompressedDetails() {
+		return compressedDetails;
+	}
+
+	public void setCompressedDetails(byte[] compressedDetails) {
+		this.compressedDetails = compressedDetails;
+	}
+
 	public EventLogType getEventType() {
 		return eventType;
 	}
@@ -99,6 +124,22 @@ public class EventLogEntity extends AbstractEntity {
 		this.source = source;
 	}
 
+	public Instant getLoggedDate() {
+		return loggedDate;
+	}
+
+	public void setLoggedDate(Instant loggedDate) {
+		this.loggedDate = loggedDate;
+	}
+
+	/**
+	 * Runs after the auditing entity listener, which always stamps {@code createdDate} with the time of insertion.
+	 */
+	@PrePersist
+	public void restoreLoggedDate() {
+		if (loggedDate != null) { this.createdDate = loggedDate; }
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		// keeps SonarLint happy
@@ -126,6 +167,7 @@ public class EventLogEntity extends AbstractEntity {
 			.append("eventType", eventType)
 			.append("actor", actor)
 			.append("source", source)
+			.append("loggedDate", loggedDate)
 			.toString();
 	}
 
@@ -146,7 +188,9 @@ public class EventLogEntity extends AbstractEntity {
 		CREATE_STATUS_CONFLICT,
 		CREATE_STATUS_SUCCESS,
 		DELETE_STATUS_SUCCESS,
+		READ_STATUS_BULK_SUCCESS,
 		READ_STATUS_SUCCESS,
+		SEARCH_STATUS_BATCH,
 		SEARCH_STATUS_HIT,
 		SEARCH_STATUS_MISS,
 		SEARCH_STATUS_NON_UNIQUE,
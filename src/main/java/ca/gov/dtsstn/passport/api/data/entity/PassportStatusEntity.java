@@ -8,9 +8,13 @@ import org.immutables.builder.Builder;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.lang.Nullable;
 
+import ca.gov.dtsstn.passport.api.utils.StringUtils;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 
 /**
  * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
@@ -40,10 +44,17 @@ public class PassportStatusEntity extends AbstractEntity {
 	@Column(length = 64, nullable = false)
 	private String surname;
 
-	@ManyToOne
+	/*
+	 * The reference data associations are lazy because the service layer only
+	 * ever reads their ids (which Hibernate can answer from an uninitialized
+	 * proxy). Loading them eagerly would cost an extra select (or join) per
+	 * distinct code every time a passport status is read.
+	 */
+
+	@ManyToOne(fetch = FetchType.LAZY)
 	private SourceCodeEntity sourceCode;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private StatusCodeEntity statusCode;
 
 	@Column(nullable = false)
@@ -52,6 +63,24 @@ public class PassportStatusEntity extends AbstractEntity {
 	@Column(nullable = false)
 	private Long version;
 
+	/*
+	 * Normalized copies of the searchable columns. These are derived from their
+	 * source columns whenever the entity is written (see #normalizeSearchColumns()),
+	 * which allows searches to be simple (indexed) equality lookups.
+	 */
+
+	@Column(length = 256, nullable = true)
+	private String emailNorm;
+
+	@Column(length = 32, nullable = false)
+	private String fileNumberNorm;
+
+	@Column(length = 128, nullable = false)
+	private String givenNameNorm;
+
+	@Column(length = 128, nullable = false)
+	private String surnameNorm;
+
 	public PassportStatusEntity() {
 		super();
 	}
@@ -177,6 +206,31 @@ public class PassportStatusEntity extends AbstractEntity {
 		this.version = version;
 	}
 
+	public String getEmailNorm() {
+		return emailNorm;
+	}
+
+	public String getFileNumberNorm() {
+		return fileNumberNorm;
+	}
+
+	public String getGivenNameNorm() {
+		return givenNameNorm;
+	}
+
+	public String getSurnameNorm() {
+		return surnameNorm;
+	}
+
+	@PrePersist
+	@PreUpdate
+	public void normalizeSearchColumns() {
+		this.emailNorm = StringUtils.normalizeIdentifier(email);
+		this.fileNumberNorm = StringUtils.normalizeIdentifier(fileNumber);
+		this.givenNameNorm = StringUtils.normalizeName(givenName);
+		this.surnameNorm = StringUtils.normalizeName(surname);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		// keeps SonarLint happy
@@ -200,11 +254,11 @@ public class PassportStatusEntity extends AbstractEntity {
 			.append("givenName", givenName)
 			.append("manifestNumber", manifestNumber)
 			.append("surname", surname)
-			.append("sourceCode", Optional.ofNullable(sourceCode)
-				.map(SourceCodeEntity::getCode)
+			.append("sourceCodeId", Optional.ofNullable(sourceCode)
+				.map(SourceCodeEntity::getId)
 				.orElse(null))
-			.append("statusCode", Optional.ofNullable(statusCode)
-				.map(StatusCodeEntity::getCode)
+			.append("statusCodeId", Optional.ofNullable(statusCode)
+				.map(StatusCodeEntity::getId)
 				.orElse(null))
 			.append("statusDate", statusDate)
 			.append("version", version)
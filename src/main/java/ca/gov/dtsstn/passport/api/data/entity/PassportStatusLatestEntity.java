@@ -0,0 +1,102 @@
+package ca.gov.dtsstn.passport.api.data.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Immutable;
+import org.springframework.core.style.ToStringCreator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+
+/**
+ * A read-only projection that holds the newest version of every passport status (one row per
+ * {@code applicationRegisterSid}). Rows are maintained by {@code PassportStatusLatestRepository}.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Immutable
+@SuppressWarnings({ "serial" })
+@Entity(name = "PassportStatusLatest")
+public class PassportStatusLatestEntity implements Serializable {
+
+	@Id
+	@Column(length = 256, nullable = false, updatable = false)
+	private String applicationRegisterSid;
+
+	@OneToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "passport_status_id", nullable = false)
+	private PassportStatusEntity passportStatus;
+
+	@Column(nullable = false)
+	private Long version;
+
+	@Column(nullable = false)
+	private LocalDate dateOfBirth;
+
+	@Column(length = 256, nullable = true)
+	private String emailNorm;
+
+	@Column(length = 32, nullable = false)
+	private String fileNumberNorm;
+
+	@Column(length = 128, nullable = false)
+	private String givenNameNorm;
+
+	@Column(length = 128, nullable = false)
+	private String surnameNorm;
+
+	protected PassportStatusLatestEntity() {
+		/* required by JPA */
+	}
+
+	public String getApplicationRegisterSid() {
+		return applicationRegisterSid;
+	}
+
+	public PassportStatusEntity getPassportStatus() {
+		return passportStatus;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public LocalDate getDateOfBirth() {
+		return dateOfBirth;
+	}
+
+	public String getEmailNorm() {
+		return emailNorm;
+	}
+
+	public String getFileNumberNorm() {
+		return fileNumberNorm;
+	}
+
+	public String getGivenNameNorm() {
+		return givenNameNorm;
+	}
+
+	public String getSurnameNorm() {
+		return surnameNorm;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringCreator(this)
+			.append("applicationRegisterSid", applicationRegisterSid)
+			.append("version", version)
+			.append("dateOfBirth", dateOfBirth)
+			.append("emailNorm", emailNorm)
+			.append("fileNumberNorm", fileNumberNorm)
+			.append("givenNameNorm", givenNameNorm)
+			.append("surnameNorm", surnameNorm)
+			.toString();
+	}
+
+}
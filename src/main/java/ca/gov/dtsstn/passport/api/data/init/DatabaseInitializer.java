@@ -27,6 +27,7 @@ import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
 import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntityBuilder;
 import ca.gov.dtsstn.passport.api.data.entity.SourceCodeEntityBuilder;
 import ca.gov.dtsstn.passport.api.data.entity.StatusCodeEntity;
+import ca.gov.dtsstn.passport.api.service.PassportStatusService;
 import ca.gov.dtsstn.passport.api.service.StatusCodeService;
 import ca.gov.dtsstn.passport.api.service.domain.mapper.StatusCodeMapper;
 import net.datafaker.Faker;
@@ -49,6 +50,8 @@ public class DatabaseInitializer {
 
 	private final PassportStatusRepository passportStatusRepository;
 
+	private final PassportStatusService passportStatusService;
+
 	private final StatusCodeService statusCodeService;
 
 	private final StatusCodeMapper statusCodeMapper = Mappers.getMapper(StatusCodeMapper.class);
@@ -57,10 +60,12 @@ public class DatabaseInitializer {
 
 	private int generatedStatusesNumber = 1000;
 
-	public DatabaseInitializer(PassportStatusRepository passportStatusRepository, StatusCodeService statusCodeService) {
+	public DatabaseInitializer(PassportStatusRepository passportStatusRepository, PassportStatusService passportStatusService, StatusCodeService statusCodeService) {
 		Assert.notNull(passportStatusRepository, "passportStatusRepository is required; it must not be null");
+		Assert.notNull(passportStatusService, "passportStatusService is required; it must not be null");
 		Assert.notNull(statusCodeService, "statusCodeService is required; it must not be null");
 		this.passportStatusRepository = passportStatusRepository;
+		this.passportStatusService = passportStatusService;
 		this.statusCodeService = statusCodeService;
 	}
 
@@ -106,6 +111,11 @@ public class DatabaseInitializer {
 		bobRoss.setVersion(bobbyRoss.getVersion() + 1);
 		passportStatusRepository.save(bobRoss);
 		log.info("Passport modified fake data created in {}ms", stopWatch.getTime());
+
+		log.info("Rebuilding latest passport status projection");
+		stopWatch.reset(); stopWatch.start();
+		passportStatusService.rebuildLatest();
+		log.info("Latest passport status projection rebuilt in {}ms", stopWatch.getTime());
 	}
 
 	protected <T> List<List<T>> partition(List<T> passportStatuses, int size) {
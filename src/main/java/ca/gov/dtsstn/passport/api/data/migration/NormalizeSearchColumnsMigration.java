@@ -0,0 +1,139 @@
+package ca.gov.dtsstn.passport.api.data.migration;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Objects;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import ca.gov.dtsstn.passport.api.utils.StringUtils;
+
+/**
+ * Migration that recomputes the normalized search columns of every {@code passport_status} (and
+ * {@code passport_status_latest}) row with {@link StringUtils}, the same normalizer used when a row is written and when
+ * a search is made.
+ * <p>
+ * The v4 migration backfilled these columns in SQL, with {@code remove_diacritics()}: PostgreSQL's {@code unaccent},
+ * or (on H2) {@link StringUtils#stripAccents(String)}, which leaves letters such as ß, æ and Ø in place to be removed
+ * as non alpha-numeric. Neither always agrees with the ICU transliteration of
+ * {@link StringUtils#normalizeName(String)}, and searches for rows written before v4 with such names would silently
+ * miss. Only rows whose stored values differ are updated.
+ * <p>
+ * Flyway picks this migration up because it is a Spring bean (see {@code FlywayAutoConfiguration}).
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class NormalizeSearchColumnsMigration implements JavaMigration {
+
+	private static final Logger log = LoggerFactory.getLogger(NormalizeSearchColumnsMigration.class);
+
+	static final int PAGE_SIZE = 1000;
+
+	private static final String SELECT_PAGE_QUERY = """
+		SELECT id, email, file_number, given_name, surname, email_norm, file_number_norm, given_name_norm, surname_norm
+		  FROM passport_status
+		 WHERE id > ?
+		 ORDER BY id
+		 LIMIT %d
+	""".formatted(PAGE_SIZE);
+
+	private static final String UPDATE_PASSPORT_STATUS_QUERY = "UPDATE passport_status SET email_norm = ?, file_number_norm = ?, given_name_norm = ?, surname_norm = ? WHERE id = ?";
+
+	private static final String UPDATE_PASSPORT_STATUS_LATEST_QUERY = "UPDATE passport_status_latest SET email_norm = ?, file_number_norm = ?, given_name_norm = ?, surname_norm = ? WHERE passport_status_id = ?";
+
+	@Override
+	public MigrationVersion getVersion() {
+		return MigrationVersion.fromVersion("9");
+	}
+
+	@Override
+	public String getDescription() {
+		return "normalize search columns";
+	}
+
+	@Override
+	public Integer getChecksum() {
+		return null;
+	}
+
+	@Override
+	public boolean canExecuteInTransaction() {
+		return true;
+	}
+
+	@Override
+	public void migrate(Context context) throws SQLException {
+		final var connection = context.getConnection();
+
+		try (final var select = connection.prepareStatement(SELECT_PAGE_QUERY);
+				final var updatePassportStatus = connection.prepareStatement(UPDATE_PASSPORT_STATUS_QUERY);
+				final var updatePassportStatusLatest = connection.prepareStatement(UPDATE_PASSPORT_STATUS_LATEST_QUERY)) {
+			var lastId = "";
+			var updated = 0;
+
+			while (lastId != null) {
+				final var page = migratePage(select, updatePassportStatus, updatePassportStatusLatest, lastId);
+				lastId = page.lastId();
+				updated += page.updated();
+			}
+
+			log.info("Renormalized the search columns of {} passport statuses", updated);
+		}
+	}
+
+	/**
+	 * Renormalizes the page of rows following {@code lastId}, returning the last id of the page (or {@code null} if the
+	 * page was empty).
+	 */
+	protected Page migratePage(PreparedStatement select, PreparedStatement updatePassportStatus, PreparedStatement updatePassportStatusLatest, String lastId) throws SQLException {
+		select.setString(1, lastId);
+
+		String pageLastId = null;
+		var updated = 0;
+
+		try (final var resultSet = select.executeQuery()) {
+			while (resultSet.next()) {
+				pageLastId = resultSet.getString("id");
+
+				final var emailNorm = StringUtils.normalizeIdentifier(resultSet.getString("email"));
+				final var fileNumberNorm = StringUtils.normalizeIdentifier(resultSet.getString("file_number"));
+				final var givenNameNorm = StringUtils.normalizeName(resultSet.getString("given_name"));
+				final var surnameNorm = StringUtils.normalizeName(resultSet.getString("surname"));
+
+				final var unchanged = Objects.equals(emailNorm, resultSet.getString("email_norm"))
+					&& Objects.equals(fileNumberNorm, resultSet.getString("file_number_norm"))
+					&& Objects.equals(givenNameNorm, resultSet.getString("given_name_norm"))
+					&& Objects.equals(surnameNorm, resultSet.getString("surname_norm"));
+
+				if (unchanged) { continue; }
+
+				for (final var update : new PreparedStatement[] { updatePassportStatus, updatePassportStatusLatest }) {
+					update.setString(1, emailNorm);
+					update.setString(2, fileNumberNorm);
+					update.setString(3, givenNameNorm);
+					update.setString(4, surnameNorm);
+					update.setString(5, pageLastId);
+					update.addBatch();
+				}
+
+				updated++;
+			}
+		}
+
+		if (updated > 0) {
+			updatePassportStatus.executeBatch();
+			updatePassportStatusLatest.executeBatch();
+		}
+
+		return new Page(pageLastId, updated);
+	}
+
+	protected record Page(String lastId, int updated) {}
+
+}
@@ -0,0 +1,39 @@
+package ca.gov.dtsstn.passport.api.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+
+import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusBatchSearchEvent.Builder;
+
+/**
+ * A single event summarizing every search of a batch search request.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Immutable
+public interface PassportStatusBatchSearchEvent extends Serializable {
+
+	static Builder builder() {
+		return ImmutablePassportStatusBatchSearchEvent.builder();
+	}
+
+	/**
+	 * The {@code applicationRegisterSid}s returned by the batch (for both hits and non-unique results).
+	 */
+	Iterable<String> getApplicationRegisterSids();
+
+	int getHits();
+
+	int getMisses();
+
+	int getNonUnique();
+
+	@Default
+	default Instant getTimestamp() {
+		return Instant.now();
+	}
+
+}
@@ -0,0 +1,57 @@
+package ca.gov.dtsstn.passport.api.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Map;
+
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+
+import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusBulkReadEvent.Builder;
+
+/**
+ * An event summarizing the passport statuses returned by a paged read or a search (in place of one
+ * {@link PassportStatusReadEvent} per passport status). Large reads are summarized by several events, each covering a
+ * bounded chunk of the passport statuses.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Immutable
+public interface PassportStatusBulkReadEvent extends Serializable {
+
+	static Builder builder() {
+		return ImmutablePassportStatusBulkReadEvent.builder();
+	}
+
+	Operation getOperation();
+
+	/**
+	 * The (non-identifying) parameters of the read, ie: paging or scrolling parameters.
+	 */
+	Map<String, String> getParameters();
+
+	/**
+	 * The {@code id}s of the passport statuses that were read, in the order they were returned.
+	 */
+	Iterable<String> getIds();
+
+	/**
+	 * The {@code applicationRegisterSid}s of the passport statuses that were read, in the order they were returned.
+	 */
+	Iterable<String> getApplicationRegisterSids();
+
+	@Default
+	default Instant getTimestamp() {
+		return Instant.now();
+	}
+
+	enum Operation {
+		READ_ALL,
+		SCROLL,
+		APPLICATION_REGISTER_SID_SEARCH,
+		EMAIL_SEARCH,
+		FILE_NUMBER_SEARCH,
+		BATCH_FILE_NUMBER_SEARCH
+	}
+
+}
@@ -0,0 +1,74 @@
+package ca.gov.dtsstn.passport.api.event.listener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import ca.gov.dtsstn.passport.api.event.NotificationNotSentEvent;
+import ca.gov.dtsstn.passport.api.event.NotificationRequestedEvent;
+import ca.gov.dtsstn.passport.api.event.NotificationSentEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBatchSearchEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBulkReadEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusCreateConflictEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusCreatedEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusDeletedEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusReadEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusSearchEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusUpdatedEvent;
+
+/**
+ * Serializes events to the (compact JSON) {@code details} of an event log entry.
+ * <p>
+ * A single {@link ObjectMapper} is shared by every event listener, and an {@link ObjectWriter} is built (with its root
+ * serializer resolved) up front for each event type, so serializing an event is a map lookup plus the write itself.
+ * {@code null} properties are omitted.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class EventLogDetailsSerializer {
+
+	static final List<Class<?>> EVENT_TYPES = List.of(
+		NotificationNotSentEvent.class,
+		NotificationRequestedEvent.class,
+		NotificationSentEvent.class,
+		PassportStatusBatchSearchEvent.class,
+		PassportStatusBulkReadEvent.class,
+		PassportStatusCreateConflictEvent.class,
+		PassportStatusCreatedEvent.class,
+		PassportStatusDeletedEvent.class,
+		PassportStatusReadEvent.class,
+		PassportStatusSearchEvent.class,
+		PassportStatusUpdatedEvent.class);
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+		.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+		.setSerializationInclusion(Include.NON_NULL)
+		.findAndRegisterModules();
+
+	private final Map<Class<?>, ObjectWriter> objectWriters = new ConcurrentHashMap<>();
+
+	public EventLogDetailsSerializer() {
+		EVENT_TYPES.forEach(eventType -> objectWriters.put(eventType, objectMapper.writerFor(eventType)));
+	}
+
+	/**
+	 * Serializes {@code event} as an instance of {@code eventType} (so that only the properties of the event type, and
+	 * not those of its implementation, are written).
+	 */
+	public <T> String serialize(Class<T> eventType, T event) throws JsonProcessingException {
+		Assert.notNull(eventType, "eventType is required; it must not be null");
+		Assert.notNull(event, "event is required; it must not be null");
+		return objectWriters.computeIfAbsent(eventType, objectMapper::writerFor).writeValueAsString(event);
+	}
+
+}
@@ -11,9 +11,10 @@ import org.springframework.util.Assert;
 import ca.gov.dtsstn.passport.api.event.NotificationNotSentEvent;
 import ca.gov.dtsstn.passport.api.event.NotificationRequestedEvent;
 import ca.gov.dtsstn.passport.api.event.NotificationSentEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBatchSearchEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusCreatedEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusSearchEvent;
-import ca.gov.dtsstn.passport.api.service.StatusCodeService;
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry;
 import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
 import ca.gov.dtsstn.passport.api.service.domain.StatusCode;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -28,13 +29,13 @@ public class MetricsGeneratingEventListener {
 
 	private final MeterRegistry meterRegistry;
 
-	private final StatusCodeService statusCodeService;
+	private final ReferenceDataRegistry referenceDataRegistry;
 
-	public MetricsGeneratingEventListener(MeterRegistry meterRegistry, StatusCodeService statusCodeService) {
+	public MetricsGeneratingEventListener(MeterRegistry meterRegistry, ReferenceDataRegistry referenceDataRegistry) {
 		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
-		Assert.notNull(statusCodeService, "statusCodeService is required; it must not be null");
+		Assert.notNull(referenceDataRegistry, "referenceDataRegistry is required; it must not be null");
 		this.meterRegistry = meterRegistry;
-		this.statusCodeService = statusCodeService;
+		this.referenceDataRegistry = referenceDataRegistry;
 	}
 
 	@EventListener
@@ -63,7 +64,7 @@ public class MetricsGeneratingEventListener {
 		Optional.of(event)
 			.map(PassportStatusCreatedEvent::getEntity)
 			.map(PassportStatus::getStatusCodeId)
-			.flatMap(statusCodeService::read)
+			.flatMap(referenceDataRegistry::readStatusCode)
 			.map(StatusCode::getCode)
 			.ifPresent(code -> {
 				switch (code) {
@@ -90,4 +91,14 @@ public class MetricsGeneratingEventListener {
 		}
 	}
 
+	@EventListener
+	public void handlePassportStatusBatchSearchEvent(PassportStatusBatchSearchEvent event) {
+		Assert.notNull(event, "event is required; it must not be null");
+		meterRegistry.counter("passport_statuses.searches.batches").increment();
+		meterRegistry.counter("passport_statuses.searches").increment((double) event.getHits() + event.getMisses() + event.getNonUnique());
+		meterRegistry.counter("passport_statuses.searches.hits").increment(event.getHits());
+		meterRegistry.counter("passport_statuses.searches.misses").increment(event.getMisses());
+		meterRegistry.counter("passport_statuses.searches.non_unique").increment(event.getNonUnique());
+	}
+
 }
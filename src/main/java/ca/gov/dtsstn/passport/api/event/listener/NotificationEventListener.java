@@ -8,10 +8,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 
-import ca.gov.dtsstn.passport.api.data.EventLogRepository;
+import ca.gov.dtsstn.passport.api.config.AsyncConfig;
+import ca.gov.dtsstn.passport.api.data.EventLogWriter;
 import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity.EventLogType;
 import ca.gov.dtsstn.passport.api.data.entity.EventLogEntityBuilder;
 import ca.gov.dtsstn.passport.api.event.NotificationNotSentEvent;
@@ -25,50 +24,48 @@ import ca.gov.dtsstn.passport.api.event.NotificationSentEvent;
 public class NotificationEventListener {
 	private static final Logger log = LoggerFactory.getLogger(NotificationEventListener.class);
 
-	private final EventLogRepository eventLogRepository;
+	private final EventLogDetailsSerializer detailsSerializer;
 
-	private final ObjectMapper objectMapper;
+	private final EventLogWriter eventLogWriter;
 
-	public NotificationEventListener(EventLogRepository eventLogRepository) {
-		Assert.notNull(eventLogRepository, "eventLogRepository is required; it must not be null");
-		this.eventLogRepository = eventLogRepository;
-
-		this.objectMapper = new ObjectMapper()
-			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-			.findAndRegisterModules();
+	public NotificationEventListener(EventLogDetailsSerializer detailsSerializer, EventLogWriter eventLogWriter) {
+		Assert.notNull(detailsSerializer, "detailsSerializer is required; it must not be null");
+		Assert.notNull(eventLogWriter, "eventLogWriter is required; it must not be null");
+		this.detailsSerializer = detailsSerializer;
+		this.eventLogWriter = eventLogWriter;
 	}
 
-	@Async
+	@Async(AsyncConfig.NOTIFICATION_EVENT_EXECUTOR)
 	@EventListener({ NotificationNotSentEvent.class })
 	public void handleNotificationNotSentEvent(NotificationNotSentEvent event) throws JsonProcessingException {
-		eventLogRepository.save(new EventLogEntityBuilder()
+		eventLogWriter.write(new EventLogEntityBuilder()
 			.eventType(EventLogType.GET_ESRF_FAIL)
 			.description("ESRF notification failure")
-			.details(objectMapper.writeValueAsString(event))
+			.details(detailsSerializer.serialize(NotificationNotSentEvent.class, event))
 			.build());
 
 		log.info("Event: Get ESRF fail - " + event.getReason());
 	}
 
-	@Async
+	@Async(AsyncConfig.NOTIFICATION_EVENT_EXECUTOR)
 	@EventListener({ NotificationRequestedEvent.class })
 	public void handleNotificationRequestedEvent(NotificationRequestedEvent event) throws JsonProcessingException {
-		eventLogRepository.save(new EventLogEntityBuilder()
+		eventLogWriter.write(new EventLogEntityBuilder()
 			.eventType(EventLogType.GET_ESRF_REQUEST)
 			.description("ESRF notification requested")
-			.details(objectMapper.writeValueAsString(event))
+			.details(detailsSerializer.serialize(NotificationRequestedEvent.class, event))
 			.build());
 
 		log.info("Event: ESRF notification requested - " + event.getEmail());
 	}
 
-	@Async
+	@Async(AsyncConfig.NOTIFICATION_EVENT_EXECUTOR)
 	@EventListener({ NotificationSentEvent.class })
 	public void handleNotificationSentEvent(NotificationSentEvent event) throws JsonProcessingException {
-		eventLogRepository.save(new EventLogEntityBuilder()
+		eventLogWriter.write(new EventLogEntityBuilder()
 			.eventType(EventLogType.GET_ESRF_SUCCESS)
 			.description("ESRF notification success")
-			.details(objectMapper.writeValueAsString(event))
+			.details(detailsSerializer.serialize(NotificationSentEvent.class, event))
 			.build());
 
 		log.info("Event: ESRF notification success - " + event.getEmail());
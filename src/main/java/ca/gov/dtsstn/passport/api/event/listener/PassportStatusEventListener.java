@@ -8,12 +8,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.collect.Iterables;
 
-import ca.gov.dtsstn.passport.api.data.EventLogRepository;
+import ca.gov.dtsstn.passport.api.config.AsyncConfig;
+import ca.gov.dtsstn.passport.api.data.EventLogWriter;
 import ca.gov.dtsstn.passport.api.data.entity.EventLogEntityBuilder;
 import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity.EventLogType;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBatchSearchEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBulkReadEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusCreateConflictEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusCreatedEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusDeletedEvent;
@@ -29,74 +31,84 @@ public class PassportStatusEventListener {
 
 	private final Logger log = LoggerFactory.getLogger(PassportStatusEventListener.class);
 
-	private final EventLogRepository eventLogRepository;
+	private final EventLogDetailsSerializer detailsSerializer;
 
-	private final ObjectMapper objectMapper;
+	private final EventLogWriter eventLogWriter;
 
-	public PassportStatusEventListener(EventLogRepository eventLogRepository) {
-		Assert.notNull(eventLogRepository, "eventLogRepository is required; it must not be null");
-		this.eventLogRepository = eventLogRepository;
-
-		this.objectMapper = new ObjectMapper()
-			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-			.findAndRegisterModules();
+	public PassportStatusEventListener(EventLogDetailsSerializer detailsSerializer, EventLogWriter eventLogWriter) {
+		Assert.notNull(detailsSerializer, "detailsSerializer is required; it must not be null");
+		Assert.notNull(eventLogWriter, "eventLogWriter is required; it must not be null");
+		this.detailsSerializer = detailsSerializer;
+		this.eventLogWriter = eventLogWriter;
 	}
 
-	@Async
+	@Async(AsyncConfig.PASSPORT_STATUS_EVENT_EXECUTOR)
 	@EventListener({ PassportStatusCreateConflictEvent.class })
 	public void handleCreated(PassportStatusCreateConflictEvent event) throws JsonProcessingException {
-		eventLogRepository.save(new EventLogEntityBuilder()
+		eventLogWriter.write(new EventLogEntityBuilder()
 			.eventType(EventLogType.CREATE_STATUS_CONFLICT)
 			.description("Passport status create conflict")
-			.details(objectMapper.writeValueAsString(event))
+			.details(detailsSerializer.serialize(PassportStatusCreateConflictEvent.class, event))
 			.build());
 
 		log.info("Event: status create conflict - ID: " + event.getEntity().getId());
 	}
 
-	@Async
+	@Async(AsyncConfig.PASSPORT_STATUS_EVENT_EXECUTOR)
 	@EventListener({ PassportStatusCreatedEvent.class })
 	public void handleCreated(PassportStatusCreatedEvent event) throws JsonProcessingException {
-		eventLogRepository.save(new EventLogEntityBuilder()
+		eventLogWriter.write(new EventLogEntityBuilder()
 			.eventType(EventLogType.CREATE_STATUS_SUCCESS)
 			.description("Passport status create success")
-			.details(objectMapper.writeValueAsString(event))
+			.details(detailsSerializer.serialize(PassportStatusCreatedEvent.class, event))
 			.build());
 
 		log.info("Event: status created - ID: " + event.getEntity().getId());
 	}
 
-	@Async
+	@Async(AsyncConfig.PASSPORT_STATUS_EVENT_EXECUTOR)
 	@EventListener
 	public void handleRead(PassportStatusReadEvent event) throws JsonProcessingException {
-		eventLogRepository.save(new EventLogEntityBuilder()
+		eventLogWriter.write(new EventLogEntityBuilder()
 			.eventType(EventLogType.READ_STATUS_SUCCESS)
 			.description("Passport status read success")
-			.details(objectMapper.writeValueAsString(event))
+			.details(detailsSerializer.serialize(PassportStatusReadEvent.class, event))
 			.build());
 
 		log.info("Event: status read - ID: " + event.getEntity().getId());
 	}
 
-	@Async
+	@Async(AsyncConfig.PASSPORT_STATUS_EVENT_EXECUTOR)
+	@EventListener({ PassportStatusBulkReadEvent.class })
+	public void handleBulkRead(PassportStatusBulkReadEvent event) throws JsonProcessingException {
+		eventLogWriter.write(new EventLogEntityBuilder()
+			.eventType(EventLogType.READ_STATUS_BULK_SUCCESS)
+			.description("Passport status bulk read success")
+			.details(detailsSerializer.serialize(PassportStatusBulkReadEvent.class, event))
+			.build());
+
+		log.info("Event: status bulk read - Operation: {}, Count: {}", event.getOperation(), Iterables.size(event.getIds()));
+	}
+
+	@Async(AsyncConfig.PASSPORT_STATUS_EVENT_EXECUTOR)
 	@EventListener({ PassportStatusUpdatedEvent.class })
 	public void handleUpdated(PassportStatusUpdatedEvent event) throws JsonProcessingException {
-		eventLogRepository.save(new EventLogEntityBuilder()
+		eventLogWriter.write(new EventLogEntityBuilder()
 			.eventType(EventLogType.UPDATE_STATUS_SUCCESS)
 			.description("Passport status update success")
-			.details(objectMapper.writeValueAsString(event))
+			.details(detailsSerializer.serialize(PassportStatusUpdatedEvent.class, event))
 			.build());
 
 		log.info("Event: status updated - Updated ID: " + event.getUpdatedEntity().getId());
 	}
 
-	@Async
+	@Async(AsyncConfig.PASSPORT_STATUS_EVENT_EXECUTOR)
 	@EventListener({ PassportStatusDeletedEvent.class })
 	public void handleDeleted(PassportStatusDeletedEvent event) throws JsonProcessingException {
-		eventLogRepository.save(new EventLogEntityBuilder()
+		eventLogWriter.write(new EventLogEntityBuilder()
 			.eventType(EventLogType.DELETE_STATUS_SUCCESS)
 			.description("Passport status delete success")
-			.details(objectMapper.writeValueAsString(event))
+			.details(detailsSerializer.serialize(PassportStatusDeletedEvent.class, event))
 			.build());
 
 		// Setting this as warning, since deletion should only be happening as part of
@@ -105,26 +117,26 @@ public class PassportStatusEventListener {
 		log.warn("Event: status deleted - ID: " + event.getEntity().getId());
 	}
 
-	@Async
+	@Async(AsyncConfig.PASSPORT_STATUS_EVENT_EXECUTOR)
 	@EventListener({ PassportStatusSearchEvent.class })
 	public void handleSearch(PassportStatusSearchEvent event) throws JsonProcessingException {
 		switch (event.getResult()) {
-			case HIT -> eventLogRepository.save(new EventLogEntityBuilder()
+			case HIT -> eventLogWriter.write(new EventLogEntityBuilder()
 				.eventType(EventLogType.SEARCH_STATUS_HIT)
 				.description("Passport status search hit")
-				.details(objectMapper.writeValueAsString(event))
+				.details(detailsSerializer.serialize(PassportStatusSearchEvent.class, event))
 				.build());
 
-			case MISS -> eventLogRepository.save(new EventLogEntityBuilder()
+			case MISS -> eventLogWriter.write(new EventLogEntityBuilder()
 				.eventType(EventLogType.SEARCH_STATUS_MISS)
 				.description("Passport status search miss")
-				.details(objectMapper.writeValueAsString(event))
+				.details(detailsSerializer.serialize(PassportStatusSearchEvent.class, event))
 				.build());
 
-			case NON_UNIQUE -> eventLogRepository.save(new EventLogEntityBuilder()
+			case NON_UNIQUE -> eventLogWriter.write(new EventLogEntityBuilder()
 				.eventType(EventLogType.SEARCH_STATUS_NON_UNIQUE)
 				.description("Passport status search non-unique")
-				.details(objectMapper.writeValueAsString(event))
+				.details(detailsSerializer.serialize(PassportStatusSearchEvent.class, event))
 				.build());
 
 			default -> log.warn("PassportStatusSearchEvent {} result is not implemented", event.getResult());
@@ -133,4 +145,16 @@ public class PassportStatusEventListener {
 		log.info("Event: Search result - Result: " + event.getResult().toString());
 	}
 
+	@Async(AsyncConfig.PASSPORT_STATUS_EVENT_EXECUTOR)
+	@EventListener({ PassportStatusBatchSearchEvent.class })
+	public void handleBatchSearch(PassportStatusBatchSearchEvent event) throws JsonProcessingException {
+		eventLogWriter.write(new EventLogEntityBuilder()
+			.eventType(EventLogType.SEARCH_STATUS_BATCH)
+			.description("Passport status batch search")
+			.details(detailsSerializer.serialize(PassportStatusBatchSearchEvent.class, event))
+			.build());
+
+		log.info("Event: Batch search result - Hits: {}, Misses: {}, Non-unique: {}", event.getHits(), event.getMisses(), event.getNonUnique());
+	}
+
 }
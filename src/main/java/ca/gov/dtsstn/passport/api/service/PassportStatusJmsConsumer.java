@@ -0,0 +1,216 @@
+package ca.gov.dtsstn.passport.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ca.gov.dtsstn.passport.api.config.properties.JmsProperties;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Session;
+
+/**
+ * Consumes passport statuses from the passport status queue in batches.
+ * <p>
+ * Each consumer thread drains up to {@code batchSize} messages (or whatever arrives within {@code batchTimeout} of the
+ * first one), creates them using {@link PassportStatusService#createAll(List)}, and then acknowledges the whole batch by
+ * committing its transacted JMS session. If a batch fails, the session is rolled back and its messages are redelivered;
+ * redelivered messages are processed one at a time so that a single bad message cannot hold up the rest of its batch
+ * (it will eventually be sent to the dead letter queue by the broker).
+ * <p>
+ * Running several consumers is safe: messages are grouped by {@code applicationRegisterSid} (see
+ * {@link PassportStatusJmsService}), so every version of an application is still processed by one consumer, in order.
+ * <p>
+ * Consumers run on virtual threads when {@code spring.threads.virtual.enabled} is set (and on platform threads
+ * otherwise).
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class PassportStatusJmsConsumer implements SmartLifecycle {
+
+	private static final Logger log = LoggerFactory.getLogger(PassportStatusJmsConsumer.class);
+
+	private final ConnectionFactory connectionFactory;
+
+	private final JmsProperties jmsProperties;
+
+	private final MessageConverter messageConverter;
+
+	private final PassportStatusService passportStatusService;
+
+	private final DistributionSummary batchSizes;
+
+	private final List<Thread> consumerThreads = new ArrayList<>();
+
+	private final ReentrantLock lifecycleLock = new ReentrantLock();
+
+	private final boolean virtualThreads;
+
+	private volatile boolean running;
+
+	public PassportStatusJmsConsumer(ConnectionFactory connectionFactory, Environment environment, JmsProperties jmsProperties, MessageConverter messageConverter, MeterRegistry meterRegistry, PassportStatusService passportStatusService) {
+		Assert.notNull(connectionFactory, "connectionFactory is required; it must not be null");
+		Assert.notNull(environment, "environment is required; it must not be null");
+		Assert.notNull(jmsProperties, "jmsProperties is required; it must not be null");
+		Assert.notNull(messageConverter, "messageConverter is required; it must not be null");
+		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
+		Assert.notNull(passportStatusService, "passportStatusService is required; it must not be null");
+		this.connectionFactory = connectionFactory;
+		this.jmsProperties = jmsProperties;
+		this.messageConverter = messageConverter;
+		this.passportStatusService = passportStatusService;
+		this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+
+		this.batchSizes = DistributionSummary.builder("passport_statuses.jms.batch.size")
+			.description("Number of passport status messages processed per (transacted) batch")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public void start() {
+		lifecycleLock.lock();
+
+		try {
+			if (running) { return; }
+
+			final var concurrency = jmsProperties.consumer().concurrency();
+			log.info("Starting {} passport status consumer(s) on {} using {} threads", concurrency, jmsProperties.destination().passportStatus(), virtualThreads ? "virtual" : "platform");
+
+			this.running = true;
+
+			for (var i = 0; i < concurrency; i++) {
+				final var threadBuilder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+				consumerThreads.add(threadBuilder.name("passport-status-consumer-" + i).start(this::consume));
+			}
+		}
+		finally {
+			lifecycleLock.unlock();
+		}
+	}
+
+	@Override
+	public void stop() {
+		lifecycleLock.lock();
+
+		try {
+			if (!running) { return; }
+
+			log.info("Stopping passport status consumer(s)");
+			this.running = false;
+
+			final var joinTimeout = jmsProperties.consumer().receiveTimeout().plus(jmsProperties.consumer().batchTimeout()).multipliedBy(2);
+
+			for (final var consumerThread : consumerThreads) {
+				try {
+					if (!consumerThread.join(joinTimeout)) { log.warn("Passport status consumer thread [{}] did not stop within {}", consumerThread.getName(), joinTimeout); }
+				}
+				catch (final InterruptedException interruptedException) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			consumerThreads.clear();
+		}
+		finally {
+			lifecycleLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Consumes batches until stopped, (re)connecting to the broker as necessary.
+	 */
+	protected void consume() {
+		while (running) {
+			try (final var connection = connectionFactory.createConnection();
+					final var session = connection.createSession(true, Session.SESSION_TRANSACTED);
+					final var consumer = session.createConsumer(jmsProperties.destination().passportStatusDestination())) {
+				connection.start();
+				while (running) { consumeBatch(session, consumer); }
+			}
+			catch (final JMSException | RuntimeException exception) {
+				log.error("Passport status consumer failed; reconnecting in {}", jmsProperties.consumer().recoveryInterval(), exception);
+				sleep(jmsProperties.consumer().recoveryInterval().toMillis());
+			}
+		}
+	}
+
+	/**
+	 * Receives, processes and acknowledges (or rolls back) a single batch of messages.
+	 */
+	protected void consumeBatch(Session session, MessageConsumer consumer) throws JMSException {
+		final var messages = receiveBatch(consumer);
+		if (messages.isEmpty()) { return; }
+
+		try {
+			final var passportStatuses = new ArrayList<PassportStatus>(messages.size());
+			for (final var message : messages) { passportStatuses.add((PassportStatus) messageConverter.fromMessage(message)); }
+
+			log.debug("Received batch of {} passport status(es) from {}", passportStatuses.size(), jmsProperties.destination().passportStatus());
+			passportStatusService.createAll(passportStatuses);
+			session.commit();
+			batchSizes.record(messages.size());
+		}
+		catch (final JMSException | RuntimeException exception) {
+			log.warn("Could not process batch of {} passport status message(s); rolling back", messages.size(), exception);
+			session.rollback();
+		}
+	}
+
+	/**
+	 * Receives up to {@code batchSize} messages, waiting at most {@code batchTimeout} after the first message arrives. A
+	 * redelivered first message is returned on its own.
+	 */
+	protected List<Message> receiveBatch(MessageConsumer consumer) throws JMSException {
+		final var consumerProperties = jmsProperties.consumer();
+
+		final var firstMessage = consumer.receive(consumerProperties.receiveTimeout().toMillis());
+		if (firstMessage == null) { return List.of(); }
+		if (firstMessage.getJMSRedelivered()) { return List.of(firstMessage); }
+
+		final var messages = new ArrayList<Message>(consumerProperties.batchSize());
+		messages.add(firstMessage);
+
+		final var deadline = System.nanoTime() + consumerProperties.batchTimeout().toNanos();
+
+		while (messages.size() < consumerProperties.batchSize()) {
+			final var remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			final var message = remainingMillis > 0 ? consumer.receive(remainingMillis) : consumer.receiveNoWait();
+			if (message == null) { break; }
+			messages.add(message);
+		}
+
+		return messages;
+	}
+
+	private void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (final InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+			this.running = false;
+		}
+	}
+
+}
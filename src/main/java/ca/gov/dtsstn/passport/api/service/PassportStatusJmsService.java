@@ -1,18 +1,25 @@
 package ca.gov.dtsstn.passport.api.service;
 
+import java.util.Collection;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.jms.annotation.JmsListener;
 import org.springframework.jms.core.JmsTemplate;
-import org.springframework.jms.support.JmsHeaders;
-import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.jms.support.JmsUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import ca.gov.dtsstn.passport.api.config.properties.JmsProperties;
 import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
 
 /**
+ * Queues passport statuses for (asynchronous) creation. Every message is assigned to the message group of its
+ * {@code applicationRegisterSid}, so the broker delivers all versions of an application to the same consumer, in the
+ * order they were sent, while different applications are spread across all consumers.
+ *
  * @author Sébastien Comeau (sebastien.comeau@hrsdc-rhdcc.gc.ca)
  */
 @Component
@@ -20,37 +27,63 @@ public class PassportStatusJmsService {
 
 	private static final Logger log = LoggerFactory.getLogger(PassportStatusJmsService.class);
 
+	/**
+	 * The standard JMS message group property (honoured by Artemis).
+	 */
+	public static final String MESSAGE_GROUP_PROPERTY = "JMSXGroupID";
+
 	private final JmsProperties jmsProperties;
 
 	private final JmsTemplate jmsTemplate;
 
-	private final PassportStatusService passportStatusService;
-
 	public PassportStatusJmsService(JmsProperties jmsProperties,
-			JmsTemplate jmsTemplate,
-			PassportStatusService passportStatusService) {
+			JmsTemplate jmsTemplate) {
 		Assert.notNull(jmsProperties, "jmsProperties is required; it must not be null");
 		Assert.notNull(jmsTemplate, "jmsTemplate is required; it must not be null");
-		Assert.notNull(passportStatusService, "passportStatusService is required; it must not be null");
 		this.jmsProperties = jmsProperties;
 		this.jmsTemplate = jmsTemplate;
-		this.passportStatusService = passportStatusService;
 	}
 
 	public void send(PassportStatus passportStatus) {
 		Assert.notNull(passportStatus, "passportStatus is required; it must not be null");
 		final var destination = jmsProperties.destination().passportStatusDestination();
 		log.debug("Sending passport status to {}; {}'", destination, passportStatus);
-		jmsTemplate.convertAndSend(destination, passportStatus);
+		jmsTemplate.convertAndSend(destination, passportStatus, message -> setMessageGroup(message, passportStatus));
 	}
 
-	@JmsListener(destination = "${application.jms.destination.passport-status}")
-	public void receive(PassportStatus passportStatus,
-			@Header(JmsHeaders.MESSAGE_ID) String messageId,
-			@Header(JmsHeaders.DESTINATION) String destination) {
-		Assert.notNull(passportStatus, "passportStatus is required; it must not be null");
-		log.debug("Receive passport status from {}; MessageId='{}', {}", destination, messageId, passportStatus);
-		passportStatusService.create(passportStatus);
+	/**
+	 * Sends the given passport statuses using a single transacted session, so that either all or none of them are
+	 * queued.
+	 */
+	public void sendAll(Collection<PassportStatus> passportStatuses) {
+		Assert.notNull(passportStatuses, "passportStatuses is required; it must not be null");
+		final var destination = jmsProperties.destination().passportStatusDestination();
+		final var connectionFactory = jmsTemplate.getConnectionFactory();
+		final var messageConverter = jmsTemplate.getMessageConverter();
+		Assert.state(connectionFactory != null, "jmsTemplate.connectionFactory is required; it must not be null");
+		Assert.state(messageConverter != null, "jmsTemplate.messageConverter is required; it must not be null");
+		log.debug("Sending {} passport statuses to {}", passportStatuses.size(), destination);
+
+		try (final var connection = connectionFactory.createConnection();
+				final var session = connection.createSession(true, Session.SESSION_TRANSACTED);
+				final var producer = session.createProducer(destination)) {
+			try {
+				for (final var passportStatus : passportStatuses) { producer.send(setMessageGroup(messageConverter.toMessage(passportStatus, session), passportStatus)); }
+				session.commit();
+			}
+			catch (final JMSException | RuntimeException exception) {
+				session.rollback();
+				throw exception;
+			}
+		}
+		catch (final JMSException jmsException) {
+			throw JmsUtils.convertJmsAccessException(jmsException);
+		}
+	}
+
+	protected Message setMessageGroup(Message message, PassportStatus passportStatus) throws JMSException {
+		message.setStringProperty(MESSAGE_GROUP_PROPERTY, passportStatus.getApplicationRegisterSid());
+		return message;
 	}
 
 }
@@ -0,0 +1,151 @@
+package ca.gov.dtsstn.passport.api.service;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ca.gov.dtsstn.passport.api.config.properties.AdmissionControlProperties;
+import ca.gov.dtsstn.passport.api.config.properties.JmsProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Periodically samples the depth, enqueue/dequeue rates and consumer lag (the age of the oldest waiting message) of the
+ * passport status queue, and decides whether it is too saturated to accept more messages.
+ * <p>
+ * Queue statistics are read directly from the embedded broker; when the broker is not embedded (or the queue does not
+ * exist yet) nothing is measured and the queue is never considered saturated.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class PassportStatusQueueMonitor {
+
+	private static final Logger log = LoggerFactory.getLogger(PassportStatusQueueMonitor.class);
+
+	protected record Sample(long timestamp, long depth, long messagesAdded, long messagesAcknowledged, @Nullable Duration consumerLag) {}
+
+	private final AdmissionControlProperties admissionControlProperties;
+
+	private final ObjectProvider<EmbeddedActiveMQ> embeddedActiveMq;
+
+	private final String queueName;
+
+	@Nullable
+	private volatile Sample latestSample;
+
+	private volatile double enqueueRate = Double.NaN;
+
+	private volatile double dequeueRate = Double.NaN;
+
+	private volatile boolean saturated;
+
+	public PassportStatusQueueMonitor(AdmissionControlProperties admissionControlProperties, ObjectProvider<EmbeddedActiveMQ> embeddedActiveMq, JmsProperties jmsProperties, MeterRegistry meterRegistry) {
+		Assert.notNull(admissionControlProperties, "admissionControlProperties is required; it must not be null");
+		Assert.notNull(embeddedActiveMq, "embeddedActiveMq is required; it must not be null");
+		Assert.notNull(jmsProperties, "jmsProperties is required; it must not be null");
+		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
+		this.admissionControlProperties = admissionControlProperties;
+		this.embeddedActiveMq = embeddedActiveMq;
+		this.queueName = jmsProperties.destination().passportStatus();
+
+		Gauge.builder("passport_statuses.jms.queue.depth", this, monitor -> monitor.sampleValue(Sample::depth))
+			.description("Number of messages in the passport status queue (including messages being delivered)")
+			.register(meterRegistry);
+		Gauge.builder("passport_statuses.jms.queue.enqueue_rate", this, PassportStatusQueueMonitor::getEnqueueRate)
+			.description("Rate at which messages are added to the passport status queue")
+			.baseUnit("messages/s")
+			.register(meterRegistry);
+		Gauge.builder("passport_statuses.jms.queue.dequeue_rate", this, PassportStatusQueueMonitor::getDequeueRate)
+			.description("Rate at which messages are acknowledged (consumed) from the passport status queue")
+			.baseUnit("messages/s")
+			.register(meterRegistry);
+		Gauge.builder("passport_statuses.jms.queue.consumer_lag", this, monitor -> monitor.sampleValue(sample -> sample.consumerLag() == null ? 0.0 : sample.consumerLag().toMillis() / 1000.0))
+			.description("Age of the oldest message waiting in the passport status queue")
+			.baseUnit("seconds")
+			.register(meterRegistry);
+		Gauge.builder("passport_statuses.jms.queue.saturated", this, monitor -> monitor.isSaturated() ? 1.0 : 0.0)
+			.description("Whether new passport status writes are currently being rejected")
+			.register(meterRegistry);
+	}
+
+	public double getDequeueRate() {
+		return dequeueRate;
+	}
+
+	public double getEnqueueRate() {
+		return enqueueRate;
+	}
+
+	/**
+	 * Whether new messages should be rejected; always {@code false} if admission control is disabled.
+	 */
+	public boolean isSaturated() {
+		return admissionControlProperties.enabled() && saturated;
+	}
+
+	/**
+	 * Samples the queue's statistics, updating the enqueue/dequeue rates and saturation accordingly.
+	 */
+	@Scheduled(fixedDelayString = "${application.admission-control.sample-interval}")
+	public void sample() {
+		final var queue = locateQueue();
+		final var previousSample = latestSample;
+		final var sample = (queue == null) ? null : sample(queue);
+
+		if (sample != null && previousSample != null && sample.timestamp() > previousSample.timestamp()) {
+			final var elapsedSeconds = (sample.timestamp() - previousSample.timestamp()) / 1000.0;
+			this.enqueueRate = (sample.messagesAdded() - previousSample.messagesAdded()) / elapsedSeconds;
+			this.dequeueRate = (sample.messagesAcknowledged() - previousSample.messagesAcknowledged()) / elapsedSeconds;
+		}
+		else if (sample == null) {
+			this.enqueueRate = Double.NaN;
+			this.dequeueRate = Double.NaN;
+		}
+
+		this.latestSample = sample;
+
+		final var isSaturated = sample != null && isSaturated(sample);
+		if (isSaturated != saturated) {
+			if (isSaturated) { log.warn("Passport status queue is saturated (depth: {}, consumer lag: {}); rejecting new writes", sample.depth(), sample.consumerLag()); }
+			else { log.info("Passport status queue is no longer saturated; accepting new writes"); }
+		}
+
+		this.saturated = isSaturated;
+	}
+
+	protected boolean isSaturated(Sample sample) {
+		final var consumerLag = sample.consumerLag();
+		return sample.depth() > admissionControlProperties.maxQueueDepth()
+			|| (consumerLag != null && consumerLag.compareTo(admissionControlProperties.maxConsumerLag()) > 0);
+	}
+
+	@Nullable
+	protected Queue locateQueue() {
+		final var embeddedServer = embeddedActiveMq.getIfAvailable();
+		if (embeddedServer == null || embeddedServer.getActiveMQServer() == null) { return null; }
+		return embeddedServer.getActiveMQServer().locateQueue(queueName);
+	}
+
+	protected Sample sample(Queue queue) {
+		final var now = System.currentTimeMillis();
+		final var firstMessage = queue.peekFirstMessage();
+		final var consumerLag = (firstMessage == null) ? null : Duration.ofMillis(Math.max(0, now - firstMessage.getMessage().getTimestamp()));
+		return new Sample(now, queue.getMessageCount(), queue.getMessagesAdded(), queue.getMessagesAcknowledged(), consumerLag);
+	}
+
+	private double sampleValue(ToDoubleFunction<Sample> valueFunction) {
+		final var sample = latestSample;
+		return sample == null ? Double.NaN : valueFunction.applyAsDouble(sample);
+	}
+
+}
@@ -1,23 +1,51 @@
 package ca.gov.dtsstn.passport.api.service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import ca.gov.dtsstn.passport.api.data.PassportStatusBatchSearchRepository.FileNumberSearchTerms;
+import ca.gov.dtsstn.passport.api.data.PassportStatusBatchSearchRepository.StatusVersion;
+import ca.gov.dtsstn.passport.api.data.PassportStatusLatestRepository;
 import ca.gov.dtsstn.passport.api.data.PassportStatusRepository;
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
 import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusCreateConflictEvent;
 import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusCreatedEvent;
 import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusDeletedEvent;
 import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusReadEvent;
 import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusUpdatedEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBulkReadEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBulkReadEvent.Operation;
 import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
 import ca.gov.dtsstn.passport.api.service.domain.mapper.PassportStatusMapper;
+import ca.gov.dtsstn.passport.api.service.search.PassportStatusBloomFilter;
+import ca.gov.dtsstn.passport.api.service.search.PassportStatusSearchCache;
+import ca.gov.dtsstn.passport.api.service.search.PassportStatusSearchIndex;
+import ca.gov.dtsstn.passport.api.service.search.SearchKey;
 
 /**
  * Service class to handle {@link PassportStatus} interactions.
@@ -27,36 +55,123 @@ import ca.gov.dtsstn.passport.api.service.domain.mapper.PassportStatusMapper;
 @Service
 public class PassportStatusService {
 
+	/**
+	 * Sort order used when scrolling through all passport statuses; {@code id} breaks ties between equal
+	 * {@code createdDate}s so that every status has a unique position.
+	 */
+	public static final Sort SCROLL_SORT = Sort.by("createdDate", "id");
+
+	/**
+	 * The maximum number of passport statuses summarized by a single {@link PassportStatusBulkReadEvent}; at 256
+	 * characters per {@code applicationRegisterSid} a full chunk serializes to roughly 30KB.
+	 */
+	public static final int BULK_READ_EVENT_CHUNK_SIZE = 100;
+
+	private final PassportStatusBloomFilter bloomFilter;
+
 	private final ApplicationEventPublisher eventPublisher;
 
+	private final PassportStatusLatestRepository latestRepository;
+
 	private final PassportStatusMapper mapper;
 
 	private final PassportStatusRepository repository;
 
-	public PassportStatusService(ApplicationEventPublisher eventPublisher, PassportStatusMapper mapper, PassportStatusRepository repository) {
+	private final PassportStatusSearchCache searchCache;
+
+	private final PassportStatusSearchIndex searchIndex;
+
+	public PassportStatusService(PassportStatusBloomFilter bloomFilter, ApplicationEventPublisher eventPublisher, PassportStatusLatestRepository latestRepository, PassportStatusMapper mapper, PassportStatusRepository repository, PassportStatusSearchCache searchCache, PassportStatusSearchIndex searchIndex) {
+		Assert.notNull(bloomFilter, "bloomFilter is required; it must not be null");
 		Assert.notNull(eventPublisher, "eventPublisher is required; it must not be null");
+		Assert.notNull(latestRepository, "latestRepository is required; it must not be null");
 		Assert.notNull(mapper, "mapper is required; it must not be null");
 		Assert.notNull(repository, "repository is required; it must not be null");
+		Assert.notNull(searchCache, "searchCache is required; it must not be null");
+		Assert.notNull(searchIndex, "searchIndex is required; it must not be null");
+		this.bloomFilter = bloomFilter;
 		this.eventPublisher = eventPublisher;
+		this.latestRepository = latestRepository;
 		this.mapper = mapper;
 		this.repository = repository;
+		this.searchCache = searchCache;
+		this.searchIndex = searchIndex;
 	}
 
-	public PassportStatus create(PassportStatus passportStatus) {
+	/**
+	 * Creates the given passport status, unless one with the same {@code applicationRegisterSid} and {@code version}
+	 * already exists (in which case the existing passport status is returned instead).
+	 */
+	@Transactional
+	public CreateResult create(PassportStatus passportStatus) {
 		Assert.notNull(passportStatus, "passportStatus is required; it must not be null");
 		Assert.isNull(passportStatus.getId(), "passportStatus.id must be null when creating new instance");
 
-		final var existingPassportStatus = repository.findByApplicationRegisterSidAndVersion(passportStatus.getApplicationRegisterSid(), passportStatus.getVersion()).map(mapper::fromEntity);
-		if (existingPassportStatus.isPresent()) {
-			eventPublisher.publishEvent(ImmutablePassportStatusCreateConflictEvent.of(existingPassportStatus.get()));
-			return existingPassportStatus.get();
+		// the insert relies on the (applicationRegisterSid, version) unique index, so the existing passport status is only read on conflict
+		final var passportStatusEntity = mapper.toEntity(passportStatus);
+		if (!repository.insertIfAbsent(passportStatusEntity)) { // NOSONAR (nullable param)
+			final var existingPassportStatus = repository.findByApplicationRegisterSidAndVersion(passportStatus.getApplicationRegisterSid(), passportStatus.getVersion()).map(mapper::fromEntity).orElseThrow();
+			eventPublisher.publishEvent(ImmutablePassportStatusCreateConflictEvent.of(existingPassportStatus));
+			return new CreateResult(existingPassportStatus, false);
 		}
 
-		final var createdPassportStatus = mapper.fromEntity(repository.save(mapper.toEntity(passportStatus))); // NOSONAR (nullable param)
+		final var createdPassportStatus = mapper.fromEntity(passportStatusEntity);
+		upsertLatest(List.of(createdPassportStatus.getId()));
+		bloomFilter.put(createdPassportStatus);
 		eventPublisher.publishEvent(ImmutablePassportStatusCreatedEvent.of(createdPassportStatus));
-		return createdPassportStatus;
+		return new CreateResult(createdPassportStatus, true);
+	}
+
+	/**
+	 * Performs a {@link #create(PassportStatus)} for each of the given passport statuses. The passport statuses are
+	 * inserted with a single JDBC batch of {@code INSERT ... ON CONFLICT DO NOTHING}, whose per-row update counts tell
+	 * the created passport statuses from the conflicting ones, so concurrent writers of the same passport status cannot
+	 * both create it. Only the conflicting passport statuses are then read back (using a single query). Passport
+	 * statuses that appear more than once in the batch are created once, and their duplicates are treated as conflicts.
+	 *
+	 * @return the created (or conflicting) passport statuses, in the same order as {@code passportStatuses}
+	 */
+	@Transactional
+	public List<PassportStatus> createAll(List<PassportStatus> passportStatuses) {
+		Assert.notNull(passportStatuses, "passportStatuses is required; it must not be null");
+		Assert.isTrue(passportStatuses.stream().allMatch(passportStatus -> passportStatus.getId() == null), "passportStatus.id must be null when creating new instance");
+		if (passportStatuses.isEmpty()) { return List.of(); }
+
+		final var newEntities = new LinkedHashMap<StatusVersion, PassportStatusEntity>();
+		passportStatuses.forEach(passportStatus -> newEntities.computeIfAbsent(toStatusVersion(passportStatus), statusVersion -> mapper.toEntity(passportStatus)));
+
+		final var createdPassportStatuses = new HashMap<StatusVersion, PassportStatus>(newEntities.size());
+		repository.insertAllIfAbsent(List.copyOf(newEntities.values())).stream().map(mapper::fromEntity).forEach(passportStatus -> createdPassportStatuses.put(toStatusVersion(passportStatus), passportStatus));
+
+		final var conflictingStatusVersions = newEntities.keySet().stream().filter(statusVersion -> !createdPassportStatuses.containsKey(statusVersion)).toList();
+		final var existingPassportStatuses = new HashMap<StatusVersion, PassportStatus>(newEntities.size());
+		if (!conflictingStatusVersions.isEmpty()) { repository.findAllByStatusVersions(conflictingStatusVersions).stream().map(mapper::fromEntity).forEach(passportStatus -> existingPassportStatuses.put(toStatusVersion(passportStatus), passportStatus)); }
+
+		if (!createdPassportStatuses.isEmpty()) { upsertLatest(createdPassportStatuses.values().stream().map(PassportStatus::getId).toList()); }
+
+		final var results = new ArrayList<PassportStatus>(passportStatuses.size());
+
+		for (final var passportStatus : passportStatuses) {
+			final var statusVersion = toStatusVersion(passportStatus);
+			final var createdPassportStatus = createdPassportStatuses.remove(statusVersion);
+
+			if (createdPassportStatus != null) {
+				bloomFilter.put(createdPassportStatus);
+				eventPublisher.publishEvent(ImmutablePassportStatusCreatedEvent.of(createdPassportStatus));
+				existingPassportStatuses.put(statusVersion, createdPassportStatus);
+				results.add(createdPassportStatus);
+			}
+			else {
+				final var existingPassportStatus = existingPassportStatuses.get(statusVersion);
+				eventPublisher.publishEvent(ImmutablePassportStatusCreateConflictEvent.of(existingPassportStatus));
+				results.add(existingPassportStatus);
+			}
+		}
+
+		return results;
 	}
 
+	@Transactional(readOnly = true)
 	public Optional<PassportStatus> read(String id) {
 		Assert.hasText(id, "id is required; it must not be null or blank");
 		final var passportStatus = repository.findById(id).map(mapper::fromEntity);
@@ -64,56 +179,216 @@ public class PassportStatusService {
 		return passportStatus;
 	}
 
+	@Transactional
 	public PassportStatus update(PassportStatus passportStatus) {
 		Assert.notNull(passportStatus, "passportStatus is required; it must not be null");
 		Assert.notNull(passportStatus.getId(), "passportStatus.id must not be null when updating existing instance");
 		final var originalPassportStatus = repository.findById(passportStatus.getId()).orElseThrow(); // NOSONAR (nullable param)
+		final var originalApplicationRegisterSid = originalPassportStatus.getApplicationRegisterSid();
 		final var updatedPassportStatus = mapper.fromEntity(repository.save(mapper.update(passportStatus, originalPassportStatus)));
+		refreshLatest(originalApplicationRegisterSid);
+		if (!Objects.equals(originalApplicationRegisterSid, updatedPassportStatus.getApplicationRegisterSid())) { refreshLatest(updatedPassportStatus.getApplicationRegisterSid()); }
+		bloomFilter.put(updatedPassportStatus);
 		eventPublisher.publishEvent(ImmutablePassportStatusUpdatedEvent.of(mapper.fromEntity(originalPassportStatus), updatedPassportStatus));
 		return updatedPassportStatus;
 	}
 
+	@Transactional
 	public void delete(String id) {
 		repository.findById(id)
 			.map(mapper::fromEntity)
 			.ifPresent(passportStatus -> {
 				repository.deleteById(id);
+				refreshLatest(passportStatus.getApplicationRegisterSid());
 				eventPublisher.publishEvent(ImmutablePassportStatusDeletedEvent.of(passportStatus));
 			});
 	}
 
+	/**
+	 * Rebuilds the {@code passport_status_latest} projection from the {@code passport_status} table.
+	 *
+	 * @return the number of projection rows written
+	 */
+	@Transactional
+	public int rebuildLatest() {
+		latestRepository.deleteAllRows();
+		return latestRepository.insertAllNewest();
+	}
+
+	@Transactional(readOnly = true)
 	public Page<PassportStatus> readAll(Pageable pageable) {
 		Assert.notNull(pageable, "pageable is required; it must not be null");
 		final var passportStatuses = repository.findAll(pageable).map(mapper::fromEntity);
-		passportStatuses.map(ImmutablePassportStatusReadEvent::of).forEach(eventPublisher::publishEvent);
+		final var parameters = pageable.isPaged()
+			? Map.of("page", String.valueOf(pageable.getPageNumber()), "size", String.valueOf(pageable.getPageSize()), "sort", pageable.getSort().toString())
+			: Map.of("sort", pageable.getSort().toString());
+		publishBulkReadEvent(Operation.READ_ALL, parameters, passportStatuses.getContent());
 		return passportStatuses;
 	}
 
+	/**
+	 * Reads the window of (at most {@code limit}) passport statuses that follow the given position, ordered by
+	 * {@link #SCROLL_SORT}. Use {@code ScrollPosition.keyset()} to read the first window.
+	 */
+	@Transactional(readOnly = true)
+	public Window<PassportStatus> readAll(KeysetScrollPosition position, int limit) {
+		Assert.notNull(position, "position is required; it must not be null");
+		Assert.isTrue(limit > 0, "limit must be greater than zero");
+		final var passportStatuses = repository.findAllBy(position, SCROLL_SORT, Limit.of(limit)).map(mapper::fromEntity);
+		publishBulkReadEvent(Operation.SCROLL, Map.of("limit", String.valueOf(limit), "position", position.getKeys().toString()), passportStatuses.getContent());
+		return passportStatuses;
+	}
+
+	@Transactional(readOnly = true)
 	public List<PassportStatus> applicationRegisterSidSearch(String applicationRegisterSid) {
 		Assert.hasText(applicationRegisterSid, "applicationRegisterSid is required; it must not be null or blank");
 		final var passportStatuses = repository.findAllByApplicationRegisterSid(applicationRegisterSid).stream().map(mapper::fromEntity).toList();
-		passportStatuses.stream().map(ImmutablePassportStatusReadEvent::of).forEach(eventPublisher::publishEvent);
+		publishBulkReadEvent(Operation.APPLICATION_REGISTER_SID_SEARCH, Map.of(), passportStatuses);
 		return passportStatuses;
 	}
 
+	@Transactional(readOnly = true)
 	public List<PassportStatus> emailSearch(LocalDate dateOfBirth, String email, String givenName, String surname) {
 		Assert.notNull(dateOfBirth, "dateOfBirthis required; it must not be null");
 		Assert.hasText(email, "email is required; it must not be blank or null");
 		Assert.hasText(givenName, "givenName is required, it must not be blank or null");
 		Assert.hasText(surname, "surname is required; it must not be blank or null");
-		final var passportStatuses = repository.emailSearch(email, dateOfBirth, givenName, surname).stream().map(mapper::fromEntity).toList();
-		passportStatuses.stream().map(ImmutablePassportStatusReadEvent::of).forEach(eventPublisher::publishEvent);
+		final var searchKey = SearchKey.ofEmail(dateOfBirth, email, givenName, surname);
+		final var passportStatuses = search(searchKey, () -> repository.emailSearch(searchKey.identifier(), dateOfBirth, searchKey.givenName(), searchKey.surname()));
+		publishBulkReadEvent(Operation.EMAIL_SEARCH, Map.of(), passportStatuses);
 		return passportStatuses;
 	}
 
+	@Transactional(readOnly = true)
 	public List<PassportStatus> fileNumberSearch(LocalDate dateOfBirth, String fileNumber, String givenName, String surname) {
 		Assert.notNull(dateOfBirth, "dateOfBirthis required; it must not be null");
 		Assert.hasText(fileNumber, "fileNumber is required; it must not be blank or null");
 		Assert.hasText(givenName, "givenName is required, it must not be blank or null");
 		Assert.hasText(surname, "surname is required; it must not be blank or null");
-		final var passportStatuses = repository.fileNumberSearch(fileNumber, dateOfBirth, givenName, surname).stream().map(mapper::fromEntity).toList();
-		passportStatuses.stream().map(ImmutablePassportStatusReadEvent::of).forEach(eventPublisher::publishEvent);
+		final var searchKey = SearchKey.ofFileNumber(dateOfBirth, fileNumber, givenName, surname);
+		final var passportStatuses = search(searchKey, () -> repository.fileNumberSearch(searchKey.identifier(), dateOfBirth, searchKey.givenName(), searchKey.surname()));
+		publishBulkReadEvent(Operation.FILE_NUMBER_SEARCH, Map.of(), passportStatuses);
+		return passportStatuses;
+	}
+
+	/**
+	 * Performs a {@link #fileNumberSearch(LocalDate, String, String, String)} for each of the given (file number) search
+	 * keys. Searches that cannot be answered by the search index, search cache or bloom filter are resolved using a
+	 * single set-based query.
+	 *
+	 * @return the newest passport status of every matching {@code applicationRegisterSid}, by search key
+	 */
+	@Transactional(readOnly = true)
+	public Map<SearchKey, List<PassportStatus>> fileNumberSearch(Collection<SearchKey> searchKeys) {
+		Assert.notNull(searchKeys, "searchKeys is required; it must not be null");
+		Assert.isTrue(searchKeys.stream().allMatch(searchKey -> searchKey.type() == SearchKey.Type.FILE_NUMBER), "searchKeys must only contain file number search keys");
+
+		final var passportStatuses = new HashMap<SearchKey, List<PassportStatus>>(searchKeys.size());
+		final var unindexedSearchKeys = new LinkedHashSet<SearchKey>();
+
+		searchKeys.forEach(searchKey -> searchIndex.search(searchKey).ifPresentOrElse(
+			indexedPassportStatuses -> passportStatuses.put(searchKey, indexedPassportStatuses),
+			() -> unindexedSearchKeys.add(searchKey)));
+
+		if (!unindexedSearchKeys.isEmpty()) { passportStatuses.putAll(searchCache.getAll(unindexedSearchKeys, this::fileNumberSearchAll)); }
+
+		publishBulkReadEvent(Operation.BATCH_FILE_NUMBER_SEARCH, Map.of("searches", String.valueOf(searchKeys.size())), passportStatuses.values().stream().flatMap(List::stream).toList());
 		return passportStatuses;
 	}
 
+	/**
+	 * Resolves the given file number search keys against the database, skipping any that the bloom filter can rule out.
+	 */
+	protected Map<SearchKey, List<PassportStatus>> fileNumberSearchAll(Set<SearchKey> searchKeys) {
+		final var passportStatuses = new HashMap<SearchKey, List<PassportStatus>>(searchKeys.size());
+		final var querySearchKeys = new ArrayList<SearchKey>(searchKeys.size());
+
+		searchKeys.forEach(searchKey -> {
+			if (bloomFilter.isDefinitelyAbsent(searchKey)) { passportStatuses.put(searchKey, List.of()); }
+			else { querySearchKeys.add(searchKey); }
+		});
+
+		final var searchTerms = querySearchKeys.stream().map(searchKey -> new FileNumberSearchTerms(searchKey.identifier(), searchKey.dateOfBirth(), searchKey.givenName(), searchKey.surname())).toList();
+		final var results = repository.fileNumberSearch(searchTerms);
+
+		IntStream.range(0, querySearchKeys.size()).forEach(index -> {
+			final var result = results.get(index).stream().map(mapper::fromEntity).toList();
+			if (result.isEmpty()) { bloomFilter.recordFalsePositive(); }
+			passportStatuses.put(querySearchKeys.get(index), result);
+		});
+
+		return passportStatuses;
+	}
+
+	/**
+	 * Answers a search from the in-memory index if it is ready. Otherwise the result is read from the search cache or,
+	 * failing that, from the database (unless the bloom filter can rule out any match).
+	 */
+	protected List<PassportStatus> search(SearchKey searchKey, Supplier<List<PassportStatusEntity>> repositorySearch) {
+		return searchIndex.search(searchKey).orElseGet(() -> searchCache.get(searchKey, () -> {
+			if (bloomFilter.isDefinitelyAbsent(searchKey)) { return List.of(); }
+
+			final var passportStatuses = repositorySearch.get().stream().map(mapper::fromEntity).toList();
+			if (passportStatuses.isEmpty()) { bloomFilter.recordFalsePositive(); }
+			return passportStatuses;
+		}));
+	}
+
+	/**
+	 * Publishes a {@link PassportStatusBulkReadEvent} for every (at most) {@value #BULK_READ_EVENT_CHUNK_SIZE} passport
+	 * statuses returned by a paged read or a search (nothing is published if none were returned). Each event is logged
+	 * as a single event log entry, so the chunk size keeps its details within the {@code event_log.details} column
+	 * even when every {@code applicationRegisterSid} is as long as it can be. When the passport statuses span more
+	 * than one event, each event's parameters include its (one-based) {@code chunk} and the number of {@code chunks}.
+	 */
+	protected void publishBulkReadEvent(Operation operation, Map<String, String> parameters, List<PassportStatus> passportStatuses) {
+		final var chunks = Lists.partition(passportStatuses, BULK_READ_EVENT_CHUNK_SIZE);
+
+		for (var index = 0; index < chunks.size(); index++) {
+			final var chunk = chunks.get(index);
+			final var chunkParameters = chunks.size() == 1 ? parameters : ImmutableMap.<String, String>builder()
+				.putAll(parameters)
+				.put("chunk", String.valueOf(index + 1))
+				.put("chunks", String.valueOf(chunks.size()))
+				.build();
+
+			eventPublisher.publishEvent(PassportStatusBulkReadEvent.builder()
+				.operation(operation)
+				.parameters(chunkParameters)
+				.ids(chunk.stream().map(PassportStatus::getId).toList())
+				.applicationRegisterSids(chunk.stream().map(PassportStatus::getApplicationRegisterSid).toList())
+				.build());
+		}
+	}
+
+	/**
+	 * Points the {@code passport_status_latest} projection at the given (newly created) passport statuses, for each
+	 * {@code applicationRegisterSid} whose recorded version is older (or missing). Safe against concurrent writers of the
+	 * same {@code applicationRegisterSid}: the insert waits for (and then yields to) a concurrent insert, and the update
+	 * compares versions on the locked row.
+	 */
+	protected void upsertLatest(Collection<String> passportStatusIds) {
+		latestRepository.insertLatestIfAbsent(passportStatusIds);
+		latestRepository.updateLatestIfNewer(passportStatusIds);
+	}
+
+	/**
+	 * The outcome of {@link PassportStatusService#create(PassportStatus)}: either the newly created passport status
+	 * ({@code created == true}), or the existing passport status with the same {@code applicationRegisterSid} and
+	 * {@code version} ({@code created == false}).
+	 */
+	public record CreateResult(PassportStatus passportStatus, boolean created) {}
+
+	protected static StatusVersion toStatusVersion(PassportStatus passportStatus) {
+		return new StatusVersion(passportStatus.getApplicationRegisterSid(), passportStatus.getVersion());
+	}
+
+	/**
+	 * Recomputes the {@code passport_status_latest} projection row for the given {@code applicationRegisterSid}.
+	 */
+	protected void refreshLatest(String applicationRegisterSid) {
+		latestRepository.deleteByApplicationRegisterSid(applicationRegisterSid);
+		latestRepository.insertNewest(applicationRegisterSid);
+	}
+
 }
@@ -0,0 +1,160 @@
+package ca.gov.dtsstn.passport.api.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ca.gov.dtsstn.passport.api.data.SourceCodeRepository;
+import ca.gov.dtsstn.passport.api.data.StatusCodeRepository;
+import ca.gov.dtsstn.passport.api.service.domain.SourceCode;
+import ca.gov.dtsstn.passport.api.service.domain.StatusCode;
+import ca.gov.dtsstn.passport.api.service.domain.mapper.SourceCodeMapper;
+import ca.gov.dtsstn.passport.api.service.domain.mapper.StatusCodeMapper;
+
+/**
+ * An in-memory registry of every status code and source code, indexed by {@code id}, {@code code} and {@code cdoCode}.
+ * <p>
+ * The registry holds an immutable {@link Snapshot} that is loaded eagerly at startup and then reloaded (and atomically
+ * swapped in) every {@code application.reference-data.refresh-interval}, or on demand via {@link #refresh()}. Lookups
+ * are plain hash map reads against the current snapshot, so callers on the hot path (message mapping, validation,
+ * response mapping) avoid the {@code @Cacheable} proxies and key evaluation of {@link StatusCodeService} and
+ * {@link SourceCodeService}.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class ReferenceDataRegistry implements SmartInitializingSingleton {
+
+	private static final Logger log = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+	private final SourceCodeMapper sourceCodeMapper;
+
+	private final SourceCodeRepository sourceCodeRepository;
+
+	private final StatusCodeMapper statusCodeMapper;
+
+	private final StatusCodeRepository statusCodeRepository;
+
+	private volatile Snapshot snapshot = Snapshot.of(List.of(), List.of());
+
+	public ReferenceDataRegistry(@Lazy SourceCodeMapper sourceCodeMapper, SourceCodeRepository sourceCodeRepository, @Lazy StatusCodeMapper statusCodeMapper, StatusCodeRepository statusCodeRepository) {
+		Assert.notNull(sourceCodeMapper, "sourceCodeMapper is required; it must not be null");
+		Assert.notNull(sourceCodeRepository, "sourceCodeRepository is required; it must not be null");
+		Assert.notNull(statusCodeMapper, "statusCodeMapper is required; it must not be null");
+		Assert.notNull(statusCodeRepository, "statusCodeRepository is required; it must not be null");
+		this.sourceCodeMapper = sourceCodeMapper;
+		this.sourceCodeRepository = sourceCodeRepository;
+		this.statusCodeMapper = statusCodeMapper;
+		this.statusCodeRepository = statusCodeRepository;
+	}
+
+	/**
+	 * Loads the first snapshot once every singleton has been created (the mappers depend on this registry, so it cannot
+	 * be loaded any earlier), but before the web server and message consumers are started.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		refresh();
+	}
+
+	/**
+	 * Reloads every status code and source code from the database and atomically swaps in the new snapshot. Lookups
+	 * continue to use the previous snapshot while the reload is in progress.
+	 */
+	@Scheduled(initialDelayString = "${application.reference-data.refresh-interval}", fixedDelayString = "${application.reference-data.refresh-interval}")
+	public Snapshot refresh() {
+		final var stopWatch = StopWatch.createStarted();
+
+		final var sourceCodes = sourceCodeRepository.findAll().stream().map(sourceCodeMapper::fromEntity).toList();
+		final var statusCodes = statusCodeRepository.findAll().stream().map(statusCodeMapper::fromEntity).toList();
+		this.snapshot = Snapshot.of(sourceCodes, statusCodes);
+
+		log.debug("Loaded {} source codes and {} status codes in {} ms", sourceCodes.size(), statusCodes.size(), stopWatch.getTime());
+		return snapshot;
+	}
+
+	public Snapshot getSnapshot() {
+		return snapshot;
+	}
+
+	public Optional<SourceCode> readSourceCode(String id) {
+		Assert.notNull(id, "id is required; it must not be null");
+		return Optional.ofNullable(snapshot.sourceCodesById().get(id));
+	}
+
+	public Optional<SourceCode> readSourceCodeByCode(String code) {
+		Assert.notNull(code, "code is required; it must not be null");
+		return Optional.ofNullable(snapshot.sourceCodesByCode().get(code));
+	}
+
+	public Optional<SourceCode> readSourceCodeByCdoCode(String cdoCode) {
+		Assert.notNull(cdoCode, "cdoCode is required; it must not be null");
+		return Optional.ofNullable(snapshot.sourceCodesByCdoCode().get(cdoCode));
+	}
+
+	public Optional<StatusCode> readStatusCode(String id) {
+		Assert.notNull(id, "id is required; it must not be null");
+		return Optional.ofNullable(snapshot.statusCodesById().get(id));
+	}
+
+	public Optional<StatusCode> readStatusCodeByCode(String code) {
+		Assert.notNull(code, "code is required; it must not be null");
+		return Optional.ofNullable(snapshot.statusCodesByCode().get(code));
+	}
+
+	public Optional<StatusCode> readStatusCodeByCdoCode(String cdoCode) {
+		Assert.notNull(cdoCode, "cdoCode is required; it must not be null");
+		return Optional.ofNullable(snapshot.statusCodesByCdoCode().get(cdoCode));
+	}
+
+	/**
+	 * An immutable point-in-time view of the reference data.
+	 */
+	public record Snapshot(
+		Map<String, SourceCode> sourceCodesById,
+		Map<String, SourceCode> sourceCodesByCode,
+		Map<String, SourceCode> sourceCodesByCdoCode,
+		Map<String, StatusCode> statusCodesById,
+		Map<String, StatusCode> statusCodesByCode,
+		Map<String, StatusCode> statusCodesByCdoCode,
+		Instant loadedAt
+	) {
+
+		static Snapshot of(Collection<SourceCode> sourceCodes, Collection<StatusCode> statusCodes) {
+			return new Snapshot(
+				index(sourceCodes, SourceCode::getId),
+				index(sourceCodes, SourceCode::getCode),
+				index(sourceCodes, SourceCode::getCdoCode),
+				index(statusCodes, StatusCode::getId),
+				index(statusCodes, StatusCode::getCode),
+				index(statusCodes, StatusCode::getCdoCode),
+				Instant.now());
+		}
+
+		/**
+		 * Indexes {@code values} by {@code keyExtractor}, skipping values with a {@code null} key (the first value wins
+		 * if two share a key).
+		 */
+		private static <T> Map<String, T> index(Collection<T> values, Function<T, String> keyExtractor) {
+			return values.stream()
+				.filter(value -> Objects.nonNull(keyExtractor.apply(value)))
+				.collect(Collectors.collectingAndThen(Collectors.toMap(keyExtractor, Function.identity(), (first, second) -> first), Map::copyOf));
+		}
+
+	}
+
+}
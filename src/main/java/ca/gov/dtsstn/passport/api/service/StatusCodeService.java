@@ -7,6 +7,7 @@ import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import ca.gov.dtsstn.passport.api.data.StatusCodeRepository;
@@ -20,6 +21,7 @@ import ca.gov.dtsstn.passport.api.service.domain.mapper.StatusCodeMapper;
  * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
  */
 @Service
+@Transactional(readOnly = true)
 @CacheConfig(cacheNames = { "status-codes" })
 public class StatusCodeService {
 
@@ -9,7 +9,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import ca.gov.dtsstn.passport.api.data.entity.SourceCodeEntity;
-import ca.gov.dtsstn.passport.api.service.SourceCodeService;
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry;
 import ca.gov.dtsstn.passport.api.service.domain.SourceCode;
 import jakarta.annotation.PostConstruct;
 
@@ -20,17 +20,17 @@ import jakarta.annotation.PostConstruct;
 public abstract class SourceCodeMapper {
 
 	@Autowired
-	protected SourceCodeService sourceCodeService;
+	protected ReferenceDataRegistry referenceDataRegistry;
 
 	@PostConstruct
 	public void postConstruct() {
-		Assert.notNull(sourceCodeService, "sourceCodeService is required; it must not be null");
+		Assert.notNull(referenceDataRegistry, "referenceDataRegistry is required; it must not be null");
 	}
 
 	@Nullable
 	public SourceCodeEntity fromId(@Nullable String id) {
 		return Optional.ofNullable(id)
-			.flatMap(sourceCodeService::read)
+			.flatMap(referenceDataRegistry::readSourceCode)
 			.map(this::toEntity)
 			.orElse(null);
 	}
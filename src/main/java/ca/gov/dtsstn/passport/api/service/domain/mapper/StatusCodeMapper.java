@@ -9,7 +9,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import ca.gov.dtsstn.passport.api.data.entity.StatusCodeEntity;
-import ca.gov.dtsstn.passport.api.service.StatusCodeService;
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry;
 import ca.gov.dtsstn.passport.api.service.domain.StatusCode;
 import jakarta.annotation.PostConstruct;
 
@@ -20,17 +20,17 @@ import jakarta.annotation.PostConstruct;
 public abstract class StatusCodeMapper {
 
 	@Autowired
-	protected StatusCodeService statusCodeService;
+	protected ReferenceDataRegistry referenceDataRegistry;
 
 	@PostConstruct
 	public void postConstruct() {
-		Assert.notNull(statusCodeService, "statusCodeService is required; it must not be null");
+		Assert.notNull(referenceDataRegistry, "referenceDataRegistry is required; it must not be null");
 	}
 
 	@Nullable
 	public StatusCodeEntity fromId(@Nullable String id) {
 		return Optional.ofNullable(id)
-			.flatMap(statusCodeService::read)
+			.flatMap(referenceDataRegistry::readStatusCode)
 			.map(this::toEntity)
 			.orElse(null);
 	}
@@ -0,0 +1,165 @@
+package ca.gov.dtsstn.passport.api.service.search;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A minimal {@code long}-keyed hash table using open addressing with linear probing. Keys are stored in a primitive
+ * array, so no boxing or per-entry node objects are allocated.
+ * <p>
+ * Key {@code 0} is reserved as the empty-slot marker and is transparently remapped to another value, so callers must
+ * (as with any hash-keyed structure) verify the values they get back. This class is not thread-safe.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+final class LongObjectOpenHashMap<V> {
+
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private static final long EMPTY_KEY = 0L;
+
+	private static final long ZERO_KEY_REPLACEMENT = 0x9E3779B97F4A7C15L;
+
+	private long[] keys;
+
+	private Object[] values;
+
+	private int mask;
+
+	private int size;
+
+	private int resizeThreshold;
+
+	LongObjectOpenHashMap(int expectedSize) {
+		Assert.isTrue(expectedSize >= 0, "expectedSize must be zero or greater");
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	int size() {
+		return size;
+	}
+
+	int capacity() {
+		return keys.length;
+	}
+
+	@Nullable
+	@SuppressWarnings({ "unchecked" })
+	V get(long key) {
+		final var k = remap(key);
+
+		for (var slot = slot(k); keys[slot] != EMPTY_KEY; slot = (slot + 1) & mask) {
+			if (keys[slot] == k) { return (V) values[slot]; }
+		}
+
+		return null;
+	}
+
+	/**
+	 * Associates {@code value} with {@code key}, returning the previous value (if any).
+	 */
+	@Nullable
+	@SuppressWarnings({ "unchecked" })
+	V put(long key, V value) {
+		Assert.notNull(value, "value is required; it must not be null");
+		final var k = remap(key);
+
+		var slot = slot(k);
+		for (; keys[slot] != EMPTY_KEY; slot = (slot + 1) & mask) {
+			if (keys[slot] == k) {
+				final var previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+		}
+
+		keys[slot] = k;
+		values[slot] = value;
+
+		if (++size > resizeThreshold) { rehash(keys.length * 2); }
+
+		return null;
+	}
+
+	/**
+	 * Removes the mapping for {@code key}, returning the previous value (if any).
+	 */
+	@Nullable
+	@SuppressWarnings({ "unchecked" })
+	V remove(long key) {
+		final var k = remap(key);
+
+		for (var slot = slot(k); keys[slot] != EMPTY_KEY; slot = (slot + 1) & mask) {
+			if (keys[slot] == k) {
+				final var previous = (V) values[slot];
+				shiftBackward(slot);
+				size--;
+				return previous;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Closes the gap left by a removed entry so that subsequent probe sequences remain unbroken (no tombstones).
+	 */
+	private void shiftBackward(int gap) {
+		var slot = (gap + 1) & mask;
+
+		while (keys[slot] != EMPTY_KEY) {
+			final var home = slot(keys[slot]);
+
+			// move the entry into the gap if its home slot is not cyclically within (gap, slot]
+			if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+				keys[gap] = keys[slot];
+				values[gap] = values[slot];
+				gap = slot;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		keys[gap] = EMPTY_KEY;
+		values[gap] = null;
+	}
+
+	private void rehash(int newCapacity) {
+		final var oldKeys = keys;
+		final var oldValues = values;
+
+		allocate(newCapacity);
+
+		for (var i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY_KEY) {
+				var slot = slot(oldKeys[i]);
+				while (keys[slot] != EMPTY_KEY) { slot = (slot + 1) & mask; }
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		this.keys = new long[capacity];
+		this.values = new Object[capacity];
+		this.mask = capacity - 1;
+		this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private int slot(long key) {
+		// keys are expected to be well-distributed hashes already; fold the high bits in for good measure
+		return (int) (key ^ (key >>> 32)) & mask;
+	}
+
+	private static long remap(long key) {
+		return key == EMPTY_KEY ? ZERO_KEY_REPLACEMENT : key;
+	}
+
+	private static int tableSizeFor(int expectedSize) {
+		final var minCapacity = (long) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+		Assert.isTrue(minCapacity <= (1 << 30), "expectedSize is too large");
+		return Math.max(Integer.highestOneBit((int) minCapacity - 1) << 1, 4);
+	}
+
+}
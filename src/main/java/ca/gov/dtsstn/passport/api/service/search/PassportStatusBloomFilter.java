@@ -0,0 +1,347 @@
+package ca.gov.dtsstn.passport.api.service.search;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.PrimitiveSink;
+
+import ca.gov.dtsstn.passport.api.config.properties.BloomFilterProperties;
+import ca.gov.dtsstn.passport.api.data.PassportStatusLatestRepository;
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusLatestEntity;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * An optional bloom filter over the {@link SearchKey}s of the newest passport status of every
+ * {@code applicationRegisterSid}. A search whose key is not in the filter cannot match anything, so it can be answered
+ * without querying the database.
+ * <p>
+ * The filter is built once the application is ready and periodically rebuilt in the background (bloom filters do not
+ * support removal, so rebuilding is the only way to shed the keys of updated or deleted statuses). New keys must be
+ * added via {@link #put(PassportStatus)} <i>before</i> the transaction that writes them commits, otherwise a concurrent
+ * search could see a false negative.
+ * <p>
+ * Note: the filter only sees writes made by this instance, so it should only be enabled when this instance consumes
+ * every passport status write.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class PassportStatusBloomFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(PassportStatusBloomFilter.class);
+
+	/**
+	 * Keys written (but possibly not yet committed) this long before a rebuild starts might not be seen by the
+	 * rebuild's table scan, so they are replayed into the rebuilt filter. Must exceed the longest write transaction.
+	 */
+	private static final Duration REPLAY_WINDOW = Duration.ofMinutes(5);
+
+	/**
+	 * Headroom given to the filter when the number of keys has outgrown the configured expected insertions.
+	 */
+	private static final double GROWTH_FACTOR = 1.5;
+
+	private final EntityManager entityManager;
+
+	private final BloomFilterProperties properties;
+
+	private final PassportStatusLatestRepository repository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final Counter definiteMissCounter;
+
+	private final Counter possibleHitCounter;
+
+	private final Counter falsePositiveCounter;
+
+	/**
+	 * Guards {@link #filter} swaps, {@link #recentKeys} and {@link #rebuildStartedAt}.
+	 */
+	private final Lock lock = new ReentrantLock();
+
+	/**
+	 * Ensures only one rebuild runs at a time.
+	 */
+	private final Lock rebuildLock = new ReentrantLock();
+
+	private final Deque<RecentKey> recentKeys = new ArrayDeque<>();
+
+	@Nullable
+	private Instant rebuildStartedAt;
+
+	@Nullable
+	private volatile BloomFilter<SearchKey> filter;
+
+	private volatile int numHashFunctions;
+
+	public PassportStatusBloomFilter(
+			EntityManager entityManager,
+			MeterRegistry meterRegistry,
+			BloomFilterProperties properties,
+			PassportStatusLatestRepository repository,
+			PlatformTransactionManager transactionManager) {
+		Assert.notNull(entityManager, "entityManager is required; it must not be null");
+		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
+		Assert.notNull(properties, "properties is required; it must not be null");
+		Assert.notNull(repository, "repository is required; it must not be null");
+		Assert.notNull(transactionManager, "transactionManager is required; it must not be null");
+
+		this.entityManager = entityManager;
+		this.properties = properties;
+		this.repository = repository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+
+		this.definiteMissCounter = Counter.builder("passport_statuses.bloom_filter.lookups")
+			.description("Number of bloom filter lookups, by result")
+			.tag("result", "definite_miss")
+			.register(meterRegistry);
+		this.possibleHitCounter = Counter.builder("passport_statuses.bloom_filter.lookups")
+			.description("Number of bloom filter lookups, by result")
+			.tag("result", "possible_hit")
+			.register(meterRegistry);
+		this.falsePositiveCounter = Counter.builder("passport_statuses.bloom_filter.false_positives")
+			.description("Number of possible hits that did not match anything in the database")
+			.register(meterRegistry);
+
+		Gauge.builder("passport_statuses.bloom_filter.expected_fpp", this, PassportStatusBloomFilter::expectedFpp)
+			.description("Estimated false positive probability of the bloom filter, given the keys it currently holds")
+			.register(meterRegistry);
+		Gauge.builder("passport_statuses.bloom_filter.observed_fpp", this, PassportStatusBloomFilter::observedFpp)
+			.description("Observed false positive rate of the bloom filter (false positives / (false positives + definite misses))")
+			.register(meterRegistry);
+		Gauge.builder("passport_statuses.bloom_filter.fill_ratio", this, PassportStatusBloomFilter::fillRatio)
+			.description("Estimated fraction of bloom filter bits that are set")
+			.register(meterRegistry);
+		Gauge.builder("passport_statuses.bloom_filter.keys", this, PassportStatusBloomFilter::approximateKeyCount)
+			.description("Approximate number of distinct keys held in the bloom filter")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Returns {@code true} if the filter is enabled and has been built.
+	 */
+	public boolean isReady() {
+		return filter != null;
+	}
+
+	/**
+	 * Returns {@code true} if no passport status can match the given key. Always returns {@code false} if the filter is
+	 * disabled or has not been built yet.
+	 */
+	public boolean isDefinitelyAbsent(SearchKey searchKey) {
+		Assert.notNull(searchKey, "searchKey is required; it must not be null");
+
+		final var currentFilter = this.filter;
+		if (currentFilter == null) { return false; }
+
+		if (currentFilter.mightContain(searchKey)) {
+			possibleHitCounter.increment();
+			return false;
+		}
+
+		definiteMissCounter.increment();
+		return true;
+	}
+
+	/**
+	 * Records that a key the filter reported as a possible hit did not match anything.
+	 */
+	public void recordFalsePositive() {
+		if (isReady()) { falsePositiveCounter.increment(); }
+	}
+
+	/**
+	 * Adds the search keys of the given passport status to the filter.
+	 */
+	public void put(PassportStatus passportStatus) {
+		Assert.notNull(passportStatus, "passportStatus is required; it must not be null");
+		if (!properties.enabled()) { return; }
+
+		final var now = Instant.now();
+
+		lock.lock();
+		try {
+			searchKeys(passportStatus).forEach(searchKey -> {
+				final var currentFilter = this.filter;
+				if (currentFilter != null) { currentFilter.put(searchKey); }
+				recentKeys.addLast(new RecentKey(now, searchKey));
+			});
+
+			pruneRecentKeys(now);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Async
+	@EventListener({ ApplicationReadyEvent.class })
+	public void build() {
+		if (!properties.enabled()) {
+			log.info("Passport status bloom filter is disabled");
+			return;
+		}
+
+		rebuild();
+	}
+
+	/**
+	 * Rebuilds the filter from the {@code passport_status_latest} projection and atomically swaps it in. Searches
+	 * continue to use the previous filter while the rebuild is in progress.
+	 */
+	@Scheduled(initialDelayString = "${application.bloom-filter.rebuild-interval}", fixedDelayString = "${application.bloom-filter.rebuild-interval}")
+	public void rebuild() {
+		if (!properties.enabled()) { return; }
+
+		if (!rebuildLock.tryLock()) {
+			log.debug("Passport status bloom filter rebuild already in progress; skipping");
+			return;
+		}
+
+		try {
+			final var stopWatch = StopWatch.createStarted();
+			final var startedAt = Instant.now();
+
+			lock.lock();
+			try { this.rebuildStartedAt = startedAt; }
+			finally { lock.unlock(); }
+
+			final var expectedInsertions = Math.max(properties.expectedInsertions(), (long) (approximateKeyCount() * GROWTH_FACTOR));
+			final var rebuiltFilter = BloomFilter.create(SearchKeyFunnel.INSTANCE, expectedInsertions, properties.falsePositiveProbability());
+
+			transactionTemplate.executeWithoutResult(status -> {
+				try (final var passportStatuses = repository.streamAll()) {
+					passportStatuses.forEach(latest -> {
+						searchKeys(latest).forEach(rebuiltFilter::put);
+						entityManager.detach(latest);
+					});
+				}
+			});
+
+			lock.lock();
+			try {
+				final var replayFrom = startedAt.minus(REPLAY_WINDOW);
+				recentKeys.stream()
+					.filter(recentKey -> !recentKey.timestamp().isBefore(replayFrom))
+					.map(RecentKey::searchKey)
+					.forEach(rebuiltFilter::put);
+
+				this.filter = rebuiltFilter;
+				this.numHashFunctions = numHashFunctions(expectedInsertions, properties.falsePositiveProbability());
+				this.rebuildStartedAt = null;
+				pruneRecentKeys(Instant.now());
+			}
+			finally {
+				lock.unlock();
+			}
+
+			log.info("Built passport status bloom filter with ~{} keys in {}ms (expected fpp: {})", rebuiltFilter.approximateElementCount(), stopWatch.getTime(), rebuiltFilter.expectedFpp());
+		}
+		finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	public double expectedFpp() {
+		final var currentFilter = this.filter;
+		return currentFilter == null ? 0.0 : currentFilter.expectedFpp();
+	}
+
+	public double observedFpp() {
+		final var falsePositives = falsePositiveCounter.count();
+		final var negatives = falsePositives + definiteMissCounter.count();
+		return negatives == 0.0 ? 0.0 : falsePositives / negatives;
+	}
+
+	/**
+	 * Estimated fraction of bits that are set. Guava doesn't expose the bit count, but since {@code expectedFpp} is
+	 * computed as {@code fillRatio ^ numHashFunctions}, it can be recovered from the number of hash functions.
+	 */
+	public double fillRatio() {
+		final var currentFilter = this.filter;
+		return currentFilter == null ? 0.0 : Math.pow(currentFilter.expectedFpp(), 1.0 / numHashFunctions);
+	}
+
+	public long approximateKeyCount() {
+		final var currentFilter = this.filter;
+		return currentFilter == null ? 0L : currentFilter.approximateElementCount();
+	}
+
+	/**
+	 * Drops recent keys that can no longer be needed by a (current or future) rebuild.
+	 */
+	private void pruneRecentKeys(Instant now) {
+		final var cutoff = (rebuildStartedAt == null || now.isBefore(rebuildStartedAt) ? now : rebuildStartedAt).minus(REPLAY_WINDOW);
+		while (!recentKeys.isEmpty() && recentKeys.peekFirst().timestamp().isBefore(cutoff)) { recentKeys.removeFirst(); }
+	}
+
+	/**
+	 * The number of hash functions Guava uses for a filter of the given sizing (mirrors the package-private
+	 * {@code BloomFilter.optimalNumOfBits(..)} and {@code BloomFilter.optimalNumOfHashFunctions(..)}).
+	 */
+	static int numHashFunctions(long expectedInsertions, double falsePositiveProbability) {
+		final var numBits = (long) (-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+		return Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+	}
+
+	private static Stream<SearchKey> searchKeys(PassportStatus passportStatus) {
+		return Stream.concat(Stream.of(SearchKey.ofFileNumber(passportStatus)), SearchKey.ofEmail(passportStatus).stream());
+	}
+
+	/**
+	 * The projection's normalized columns are exactly the (already normalized) search key fields.
+	 */
+	private static Stream<SearchKey> searchKeys(PassportStatusLatestEntity latest) {
+		final var fileNumberKey = new SearchKey(SearchKey.Type.FILE_NUMBER, latest.getFileNumberNorm(), latest.getDateOfBirth(), latest.getGivenNameNorm(), latest.getSurnameNorm());
+		if (latest.getEmailNorm() == null) { return Stream.of(fileNumberKey); }
+
+		final var emailKey = new SearchKey(SearchKey.Type.EMAIL, latest.getEmailNorm(), latest.getDateOfBirth(), latest.getGivenNameNorm(), latest.getSurnameNorm());
+		return Stream.of(fileNumberKey, emailKey);
+	}
+
+	private record RecentKey(Instant timestamp, SearchKey searchKey) {}
+
+	private enum SearchKeyFunnel implements Funnel<SearchKey> {
+
+		INSTANCE;
+
+		@Override
+		public void funnel(SearchKey searchKey, PrimitiveSink into) {
+			into.putInt(searchKey.type().ordinal())
+				.putString(searchKey.identifier(), StandardCharsets.UTF_8)
+				.putLong(searchKey.dateOfBirth().toEpochDay())
+				.putString(searchKey.givenName(), StandardCharsets.UTF_8)
+				.putChar('\0')
+				.putString(searchKey.surname(), StandardCharsets.UTF_8);
+		}
+
+	}
+
+}
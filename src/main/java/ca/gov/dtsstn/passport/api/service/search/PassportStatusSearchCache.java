@@ -0,0 +1,296 @@
+package ca.gov.dtsstn.passport.api.service.search;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ca.gov.dtsstn.passport.api.config.properties.ReadReplicaProperties;
+import ca.gov.dtsstn.passport.api.data.PassportStatusRepository;
+import ca.gov.dtsstn.passport.api.event.PassportStatusCreatedEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusDeletedEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusUpdatedEvent;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.mapper.PassportStatusMapper;
+
+/**
+ * Caches passport status search results (the newest status of every matching {@code applicationRegisterSid}, from
+ * which the HIT, MISS or NON_UNIQUE outcome is derived) by normalized {@link SearchKey}.
+ * <p>
+ * Entries are evicted whenever a passport status is created, updated or deleted: both the entries for the status'
+ * own search keys (which may have been cached as a miss) and any entry holding a status with the same
+ * {@code applicationRegisterSid} (which may now be out of date). Updates and deletes can also reinstate an older
+ * version, so the search keys of every remaining version are evicted as well. Evictions only see writes made by this
+ * instance: when several instances share a database, a search may return a result that is stale for up to the cache's
+ * expiry after a write made by another instance. The cache is therefore disabled by default, and should only be
+ * enabled (with {@code application.caching.caches.passport-status-searches.enabled}) where that is acceptable or a
+ * single instance makes every write.
+ * <p>
+ * The entries holding a given {@code applicationRegisterSid} are found through an index maintained alongside the
+ * cache, so the cost of an eviction does not depend on the size of the cache.
+ * <p>
+ * When the read replica is enabled, a search may be served by a replica that has not yet replayed the write that
+ * triggered an eviction, and caching its result would keep it stale for the cache's full expiry. So for as long as the
+ * replica may lag ({@code max-lag} plus {@code lag-check-interval}) after a write, neither the evicted search keys nor
+ * any result holding the written {@code applicationRegisterSid}s are cached.
+ * <p>
+ * If caching is disabled, every search is passed through to the loader.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class PassportStatusSearchCache {
+
+	private static final Logger log = LoggerFactory.getLogger(PassportStatusSearchCache.class);
+
+	public static final String CACHE_NAME = "passport-status-searches";
+
+	/**
+	 * The index is only pruned once it holds more {@code applicationRegisterSid}s than this (plus twice the number of
+	 * cached entries).
+	 */
+	static final int MIN_PRUNE_SIZE = 1000;
+
+	@Nullable
+	private final Cache cache;
+
+	private final PassportStatusMapper mapper;
+
+	private final PassportStatusRepository repository;
+
+	/**
+	 * Incremented before every eviction. A search result is only cached if no eviction started while it was being
+	 * loaded; otherwise it might have been read before the write that triggered the eviction committed.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * The search keys of the cached results holding a status for each {@code applicationRegisterSid}. Keys are not
+	 * removed from the index when their entries expire (evicting them again is harmless); instead, keys whose entries
+	 * are gone are pruned whenever the index outgrows the cache.
+	 */
+	private final Map<String, Set<SearchKey>> searchKeysByApplicationRegisterSid = new ConcurrentHashMap<>();
+
+	private final Lock pruneLock = new ReentrantLock();
+
+	/**
+	 * The {@code applicationRegisterSid}s written (and search keys evicted) within the replica's maximum lag, or
+	 * {@code null} if the read replica is disabled.
+	 */
+	@Nullable
+	private final Map<Object, Boolean> recentWrites;
+
+	public PassportStatusSearchCache(ObjectProvider<CacheManager> cacheManagerProvider, PassportStatusMapper mapper, PassportStatusRepository repository, ReadReplicaProperties readReplicaProperties) {
+		Assert.notNull(cacheManagerProvider, "cacheManagerProvider is required; it must not be null");
+		Assert.notNull(mapper, "mapper is required; it must not be null");
+		Assert.notNull(repository, "repository is required; it must not be null");
+		Assert.notNull(readReplicaProperties, "readReplicaProperties is required; it must not be null");
+		this.mapper = mapper;
+		this.repository = repository;
+		this.cache = cacheManagerProvider.stream().map(cacheManager -> cacheManager.getCache(CACHE_NAME)).filter(cache -> cache != null).findFirst().orElse(null);
+		if (this.cache == null) { log.info("Passport status search cache is disabled"); }
+
+		this.recentWrites = readReplicaProperties.enabled()
+			? Caffeine.newBuilder().expireAfterWrite(readReplicaProperties.maxLag().plus(readReplicaProperties.lagCheckInterval())).<Object, Boolean> build().asMap()
+			: null;
+	}
+
+	/**
+	 * Returns the cached search result for the given key, or loads (and caches) it.
+	 */
+	@SuppressWarnings({ "unchecked" })
+	public List<PassportStatus> get(SearchKey searchKey, Supplier<List<PassportStatus>> loader) {
+		Assert.notNull(searchKey, "searchKey is required; it must not be null");
+		Assert.notNull(loader, "loader is required; it must not be null");
+		if (cache == null) { return loader.get(); }
+
+		final var cachedPassportStatuses = cache.get(searchKey, List.class);
+		if (cachedPassportStatuses != null) { return cachedPassportStatuses; }
+
+		final var loadedGeneration = generation.get();
+		final var passportStatuses = List.copyOf(loader.get());
+
+		if (generation.get() == loadedGeneration) {
+			put(searchKey, passportStatuses);
+
+			// an eviction may have started (and finished) between the check and the put
+			if (generation.get() != loadedGeneration) { cache.evict(searchKey); }
+		}
+
+		return passportStatuses;
+	}
+
+	/**
+	 * Returns the cached search results for the given keys, loading (and caching) all missing results with a single
+	 * call to the loader. The loader must return a result for every key it is given.
+	 */
+	@SuppressWarnings({ "unchecked" })
+	public Map<SearchKey, List<PassportStatus>> getAll(Collection<SearchKey> searchKeys, Function<Set<SearchKey>, Map<SearchKey, List<PassportStatus>>> loader) {
+		Assert.notNull(searchKeys, "searchKeys is required; it must not be null");
+		Assert.notNull(loader, "loader is required; it must not be null");
+		if (cache == null) { return loader.apply(new LinkedHashSet<>(searchKeys)); }
+
+		final var results = new HashMap<SearchKey, List<PassportStatus>>(searchKeys.size());
+		final var missingSearchKeys = new LinkedHashSet<SearchKey>();
+
+		searchKeys.forEach(searchKey -> {
+			final var cachedPassportStatuses = cache.get(searchKey, List.class);
+			if (cachedPassportStatuses != null) { results.put(searchKey, cachedPassportStatuses); }
+			else { missingSearchKeys.add(searchKey); }
+		});
+
+		if (missingSearchKeys.isEmpty()) { return results; }
+
+		final var loadedGeneration = generation.get();
+		final var loadedResults = new HashMap<SearchKey, List<PassportStatus>>(missingSearchKeys.size());
+		loader.apply(missingSearchKeys).forEach((searchKey, passportStatuses) -> loadedResults.put(searchKey, List.copyOf(passportStatuses)));
+
+		if (generation.get() == loadedGeneration) {
+			loadedResults.forEach(this::put);
+
+			// an eviction may have started (and finished) between the check and the puts
+			if (generation.get() != loadedGeneration) { loadedResults.keySet().forEach(cache::evict); }
+		}
+
+		results.putAll(loadedResults);
+		return results;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void handlePassportStatusCreatedEvent(PassportStatusCreatedEvent event) {
+		evict(Set.of(event.getEntity().getApplicationRegisterSid()), searchKeys(event.getEntity()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void handlePassportStatusUpdatedEvent(PassportStatusUpdatedEvent event) {
+		final var applicationRegisterSids = Stream.of(event.getOriginalEntity(), event.getUpdatedEntity()).map(PassportStatus::getApplicationRegisterSid).collect(Collectors.toSet());
+		evict(applicationRegisterSids, Stream.concat(Stream.of(event.getOriginalEntity(), event.getUpdatedEntity()), remainingVersions(applicationRegisterSids)).flatMap(PassportStatusSearchCache::searchKeys));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void handlePassportStatusDeletedEvent(PassportStatusDeletedEvent event) {
+		final var applicationRegisterSids = Set.of(event.getEntity().getApplicationRegisterSid());
+		evict(applicationRegisterSids, Stream.concat(Stream.of(event.getEntity()), remainingVersions(applicationRegisterSids)).flatMap(PassportStatusSearchCache::searchKeys));
+	}
+
+	/**
+	 * Caches the given search result and indexes it by the {@code applicationRegisterSid} of each of its statuses. The
+	 * index must be updated before the caller re-checks the {@link #generation}, so that a concurrent eviction either
+	 * sees the new entry in the index or is detected by the caller.
+	 */
+	protected void put(SearchKey searchKey, List<PassportStatus> passportStatuses) {
+		if (cache == null) { return; }
+
+		if (isRecentlyWritten(searchKey, passportStatuses)) {
+			log.trace("Not caching search result for [{}]; it may have been read from a lagging replica", searchKey);
+			return;
+		}
+
+		cache.put(searchKey, passportStatuses);
+
+		passportStatuses.stream()
+			.map(PassportStatus::getApplicationRegisterSid)
+			.filter(Objects::nonNull)
+			.forEach(applicationRegisterSid -> searchKeysByApplicationRegisterSid.computeIfAbsent(applicationRegisterSid, key -> ConcurrentHashMap.newKeySet()).add(searchKey));
+
+		if (cache instanceof CaffeineCache caffeineCache && searchKeysByApplicationRegisterSid.size() > (2 * caffeineCache.getNativeCache().estimatedSize()) + MIN_PRUNE_SIZE) {
+			pruneIndex(caffeineCache);
+		}
+	}
+
+	/**
+	 * Evicts every entry cached under one of the given search keys or holding a status for one of the given
+	 * {@code applicationRegisterSid}s.
+	 */
+	protected void evict(Set<String> applicationRegisterSids, Stream<SearchKey> searchKeys) {
+		if (cache == null) { return; }
+
+		generation.incrementAndGet();
+
+		final var recentWrites = this.recentWrites;
+		if (recentWrites != null) { applicationRegisterSids.stream().filter(Objects::nonNull).forEach(applicationRegisterSid -> recentWrites.put(applicationRegisterSid, true)); }
+
+		final var indexedSearchKeys = applicationRegisterSids.stream()
+			.filter(Objects::nonNull)
+			.map(searchKeysByApplicationRegisterSid::remove)
+			.filter(Objects::nonNull)
+			.flatMap(Set::stream);
+
+		Stream.concat(searchKeys, indexedSearchKeys).forEach(searchKey -> {
+			if (recentWrites != null) { recentWrites.put(searchKey, true); }
+			cache.evict(searchKey);
+		});
+	}
+
+	/**
+	 * Returns {@code true} if the read replica is enabled and the given search key was evicted (or one of the given
+	 * statuses' {@code applicationRegisterSid}s was written) so recently that the replica may not have caught up.
+	 */
+	protected boolean isRecentlyWritten(SearchKey searchKey, List<PassportStatus> passportStatuses) {
+		final var recentWrites = this.recentWrites;
+		if (recentWrites == null) { return false; }
+
+		return recentWrites.containsKey(searchKey)
+			|| passportStatuses.stream().map(PassportStatus::getApplicationRegisterSid).filter(Objects::nonNull).anyMatch(recentWrites::containsKey);
+	}
+
+	/**
+	 * Removes the search keys whose entries have expired (or been evicted) from the index.
+	 */
+	protected void pruneIndex(CaffeineCache caffeineCache) {
+		if (!pruneLock.tryLock()) { return; }
+
+		try {
+			final var cachedSearchKeys = caffeineCache.getNativeCache().asMap();
+
+			searchKeysByApplicationRegisterSid.values().forEach(searchKeys -> searchKeys.removeIf(searchKey -> !cachedSearchKeys.containsKey(searchKey)));
+			searchKeysByApplicationRegisterSid.values().removeIf(Set::isEmpty);
+
+			log.debug("Pruned the passport status search cache index to {} applicationRegisterSids", searchKeysByApplicationRegisterSid.size());
+		}
+		finally {
+			pruneLock.unlock();
+		}
+	}
+
+	/**
+	 * The number of {@code applicationRegisterSid}s in the index (for testing).
+	 */
+	int indexSize() {
+		return searchKeysByApplicationRegisterSid.size();
+	}
+
+	private Stream<PassportStatus> remainingVersions(Set<String> applicationRegisterSids) {
+		if (cache == null) { return Stream.empty(); }
+		return applicationRegisterSids.stream().flatMap(applicationRegisterSid -> repository.findAllByApplicationRegisterSid(applicationRegisterSid).stream()).map(mapper::fromEntity);
+	}
+
+	private static Stream<SearchKey> searchKeys(PassportStatus passportStatus) {
+		return Stream.concat(Stream.of(SearchKey.ofFileNumber(passportStatus)), SearchKey.ofEmail(passportStatus).stream());
+	}
+
+}
@@ -0,0 +1,362 @@
+package ca.gov.dtsstn.passport.api.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import ca.gov.dtsstn.passport.api.config.properties.SearchIndexProperties;
+import ca.gov.dtsstn.passport.api.data.PassportStatusRepository;
+import ca.gov.dtsstn.passport.api.event.PassportStatusCreatedEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusDeletedEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusUpdatedEvent;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.mapper.PassportStatusMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * An optional in-memory index of the newest {@link PassportStatus} of every {@code applicationRegisterSid}, keyed by
+ * normalized {@link SearchKey}s. When enabled, it is bulk-loaded from the database once the application is ready and
+ * kept current from passport status events; searches are answered without touching the database.
+ * <p>
+ * Each table maps a 64-bit key hash to either a single {@link PassportStatus} or (on the rare occasion that several
+ * statuses share a key or a hash) a {@code PassportStatus[]}. Lookups always verify the stored statuses against the key.
+ * <p>
+ * Note: the index only sees writes made by this instance, so it should only be enabled when this instance consumes
+ * every passport status write.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+public class PassportStatusSearchIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(PassportStatusSearchIndex.class);
+
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	private final EntityManager entityManager;
+
+	private final PassportStatusMapper mapper;
+
+	private final SearchIndexProperties properties;
+
+	private final PassportStatusRepository repository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final LongObjectOpenHashMap<Object> byApplicationRegisterSid;
+
+	private final LongObjectOpenHashMap<Object> byEmail;
+
+	private final LongObjectOpenHashMap<Object> byFileNumber;
+
+	private volatile boolean ready;
+
+	private long estimatedEntryBytes;
+
+	public PassportStatusSearchIndex(
+			EntityManager entityManager,
+			PassportStatusMapper mapper,
+			MeterRegistry meterRegistry,
+			SearchIndexProperties properties,
+			PassportStatusRepository repository,
+			PlatformTransactionManager transactionManager) {
+		Assert.notNull(entityManager, "entityManager is required; it must not be null");
+		Assert.notNull(mapper, "mapper is required; it must not be null");
+		Assert.notNull(meterRegistry, "meterRegistry is required; it must not be null");
+		Assert.notNull(properties, "properties is required; it must not be null");
+		Assert.notNull(repository, "repository is required; it must not be null");
+		Assert.notNull(transactionManager, "transactionManager is required; it must not be null");
+
+		this.entityManager = entityManager;
+		this.mapper = mapper;
+		this.properties = properties;
+		this.repository = repository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+
+		// don't preallocate the (potentially large) tables if the index is disabled
+		final var expectedSize = properties.enabled() ? properties.expectedSize() : 0;
+		this.byApplicationRegisterSid = new LongObjectOpenHashMap<>(expectedSize);
+		this.byEmail = new LongObjectOpenHashMap<>(expectedSize);
+		this.byFileNumber = new LongObjectOpenHashMap<>(expectedSize);
+
+		Gauge.builder("passport_statuses.search_index.entries", this, PassportStatusSearchIndex::size)
+			.description("Number of passport statuses held in the in-memory search index")
+			.register(meterRegistry);
+		Gauge.builder("passport_statuses.search_index.heap_bytes", this, PassportStatusSearchIndex::estimatedHeapBytes)
+			.description("Estimated heap used by the in-memory search index")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		Gauge.builder("passport_statuses.search_index.heap_bytes_per_million_entries", this, PassportStatusSearchIndex::estimatedHeapBytesPerMillionEntries)
+			.description("Estimated heap used by the in-memory search index, per million entries")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Returns {@code true} if the index is enabled and has been fully loaded.
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Searches the index for the newest passport status of every {@code applicationRegisterSid} matching the given key.
+	 *
+	 * @return the matching statuses, or empty if the index cannot answer (ie: it is disabled or not yet loaded)
+	 */
+	public Optional<List<PassportStatus>> search(SearchKey searchKey) {
+		Assert.notNull(searchKey, "searchKey is required; it must not be null");
+		if (!ready) { return Optional.empty(); }
+
+		final var table = switch (searchKey.type()) {
+			case EMAIL -> byEmail;
+			case FILE_NUMBER -> byFileNumber;
+		};
+
+		lock.readLock().lock();
+		try {
+			return Optional.of(bucketStream(table.get(searchKey.hash64())).filter(searchKey::matches).toList());
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try { return byApplicationRegisterSid.size(); }
+		finally { lock.readLock().unlock(); }
+	}
+
+	/**
+	 * Estimated heap used by the index tables and the passport statuses they hold. This is an approximation (it assumes
+	 * compressed oops and does not account for strings shared between statuses).
+	 */
+	public long estimatedHeapBytes() {
+		lock.readLock().lock();
+		try {
+			final var tableBytes = (long) (byApplicationRegisterSid.capacity() + byEmail.capacity() + byFileNumber.capacity()) * (Long.BYTES + 4);
+			return tableBytes + estimatedEntryBytes;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public double estimatedHeapBytesPerMillionEntries() {
+		final var size = size();
+		return size == 0 ? 0.0 : estimatedHeapBytes() * 1_000_000.0 / size;
+	}
+
+	/**
+	 * Bulk-loads the index using a streaming scan of the newest passport statuses.
+	 */
+	@Async
+	@EventListener({ ApplicationReadyEvent.class })
+	public void load() {
+		if (!properties.enabled()) {
+			log.info("Passport status search index is disabled");
+			return;
+		}
+
+		log.info("Loading passport status search index");
+		final var stopWatch = StopWatch.createStarted();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			final var batch = new ArrayList<PassportStatus>(LOAD_BATCH_SIZE);
+
+			try (final var passportStatuses = repository.streamAllLatest()) {
+				passportStatuses.forEach(entity -> {
+					batch.add(mapper.fromEntity(entity));
+					entityManager.detach(entity);
+
+					if (batch.size() == LOAD_BATCH_SIZE) {
+						putAll(batch);
+						batch.clear();
+					}
+				});
+			}
+
+			putAll(batch);
+		});
+
+		this.ready = true;
+		log.info("Loaded {} passport statuses into search index in {}ms (~{} bytes)", size(), stopWatch.getTime(), estimatedHeapBytes());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void handlePassportStatusCreatedEvent(PassportStatusCreatedEvent event) {
+		if (properties.enabled()) { putAll(List.of(event.getEntity())); }
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void handlePassportStatusUpdatedEvent(PassportStatusUpdatedEvent event) {
+		if (properties.enabled()) {
+			removeIfCurrent(event.getOriginalEntity());
+			reload(event.getOriginalEntity().getApplicationRegisterSid());
+			reload(event.getUpdatedEntity().getApplicationRegisterSid());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void handlePassportStatusDeletedEvent(PassportStatusDeletedEvent event) {
+		if (properties.enabled() && removeIfCurrent(event.getEntity())) {
+			// the deleted status was the newest; the previous version (if any) takes its place
+			reload(event.getEntity().getApplicationRegisterSid());
+		}
+	}
+
+	/**
+	 * Adds the given passport statuses to the index, replacing any older version with the same
+	 * {@code applicationRegisterSid}. Statuses older than the indexed version are ignored.
+	 */
+	protected void putAll(List<PassportStatus> passportStatuses) {
+		lock.writeLock().lock();
+		try {
+			passportStatuses.forEach(this::put);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes the given passport status if it is the indexed version for its {@code applicationRegisterSid}.
+	 */
+	protected boolean removeIfCurrent(PassportStatus passportStatus) {
+		lock.writeLock().lock();
+		try {
+			final var current = findByApplicationRegisterSid(passportStatus.getApplicationRegisterSid());
+			if (current == null || !current.getId().equals(passportStatus.getId())) { return false; }
+			remove(current);
+			return true;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Reloads the newest version of the given {@code applicationRegisterSid} from the database.
+	 */
+	protected void reload(String applicationRegisterSid) {
+		repository.findAllByApplicationRegisterSid(applicationRegisterSid).stream()
+			.map(mapper::fromEntity)
+			.max(Comparator.comparing(PassportStatus::getVersion))
+			.ifPresent(passportStatus -> putAll(List.of(passportStatus)));
+	}
+
+	private void put(PassportStatus passportStatus) {
+		final var current = findByApplicationRegisterSid(passportStatus.getApplicationRegisterSid());
+
+		if (current != null) {
+			final var isSameOrOlder = current.getVersion() > passportStatus.getVersion()
+				|| (current.getVersion().equals(passportStatus.getVersion()) && current.equals(passportStatus));
+			if (isSameOrOlder) { return; }
+			remove(current);
+		}
+
+		addToBucket(byApplicationRegisterSid, SearchKey.hash64(passportStatus.getApplicationRegisterSid()), passportStatus);
+		addToBucket(byFileNumber, SearchKey.ofFileNumber(passportStatus).hash64(), passportStatus);
+		SearchKey.ofEmail(passportStatus).ifPresent(searchKey -> addToBucket(byEmail, searchKey.hash64(), passportStatus));
+		estimatedEntryBytes += estimateSize(passportStatus);
+	}
+
+	private void remove(PassportStatus passportStatus) {
+		removeFromBucket(byApplicationRegisterSid, SearchKey.hash64(passportStatus.getApplicationRegisterSid()), passportStatus);
+		removeFromBucket(byFileNumber, SearchKey.ofFileNumber(passportStatus).hash64(), passportStatus);
+		SearchKey.ofEmail(passportStatus).ifPresent(searchKey -> removeFromBucket(byEmail, searchKey.hash64(), passportStatus));
+		estimatedEntryBytes -= estimateSize(passportStatus);
+	}
+
+	@Nullable
+	private PassportStatus findByApplicationRegisterSid(String applicationRegisterSid) {
+		return bucketStream(byApplicationRegisterSid.get(SearchKey.hash64(applicationRegisterSid)))
+			.filter(passportStatus -> passportStatus.getApplicationRegisterSid().equals(applicationRegisterSid))
+			.findFirst().orElse(null);
+	}
+
+	private static Stream<PassportStatus> bucketStream(@Nullable Object bucket) {
+		if (bucket == null) { return Stream.empty(); }
+		if (bucket instanceof PassportStatus passportStatus) { return Stream.of(passportStatus); }
+		return Arrays.stream((PassportStatus[]) bucket);
+	}
+
+	private static void addToBucket(LongObjectOpenHashMap<Object> table, long key, PassportStatus passportStatus) {
+		final var bucket = table.get(key);
+
+		if (bucket == null) {
+			table.put(key, passportStatus);
+		}
+		else if (bucket instanceof PassportStatus existing) {
+			table.put(key, new PassportStatus[] { existing, passportStatus });
+		}
+		else {
+			final var existing = (PassportStatus[]) bucket;
+			final var grown = Arrays.copyOf(existing, existing.length + 1);
+			grown[existing.length] = passportStatus;
+			table.put(key, grown);
+		}
+	}
+
+	private static void removeFromBucket(LongObjectOpenHashMap<Object> table, long key, PassportStatus passportStatus) {
+		final var remaining = bucketStream(table.get(key)).filter(existing -> existing != passportStatus).toArray(PassportStatus[]::new);
+
+		switch (remaining.length) {
+			case 0 -> table.remove(key);
+			case 1 -> table.put(key, remaining[0]);
+			default -> table.put(key, remaining);
+		}
+	}
+
+	/**
+	 * Rough estimate of the retained size of a passport status: the object itself, its strings (assuming compact
+	 * latin-1 strings) and its boxed/temporal fields.
+	 */
+	private static long estimateSize(PassportStatus passportStatus) {
+		final var objectBytes = 16 + (16 * 4);
+		final var temporalBytes = (4 * 24) + 16;
+
+		final var stringBytes = estimateSize(passportStatus.getId())
+			+ estimateSize(passportStatus.getCreatedBy())
+			+ estimateSize(passportStatus.getLastModifiedBy())
+			+ estimateSize(passportStatus.getApplicationRegisterSid())
+			+ estimateSize(passportStatus.getEmail())
+			+ estimateSize(passportStatus.getFileNumber())
+			+ estimateSize(passportStatus.getGivenName())
+			+ estimateSize(passportStatus.getManifestNumber())
+			+ estimateSize(passportStatus.getSourceCodeId())
+			+ estimateSize(passportStatus.getSurname())
+			+ estimateSize(passportStatus.getStatusCodeId());
+
+		return objectBytes + temporalBytes + stringBytes;
+	}
+
+	private static long estimateSize(@Nullable String string) {
+		return string == null ? 0 : 24 + 16 + string.length();
+	}
+
+}
@@ -0,0 +1,100 @@
+package ca.gov.dtsstn.passport.api.service.search;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.utils.StringUtils;
+
+/**
+ * A normalized passport status search key. Two keys are equal if a search using either set of (non-normalized) search
+ * terms would match the same passport statuses.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@SuppressWarnings({ "serial" })
+public record SearchKey(Type type, String identifier, LocalDate dateOfBirth, String givenName, String surname) implements Serializable {
+
+	private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+	public enum Type { EMAIL, FILE_NUMBER }
+
+	public SearchKey {
+		Assert.notNull(type, "type is required; it must not be null");
+		Assert.notNull(identifier, "identifier is required; it must not be null");
+		Assert.notNull(dateOfBirth, "dateOfBirth is required; it must not be null");
+		Assert.notNull(givenName, "givenName is required; it must not be null");
+		Assert.notNull(surname, "surname is required; it must not be null");
+	}
+
+	public static SearchKey ofEmail(LocalDate dateOfBirth, String email, String givenName, String surname) {
+		return new SearchKey(Type.EMAIL, StringUtils.normalizeIdentifier(email), dateOfBirth, StringUtils.normalizeName(givenName), StringUtils.normalizeName(surname));
+	}
+
+	public static SearchKey ofFileNumber(LocalDate dateOfBirth, String fileNumber, String givenName, String surname) {
+		return new SearchKey(Type.FILE_NUMBER, StringUtils.normalizeIdentifier(fileNumber), dateOfBirth, StringUtils.normalizeName(givenName), StringUtils.normalizeName(surname));
+	}
+
+	/**
+	 * Returns the email search key that would match the given passport status, or empty if it has no email.
+	 */
+	public static Optional<SearchKey> ofEmail(PassportStatus passportStatus) {
+		return Optional.ofNullable(passportStatus.getEmail())
+			.map(email -> ofEmail(passportStatus.getDateOfBirth(), email, passportStatus.getGivenName(), passportStatus.getSurname()));
+	}
+
+	/**
+	 * Returns the file number search key that would match the given passport status.
+	 */
+	public static SearchKey ofFileNumber(PassportStatus passportStatus) {
+		return ofFileNumber(passportStatus.getDateOfBirth(), passportStatus.getFileNumber(), passportStatus.getGivenName(), passportStatus.getSurname());
+	}
+
+	/**
+	 * Returns {@code true} if a search using this key would match the given passport status.
+	 */
+	public boolean matches(@Nullable PassportStatus passportStatus) {
+		if (passportStatus == null) { return false; }
+
+		final var passportStatusIdentifier = switch (type) {
+			case EMAIL -> passportStatus.getEmail();
+			case FILE_NUMBER -> passportStatus.getFileNumber();
+		};
+
+		return identifier.equals(StringUtils.normalizeIdentifier(passportStatusIdentifier))
+			&& dateOfBirth.equals(passportStatus.getDateOfBirth())
+			&& givenName.equals(StringUtils.normalizeName(passportStatus.getGivenName()))
+			&& surname.equals(StringUtils.normalizeName(passportStatus.getSurname()));
+	}
+
+	/**
+	 * A well-distributed 64-bit hash of this key, suitable for use in primitive-keyed hash tables.
+	 */
+	public long hash64() {
+		return HASH_FUNCTION.newHasher()
+			.putInt(type.ordinal())
+			.putString(identifier, StandardCharsets.UTF_8)
+			.putLong(dateOfBirth.toEpochDay())
+			.putString(givenName, StandardCharsets.UTF_8)
+			.putChar('\0')
+			.putString(surname, StandardCharsets.UTF_8)
+			.hash().asLong();
+	}
+
+	/**
+	 * A well-distributed 64-bit hash of an {@code applicationRegisterSid}.
+	 */
+	public static long hash64(String applicationRegisterSid) {
+		return HASH_FUNCTION.hashString(Objects.requireNonNull(applicationRegisterSid), StandardCharsets.UTF_8).asLong();
+	}
+
+}
@@ -1,10 +1,20 @@
 package ca.gov.dtsstn.passport.api.utils;
 
+import java.util.Locale;
+
+import com.ibm.icu.text.Transliterator;
+
 /**
  * @author Sébastien Comeau (sebastien.comeau@hrsdc-hrdcc.gc.ca)
  */
 public class StringUtils {
 
+	/**
+	 * Transliterates any script to Latin, then Latin to ASCII (ie: 'ß' to 'ss', 'Æ' to 'AE', 'Ø' to 'O', '&eacute;' to
+	 * 'e'), much like PostgreSQL's {@code unaccent}.
+	 */
+	private static final Transliterator TO_ASCII = Transliterator.getInstance("Any-Latin; Latin-ASCII");
+
 	protected StringUtils() {}
 
 	/**
@@ -47,4 +57,59 @@ public class StringUtils {
 		return input.replaceAll("[^a-zA-Z0-9]", "");
 	}
 
+	/**
+	 * <p>Transliterates a string to ASCII. Diacritics are removed, and letters such as ligatures are replaced by their
+	 * ASCII equivalents. The case will not be altered.</p>
+	 *
+	 * <pre>
+	 * StringUtils.toAscii(null) = null
+	 * StringUtils.toAscii("&eacute;clair") = "eclair"
+	 * StringUtils.toAscii("Gro&szlig;") = "Gross"
+	 * StringUtils.toAscii("&OElig;uvre") = "OEuvre"
+	 * </pre>
+	 *
+	 * @param input String to be transliterated
+	 * @return input text transliterated to ASCII
+	 */
+	public static String toAscii(String input) {
+		return input == null ? null : TO_ASCII.transliterate(input);
+	}
+
+	/**
+	 * <p>Normalizes a person's name for equality-based searching. The name is transliterated to ASCII, all non
+	 * alpha-numeric characters are removed and the result is lower-cased.</p>
+	 *
+	 * <pre>
+	 * StringUtils.normalizeName(null) = null
+	 * StringUtils.normalizeName("") = ""
+	 * StringUtils.normalizeName("Jean-Fran&ccedil;ois") = "jeanfrancois"
+	 * StringUtils.normalizeName("O'Brien") = "obrien"
+	 * StringUtils.normalizeName("Gro&szlig;") = "gross"
+	 * </pre>
+	 *
+	 * @param input String to be normalized
+	 * @return the normalized name
+	 */
+	public static String normalizeName(String input) {
+		final var stripped = stripNonAlphaNumeric(toAscii(input));
+		return stripped == null ? null : stripped.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * <p>Normalizes an identifier (ie: an email address or file number) for equality-based searching. The result is
+	 * lower-cased.</p>
+	 *
+	 * <pre>
+	 * StringUtils.normalizeIdentifier(null) = null
+	 * StringUtils.normalizeIdentifier("") = ""
+	 * StringUtils.normalizeIdentifier("ABCD1234") = "abcd1234"
+	 * </pre>
+	 *
+	 * @param input String to be normalized
+	 * @return the normalized identifier
+	 */
+	public static String normalizeIdentifier(String input) {
+		return input == null ? null : input.toLowerCase(Locale.ROOT);
+	}
+
 }
@@ -31,6 +31,7 @@ import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 
 import ca.gov.dtsstn.passport.api.web.exception.NonUniqueResourceException;
 import ca.gov.dtsstn.passport.api.web.exception.ResourceNotFoundException;
+import ca.gov.dtsstn.passport.api.web.exception.ServiceUnavailableException;
 import ca.gov.dtsstn.passport.api.web.model.ImmutableErrorResponseModel;
 import ca.gov.dtsstn.passport.api.web.model.ImmutableIssueModel;
 import ca.gov.dtsstn.passport.api.web.model.ImmutableOperationOutcomeModel;
@@ -238,6 +239,26 @@ public class ApiErrorHandler extends ResponseEntityExceptionHandler {
 		return super.handleExceptionInternal(ex, body, new HttpHeaders(), HttpStatus.NOT_FOUND, request);
 	}
 
+	@ExceptionHandler({ ServiceUnavailableException.class })
+	public ResponseEntity<Object> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+		final var body = ImmutableErrorResponseModel.builder()
+			.operationOutcome(ImmutableOperationOutcomeModel.builder()
+				.addIssues(ImmutableIssueModel.builder()
+					.issueCode("API-0503")
+					.issueDetails(ex.getMessage())
+					.build())
+				.operationOutcomeStatus(ImmutableOperationOutcomeStatusModel.builder()
+					.statusCode("503")
+					.statusDescriptionText("Service unavailable")
+					.build())
+				.build())
+			.build();
+
+		final var headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())));
+		return super.handleExceptionInternal(ex, body, headers, HttpStatus.SERVICE_UNAVAILABLE, request);
+	}
+
 	@ExceptionHandler({ Exception.class })
 	public ResponseEntity<Object> handleGenericException(Exception ex, WebRequest request) {
 		final var correlationId = generateCorrelationId();
@@ -39,6 +39,11 @@ public interface ApiResponses {
 	@ApiResponse(responseCode = "404", description = "Returned if resource was not found or the user does not have access to the resource.", content = { @Content(examples = { @ExampleObject(name = "Default", ref = ExampleRefs.RESOURCE_NOT_FOUND_ERROR) }, schema = @Schema(implementation = ErrorResponseModel.class)) })
 	public @interface ResourceNotFoundError {}
 
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE })
+	@ApiResponse(responseCode = "503", description = "Returned if the server is temporarily overloaded; the request can be retried after the delay given by the Retry-After header.", content = { @Content(examples = { @ExampleObject(name = "Default", ref = ExampleRefs.SERVICE_UNAVAILABLE_ERROR) }, schema = @Schema(implementation = ErrorResponseModel.class)) })
+	public @interface ServiceUnavailableError {}
+
 	@Retention(RetentionPolicy.RUNTIME)
 	@Target({ ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE })
 	@ApiResponse(responseCode = "422", description = "Returned if uniqueness was requested but the search query returned non-unique results.", content = { @Content(examples = { @ExampleObject(name = "Default", ref = ExampleRefs.UNPROCESSABLE_ENTITY_ERROR) }, schema = @Schema(implementation = ErrorResponseModel.class)) })
@@ -0,0 +1,62 @@
+package ca.gov.dtsstn.passport.api.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Converts the keyset position of a passport status listing (its {@code createdDate} and {@code id}) to and from an
+ * opaque, URL-safe continuation token.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public class ContinuationTokens {
+
+	private static final String SEPARATOR = "|";
+
+	protected ContinuationTokens() {}
+
+	public static String encode(KeysetScrollPosition position) {
+		Assert.notNull(position, "position is required; it must not be null");
+		final var createdDate = (Instant) position.getKeys().get("createdDate");
+		final var id = (String) position.getKeys().get("id");
+		Assert.notNull(createdDate, "position.keys.createdDate is required; it must not be null");
+		Assert.hasText(id, "position.keys.id is required; it must not be null or blank");
+
+		final var token = createdDate + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes the given continuation token; a blank token decodes to the initial position.
+	 *
+	 * @throws ConversionFailedException if the token is malformed
+	 */
+	public static KeysetScrollPosition decode(@Nullable String continuationToken) {
+		if (!StringUtils.hasText(continuationToken)) { return ScrollPosition.keyset(); }
+
+		try {
+			final var token = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+			final var separatorIndex = token.indexOf(SEPARATOR);
+			Assert.isTrue(separatorIndex > 0 && separatorIndex < token.length() - 1, "token must contain a createdDate and an id");
+
+			final var keys = new LinkedHashMap<String, Object>();
+			keys.put("createdDate", Instant.parse(token.substring(0, separatorIndex)));
+			keys.put("id", token.substring(separatorIndex + 1));
+			return ScrollPosition.forward(keys);
+		}
+		catch (final RuntimeException exception) {
+			throw new ConversionFailedException(TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(KeysetScrollPosition.class), continuationToken, exception);
+		}
+	}
+
+}
@@ -3,19 +3,32 @@ package ca.gov.dtsstn.passport.api.web;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
@@ -27,16 +40,37 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
 import ca.gov.dtsstn.passport.api.config.SpringDocConfig;
+import ca.gov.dtsstn.passport.api.config.properties.AdmissionControlProperties;
+import ca.gov.dtsstn.passport.api.config.properties.SynchronousCreateProperties;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBatchSearchEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusSearchEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusSearchEvent.Result;
 import ca.gov.dtsstn.passport.api.service.PassportStatusJmsService;
+import ca.gov.dtsstn.passport.api.service.PassportStatusQueueMonitor;
 import ca.gov.dtsstn.passport.api.service.PassportStatusService;
+import ca.gov.dtsstn.passport.api.service.PassportStatusService.CreateResult;
 import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.service.search.SearchKey;
 import ca.gov.dtsstn.passport.api.web.annotation.Authorities;
 import ca.gov.dtsstn.passport.api.web.exception.NonUniqueResourceException;
+import ca.gov.dtsstn.passport.api.web.exception.ServiceUnavailableException;
 import ca.gov.dtsstn.passport.api.web.model.CreateCertificateApplicationRequestModel;
 import ca.gov.dtsstn.passport.api.web.model.GetCertificateApplicationRepresentationModel;
+import ca.gov.dtsstn.passport.api.web.model.ImmutableIssueModel;
+import ca.gov.dtsstn.passport.api.web.model.ImmutablePassportStatusBatchSearchResponseModel;
+import ca.gov.dtsstn.passport.api.web.model.ImmutablePassportStatusBulkCreateLineErrorModel;
+import ca.gov.dtsstn.passport.api.web.model.ImmutablePassportStatusBulkCreateResponseModel;
+import ca.gov.dtsstn.passport.api.web.model.ImmutablePassportStatusSearchResultModel;
+import ca.gov.dtsstn.passport.api.web.model.IssueModel;
+import ca.gov.dtsstn.passport.api.web.model.PassportStatusBatchSearchRequestModel;
+import ca.gov.dtsstn.passport.api.web.model.PassportStatusBatchSearchResponseModel;
+import ca.gov.dtsstn.passport.api.web.model.PassportStatusBulkCreateResponseModel;
+import ca.gov.dtsstn.passport.api.web.model.PassportStatusSearchResultModel;
 import ca.gov.dtsstn.passport.api.web.model.assembler.GetCertificateApplicationRepresentationModelAssembler;
 import ca.gov.dtsstn.passport.api.web.model.mapper.CertificateApplicationModelMapper;
 import ca.gov.dtsstn.passport.api.web.validation.BooleanString;
@@ -47,6 +81,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
@@ -63,57 +99,96 @@ public class PassportStatusController {
 
 	private static final Logger log = LoggerFactory.getLogger(PassportStatusController.class);
 
+	private static final int BULK_BATCH_SIZE = 100;
+
+	private static final int MAX_BULK_LINE_ERRORS = 1000;
+
+	private static final int MAX_BULK_LINE_LENGTH = 64 * 1024;
+
+	private static final int MAX_LIST_SIZE = 500;
+
 	private ApplicationEventPublisher eventPublisher;
 
 	private final CertificateApplicationModelMapper mapper;
 
 	private final GetCertificateApplicationRepresentationModelAssembler assembler;
 
+	private final ObjectMapper objectMapper;
+
+	private final AdmissionControlProperties admissionControlProperties;
+
 	private final PassportStatusJmsService passportStatusJmsService;
 
+	private final PassportStatusQueueMonitor passportStatusQueueMonitor;
+
 	private final PassportStatusService service;
 
+	private final SynchronousCreateProperties synchronousCreateProperties;
+
+	private final Semaphore synchronousCreatePermits;
+
 	private final SpringValidatorAdapter validator;
 
 	public PassportStatusController(
+			AdmissionControlProperties admissionControlProperties,
 			ApplicationEventPublisher eventPublisher,
 			GetCertificateApplicationRepresentationModelAssembler assembler,
 			CertificateApplicationModelMapper mapper,
+			ObjectMapper objectMapper,
 			PassportStatusJmsService passportStatusJmsService,
+			PassportStatusQueueMonitor passportStatusQueueMonitor,
 			PassportStatusService service,
+			SynchronousCreateProperties synchronousCreateProperties,
 			SpringValidatorAdapter validator) {
 		log.info("Creating 'passportStatusController' bean");
 
+		Assert.notNull(admissionControlProperties, "admissionControlProperties is required; it must not be null");
 		Assert.notNull(assembler, "assembler is required; it must not be null");
 		Assert.notNull(eventPublisher, "eventPublisher is required; it must not be null;");
 		Assert.notNull(mapper, "mapper is required; it must not be null");
+		Assert.notNull(objectMapper, "objectMapper is required; it must not be null");
 		Assert.notNull(passportStatusJmsService, "passportStatusJmsService is required; it must not be null");
 		Assert.notNull(passportStatusJmsService, "passportStatusJmsService is required; it must not be null");
+		Assert.notNull(passportStatusQueueMonitor, "passportStatusQueueMonitor is required; it must not be null");
 		Assert.notNull(service, "service is requred; it must not be null");
+		Assert.notNull(synchronousCreateProperties, "synchronousCreateProperties is required; it must not be null");
 		Assert.notNull(validator, "validator is required; it must not be null");
 
+		this.admissionControlProperties = admissionControlProperties;
 		this.assembler = assembler;
 		this.eventPublisher = eventPublisher;
 		this.mapper = mapper;
+		this.objectMapper = objectMapper;
 		this.passportStatusJmsService = passportStatusJmsService;
+		this.passportStatusQueueMonitor = passportStatusQueueMonitor;
 		this.service = service;
+		this.synchronousCreateProperties = synchronousCreateProperties;
+		this.synchronousCreatePermits = new Semaphore(synchronousCreateProperties.maxConcurrency());
 		this.validator = validator;
 	}
 
 	/**
-	 * Create a new {@link PassportStatus} in the system.
+	 * Create a new {@link PassportStatus} in the system. By default the passport status is queued and created
+	 * asynchronously. When {@code async=false} it is written directly to the database (bypassing the queue) and the
+	 * created passport status is returned (with a {@code 200} rather than a {@code 201} if a passport status with the same
+	 * {@code applicationRegisterSid} and {@code version} already existed, in which case that one is returned instead, so
+	 * that retries are idempotent); the number of concurrent synchronous creates is bounded, and requests that
+	 * cannot get a slot in time are rejected with a {@code 503} (and a {@code Retry-After} header). Asynchronous requests
+	 * are likewise rejected while the passport status queue is saturated.
 	 */
 	@PostMapping({ "" })
 	@ApiResponses.BadRequestError
 	@ApiResponses.AccessDeniedError
 	@ApiResponses.AuthenticationError
-	@ResponseStatus(HttpStatus.ACCEPTED)
+	@ApiResponses.ServiceUnavailableError
 	@Authorities.HasPassportStatusWriteAll
 	@SecurityRequirement(name = SpringDocConfig.HTTP)
 	@SecurityRequirement(name = SpringDocConfig.OAUTH)
 	@Operation(summary = "Create a new passport status.", operationId = "passport-status-create")
-	@ApiResponse(responseCode = "202", description = "The request has been accepted for processing.")
-	public void create(
+	@ApiResponse(responseCode = "200", description = "The passport status already existed and has not been changed (async=false).")
+	@ApiResponse(responseCode = "201", description = "The passport status has been created (async=false).")
+	@ApiResponse(responseCode = "202", description = "The request has been accepted for processing (async=true).")
+	public ResponseEntity<GetCertificateApplicationRepresentationModel> create(
 			@RequestBody(required = true)
 			CreateCertificateApplicationRequestModel createCertificateApplicationRequest,
 
@@ -121,19 +196,144 @@ public class PassportStatusController {
 			@BooleanString(message = "async must be one of: 'true', 'false'")
 			@Parameter(description = "If the request should be handled asynchronously.", schema = @Schema(allowableValues = { "false", "true" }, defaultValue = "true"))
 			String async) {
-		if (!BooleanUtils.toBoolean(async)) {
-			log.warn("Call to unsupported operation: create(async=false)");
-			throw new UnsupportedOperationException("synchronous processing not yet implemented; please set async=true");
-		}
-
 		log.debug("Performing field validations on createCertificateApplicationRequest");
 		final var constraintViolations = validator.validate(createCertificateApplicationRequest);
 		if (!constraintViolations.isEmpty()) { throw new ConstraintViolationException(constraintViolations); }
 		log.debug("createCertificateApplicationRequest passed validation with no errors");
 
 		final var passportStatus = mapper.toDomain(createCertificateApplicationRequest);
-		log.debug("Queueing passport status: {}", passportStatus);
-		passportStatusJmsService.send(passportStatus);
+
+		if (BooleanUtils.toBoolean(async)) {
+			rejectIfQueueSaturated();
+			log.debug("Queueing passport status: {}", passportStatus);
+			passportStatusJmsService.send(passportStatus);
+			return ResponseEntity.accepted().build();
+		}
+
+		log.debug("Creating passport status synchronously: {}", passportStatus);
+		final var createResult = createSynchronously(passportStatus);
+		return ResponseEntity.status(createResult.created() ? HttpStatus.CREATED : HttpStatus.OK).body(assembler.toModel(createResult.passportStatus()));
+	}
+
+	/**
+	 * Create passport statuses in bulk. The request body is newline-delimited JSON (NDJSON), with one
+	 * {@link CreateCertificateApplicationRequestModel} per line. The body is streamed rather than buffered: each line is
+	 * parsed, validated and mapped on its own, and valid passport statuses are queued in transacted batches of
+	 * {@value #BULK_BATCH_SIZE}. Invalid lines (including lines longer than {@value #MAX_BULK_LINE_LENGTH} characters)
+	 * are skipped and reported in the response (only the first {@value #MAX_BULK_LINE_ERRORS} are reported in detail),
+	 * so memory use does not grow with the size of the upload.
+	 * <p>
+	 * The whole upload is rejected with a {@code 503} if the passport status queue is already saturated. If a batch
+	 * cannot be queued, processing stops and a {@code 503} is returned with the counts so far and the first unprocessed
+	 * line, from which the upload can be resumed.
+	 */
+	@ApiResponses.BadRequestError
+	@ApiResponses.AccessDeniedError
+	@ApiResponses.AuthenticationError
+	@ApiResponses.ServiceUnavailableError
+	@Authorities.HasPassportStatusWriteAll
+	@SecurityRequirement(name = SpringDocConfig.HTTP)
+	@SecurityRequirement(name = SpringDocConfig.OAUTH)
+	@PostMapping(path = { "/_bulk" }, consumes = { MediaType.APPLICATION_NDJSON_VALUE })
+	@Operation(summary = "Create passport statuses in bulk from newline-delimited JSON.", operationId = "passport-status-bulk-create")
+	@ApiResponse(responseCode = "202", description = "The valid lines have been accepted for processing; the invalid lines are reported in the response.")
+	public ResponseEntity<PassportStatusBulkCreateResponseModel> bulkCreate(@Parameter(hidden = true) InputStream requestBody) throws IOException {
+		rejectIfQueueSaturated();
+
+		final var reader = new BulkLineReader(new BufferedReader(new InputStreamReader(requestBody, StandardCharsets.UTF_8)), MAX_BULK_LINE_LENGTH);
+		final var responseBuilder = ImmutablePassportStatusBulkCreateResponseModel.builder();
+		final var batch = new ArrayList<PassportStatus>(BULK_BATCH_SIZE);
+		var lineNumber = 0L; var batchLineNumber = 0L; var accepted = 0L; var rejected = 0L;
+
+		while (reader.next()) {
+			lineNumber++;
+
+			final var issues = new ArrayList<IssueModel>();
+
+			if (reader.isTooLong()) {
+				issues.add(ImmutableIssueModel.builder().issueCode("API-0400").issueDetails("line must not be longer than " + MAX_BULK_LINE_LENGTH + " characters").build());
+			}
+			else if (reader.line().isBlank()) {
+				continue;
+			}
+			else {
+				try {
+					final var passportStatus = readBulkLine(reader.line());
+					if (batch.isEmpty()) { batchLineNumber = lineNumber; }
+					batch.add(passportStatus);
+				}
+				catch (final JsonProcessingException jsonProcessingException) {
+					issues.add(ImmutableIssueModel.builder().issueCode("API-0400").issueDetails(jsonProcessingException.getOriginalMessage()).build());
+				}
+				catch (final ConstraintViolationException constraintViolationException) {
+					constraintViolationException.getConstraintViolations().forEach(constraintViolation -> issues.add(ImmutableIssueModel.builder()
+						.issueCode(String.valueOf(constraintViolation.getPropertyPath()))
+						.issueDetails(constraintViolation.getMessage())
+						.build()));
+				}
+				catch (final RuntimeException runtimeException) {
+					log.debug("Could not map line {} of bulk create", lineNumber, runtimeException);
+					issues.add(ImmutableIssueModel.builder().issueCode("API-0422").issueDetails("line could not be mapped to a passport status").build());
+				}
+			}
+
+			if (!issues.isEmpty()) {
+				if (rejected++ < MAX_BULK_LINE_ERRORS) { responseBuilder.addLineErrors(ImmutablePassportStatusBulkCreateLineErrorModel.builder().lineNumber(lineNumber).issues(issues).build()); }
+				continue;
+			}
+
+			if (batch.size() == BULK_BATCH_SIZE) {
+				if (!sendBulkBatch(batch, batchLineNumber)) { return bulkCreateFailed(responseBuilder, accepted, rejected, batchLineNumber); }
+				accepted += batch.size();
+				batch.clear();
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			if (!sendBulkBatch(batch, batchLineNumber)) { return bulkCreateFailed(responseBuilder, accepted, rejected, batchLineNumber); }
+			accepted += batch.size();
+		}
+
+		log.debug("Bulk create of {} lines queued {} passport statuses and rejected {} lines", lineNumber, accepted, rejected);
+		return ResponseEntity.accepted().body(responseBuilder.acceptedCount(accepted).rejectedCount(rejected).build());
+	}
+
+	/**
+	 * List every passport status, ordered by {@code createdDate} (then {@code id}). The listing is keyset-paginated:
+	 * each response contains at most {@code size} passport statuses and, if there are more, a {@code next} link that
+	 * carries an opaque continuation token. No total count is computed, so every page costs the same regardless of how
+	 * deep the client scrolls.
+	 */
+	@GetMapping({ "" })
+	@ApiResponses.BadRequestError
+	@ApiResponses.AccessDeniedError
+	@ApiResponses.AuthenticationError
+	@Authorities.HasPassportStatusReadAll
+	@ResponseStatus(code = HttpStatus.OK)
+	@SecurityRequirement(name = SpringDocConfig.HTTP)
+	@SecurityRequirement(name = SpringDocConfig.OAUTH)
+	@ApiResponse(responseCode = "200", description = "Retrieve a page of passport statuses.")
+	@Operation(summary = "List all passport statuses.", operationId = "passport-status-list")
+	public CollectionModel<GetCertificateApplicationRepresentationModel> list(
+			@Min(value = 1, message = "size must be greater than or equal to 1")
+			@Max(value = MAX_LIST_SIZE, message = "size must be less than or equal to " + MAX_LIST_SIZE)
+			@Parameter(description = "The maximum number of passport statuses to return.", example = "50")
+			@RequestParam(defaultValue = "50") int size,
+
+			@Parameter(description = "The continuation token returned (in the next link) by the previous page; omit it to read the first page.")
+			@RequestParam(required = false) String continuationToken) {
+		final var passportStatuses = service.readAll(ContinuationTokens.decode(continuationToken), size);
+		log.debug("Listed {} passport statuses (hasNext: {})", passportStatuses.size(), passportStatuses.hasNext());
+
+		final var collection = assembler.toCollectionModel(passportStatuses.getContent())
+			.add(linkTo(methodOn(getClass()).list(size, continuationToken)).withSelfRel());
+
+		if (passportStatuses.hasNext()) {
+			final var nextPosition = (KeysetScrollPosition) passportStatuses.positionAt(passportStatuses.size() - 1);
+			collection.add(linkTo(methodOn(getClass()).list(size, ContinuationTokens.encode(nextPosition))).withRel(IanaLinkRelations.NEXT));
+		}
+
+		return assembler.wrapCollection(collection, GetCertificateApplicationRepresentationModel.class);
 	}
 
 	/**
@@ -148,10 +348,9 @@ public class PassportStatusController {
 	 * This endpoint will perform some logic on the search results as follows:
 	 *
 	 * <ol>
-	 *   <li>Perform a search using the provided parameters
+	 *   <li>Perform a search using the provided parameters; this returns the newest passport status of each matching {@code applicationRegisterSid}
 	 *   <li>Check for distinct {@code applicationRegisterSid}; throw exception if <strong>more than one</strong> value is found
-	 *   <li>If a distict {@code applicationRegisterSid} was found, perform a new search using the {@code applicationRegisterSid}
-	 *   <li>Sort the results by {@code PassportStatus.version}, extract newest passport status, wrap in a collection and return
+	 *   <li>Wrap the newest passport status (if any) in a collection and return
 	 */
 	@GetMapping({ "/_search" })
 	@ApiResponses.BadRequestError
@@ -182,34 +381,31 @@ public class PassportStatusController {
 			@Parameter(description = "If the query should return a single unique result.", required = false)
 			@RequestParam(defaultValue = "true") boolean unique) {
 		log.debug("Performing passport status search using terms {}", List.of(dateOfBirth, fileNumber, givenName, surname));
-		final var initialSearchResults = service.fileNumberSearch(dateOfBirth, fileNumber, givenName, surname);
-		log.debug("{} results returned for search terms {}", initialSearchResults.size(), List.of(dateOfBirth, fileNumber, givenName, surname));
+		final var passportStatuses = service.fileNumberSearch(dateOfBirth, fileNumber, givenName, surname);
+		log.debug("{} results returned for search terms {}", passportStatuses.size(), List.of(dateOfBirth, fileNumber, givenName, surname));
 
-		log.debug("Checking results for distinct applicationRegisterSids");
-		final var applicationRegisterSids = initialSearchResults.stream().map(PassportStatus::getApplicationRegisterSid).distinct().toList();
-		final var nApplicationRegisterSids = applicationRegisterSids.size();
-		log.debug("Number of distinct applicationRegisterSids: {}", nApplicationRegisterSids);
+		// the search returns the newest status of each matching applicationRegisterSid, so every result is distinct
+		final var applicationRegisterSids = passportStatuses.stream().map(PassportStatus::getApplicationRegisterSid).toList();
+		log.debug("Number of distinct applicationRegisterSids: {}", applicationRegisterSids.size());
 
 		final var searchEventBuilder = PassportStatusSearchEvent.builder().dateOfBirth(dateOfBirth).fileNumber(fileNumber).givenName(givenName).surname(surname);
 
-		if (nApplicationRegisterSids > 1) {
+		if (applicationRegisterSids.size() > 1) {
 			log.warn("Search query returned non-unique applicationRegisterSid result: {}", List.of(dateOfBirth, fileNumber, givenName, surname));
 			eventPublisher.publishEvent(searchEventBuilder.result(Result.NON_UNIQUE).applicationRegisterSids(applicationRegisterSids).build());
 			throw new NonUniqueResourceException("Search query returned non-unique applicationRegisterSid result");
 		}
 
-		log.debug("Performing applicationRegisterSid search");
-		final var passportStatuses = applicationRegisterSids.stream().findFirst().map(service::applicationRegisterSidSearch).orElse(Collections.emptyList());
-		final var passportStatus = passportStatuses.stream().sorted(byVersionDesc()).findFirst();
-		log.debug("applicationRegisterSid search produced {} results; newest status: {}", passportStatuses.size(), passportStatus);
+		final var passportStatus = passportStatuses.stream().findFirst();
+		log.debug("Newest status: {}", passportStatus);
 
-		if (passportStatuses.isEmpty()) {
+		if (passportStatus.isEmpty()) {
 			searchEventBuilder.result(Result.MISS);
 			eventPublisher.publishEvent(searchEventBuilder.build());
 		}
 		else {
 			searchEventBuilder.result(Result.HIT);
-			passportStatus.ifPresent(searchEventBuilder::passportStatus);
+			searchEventBuilder.passportStatus(passportStatus.get());
 			eventPublisher.publishEvent(searchEventBuilder.build());
 		}
 
@@ -218,8 +414,203 @@ public class PassportStatusController {
 		return assembler.wrapCollection(collection, GetCertificateApplicationRepresentationModel.class);
 	}
 
-	protected Comparator<PassportStatus> byVersionDesc() {
-		return Comparator.comparingLong(PassportStatus::getVersion).reversed();
+	/**
+	 * Perform a passport status search (see {@link #search(LocalDate, String, String, String, boolean)}) for each of
+	 * the given sets of search terms. Each search yields a {@code HIT} (with the newest passport status), a
+	 * {@code MISS} or a {@code NON_UNIQUE} result. The searches are resolved using a single set-based query, and a
+	 * single aggregated search event is published for the whole batch.
+	 */
+	@ApiResponses.BadRequestError
+	@ApiResponses.AccessDeniedError
+	@PostMapping({ "/_search/batch" })
+	@ApiResponses.AuthenticationError
+	@Authorities.HasPassportStatusRead
+	@ResponseStatus(code = HttpStatus.OK)
+	@SecurityRequirement(name = SpringDocConfig.HTTP)
+	@SecurityRequirement(name = SpringDocConfig.OAUTH)
+	@ApiResponse(responseCode = "200", description = "Retrieve the result of each search, in the order they were requested.")
+	@Operation(summary = "Search for passport statuses by fileNumber, givenName, surname and dateOfBirth, in bulk.", operationId = "passport-status-batch-search")
+	public PassportStatusBatchSearchResponseModel batchSearch(@RequestBody @Validated PassportStatusBatchSearchRequestModel batchSearchRequest) {
+		final var passportStatusSearches = batchSearchRequest.getPassportStatusSearches();
+		log.debug("Performing batch passport status search of {} searches", passportStatusSearches.size());
+
+		final var searchKeys = passportStatusSearches.stream()
+			.map(search -> SearchKey.ofFileNumber(search.getDateOfBirth(), search.getFileNumber(), search.getGivenName(), search.getSurname()))
+			.toList();
+
+		final var passportStatuses = service.fileNumberSearch(searchKeys);
+
+		final var searchResults = new ArrayList<PassportStatusSearchResultModel>(searchKeys.size());
+		final var applicationRegisterSids = new ArrayList<String>();
+		var hits = 0; var misses = 0; var nonUnique = 0;
+
+		for (final var searchKey : searchKeys) {
+			final var searchResult = passportStatuses.getOrDefault(searchKey, List.of());
+			searchResult.stream().map(PassportStatus::getApplicationRegisterSid).forEach(applicationRegisterSids::add);
+
+			if (searchResult.size() > 1) {
+				nonUnique++;
+				searchResults.add(ImmutablePassportStatusSearchResultModel.builder().result(Result.NON_UNIQUE).build());
+			}
+			else if (searchResult.isEmpty()) {
+				misses++;
+				searchResults.add(ImmutablePassportStatusSearchResultModel.builder().result(Result.MISS).build());
+			}
+			else {
+				hits++;
+				searchResults.add(ImmutablePassportStatusSearchResultModel.builder()
+					.result(Result.HIT)
+					.certificateApplication(mapper.toModel(searchResult.get(0)).getCertificateApplication())
+					.build());
+			}
+		}
+
+		log.debug("Batch passport status search returned {} hits, {} misses and {} non-unique results", hits, misses, nonUnique);
+
+		eventPublisher.publishEvent(PassportStatusBatchSearchEvent.builder()
+			.applicationRegisterSids(applicationRegisterSids)
+			.hits(hits)
+			.misses(misses)
+			.nonUnique(nonUnique)
+			.build());
+
+		return ImmutablePassportStatusBatchSearchResponseModel.builder()
+			.passportStatusSearchResults(searchResults)
+			.build();
+	}
+
+	/**
+	 * Rejects the request if the passport status queue is too far behind to accept more messages.
+	 *
+	 * @throws ServiceUnavailableException if the passport status queue is saturated
+	 */
+	protected void rejectIfQueueSaturated() {
+		if (passportStatusQueueMonitor.isSaturated()) {
+			log.warn("Rejecting passport status write; the passport status queue is saturated");
+			throw new ServiceUnavailableException("The passport status queue is saturated; please retry later.", admissionControlProperties.retryAfter());
+		}
+	}
+
+	/**
+	 * Creates the given passport status directly, provided a synchronous create slot becomes available within the
+	 * configured timeout.
+	 *
+	 * @throws ServiceUnavailableException if no slot became available in time
+	 */
+	protected CreateResult createSynchronously(PassportStatus passportStatus) {
+		try {
+			if (!synchronousCreatePermits.tryAcquire(synchronousCreateProperties.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+				log.warn("Rejecting synchronous create; all {} synchronous create slots are in use", synchronousCreateProperties.maxConcurrency());
+				throw new ServiceUnavailableException("Too many concurrent synchronous requests; please retry later or set async=true.", synchronousCreateProperties.retryAfter());
+			}
+		}
+		catch (final InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Interrupted while waiting for a synchronous create slot.", synchronousCreateProperties.retryAfter());
+		}
+
+		try {
+			return service.create(passportStatus);
+		}
+		finally {
+			synchronousCreatePermits.release();
+		}
+	}
+
+	/**
+	 * Queues a batch of a bulk create request (as a single transaction).
+	 *
+	 * @return {@code false} if the batch could not be queued (in which case none of it was)
+	 */
+	protected boolean sendBulkBatch(List<PassportStatus> batch, long batchLineNumber) {
+		try {
+			passportStatusJmsService.sendAll(batch);
+			return true;
+		}
+		catch (final RuntimeException runtimeException) {
+			log.error("Could not queue the batch of {} passport statuses starting at line {} of bulk create", batch.size(), batchLineNumber, runtimeException);
+			return false;
+		}
+	}
+
+	/**
+	 * Builds the {@code 503} response of a bulk create request that stopped at the batch starting at
+	 * {@code batchLineNumber}.
+	 */
+	protected ResponseEntity<PassportStatusBulkCreateResponseModel> bulkCreateFailed(ImmutablePassportStatusBulkCreateResponseModel.Builder responseBuilder, long accepted, long rejected, long batchLineNumber) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+			.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, admissionControlProperties.retryAfter().toSeconds())))
+			.body(responseBuilder.acceptedCount(accepted).rejectedCount(rejected).firstUnprocessedLineNumber(batchLineNumber).build());
+	}
+
+	/**
+	 * Parses, validates and maps a single line of a bulk create request.
+	 *
+	 * @throws JsonProcessingException if the line is not a single, well-formed JSON object
+	 * @throws ConstraintViolationException if the line fails validation
+	 */
+	protected PassportStatus readBulkLine(String line) throws IOException {
+		try (final var parser = objectMapper.createParser(line)) {
+			final var createCertificateApplicationRequest = objectMapper.readValue(parser, CreateCertificateApplicationRequestModel.class);
+			if (createCertificateApplicationRequest == null) { throw MismatchedInputException.from(parser, CreateCertificateApplicationRequestModel.class, "line must contain a JSON object"); }
+			if (parser.nextToken() != null) { throw MismatchedInputException.from(parser, CreateCertificateApplicationRequestModel.class, "line must contain exactly one JSON object"); }
+
+			final var constraintViolations = validator.validate(createCertificateApplicationRequest);
+			if (!constraintViolations.isEmpty()) { throw new ConstraintViolationException(constraintViolations); }
+
+			return mapper.toDomain(createCertificateApplicationRequest);
+		}
+	}
+
+	/**
+	 * Reads the lines of a bulk create request, buffering at most {@code maxLineLength} characters of each line. The
+	 * rest of a longer line is skipped (and the line is flagged as too long). Lines end with {@code \n} (an optional
+	 * preceding {@code \r} is dropped).
+	 */
+	static class BulkLineReader {
+
+		private final Reader reader;
+
+		private final int maxLineLength;
+
+		private final StringBuilder line = new StringBuilder();
+
+		private boolean tooLong;
+
+		BulkLineReader(Reader reader, int maxLineLength) {
+			this.reader = reader;
+			this.maxLineLength = maxLineLength;
+		}
+
+		/**
+		 * Advances to the next line, returning {@code false} at the end of the input.
+		 */
+		boolean next() throws IOException {
+			line.setLength(0);
+			tooLong = false;
+
+			var read = false;
+
+			for (var character = reader.read(); character != -1; character = reader.read()) {
+				if (character == '\n') { return true; }
+
+				read = true;
+				if (line.length() < maxLineLength + 1) { line.append((char) character); } // one extra character to tell a trailing \r apart
+				else { tooLong = true; }
+			}
+
+			return read;
+		}
+
+		String line() {
+			final var length = line.length();
+			return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+		}
+
+		boolean isTooLong() {
+			return tooLong || line().length() > maxLineLength;
+		}
+
 	}
 
 }
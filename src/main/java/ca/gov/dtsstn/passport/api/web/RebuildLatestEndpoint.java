@@ -0,0 +1,60 @@
+package ca.gov.dtsstn.passport.api.web;
+
+import java.time.Instant;
+
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ca.gov.dtsstn.passport.api.service.PassportStatusService;
+
+/**
+ * Actuator endpoint that rebuilds the {@code passport_status_latest} projection from the {@code passport_status} table.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+@Endpoint(id = "rebuildlatest")
+public class RebuildLatestEndpoint {
+
+	private static final Logger log = LoggerFactory.getLogger(RebuildLatestEndpoint.class);
+
+	private final PassportStatusService passportStatusService;
+
+	public RebuildLatestEndpoint(PassportStatusService passportStatusService) {
+		Assert.notNull(passportStatusService, "passportStatusService is required; it must not be null");
+		this.passportStatusService = passportStatusService;
+	}
+
+	@WriteOperation
+	public ResponseEntity<RebuildLatestResponse> rebuildLatest() {
+		log.info("RebuildLatestEndpoint called; rebuilding passport_status_latest projection");
+		final var nRows = passportStatusService.rebuildLatest();
+		log.info("Rebuilt passport_status_latest projection with {} rows", nRows);
+		return ResponseEntity.ok(ImmutableRebuildLatestResponse.of("Rebuilt passport_status_latest projection with %d rows".formatted(nRows)));
+	}
+
+	@Immutable
+	public interface RebuildLatestResponse {
+
+		@Nullable
+		@Parameter
+		String getMessage();
+
+		@Nullable
+		@Default
+		default Instant getTimestamp() {
+			return Instant.now();
+		}
+
+	}
+
+}
@@ -0,0 +1,70 @@
+package ca.gov.dtsstn.passport.api.web;
+
+import java.time.Instant;
+
+import org.immutables.value.Value.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry;
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry.Snapshot;
+
+/**
+ * Actuator endpoint that reports on (and reloads) the in-memory reference data registry.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Component
+@Endpoint(id = "referencedata")
+public class ReferenceDataEndpoint {
+
+	private static final Logger log = LoggerFactory.getLogger(ReferenceDataEndpoint.class);
+
+	private final ReferenceDataRegistry referenceDataRegistry;
+
+	public ReferenceDataEndpoint(ReferenceDataRegistry referenceDataRegistry) {
+		Assert.notNull(referenceDataRegistry, "referenceDataRegistry is required; it must not be null");
+		this.referenceDataRegistry = referenceDataRegistry;
+	}
+
+	@ReadOperation
+	public ResponseEntity<ReferenceDataResponse> referenceData() {
+		return ResponseEntity.ok(toResponse(referenceDataRegistry.getSnapshot()));
+	}
+
+	@WriteOperation
+	public ResponseEntity<ReferenceDataResponse> refresh() {
+		log.info("ReferenceDataEndpoint called; reloading reference data");
+		return ResponseEntity.ok(toResponse(referenceDataRegistry.refresh()));
+	}
+
+	private ReferenceDataResponse toResponse(Snapshot snapshot) {
+		return ImmutableReferenceDataResponse.builder()
+			.loadedAt(snapshot.loadedAt())
+			.sourceCodes(snapshot.sourceCodesById().size())
+			.statusCodes(snapshot.statusCodesById().size())
+			.build();
+	}
+
+	@Immutable
+	public interface ReferenceDataResponse {
+
+		@Nullable
+		Instant getLoadedAt();
+
+		@Nullable
+		Integer getSourceCodes();
+
+		@Nullable
+		Integer getStatusCodes();
+
+	}
+
+}
@@ -0,0 +1,29 @@
+package ca.gov.dtsstn.passport.api.web.exception;
+
+import java.time.Duration;
+
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.util.Assert;
+
+/**
+ * Thrown when a request cannot be handled right now (ie: because the server is overloaded), but can be retried after
+ * the given delay.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@SuppressWarnings({ "serial" })
+public class ServiceUnavailableException extends NestedRuntimeException {
+
+	private final Duration retryAfter;
+
+	public ServiceUnavailableException(String message, Duration retryAfter) {
+		super(message);
+		Assert.notNull(retryAfter, "retryAfter is required; it must not be null");
+		this.retryAfter = retryAfter;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+
+}
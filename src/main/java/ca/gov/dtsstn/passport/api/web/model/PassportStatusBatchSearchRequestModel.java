@@ -0,0 +1,38 @@
+package ca.gov.dtsstn.passport.api.web.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import org.immutables.value.Value.Default;
+import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Style;
+import org.immutables.value.Value.Style.ValidationMethod;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Immutable
+@Schema(name = "PassportStatusBatchSearchRequest")
+@Style(validationMethod = ValidationMethod.NONE)
+@JsonDeserialize(as = ImmutablePassportStatusBatchSearchRequestModel.class)
+public interface PassportStatusBatchSearchRequestModel extends Serializable {
+
+	@Valid
+	@Default
+	@JsonProperty("PassportStatusSearches")
+	@NotNull(message = "PassportStatusSearches is required; it must not be null")
+	@Size(min = 1, max = 1000, message = "PassportStatusSearches must contain between 1 and 1000 searches")
+	default List<@NotNull(message = "PassportStatusSearch must not be null") PassportStatusSearchModel> getPassportStatusSearches() {
+		return Collections.emptyList();
+	}
+
+}
@@ -0,0 +1,25 @@
+package ca.gov.dtsstn.passport.api.web.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.immutables.value.Value.Immutable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Immutable
+@Schema(name = "PassportStatusBatchSearchResponse")
+public interface PassportStatusBatchSearchResponseModel extends Serializable {
+
+	/**
+	 * The result of each search, in the same order as the request's searches.
+	 */
+	@JsonProperty("PassportStatusSearchResults")
+	List<PassportStatusSearchResultModel> getPassportStatusSearchResults();
+
+}
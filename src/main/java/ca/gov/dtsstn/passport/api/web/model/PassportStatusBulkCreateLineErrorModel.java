@@ -0,0 +1,26 @@
+package ca.gov.dtsstn.passport.api.web.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.immutables.value.Value.Immutable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Immutable
+@Schema(name = "PassportStatusBulkCreateLineError")
+public interface PassportStatusBulkCreateLineErrorModel extends Serializable {
+
+	@JsonProperty("LineNumber")
+	@Schema(description = "The (one-based) number of the rejected line.", example = "42")
+	long getLineNumber();
+
+	@JsonProperty("Issues")
+	List<IssueModel> getIssues();
+
+}
@@ -0,0 +1,45 @@
+package ca.gov.dtsstn.passport.api.web.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.immutables.value.Value.Immutable;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Immutable
+@Schema(name = "PassportStatusBulkCreateResponse")
+public interface PassportStatusBulkCreateResponseModel extends Serializable {
+
+	@JsonProperty("AcceptedCount")
+	@Schema(description = "The number of lines that were accepted (and queued) for processing.", example = "99")
+	long getAcceptedCount();
+
+	@JsonProperty("RejectedCount")
+	@Schema(description = "The number of lines that were rejected.", example = "1")
+	long getRejectedCount();
+
+	/**
+	 * The number of the first line that was not processed, if processing stopped early (ie: because a batch could not be
+	 * queued). Every line before it has been accepted or rejected, and the upload can be resumed from this line (note
+	 * that the rejected lines also include any invalid lines that were read after it).
+	 */
+	@Nullable
+	@JsonProperty("FirstUnprocessedLineNumber")
+	@Schema(description = "The number of the first line that was not processed, if processing stopped early.", example = "201")
+	Long getFirstUnprocessedLineNumber();
+
+	/**
+	 * The errors of each rejected line, in line order. Only the first few rejected lines are reported (see
+	 * {@link #getRejectedCount()} for the total).
+	 */
+	@JsonProperty("LineErrors")
+	List<PassportStatusBulkCreateLineErrorModel> getLineErrors();
+
+}
@@ -0,0 +1,48 @@
+package ca.gov.dtsstn.passport.api.web.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Style;
+import org.immutables.value.Value.Style.ValidationMethod;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Immutable
+@Schema(name = "PassportStatusSearch")
+@Style(validationMethod = ValidationMethod.NONE)
+@JsonDeserialize(as = ImmutablePassportStatusSearchModel.class)
+public interface PassportStatusSearchModel extends Serializable {
+
+	@JsonProperty("DateOfBirth")
+	@NotNull(message = "DateOfBirth is required; it must not be null")
+	@PastOrPresent(message = "DateOfBirth must be a date in the past")
+	@Schema(description = "The date of birth of the passport applicant in ISO-8601 format.", example = "2000-01-01")
+	LocalDate getDateOfBirth();
+
+	@JsonProperty("FileNumber")
+	@NotBlank(message = "FileNumber is required; it must not be null or blank")
+	@Schema(description = "The electronic service request file number.", example = "ABCD1234")
+	String getFileNumber();
+
+	@JsonProperty("GivenName")
+	@NotBlank(message = "GivenName is required; it must not be null or blank")
+	@Schema(description = "The given name of the passport applicant.", example = "John")
+	String getGivenName();
+
+	@JsonProperty("Surname")
+	@NotBlank(message = "Surname is required; it must not be null or blank")
+	@Schema(description = "The surname of the passport applicant.", example = "Doe")
+	String getSurname();
+
+}
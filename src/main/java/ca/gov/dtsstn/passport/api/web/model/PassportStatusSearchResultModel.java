@@ -0,0 +1,31 @@
+package ca.gov.dtsstn.passport.api.web.model;
+
+import java.io.Serializable;
+
+import org.immutables.value.Value.Immutable;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import ca.gov.dtsstn.passport.api.event.PassportStatusSearchEvent.Result;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Immutable
+@Schema(name = "PassportStatusSearchResult")
+public interface PassportStatusSearchResultModel extends Serializable {
+
+	@JsonProperty("Result")
+	@Schema(description = "The outcome of the search.", example = "HIT")
+	Result getResult();
+
+	/**
+	 * The newest passport status; only present when the result is {@link Result#HIT}.
+	 */
+	@Nullable
+	@JsonProperty("CertificateApplication")
+	CertificateApplicationModel getCertificateApplication();
+
+}
@@ -18,8 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
-import ca.gov.dtsstn.passport.api.service.SourceCodeService;
-import ca.gov.dtsstn.passport.api.service.StatusCodeService;
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry;
 import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
 import ca.gov.dtsstn.passport.api.service.domain.SourceCode;
 import ca.gov.dtsstn.passport.api.service.domain.StatusCode;
@@ -39,15 +38,11 @@ import jakarta.annotation.PostConstruct;
 public abstract class CertificateApplicationModelMapper {
 
 	@Autowired
-	protected SourceCodeService sourceCodeService;
-
-	@Autowired
-	protected StatusCodeService statusCodeService;
+	protected ReferenceDataRegistry referenceDataRegistry;
 
 	@PostConstruct
 	public void postConstruct() {
-		Assert.notNull(sourceCodeService, "sourceCodeService is required; it must not be null");
-		Assert.notNull(statusCodeService, "statusCodeService is required; it must not be null");
+		Assert.notNull(referenceDataRegistry, "referenceDataRegistry is required; it must not be null");
 	}
 
 	@Nullable
@@ -101,7 +96,7 @@ public abstract class CertificateApplicationModelMapper {
 	protected String toSourceCodeId(@Nullable SourceCodeModel sourceCode) {
 		return Optional.ofNullable(sourceCode)
 			.map(SourceCodeModel::getReferenceDataId)
-			.flatMap(sourceCodeService::readByCdoCode)
+			.flatMap(referenceDataRegistry::readSourceCodeByCdoCode)
 			.map(SourceCode::getId)
 			.orElse(null);
 	}
@@ -114,7 +109,7 @@ public abstract class CertificateApplicationModelMapper {
 	@Named("toSourceCdoCode")
 	protected String toSourceCdoCode(@Nullable String sourceCodeId) {
 		return Optional.ofNullable(sourceCodeId)
-			.flatMap(sourceCodeService::read)
+			.flatMap(referenceDataRegistry::readSourceCode)
 			.map(SourceCode::getCdoCode)
 			.orElse(null);
 	}
@@ -129,7 +124,7 @@ public abstract class CertificateApplicationModelMapper {
 	protected String toStatusCodeId(@Nullable CertificateApplicationStatusModel certificateApplicationStatus) {
 		return Optional.ofNullable(certificateApplicationStatus)
 			.map(CertificateApplicationStatusModel::getStatusCode)
-			.flatMap(statusCodeService::readByCdoCode)
+			.flatMap(referenceDataRegistry::readStatusCodeByCdoCode)
 			.map(StatusCode::getId)
 			.orElse(null);
 	}
@@ -142,7 +137,7 @@ public abstract class CertificateApplicationModelMapper {
 	@Named("toStatusCdoCode")
 	protected String toStatusCdoCode(@Nullable String statusCodeId) {
 		return Optional.ofNullable(statusCodeId)
-			.flatMap(statusCodeService::read)
+			.flatMap(referenceDataRegistry::readStatusCode)
 			.map(StatusCode::getCdoCode)
 			.orElse(null);
 	}
@@ -2,7 +2,7 @@ package ca.gov.dtsstn.passport.api.web.validation;
 
 import org.springframework.stereotype.Component;
 
-import ca.gov.dtsstn.passport.api.service.StatusCodeService;
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry;
 import ca.gov.dtsstn.passport.api.service.domain.StatusCode;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -16,16 +16,16 @@ import jakarta.validation.ConstraintValidatorContext;
 @Component
 public class PassportStatusCodeValidator implements ConstraintValidator<PassportStatusCode, String> {
 
-	private final StatusCodeService statusCodeService;
+	private final ReferenceDataRegistry referenceDataRegistry;
 
-	public PassportStatusCodeValidator(StatusCodeService statusCodeService) {
-		this.statusCodeService = statusCodeService;
+	public PassportStatusCodeValidator(ReferenceDataRegistry referenceDataRegistry) {
+		this.referenceDataRegistry = referenceDataRegistry;
 	}
 
 	@Override
 	public boolean isValid(String value, ConstraintValidatorContext context) {
 		if (value == null) { return true; }
-		return statusCodeService.readByCdoCode(value)
+		return referenceDataRegistry.readStatusCodeByCdoCode(value)
 			.map(StatusCode::getIsActive)
 			.filter(Boolean.TRUE::equals)
 			.isPresent();
@@ -3,7 +3,7 @@ package ca.gov.dtsstn.passport.api.web.validation;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
-import ca.gov.dtsstn.passport.api.service.SourceCodeService;
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry;
 import ca.gov.dtsstn.passport.api.service.domain.SourceCode;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -16,18 +16,18 @@ import jakarta.validation.ConstraintValidatorContext;
 @Component
 public class ReferenceDataIdValidator implements ConstraintValidator<ReferenceDataId, String> {
 
-	private final SourceCodeService sourceCodeService;
+	private final ReferenceDataRegistry referenceDataRegistry;
 
-	public ReferenceDataIdValidator(SourceCodeService sourceCodeService) {
-		Assert.notNull(sourceCodeService, "sourceCodeService is required; it must not be null");
-		this.sourceCodeService = sourceCodeService;
+	public ReferenceDataIdValidator(ReferenceDataRegistry referenceDataRegistry) {
+		Assert.notNull(referenceDataRegistry, "referenceDataRegistry is required; it must not be null");
+		this.referenceDataRegistry = referenceDataRegistry;
 	}
 
 	@Override
 	public boolean isValid(String value, ConstraintValidatorContext context) {
 		if (value == null) { return true;}
 
-		return sourceCodeService.readByCdoCode(value)
+		return referenceDataRegistry.readSourceCodeByCdoCode(value)
 			.map(SourceCode::getIsActive)
 			.filter(Boolean.TRUE::equals)
 			.isPresent();
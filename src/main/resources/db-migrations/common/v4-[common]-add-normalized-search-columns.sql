@@ -0,0 +1,52 @@
+/******************************************************************************
+ * Migration file that adds normalized search columns to `passport_status`.
+ *
+ * Prior to this migration, the email and file number searches normalized every
+ * candidate row at query time using `lower()`, `remove_diacritics()` and
+ * `remove_non_alpha_numeric()`. This migration will perform the following:
+ *
+ *   - add the `email_norm`, `file_number_norm`, `given_name_norm` and `surname_norm` columns
+ *   - backfill the new columns using the same normalization functions the searches used
+ *   - replace the single-column indexes with composite indexes that match the search predicates
+ *
+ * From now on the application computes the normalized values when a row is
+ * written, so searches become simple equality lookups.
+ *
+ * Note: `remove_diacritics()` and `remove_non_alpha_numeric()` are provided by
+ * the vendor-specific v0.1 migrations.
+ */
+
+-------------------------------------------------------------------------------
+-- add the normalized search columns
+-------------------------------------------------------------------------------
+
+ALTER TABLE passport_status ADD COLUMN email_norm VARCHAR(256);
+ALTER TABLE passport_status ADD COLUMN file_number_norm VARCHAR(32);
+ALTER TABLE passport_status ADD COLUMN given_name_norm VARCHAR(128);
+ALTER TABLE passport_status ADD COLUMN surname_norm VARCHAR(128);
+
+-------------------------------------------------------------------------------
+-- backfill the normalized search columns
+-------------------------------------------------------------------------------
+
+UPDATE passport_status SET
+	email_norm = lower(email),
+	file_number_norm = lower(file_number),
+	given_name_norm = lower(remove_non_alpha_numeric(remove_diacritics(given_name))),
+	surname_norm = lower(remove_non_alpha_numeric(remove_diacritics(surname)));
+
+ALTER TABLE passport_status ALTER COLUMN file_number_norm SET NOT NULL;
+ALTER TABLE passport_status ALTER COLUMN given_name_norm SET NOT NULL;
+ALTER TABLE passport_status ALTER COLUMN surname_norm SET NOT NULL;
+
+-------------------------------------------------------------------------------
+-- replace the single-column search indexes with composite indexes
+-------------------------------------------------------------------------------
+
+DROP INDEX ix_email;
+DROP INDEX ix_file_number;
+DROP INDEX ix_given_name;
+DROP INDEX ix_surname;
+
+CREATE INDEX ix_passport_status_email_search ON passport_status(email_norm, date_of_birth, given_name_norm, surname_norm);
+CREATE INDEX ix_passport_status_file_number_search ON passport_status(file_number_norm, date_of_birth, given_name_norm, surname_norm);
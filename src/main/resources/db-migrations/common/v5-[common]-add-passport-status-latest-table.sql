@@ -0,0 +1,51 @@
+/******************************************************************************
+ * Migration file that adds the `passport_status_latest` projection table.
+ *
+ * The email and file number searches only ever match the newest version of a
+ * passport status. Finding that version required a correlated
+ * `MAX(version)` subquery per candidate row. This migration will perform the
+ * following:
+ *
+ *   - create a new table called `passport_status_latest` that holds one row per `application_register_sid`
+ *   - populate the new table with the newest version of every passport status
+ *
+ * From now on the application maintains this table whenever a passport status
+ * is created, updated or deleted. It can also be rebuilt at any time through the
+ * `rebuildlatest` actuator endpoint.
+ */
+
+-------------------------------------------------------------------------------
+-- create a new table called `passport_status_latest`
+-------------------------------------------------------------------------------
+
+CREATE TABLE passport_status_latest
+(
+	application_register_sid VARCHAR(256) NOT NULL,
+
+	passport_status_id VARCHAR(64) NOT NULL,
+	version BIGINT NOT NULL,
+
+	-- search fields (copied from passport_status)
+	date_of_birth DATE NOT NULL,
+	email_norm VARCHAR(256),
+	file_number_norm VARCHAR(32) NOT NULL,
+	given_name_norm VARCHAR(128) NOT NULL,
+	surname_norm VARCHAR(128) NOT NULL,
+
+	CONSTRAINT pk_passport_status_latest PRIMARY KEY (application_register_sid),
+	CONSTRAINT fk_passport_status_latest_passport_status FOREIGN KEY (passport_status_id) REFERENCES passport_status(id) ON DELETE CASCADE
+);
+
+CREATE INDEX ix_passport_status_latest_email_search ON passport_status_latest(email_norm, date_of_birth, given_name_norm, surname_norm);
+CREATE INDEX ix_passport_status_latest_file_number_search ON passport_status_latest(file_number_norm, date_of_birth, given_name_norm, surname_norm);
+CREATE INDEX ix_passport_status_latest_passport_status_id ON passport_status_latest(passport_status_id);
+
+-------------------------------------------------------------------------------
+-- populate the new table with the newest version of every passport status
+-------------------------------------------------------------------------------
+
+INSERT INTO passport_status_latest
+	(application_register_sid, passport_status_id, version, date_of_birth, email_norm, file_number_norm, given_name_norm, surname_norm)
+SELECT application_register_sid, id, version, date_of_birth, email_norm, file_number_norm, given_name_norm, surname_norm
+  FROM passport_status ps
+ WHERE ps.version = (SELECT MAX(version) FROM passport_status other WHERE other.application_register_sid = ps.application_register_sid);
@@ -0,0 +1,12 @@
+/******************************************************************************
+ * Migration file that supports keyset pagination of the `passport_status`
+ * table. This migration will perform the following:
+ *
+ *   - create an index on `passport_status(created_date, id)`
+ *
+ * Passport statuses are listed in (created_date, id) order, with each page
+ * starting after the last row of the previous one. This index allows every
+ * page to be read with a short range scan, no matter how deep it is.
+ */
+
+CREATE INDEX ix_passport_status_created_date_id ON passport_status(created_date, id);
@@ -0,0 +1,14 @@
+/******************************************************************************
+ * Migration file that supports compressed event log details. This migration
+ * will perform the following:
+ *
+ *   - add a nullable `compressed_details` column to the `event_log` table
+ *   - make the `event_log.details` column nullable
+ *
+ * When details compression is enabled, large details are stored deflated in
+ * `compressed_details` (and `details` is left empty); smaller details, and
+ * every row written before this migration, are stored as text in `details`.
+ */
+
+ALTER TABLE event_log ADD COLUMN compressed_details BYTEA;
+ALTER TABLE event_log ALTER COLUMN details DROP NOT NULL;
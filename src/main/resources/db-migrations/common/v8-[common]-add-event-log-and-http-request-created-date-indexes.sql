@@ -0,0 +1,15 @@
+/******************************************************************************
+ * Migration file that supports time-based retention of the `event_log` and
+ * `http_request` tables. This migration will perform the following:
+ *
+ *   - create an index on `event_log(created_date)`
+ *   - create an index on `http_request(created_date)`
+ *
+ * Both tables are pruned by `created_date`. On PostgreSQL, the tables are then
+ * range-partitioned on `created_date` (see v8.1) so that expired rows can be
+ * dropped a partition at a time; every other database deletes expired rows,
+ * and uses these indexes to find them.
+ */
+
+CREATE INDEX ix_event_log_created_date ON event_log(created_date);
+CREATE INDEX ix_http_request_created_date ON http_request(created_date);
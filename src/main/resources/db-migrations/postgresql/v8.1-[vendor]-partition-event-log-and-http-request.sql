@@ -0,0 +1,50 @@
+/******************************************************************************
+ * Migration file that range-partitions the `event_log` and `http_request`
+ * tables on `created_date`. For each table, this migration will perform the
+ * following:
+ *
+ *   - rename the existing table to `{table}_unpartitioned`
+ *   - create a new `{table}` table, partitioned by range on `created_date`
+ *   - create a `{table}_default` partition (for rows outside every range)
+ *   - create monthly `{table}_{yyyymmdd}_{yyyymmdd}` partitions from the
+ *     oldest existing row to two months from now
+ *   - copy the existing rows into the new table and drop the old one
+ *   - recreate the primary key (which must now include `created_date`) and
+ *     the `created_date` index
+ *
+ * From then on, partitions are created ahead of time and dropped once they
+ * have expired by the application (see TablePartitionManager). The partition
+ * name encodes its range, so the application can change the partition
+ * interval without overlapping the existing partitions.
+ *
+ * Note: the copy holds an exclusive lock on both tables for its duration.
+ */
+
+DO $$
+DECLARE
+	partitioned_table TEXT;
+	partition_start DATE;
+	partition_end DATE;
+BEGIN
+	FOREACH partitioned_table IN ARRAY ARRAY['event_log', 'http_request'] LOOP
+		EXECUTE format('ALTER TABLE %I RENAME TO %I', partitioned_table, partitioned_table || '_unpartitioned');
+		EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS) PARTITION BY RANGE (created_date)', partitioned_table, partitioned_table || '_unpartitioned');
+		EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', partitioned_table || '_default', partitioned_table);
+
+		EXECUTE format('SELECT CAST(date_trunc(''month'', coalesce(min(created_date), localtimestamp)) AS DATE) FROM %I', partitioned_table || '_unpartitioned') INTO partition_start;
+
+		WHILE partition_start <= CAST(date_trunc('month', localtimestamp) + INTERVAL '2 months' AS DATE) LOOP
+			partition_end := CAST(partition_start + INTERVAL '1 month' AS DATE);
+			EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+				partitioned_table || '_' || to_char(partition_start, 'YYYYMMDD') || '_' || to_char(partition_end, 'YYYYMMDD'),
+				partitioned_table, partition_start, partition_end);
+			partition_start := partition_end;
+		END LOOP;
+
+		EXECUTE format('INSERT INTO %I SELECT * FROM %I', partitioned_table, partitioned_table || '_unpartitioned');
+		EXECUTE format('DROP TABLE %I', partitioned_table || '_unpartitioned');
+
+		EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I PRIMARY KEY (id, created_date)', partitioned_table, 'pk_' || partitioned_table);
+		EXECUTE format('CREATE INDEX %I ON %I (created_date)', 'ix_' || partitioned_table || '_created_date', partitioned_table);
+	END LOOP;
+END $$;
@@ -0,0 +1,161 @@
+package ca.gov.dtsstn.passport.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.sun.net.httpserver.HttpServer;
+
+import ca.gov.dtsstn.passport.api.service.PassportStatusService;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatusFixtures;
+
+/**
+ * Compares the throughput of electronic service requests (which block on a JDBC search and on a call to GC Notify)
+ * when requests are handled by a bounded pool of platform threads and by virtual threads. GC Notify is replaced by a
+ * stub that takes {@code GC_NOTIFY_LATENCY} to respond. Each run is preceded by an untimed warm-up run; the results are
+ * logged.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class VirtualThreadsLoadIT {
+
+	static final Logger log = LoggerFactory.getLogger(VirtualThreadsLoadIT.class);
+
+	static final Duration GC_NOTIFY_LATENCY = Duration.ofMillis(500);
+
+	static final int REQUESTS = 200;
+
+	static final int TOMCAT_MAX_THREADS = 10;
+
+	static final AtomicInteger gcNotifyRequests = new AtomicInteger();
+
+	static HttpServer gcNotifyStub;
+
+	@BeforeAll static void beforeAll() throws IOException {
+		gcNotifyStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		gcNotifyStub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		gcNotifyStub.createContext("/", exchange -> {
+			try (exchange) {
+				exchange.getRequestBody().readAllBytes();
+				Thread.sleep(GC_NOTIFY_LATENCY);
+				gcNotifyRequests.incrementAndGet();
+
+				final var responseBody = "{}".getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(201, responseBody.length);
+				exchange.getResponseBody().write(responseBody);
+			}
+			catch (final InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		gcNotifyStub.start();
+	}
+
+	@AfterAll static void afterAll() {
+		gcNotifyStub.stop(0);
+	}
+
+	@Test void testThroughput() throws Exception {
+		final var platformThroughput = measureThroughput(false);
+		final var virtualThroughput = measureThroughput(true);
+
+		log.info("Electronic service requests with {} ms GC Notify latency: platform threads (max {}): {} requests/s; virtual threads: {} requests/s", GC_NOTIFY_LATENCY.toMillis(), TOMCAT_MAX_THREADS, platformThroughput, virtualThroughput);
+		assertThat(virtualThroughput).isGreaterThan(platformThroughput);
+	}
+
+	long measureThroughput(boolean virtualThreads) throws Exception {
+		final var name = virtualThreads ? "virtual" : "platform";
+
+		try (final var applicationContext = (ServletWebServerApplicationContext) new SpringApplicationBuilder(Application.class)
+				.profiles("test")
+				.run(
+					"--application.gcnotify.base-url=http://localhost:%d/v2/notifications/email".formatted(gcNotifyStub.getAddress().getPort()),
+					"--server.port=0",
+					"--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+					"--spring.datasource.url=jdbc:h2:mem:load-%s;COLLATION=ENGLISH STRENGTH PRIMARY;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;MODE=PostgreSQL".formatted(name),
+					"--spring.threads.virtual.enabled=" + virtualThreads)) {
+			// (file number notifications are cached, so the warm-up and the timed run each need their own passport statuses)
+			final var emails = new ArrayList<String>(2 * REQUESTS);
+			final var passportStatuses = new ArrayList<PassportStatus>(2 * REQUESTS);
+
+			for (var i = 0; i < 2 * REQUESTS; i++) {
+				final var email = "load-%s-%d@example.com".formatted(name, i);
+				emails.add(email);
+				passportStatuses.add(passportStatus(email));
+			}
+
+			applicationContext.getBean(PassportStatusService.class).createAll(passportStatuses);
+
+			final var uri = URI.create("http://localhost:%d/api/v1/esrf-requests".formatted(applicationContext.getWebServer().getPort()));
+
+			sendAll(uri, emails.subList(0, REQUESTS)); // warm up
+			final var gcNotifyRequestsBefore = gcNotifyRequests.get();
+
+			final var startTime = System.nanoTime();
+			sendAll(uri, emails.subList(REQUESTS, 2 * REQUESTS));
+			final var elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+
+			assertThat(gcNotifyRequests.get() - gcNotifyRequestsBefore).isEqualTo(REQUESTS);
+			return Math.round(REQUESTS / (elapsed.toNanos() / 1e9));
+		}
+	}
+
+	void sendAll(URI uri, List<String> emails) {
+		try (final var executor = Executors.newVirtualThreadPerTaskExecutor();
+				final var httpClient = HttpClient.newBuilder().executor(executor).version(HttpClient.Version.HTTP_1_1).build()) {
+			final var responses = emails.stream()
+				.map(email -> httpClient.sendAsync(esrfRequest(uri, email), HttpResponse.BodyHandlers.discarding()))
+				.toList();
+			CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+
+			assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(202));
+		}
+	}
+
+	HttpRequest esrfRequest(URI uri, String email) {
+		final var body = """
+			{ "Client": {
+				"BirthDate": { "Date": "2000-01-01" },
+				"PersonName": { "PersonGivenName": [ "John" ], "PersonSurName": "Doe" },
+				"PersonContactInformation": { "ContactEmailID": "%s" },
+				"PersonPreferredLanguage": { "LanguageName": "ENGLISH" } } }
+		""".formatted(email);
+
+		return HttpRequest.newBuilder(uri)
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build();
+	}
+
+	PassportStatus passportStatus(String email) {
+		return PassportStatusFixtures.johnDoe()
+			.applicationRegisterSid(UUID.randomUUID().toString())
+			.email(email)
+			.fileNumber(UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+			.build();
+	}
+
+}
@@ -0,0 +1,57 @@
+package ca.gov.dtsstn.passport.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import ca.gov.dtsstn.passport.api.config.properties.AsyncProperties;
+import ca.gov.dtsstn.passport.api.config.properties.AsyncProperties.ExecutorProperties;
+import ca.gov.dtsstn.passport.api.config.properties.AsyncProperties.RejectionPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class AsyncConfigTests {
+
+	ThreadPoolTaskExecutor executor;
+
+	@AfterEach void afterEach() {
+		if (executor != null) { executor.shutdown(); }
+	}
+
+	@Test void testExecutor_whenVirtualThreadsEnabled() throws Exception {
+		executor = asyncConfig(true).passportStatusEventExecutor();
+		executor.initialize();
+
+		final var thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+		assertThat(thread.isVirtual()).isTrue();
+		assertThat(thread.getName()).startsWith("passport-status-event-");
+		assertThat(executor.getMaxPoolSize()).isEqualTo(8);
+		assertThat(executor.getQueueCapacity()).isEqualTo(10);
+	}
+
+	@Test void testExecutor_whenVirtualThreadsDisabled() throws Exception {
+		executor = asyncConfig(false).passportStatusEventExecutor();
+		executor.initialize();
+
+		final var thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+		assertThat(thread.isVirtual()).isFalse();
+		assertThat(thread.getName()).startsWith("passport-status-event-");
+	}
+
+	AsyncConfig asyncConfig(boolean virtualThreadsEnabled) {
+		final var executorProperties = new ExecutorProperties(2, 8, 10, Duration.ofSeconds(60), RejectionPolicy.CALLER_RUNS, 0.1);
+		final var environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", String.valueOf(virtualThreadsEnabled));
+		return new AsyncConfig(new AsyncProperties(executorProperties, executorProperties, executorProperties), environment, new SimpleMeterRegistry());
+	}
+
+}
@@ -0,0 +1,73 @@
+package ca.gov.dtsstn.passport.api.config.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import ca.gov.dtsstn.passport.api.config.properties.AsyncProperties.RejectionPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class RejectionPolicyHandlerTests {
+
+	SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+
+	AtomicInteger runs = new AtomicInteger();
+
+	@AfterEach void afterEach() {
+		executor.shutdownNow();
+	}
+
+	@Test void testRejectedExecution_callerRuns() {
+		final var handler = new RejectionPolicyHandler("test", RejectionPolicy.CALLER_RUNS, 0.0, meterRegistry);
+
+		handler.rejectedExecution(runs::incrementAndGet, executor);
+
+		assertThat(runs).hasValue(1);
+		assertThat(rejected("caller_runs")).isEqualTo(1.0);
+	}
+
+	@Test void testRejectedExecution_drop() {
+		final var handler = new RejectionPolicyHandler("test", RejectionPolicy.DROP, 1.0, meterRegistry);
+
+		handler.rejectedExecution(runs::incrementAndGet, executor);
+
+		assertThat(runs).hasValue(0);
+		assertThat(rejected("dropped")).isEqualTo(1.0);
+	}
+
+	@Test void testRejectedExecution_sample() {
+		final var handler = new RejectionPolicyHandler("test", RejectionPolicy.SAMPLE, 0.25, meterRegistry);
+
+		for (var i = 0; i < 10_000; i++) { handler.rejectedExecution(runs::incrementAndGet, executor); }
+
+		assertThat(runs.get()).isBetween(2000, 3000);
+		assertThat(rejected("sampled")).isEqualTo(runs.get());
+		assertThat(rejected("dropped")).isEqualTo(10_000.0 - runs.get());
+	}
+
+	@Test void testRejectedExecution_whenShutdown() {
+		final var handler = new RejectionPolicyHandler("test", RejectionPolicy.CALLER_RUNS, 0.0, meterRegistry);
+		executor.shutdown();
+
+		handler.rejectedExecution(runs::incrementAndGet, executor);
+
+		assertThat(runs).hasValue(0);
+		assertThat(rejected("dropped")).isEqualTo(1.0);
+	}
+
+	double rejected(String outcome) {
+		return meterRegistry.get("executor.rejected").tag("name", "test").tag("outcome", outcome).counter().count();
+	}
+
+}
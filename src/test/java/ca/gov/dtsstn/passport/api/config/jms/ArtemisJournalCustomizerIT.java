@@ -0,0 +1,168 @@
+package ca.gov.dtsstn.passport.api.config.jms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.activemq.artemis.jms.client.ActiveMQQueue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import ca.gov.dtsstn.passport.api.config.properties.JmsProperties.BrokerProperties;
+import jakarta.jms.Session;
+
+/**
+ * Runs standalone embedded brokers configured by {@link ArtemisJournalCustomizer} to verify that persistent messages
+ * survive a restart and that a backlog is paged to disk, and benchmarks sustained (transacted) enqueue throughput for
+ * each journal type (the results are logged).
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class ArtemisJournalCustomizerIT {
+
+	static final Logger log = LoggerFactory.getLogger(ArtemisJournalCustomizerIT.class);
+
+	static final String QUEUE = "passport-statuses";
+
+	static final int BATCH_SIZE = 100;
+
+	static final int BENCHMARK_MESSAGES = 20_000;
+
+	static final byte[] PAYLOAD = new byte[350];
+
+	static final AtomicInteger SERVER_IDS = new AtomicInteger(100);
+
+	@TempDir Path dataDirectory;
+
+	@ParameterizedTest
+	@EnumSource(value = JournalType.class, names = { "MAPPED", "NIO" })
+	void testMessagesSurviveRestart(JournalType journalType) throws Exception {
+		final var brokerProperties = brokerProperties(true, journalType, DataSize.ofMegabytes(64));
+
+		final var serverId = SERVER_IDS.incrementAndGet();
+		var broker = startBroker(brokerProperties, serverId);
+		send(serverId, 250);
+		broker.stop();
+
+		broker = startBroker(brokerProperties, serverId);
+		try {
+			assertThat(receive(serverId)).isEqualTo(250);
+		}
+		finally {
+			broker.stop();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = JournalType.class, names = { "MAPPED", "NIO" })
+	void testBacklogIsPaged(JournalType journalType) throws Exception {
+		final var serverId = SERVER_IDS.incrementAndGet();
+		final var broker = startBroker(brokerProperties(true, journalType, DataSize.ofKilobytes(64)), serverId);
+
+		try {
+			send(serverId, 1000);
+			assertThat(broker.getActiveMQServer().getPagingManager().getPageStore(SimpleString.toSimpleString(QUEUE)).isPaging()).isTrue();
+			assertThat(receive(serverId)).isEqualTo(1000);
+		}
+		finally {
+			broker.stop();
+		}
+	}
+
+	@Test void testBacklogIsPaged_whenNotPersistent() throws Exception {
+		final var serverId = SERVER_IDS.incrementAndGet();
+		final var broker = startBroker(brokerProperties(false, JournalType.MAPPED, DataSize.ofKilobytes(64)), serverId);
+
+		try {
+			send(serverId, 1000);
+			assertThat(broker.getActiveMQServer().getPagingManager().getPageStore(SimpleString.toSimpleString(QUEUE)).isPaging()).isTrue();
+			assertThat(receive(serverId)).isEqualTo(1000);
+		}
+		finally {
+			broker.stop();
+		}
+	}
+
+	@Test void benchmark() throws Exception {
+		benchmark("in-memory", brokerProperties(false, JournalType.MAPPED, DataSize.ofMegabytes(64)));
+		benchmark("MAPPED", brokerProperties(true, JournalType.MAPPED, DataSize.ofMegabytes(64)));
+		benchmark("NIO", brokerProperties(true, JournalType.NIO, DataSize.ofMegabytes(64)));
+	}
+
+	void benchmark(String name, BrokerProperties brokerProperties) throws Exception {
+		final var serverId = SERVER_IDS.incrementAndGet();
+		final var broker = startBroker(brokerProperties, serverId);
+
+		try {
+			send(serverId, BENCHMARK_MESSAGES / 10); // warm up
+
+			final var startTime = System.nanoTime();
+			send(serverId, BENCHMARK_MESSAGES);
+			final var elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+
+			log.info("{}: enqueued {} messages in batches of {} in {} ms ({} messages/s)", name, BENCHMARK_MESSAGES, BATCH_SIZE, elapsed.toMillis(), Math.round(BENCHMARK_MESSAGES / (elapsed.toNanos() / 1e9)));
+		}
+		finally {
+			broker.stop();
+		}
+	}
+
+	BrokerProperties brokerProperties(boolean persistent, JournalType journalType, DataSize maxSize) {
+		return new BrokerProperties(persistent, dataDirectory.resolve(journalType.name()).toString(), journalType, true, true, true, DataSize.ofMegabytes(10), 2, maxSize, DataSize.ofKilobytes(16));
+	}
+
+	EmbeddedActiveMQ startBroker(BrokerProperties brokerProperties, int serverId) throws Exception {
+		final var configuration = new ConfigurationImpl()
+			.setPersistenceEnabled(false)
+			.setSecurityEnabled(false)
+			.addAcceptorConfiguration("in-vm", "vm://" + serverId)
+			.addQueueConfiguration(new QueueConfiguration(QUEUE).setRoutingType(RoutingType.ANYCAST));
+		new ArtemisJournalCustomizer(brokerProperties, QUEUE).customize(configuration);
+
+		final var broker = new EmbeddedActiveMQ();
+		broker.setConfiguration(configuration);
+		broker.start();
+		return broker;
+	}
+
+	void send(int serverId, int count) throws Exception {
+		try (final var connectionFactory = new ActiveMQConnectionFactory("vm://" + serverId);
+				final var connection = connectionFactory.createConnection();
+				final var session = connection.createSession(true, Session.SESSION_TRANSACTED);
+				final var producer = session.createProducer(new ActiveMQQueue(QUEUE))) {
+			for (var i = 1; i <= count; i++) {
+				final var message = session.createBytesMessage();
+				message.writeBytes(PAYLOAD);
+				producer.send(message);
+				if (i % BATCH_SIZE == 0 || i == count) { session.commit(); }
+			}
+		}
+	}
+
+	int receive(int serverId) throws Exception {
+		try (final var connectionFactory = new ActiveMQConnectionFactory("vm://" + serverId);
+				final var connection = connectionFactory.createConnection();
+				final var session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+				final var consumer = session.createConsumer(new ActiveMQQueue(QUEUE))) {
+			connection.start();
+			var count = 0;
+			while (consumer.receive(1000) != null) { count++; }
+			return count;
+		}
+	}
+
+}
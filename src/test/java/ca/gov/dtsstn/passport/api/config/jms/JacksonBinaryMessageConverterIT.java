@@ -0,0 +1,172 @@
+package ca.gov.dtsstn.passport.api.config.jms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ca.gov.dtsstn.passport.api.config.jms.JacksonBinaryMessageConverter.Format;
+import ca.gov.dtsstn.passport.api.service.domain.ImmutablePassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatusFixtures;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+
+/**
+ * Round-trips passport statuses through each wire format using the embedded broker's message implementations, and
+ * benchmarks the payload size and encode/decode time of each format (the results are logged).
+ * <p>
+ * Note: messages are never sent, so bytes messages must be {@linkplain BytesMessage#reset() reset} before being read.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class JacksonBinaryMessageConverterIT {
+
+	static final Logger log = LoggerFactory.getLogger(JacksonBinaryMessageConverterIT.class);
+
+	static final int BENCHMARK_ITERATIONS = 20_000;
+
+	static final int WARMUP_ITERATIONS = 5_000;
+
+	@Autowired ConnectionFactory connectionFactory;
+
+	Connection connection;
+
+	Session session;
+
+	@BeforeEach void beforeEach() throws JMSException {
+		this.connection = connectionFactory.createConnection();
+		this.session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+	}
+
+	@AfterEach void afterEach() throws JMSException {
+		connection.close();
+	}
+
+	@ParameterizedTest
+	@EnumSource(Format.class)
+	void testRoundTrip(Format format) throws Exception {
+		final var converter = converter(format, DataSize.ofKilobytes(1));
+		final var message = converter.toMessage(passportStatus("1"), session);
+
+		if (format == Format.JSON) {
+			assertThat(message).isInstanceOf(TextMessage.class);
+		}
+		else {
+			assertThat(message).isInstanceOf(BytesMessage.class);
+			assertThat(message.getStringProperty(JacksonBinaryMessageConverter.CONTENT_TYPE_PROPERTY)).isEqualTo(format.getContentType());
+			assertThat(message.getStringProperty(JacksonBinaryMessageConverter.CONTENT_ENCODING_PROPERTY)).isNull();
+		}
+
+		assertThat(converter.fromMessage(reset(message))).isEqualTo(passportStatus("1"));
+	}
+
+	@Test void testRoundTrip_compressed() throws Exception {
+		final var passportStatus = ImmutablePassportStatus.builder().from(passportStatus("1")).givenName("x".repeat(4096)).build();
+		final var converter = converter(Format.SMILE, DataSize.ofKilobytes(1));
+		final var message = (BytesMessage) converter.toMessage(passportStatus, session);
+
+		assertThat(message.getStringProperty(JacksonBinaryMessageConverter.CONTENT_ENCODING_PROPERTY)).isEqualTo(JacksonBinaryMessageConverter.GZIP_CONTENT_ENCODING);
+		assertThat(reset(message).getBodyLength()).isLessThan(1024);
+		assertThat(converter.fromMessage(reset(message))).isEqualTo(passportStatus);
+	}
+
+	@Test void testFromMessage_legacyTextMessage() throws Exception {
+		final var legacyConverter = new MappingJackson2MessageConverter();
+		legacyConverter.setObjectMapper(new ObjectMapper().findAndRegisterModules());
+		legacyConverter.setTargetType(MessageType.TEXT);
+		legacyConverter.setTypeIdPropertyName("_type");
+
+		final var message = legacyConverter.toMessage(passportStatus("1"), session);
+
+		assertThat(converter(Format.SMILE, DataSize.ofKilobytes(1)).fromMessage(message)).isEqualTo(passportStatus("1"));
+	}
+
+	@Test void testFromMessage_otherFormat() throws Exception {
+		final var message = converter(Format.CBOR, DataSize.ofKilobytes(1)).toMessage(passportStatus("1"), session);
+
+		assertThat(converter(Format.SMILE, DataSize.ofKilobytes(1)).fromMessage(reset(message))).isEqualTo(passportStatus("1"));
+	}
+
+	@Test void benchmark() throws Exception {
+		final var payloadSizes = new EnumMap<Format, Long>(Format.class);
+
+		for (final var format : Format.values()) {
+			final var converter = converter(format, DataSize.ofKilobytes(1));
+			final var message = converter.toMessage(passportStatus("0"), session);
+			payloadSizes.put(format, payloadSize(message));
+
+			for (var i = 0; i < WARMUP_ITERATIONS; i++) { converter.fromMessage(reset(converter.toMessage(passportStatus(String.valueOf(i)), session))); }
+
+			var encodeNanos = 0L;
+			var decodeNanos = 0L;
+
+			for (var i = 0; i < BENCHMARK_ITERATIONS; i++) {
+				final var passportStatus = passportStatus(String.valueOf(i));
+
+				final var encodeStartTime = System.nanoTime();
+				final var encodedMessage = converter.toMessage(passportStatus, session);
+				encodeNanos += System.nanoTime() - encodeStartTime;
+
+				reset(encodedMessage);
+
+				final var decodeStartTime = System.nanoTime();
+				converter.fromMessage(encodedMessage);
+				decodeNanos += System.nanoTime() - decodeStartTime;
+			}
+
+			log.info("{}: payload {} bytes; encode {} ns/message; decode {} ns/message", format, payloadSizes.get(format), encodeNanos / BENCHMARK_ITERATIONS, decodeNanos / BENCHMARK_ITERATIONS);
+		}
+
+		assertThat(payloadSizes.get(Format.CBOR)).isLessThan(payloadSizes.get(Format.JSON));
+		assertThat(payloadSizes.get(Format.SMILE)).isLessThan(payloadSizes.get(Format.JSON));
+	}
+
+	JacksonBinaryMessageConverter converter(Format format, DataSize compressionThreshold) {
+		final var converter = new JacksonBinaryMessageConverter(format, compressionThreshold);
+		converter.setTypeIdPropertyName("_type");
+		return converter;
+	}
+
+	long payloadSize(Message message) throws JMSException {
+		return message instanceof final TextMessage textMessage
+			? textMessage.getText().getBytes(StandardCharsets.UTF_8).length
+			: reset((BytesMessage) message).getBodyLength();
+	}
+
+	<T extends Message> T reset(T message) throws JMSException {
+		if (message instanceof final BytesMessage bytesMessage) { bytesMessage.reset(); }
+		return message;
+	}
+
+	PassportStatus passportStatus(String applicationRegisterSid) {
+		return PassportStatusFixtures.johnDoe()
+			.applicationRegisterSid(applicationRegisterSid)
+			.manifestNumber("MANIFEST1234")
+			.build();
+	}
+
+}
@@ -0,0 +1,54 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import ca.gov.dtsstn.passport.api.config.properties.EventLogProperties.DetailsCompression;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntityBuilder;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class EventLogDetailsCodecTests {
+
+	static final String LARGE_DETAILS = "{\"entity\":{\"givenName\":\"Jean-François\",\"surname\":\"O'Brien\"}}".repeat(50);
+
+	@Test void testEncode_deflate() {
+		final var eventLog = new EventLogDetailsCodec(DetailsCompression.DEFLATE, DataSize.ofKilobytes(1)).encode(eventLog(LARGE_DETAILS));
+
+		assertThat(eventLog.getDetails()).isNull();
+		assertThat(eventLog.getCompressedDetails()).isNotEmpty().hasSizeLessThan(LARGE_DETAILS.length());
+		assertThat(EventLogDetailsCodec.decode(eventLog)).isEqualTo(LARGE_DETAILS);
+	}
+
+	@Test void testEncode_belowThreshold() {
+		final var eventLog = new EventLogDetailsCodec(DetailsCompression.DEFLATE, DataSize.ofKilobytes(1)).encode(eventLog("{}"));
+
+		assertThat(eventLog.getDetails()).isEqualTo("{}");
+		assertThat(eventLog.getCompressedDetails()).isNull();
+		assertThat(EventLogDetailsCodec.decode(eventLog)).isEqualTo("{}");
+	}
+
+	@Test void testEncode_none() {
+		final var eventLog = new EventLogDetailsCodec(DetailsCompression.NONE, DataSize.ofBytes(0)).encode(eventLog(LARGE_DETAILS));
+
+		assertThat(eventLog.getDetails()).isEqualTo(LARGE_DETAILS);
+		assertThat(eventLog.getCompressedDetails()).isNull();
+	}
+
+	@Test void testDecode_invalid() {
+		final var eventLog = eventLog(null);
+		eventLog.setCompressedDetails(new byte[] { 1, 2, 3 });
+
+		assertThrows(IllegalArgumentException.class, () -> EventLogDetailsCodec.decode(eventLog));
+	}
+
+	EventLogEntity eventLog(String details) {
+		return new EventLogEntityBuilder().description("test").details(details).build();
+	}
+
+}
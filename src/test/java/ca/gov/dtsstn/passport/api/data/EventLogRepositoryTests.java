@@ -0,0 +1,63 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import ca.gov.dtsstn.passport.api.config.DataSourceConfig;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity.EventLogType;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntityBuilder;
+
+/**
+ * Verifies that an event log entry inserted some time after it was logged keeps the time it was logged.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@ActiveProfiles("test")
+@Import({ DataSourceConfig.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest
+class EventLogRepositoryTests {
+
+	@Autowired EventLogRepository repository;
+
+	@Autowired TestEntityManager testEntityManager;
+
+	@Test void testSave_keepsLoggedDate() {
+		final var loggedDate = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+		final var eventLog = eventLog();
+		eventLog.setLoggedDate(loggedDate);
+
+		final var id = repository.saveAndFlush(eventLog).getId();
+		testEntityManager.clear();
+
+		assertThat(repository.findById(id)).get().extracting(EventLogEntity::getCreatedDate).isEqualTo(loggedDate);
+	}
+
+	@Test void testSave_withoutLoggedDate() {
+		final var id = repository.saveAndFlush(eventLog()).getId();
+		testEntityManager.clear();
+
+		assertThat(repository.findById(id)).get().extracting(EventLogEntity::getCreatedDate).satisfies(createdDate -> assertThat(createdDate).isCloseTo(Instant.now(), within(1, ChronoUnit.MINUTES)));
+	}
+
+	EventLogEntity eventLog() {
+		return new EventLogEntityBuilder()
+			.eventType(EventLogType.READ_STATUS_SUCCESS)
+			.description("description")
+			.details("{}")
+			.build();
+	}
+
+}
@@ -0,0 +1,307 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+
+import ca.gov.dtsstn.passport.api.config.properties.EventLogProperties;
+import ca.gov.dtsstn.passport.api.config.properties.EventLogProperties.DetailsCompression;
+import ca.gov.dtsstn.passport.api.config.properties.EventLogProperties.OverflowPolicy;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntity.EventLogType;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntityBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@ExtendWith({ MockitoExtension.class })
+class EventLogWriterTests {
+
+	@Mock EventLogRepository repository;
+
+	@TempDir Path temporaryDirectory;
+
+	/** not created until something is spilled */
+	Path spillDirectory;
+
+	EventLogWriter eventLogWriter;
+
+	SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	/** every entry passed to {@code saveAll(..)}, in order */
+	List<EventLogEntity> saved = Collections.synchronizedList(new ArrayList<>());
+
+	/** the size of each {@code saveAll(..)} batch */
+	List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+	@BeforeEach void beforeEach() {
+		this.spillDirectory = temporaryDirectory.resolve("event-log");
+	}
+
+	@AfterEach void afterEach() {
+		if (eventLogWriter != null) { eventLogWriter.stop(); }
+	}
+
+	@Test void testWrite_whenNotRunning() {
+		eventLogWriter = eventLogWriter(10, 5, OverflowPolicy.BLOCK);
+
+		eventLogWriter.write(eventLog("1"));
+
+		verify(repository).save(any());
+		verify(repository, never()).saveAll(anyList());
+	}
+
+	@Test void testWrite_batchesEntries() {
+		recordSaves();
+		eventLogWriter = eventLogWriter(1000, 100, OverflowPolicy.BLOCK);
+		eventLogWriter.start();
+
+		for (var i = 0; i < 250; i++) { eventLogWriter.write(eventLog(String.valueOf(i))); }
+		eventLogWriter.stop();
+
+		assertThat(saved).hasSize(250);
+		assertThat(batchSizes).allSatisfy(batchSize -> assertThat(batchSize).isLessThanOrEqualTo(100));
+		assertThat(meterRegistry.get("event_logs.batch.size").summary().totalAmount()).isEqualTo(250.0);
+	}
+
+	@Test void testWrite_flushesAfterFlushInterval() throws Exception {
+		recordSaves();
+		eventLogWriter = eventLogWriter(1000, 100, OverflowPolicy.BLOCK);
+		eventLogWriter.start();
+
+		eventLogWriter.write(eventLog("1"));
+		eventLogWriter.write(eventLog("2"));
+
+		waitFor(() -> saved.size() == 2);
+		assertThat(saved).extracting(EventLogEntity::getDescription).containsExactly("1", "2");
+	}
+
+	@Test void testWrite_dropsWhenFull() throws Exception {
+		final var release = blockSaves();
+		eventLogWriter = eventLogWriter(1, 1, OverflowPolicy.DROP);
+		eventLogWriter.start();
+
+		eventLogWriter.write(eventLog("1")); // taken by the (blocked) writer thread
+		verify(repository, timeout(2000)).saveAll(anyList());
+		eventLogWriter.write(eventLog("2")); // fills the buffer
+		eventLogWriter.write(eventLog("3")); // dropped
+
+		assertThat(meterRegistry.get("event_logs.dropped").counter().count()).isEqualTo(1.0);
+		release.countDown();
+	}
+
+	@Test void testWrite_spillsWhenFullAndReplays() throws Exception {
+		final var release = blockSaves();
+		eventLogWriter = eventLogWriter(1, 1, OverflowPolicy.SPILL);
+		eventLogWriter.start();
+
+		eventLogWriter.write(eventLog("1")); // taken by the (blocked) writer thread
+		verify(repository, timeout(2000)).saveAll(anyList());
+		eventLogWriter.write(eventLog("2")); // fills the buffer
+		eventLogWriter.write(eventLog("3")); // spilled
+		eventLogWriter.write(eventLog("4")); // spilled
+
+		assertThat(meterRegistry.get("event_logs.spilled").counter().count()).isEqualTo(2.0);
+		assertThat(Files.readAllLines(spillDirectory.resolve("event-log.jsonl"))).hasSize(2);
+
+		release.countDown();
+
+		verify(repository, timeout(5000).atLeastOnce()).saveAll(anyList());
+		waitFor(() -> saved.size() == 4);
+		assertThat(saved).extracting(EventLogEntity::getDescription).containsExactlyInAnyOrder("1", "2", "3", "4");
+		assertThat(saved).extracting(EventLogEntity::getEventType).containsOnly(EventLogType.READ_STATUS_SUCCESS);
+		waitFor(() -> spillDirectory.toFile().list().length == 0);
+	}
+
+	@Test void testWrite_spillsOwnerOnly() throws Exception {
+		final var release = blockSaves();
+		eventLogWriter = eventLogWriter(1, 1, OverflowPolicy.SPILL);
+		eventLogWriter.start();
+
+		eventLogWriter.write(eventLog("1")); // taken by the (blocked) writer thread
+		verify(repository, timeout(2000)).saveAll(anyList());
+		eventLogWriter.write(eventLog("2")); // fills the buffer
+		eventLogWriter.write(eventLog("3")); // spilled
+
+		assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(spillDirectory))).isEqualTo("rwx------");
+		assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(spillDirectory.resolve("event-log.jsonl")))).isEqualTo("rw-------");
+		release.countDown();
+	}
+
+	@Test void testWrite_spilledEntriesKeepTheirCreatedDate() throws Exception {
+		final var release = blockSaves();
+		eventLogWriter = eventLogWriter(1, 1, OverflowPolicy.SPILL);
+		eventLogWriter.start();
+
+		eventLogWriter.write(eventLog("1")); // taken by the (blocked) writer thread
+		verify(repository, timeout(2000)).saveAll(anyList());
+		eventLogWriter.write(eventLog("2")); // fills the buffer
+
+		final var spilledEventLog = eventLog("3");
+		eventLogWriter.write(spilledEventLog); // spilled
+		final var loggedDate = spilledEventLog.getLoggedDate();
+		assertThat(loggedDate).isCloseTo(Instant.now(), within(5, ChronoUnit.SECONDS));
+
+		Thread.sleep(500);
+		release.countDown();
+
+		waitFor(() -> saved.size() == 3);
+		assertThat(saved).filteredOn(eventLog -> "3".equals(eventLog.getDescription())).singleElement()
+			.satisfies(eventLog -> assertThat(eventLog).isNotSameAs(spilledEventLog))
+			.extracting(EventLogEntity::getLoggedDate).isEqualTo(loggedDate);
+	}
+
+	@Test void testReplaySpilled_readsInBatchesAndSkipsMalformedLines() throws Exception {
+		recordSaves();
+		eventLogWriter = eventLogWriter(10, 2, OverflowPolicy.SPILL);
+
+		Files.createDirectories(spillDirectory);
+		Files.write(spillDirectory.resolve("event-log.jsonl"), List.of(
+			"{\"eventType\":\"READ_STATUS_SUCCESS\",\"description\":\"1\",\"details\":\"{}\"}",
+			"{\"eventType\":\"READ_STATUS_SUCCESS\",\"description\":\"2\",\"details\":\"{}\"}",
+			"{\"eventType\":\"READ_STATUS_SUCCESS\",\"descri", // partly written
+			"{\"eventType\":\"READ_STATUS_SUCCESS\",\"description\":\"3\",\"details\":\"{}\"}"));
+
+		eventLogWriter.replaySpilled();
+
+		assertThat(batchSizes).containsExactly(2, 1);
+		assertThat(saved).extracting(EventLogEntity::getDescription).containsExactly("1", "2", "3");
+		assertThat(saved).extracting(EventLogEntity::getLoggedDate).containsOnlyNulls();
+		assertThat(meterRegistry.get("event_logs.dropped").counter().count()).isEqualTo(1.0);
+		assertThat(spillDirectory.toFile().list()).isEmpty();
+	}
+
+	@Test void testFlush_whenBatchFails_retriesOneAtATime() {
+		doThrow(new DataAccessResourceFailureException("connection reset")).when(repository).saveAll(anyList());
+		doAnswer(invocation -> {
+			final EventLogEntity eventLog = invocation.getArgument(0);
+			if ("2".equals(eventLog.getDescription())) { throw new DataIntegrityViolationException("value too long"); }
+			return eventLog;
+		}).when(repository).save(any());
+		eventLogWriter = eventLogWriter(10, 10, OverflowPolicy.DROP);
+
+		eventLogWriter.flush(new ArrayList<>(List.of(eventLog("1"), eventLog("2"), eventLog("3"))));
+
+		verify(repository, times(2)).saveAll(anyList());
+		verify(repository, times(3)).save(any());
+		assertThat(meterRegistry.get("event_logs.dropped").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test void testFlush_whenDatabaseIsUnreachable_dropsRemainingEntries() {
+		doThrow(new DataAccessResourceFailureException("connection refused")).when(repository).saveAll(anyList());
+		doThrow(new DataAccessResourceFailureException("connection refused")).when(repository).save(any());
+		eventLogWriter = eventLogWriter(10, 10, OverflowPolicy.BLOCK);
+
+		eventLogWriter.flush(new ArrayList<>(List.of(eventLog("1"), eventLog("2"), eventLog("3"))));
+
+		verify(repository, times(1)).save(any());
+		assertThat(meterRegistry.get("event_logs.dropped").counter().count()).isEqualTo(3.0);
+	}
+
+	@Test void testProperties_requireSpillDirectoryWhenSpilling() {
+		try (final var validatorFactory = Validation.buildDefaultValidatorFactory()) {
+			final var validator = validatorFactory.getValidator();
+
+			assertThat(validator.validate(eventLogProperties(OverflowPolicy.SPILL, null))).extracting(violation -> violation.getPropertyPath().toString()).containsExactly("spillDirectoryValid");
+			assertThat(validator.validate(eventLogProperties(OverflowPolicy.SPILL, spillDirectory.toString()))).isEmpty();
+			assertThat(validator.validate(eventLogProperties(OverflowPolicy.BLOCK, null))).isEmpty();
+		}
+	}
+
+	@Test void testStop_flushesBuffer() {
+		recordSaves();
+		eventLogWriter = eventLogWriter(1000, 100, OverflowPolicy.BLOCK);
+		eventLogWriter.start();
+
+		eventLogWriter.write(eventLog("1"));
+		eventLogWriter.stop();
+
+		verify(repository, atLeastOnce()).saveAll(anyList());
+		assertThat(saved).hasSize(1);
+		assertThat(eventLogWriter.isRunning()).isFalse();
+	}
+
+	EventLogWriter eventLogWriter(int bufferCapacity, int batchSize, OverflowPolicy overflowPolicy) {
+		return new EventLogWriter(new EventLogProperties(bufferCapacity, batchSize, Duration.ofMillis(200), overflowPolicy, spillDirectory.toString(), DetailsCompression.NONE, DataSize.ofKilobytes(1)), meterRegistry, repository);
+	}
+
+	EventLogProperties eventLogProperties(OverflowPolicy overflowPolicy, String spillDirectory) {
+		return new EventLogProperties(10, 10, Duration.ofMillis(200), overflowPolicy, spillDirectory, DetailsCompression.NONE, DataSize.ofKilobytes(1));
+	}
+
+	EventLogEntity eventLog(String description) {
+		return new EventLogEntityBuilder()
+			.eventType(EventLogType.READ_STATUS_SUCCESS)
+			.description(description)
+			.details("{}")
+			.build();
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	void recordSaves() {
+		doAnswer(invocation -> {
+			final var eventLogs = (List<EventLogEntity>) invocation.getArgument(0);
+			batchSizes.add(eventLogs.size());
+			saved.addAll(eventLogs);
+			return eventLogs;
+		}).when(repository).saveAll(anyList());
+	}
+
+	/**
+	 * Makes {@code saveAll(..)} block until the returned latch is released.
+	 */
+	@SuppressWarnings({ "unchecked" })
+	CountDownLatch blockSaves() {
+		final var release = new CountDownLatch(1);
+
+		doAnswer(invocation -> {
+			release.await(10, TimeUnit.SECONDS);
+			final var eventLogs = (List<EventLogEntity>) invocation.getArgument(0);
+			saved.addAll(eventLogs);
+			return eventLogs;
+		}).when(repository).saveAll(anyList());
+
+		return release;
+	}
+
+	void waitFor(BooleanSupplier condition) throws InterruptedException {
+		final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) { Thread.sleep(50); }
+		assertThat(condition.getAsBoolean()).isTrue();
+	}
+
+}
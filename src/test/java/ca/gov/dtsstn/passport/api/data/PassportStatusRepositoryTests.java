@@ -0,0 +1,200 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import ca.gov.dtsstn.passport.api.config.DataSourceConfig;
+import ca.gov.dtsstn.passport.api.data.PassportStatusBatchSearchRepository.FileNumberSearchTerms;
+import ca.gov.dtsstn.passport.api.data.PassportStatusBatchSearchRepository.StatusVersion;
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntityBuilder;
+import ca.gov.dtsstn.passport.api.data.entity.SourceCodeEntity;
+import ca.gov.dtsstn.passport.api.data.entity.StatusCodeEntity;
+
+/**
+ * Verifies that reading passport statuses issues exactly one statement, regardless of how many rows (and distinct
+ * reference codes) are returned; in particular, keyset scrolling must not issue a count query.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@ActiveProfiles("test")
+@Import({ DataSourceConfig.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true" })
+class PassportStatusRepositoryTests {
+
+	static final LocalDate DATE_OF_BIRTH = LocalDate.of(2000, 1, 1);
+
+	static final String FILE_BEING_PROCESSED_ID = "57fe687e-50a6-411f-af63-2a659622127d";
+
+	static final String PASSPORT_ISSUED_READY_FOR_PICKUP_ID = "c4c3d083-39f6-4cae-bb18-1e65dd2f60a3";
+
+	static final String GCMS_ID = "61918f07-9dc7-4b84-a2e5-031dcaa0f547";
+
+	static final String IRIS_ID = "327c25eb-e3f4-492e-bd47-4feb20189e78";
+
+	@Autowired PassportStatusLatestRepository latestRepository;
+
+	@Autowired PassportStatusRepository repository;
+
+	@Autowired TestEntityManager testEntityManager;
+
+	Statistics statistics;
+
+	@BeforeEach void beforeEach() {
+		testEntityManager.persist(passportStatus("sid-1", 1L, "ABCD1234", FILE_BEING_PROCESSED_ID, IRIS_ID));
+		testEntityManager.persist(passportStatus("sid-1", 2L, "ABCD1234", PASSPORT_ISSUED_READY_FOR_PICKUP_ID, IRIS_ID));
+		testEntityManager.persist(passportStatus("sid-2", 1L, "ABCD1234", FILE_BEING_PROCESSED_ID, GCMS_ID));
+		testEntityManager.flush();
+
+		latestRepository.insertAllNewest();
+		testEntityManager.clear();
+
+		this.statistics = testEntityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		this.statistics.clear();
+	}
+
+	@Test void testFileNumberSearch() {
+		final var passportStatuses = repository.fileNumberSearch("abcd1234", DATE_OF_BIRTH, "john", "doe");
+
+		assertThat(passportStatuses).hasSize(2);
+		assertReferenceDataNotLoaded(passportStatuses);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test void testFileNumberSearch_batch() {
+		final var passportStatuses = repository.fileNumberSearch(List.of(new FileNumberSearchTerms("abcd1234", DATE_OF_BIRTH, "john", "doe"), new FileNumberSearchTerms("zzzz9999", DATE_OF_BIRTH, "john", "doe")));
+
+		assertThat(passportStatuses.get(0)).hasSize(2);
+		assertThat(passportStatuses.get(1)).isEmpty();
+		assertReferenceDataNotLoaded(passportStatuses.get(0));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test void testFindAllByApplicationRegisterSid() {
+		final var passportStatuses = repository.findAllByApplicationRegisterSid("sid-1");
+
+		assertThat(passportStatuses).hasSize(2);
+		assertThat(passportStatuses).extracting(passportStatus -> passportStatus.getStatusCode().getId()).containsExactlyInAnyOrder(FILE_BEING_PROCESSED_ID, PASSPORT_ISSUED_READY_FOR_PICKUP_ID);
+		assertReferenceDataNotLoaded(passportStatuses);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test void testFindAllBy_keyset() {
+		final var sort = Sort.by("createdDate", "id");
+		final var firstWindow = repository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2));
+
+		assertThat(firstWindow.getContent()).hasSize(2);
+		assertThat(firstWindow.hasNext()).isTrue();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		final var secondWindow = repository.findAllBy(firstWindow.positionAt(1), sort, Limit.of(2));
+
+		assertThat(secondWindow.getContent()).hasSize(1).doesNotContainAnyElementsOf(firstWindow.getContent());
+		assertThat(secondWindow.hasNext()).isFalse();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test void testFindAllByStatusVersions() {
+		final var passportStatuses = repository.findAllByStatusVersions(List.of(new StatusVersion("sid-1", 2L), new StatusVersion("sid-2", 1L), new StatusVersion("sid-2", 2L)));
+
+		assertThat(passportStatuses).extracting(PassportStatusEntity::getApplicationRegisterSid, PassportStatusEntity::getVersion).containsExactlyInAnyOrder(tuple("sid-1", 2L), tuple("sid-2", 1L));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test void testUpsertLatest() {
+		final var olderPassportStatus = testEntityManager.persist(passportStatus("sid-1", 0L, "ABCD1234", FILE_BEING_PROCESSED_ID, IRIS_ID));
+		final var newerPassportStatus = testEntityManager.persist(passportStatus("sid-2", 2L, "ABCD1234", PASSPORT_ISSUED_READY_FOR_PICKUP_ID, GCMS_ID));
+		final var newPassportStatus = testEntityManager.persist(passportStatus("sid-3", 1L, "ABCD1234", FILE_BEING_PROCESSED_ID, GCMS_ID));
+		final var passportStatusIds = List.of(olderPassportStatus.getId(), newerPassportStatus.getId(), newPassportStatus.getId());
+
+		assertThat(latestRepository.insertLatestIfAbsent(passportStatusIds)).isEqualTo(1);
+		assertThat(latestRepository.updateLatestIfNewer(passportStatusIds)).isEqualTo(1);
+		assertThat(repository.fileNumberSearch("abcd1234", DATE_OF_BIRTH, "john", "doe"))
+			.extracting(PassportStatusEntity::getApplicationRegisterSid, PassportStatusEntity::getVersion)
+			.containsExactlyInAnyOrder(tuple("sid-1", 2L), tuple("sid-2", 2L), tuple("sid-3", 1L));
+	}
+
+	@Test void testInsertIfAbsent() {
+		final var passportStatus = passportStatus("sid-3", 1L, "EFGH5678", FILE_BEING_PROCESSED_ID, GCMS_ID);
+
+		assertThat(repository.insertIfAbsent(passportStatus)).isTrue();
+		assertThat(passportStatus.getId()).isNotNull();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		final var insertedPassportStatus = repository.findById(passportStatus.getId()).orElseThrow();
+		assertThat(insertedPassportStatus.getFileNumberNorm()).isEqualTo("efgh5678");
+		assertThat(insertedPassportStatus.getCreatedBy()).isNotBlank();
+		assertThat(insertedPassportStatus.getCreatedDate()).isCloseTo(passportStatus.getCreatedDate(), within(1, ChronoUnit.MILLIS));
+	}
+
+	@Test void testInsertIfAbsent_whenConflict() {
+		assertThat(repository.insertIfAbsent(passportStatus("sid-1", 2L, "EFGH5678", FILE_BEING_PROCESSED_ID, IRIS_ID))).isFalse();
+		assertThat(repository.findAllByApplicationRegisterSid("sid-1")).extracting(PassportStatusEntity::getFileNumber).containsOnly("ABCD1234");
+	}
+
+	@Test void testInsertAllIfAbsent() {
+		final var conflicting = passportStatus("sid-1", 2L, "EFGH5678", FILE_BEING_PROCESSED_ID, IRIS_ID);
+		final var inserted = passportStatus("sid-3", 1L, "EFGH5678", FILE_BEING_PROCESSED_ID, GCMS_ID);
+		final var duplicate = passportStatus("sid-3", 1L, "IJKL9012", FILE_BEING_PROCESSED_ID, GCMS_ID);
+
+		assertThat(repository.insertAllIfAbsent(List.of(conflicting, inserted, duplicate))).containsExactly(inserted);
+		assertThat(inserted.isNew()).isFalse();
+
+		final var insertedPassportStatus = repository.findById(inserted.getId()).orElseThrow();
+		assertThat(insertedPassportStatus.getFileNumberNorm()).isEqualTo("efgh5678");
+		assertThat(insertedPassportStatus.getCreatedBy()).isNotBlank();
+		assertThat(insertedPassportStatus.getCreatedDate()).isCloseTo(inserted.getCreatedDate(), within(1, ChronoUnit.MILLIS));
+		assertThat(repository.findAllByApplicationRegisterSid("sid-1")).extracting(PassportStatusEntity::getFileNumber).containsOnly("ABCD1234");
+		assertThat(repository.findAllByApplicationRegisterSid("sid-3")).extracting(PassportStatusEntity::getFileNumber).containsExactly("EFGH5678");
+	}
+
+	/**
+	 * Asserts that the reference data associations are uninitialized proxies and that reading their ids (all that the
+	 * service layer needs) does not initialize them.
+	 */
+	void assertReferenceDataNotLoaded(List<PassportStatusEntity> passportStatuses) {
+		passportStatuses.forEach(passportStatus -> {
+			assertThat(passportStatus.getSourceCode().getId()).isNotNull();
+			assertThat(passportStatus.getStatusCode().getId()).isNotNull();
+			assertThat(Hibernate.isInitialized(passportStatus.getSourceCode())).isFalse();
+			assertThat(Hibernate.isInitialized(passportStatus.getStatusCode())).isFalse();
+		});
+	}
+
+	PassportStatusEntity passportStatus(String applicationRegisterSid, Long version, String fileNumber, String statusCodeId, String sourceCodeId) {
+		return new PassportStatusEntityBuilder()
+			.applicationRegisterSid(applicationRegisterSid)
+			.dateOfBirth(DATE_OF_BIRTH)
+			.email("john.doe@example.com")
+			.fileNumber(fileNumber)
+			.givenName("John")
+			.surname("Doe")
+			.sourceCode(testEntityManager.getEntityManager().getReference(SourceCodeEntity.class, sourceCodeId))
+			.statusCode(testEntityManager.getEntityManager().getReference(StatusCodeEntity.class, statusCodeId))
+			.statusDate(DATE_OF_BIRTH)
+			.version(version)
+			.build();
+	}
+
+}
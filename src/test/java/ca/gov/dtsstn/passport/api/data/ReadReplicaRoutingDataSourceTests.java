@@ -0,0 +1,108 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.h2.Driver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Routes between two in-memory H2 databases, each of which identifies itself via a {@code data_source} table.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class ReadReplicaRoutingDataSourceTests {
+
+	ReadReplicaRoutingDataSource routingDataSource;
+
+	JdbcTemplate jdbcTemplate;
+
+	JdbcTemplate replicaJdbcTemplate;
+
+	SimpleMeterRegistry meterRegistry;
+
+	TransactionTemplate readOnlyTransactionTemplate;
+
+	TransactionTemplate readWriteTransactionTemplate;
+
+	@BeforeEach void beforeEach() {
+		final var primaryDataSource = h2DataSource("primary");
+		final var replicaDataSource = h2DataSource("replica");
+
+		this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+		replicaJdbcTemplate.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+		replicaJdbcTemplate.execute("INSERT INTO replica_lag VALUES (0.5)");
+
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.routingDataSource = new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, Duration.ofSeconds(10), "SELECT seconds FROM replica_lag", meterRegistry);
+		this.routingDataSource.afterPropertiesSet();
+
+		final var dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.readOnlyTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+		this.readWriteTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	}
+
+	@Test void testReadOnlyTransaction() {
+		routingDataSource.checkReplicaLag();
+
+		assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+		assertThat(currentDataSource(readOnlyTransactionTemplate)).isEqualTo("replica");
+		assertThat(meterRegistry.get("read_replica.connections").tag("target", "replica").counter().count()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("read_replica.lag").gauge().value()).isEqualTo(0.5);
+	}
+
+	@Test void testReadOnlyTransaction_beforeLagChecked() {
+		assertThat(currentDataSource(readOnlyTransactionTemplate)).isEqualTo("primary");
+	}
+
+	@Test void testReadOnlyTransaction_whenReplicaLagging() {
+		replicaJdbcTemplate.update("UPDATE replica_lag SET seconds = 60");
+		routingDataSource.checkReplicaLag();
+
+		assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+		assertThat(currentDataSource(readOnlyTransactionTemplate)).isEqualTo("primary");
+		assertThat(meterRegistry.get("read_replica.connections").tag("target", "primary").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test void testReadOnlyTransaction_whenReplicaUnreachable() {
+		routingDataSource.checkReplicaLag();
+		replicaJdbcTemplate.execute("DROP TABLE replica_lag");
+		routingDataSource.checkReplicaLag();
+
+		assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+		assertThat(currentDataSource(readOnlyTransactionTemplate)).isEqualTo("primary");
+		assertThat(meterRegistry.get("read_replica.lag").gauge().value()).isNaN();
+	}
+
+	@Test void testReadWriteTransaction() {
+		routingDataSource.checkReplicaLag();
+
+		assertThat(currentDataSource(readWriteTransactionTemplate)).isEqualTo("primary");
+		assertThat(jdbcTemplate.queryForObject("SELECT name FROM data_source", String.class)).isEqualTo("primary");
+	}
+
+	String currentDataSource(TransactionTemplate transactionTemplate) {
+		return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM data_source", String.class));
+	}
+
+	SimpleDriverDataSource h2DataSource(String name) {
+		final var dataSource = new SimpleDriverDataSource(new Driver(), "jdbc:h2:mem:%s-%s;DB_CLOSE_DELAY=-1".formatted(name, UUID.randomUUID()));
+		final var jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE data_source (name VARCHAR(16))");
+		jdbcTemplate.update("INSERT INTO data_source VALUES (?)", name);
+		return dataSource;
+	}
+
+}
@@ -0,0 +1,157 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import ca.gov.dtsstn.passport.api.config.properties.PartitioningProperties;
+import ca.gov.dtsstn.passport.api.config.properties.PartitioningProperties.Interval;
+import ca.gov.dtsstn.passport.api.data.TablePartitionManager.Partition;
+import ca.gov.dtsstn.passport.api.data.migration.NormalizeSearchColumnsMigration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the v8.1 (partitioning) migration and the partition maintenance against a real PostgreSQL database, since H2
+ * cannot partition tables. Skipped when Docker is not available.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TablePartitionManagerIT {
+
+	@Container
+	static final PostgreSQLContainer<?> postgresql = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	static final LocalDate THIS_MONTH = LocalDate.now().withDayOfMonth(1);
+
+	DriverManagerDataSource dataSource;
+
+	JdbcTemplate jdbcTemplate;
+
+	SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach void beforeEach() {
+		this.dataSource = new DriverManagerDataSource(postgresql.getJdbcUrl(), postgresql.getUsername(), postgresql.getPassword());
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+
+		flyway("8").clean();
+		flyway("8").migrate();
+
+		// rows written before the tables were partitioned
+		insertEventLog(THIS_MONTH.minusMonths(14).plusDays(3));
+		insertEventLog(THIS_MONTH.plusDays(1));
+		insertHttpRequest(THIS_MONTH.minusMonths(5).plusDays(3));
+		insertHttpRequest(THIS_MONTH.plusDays(1));
+
+		flyway("latest").migrate();
+	}
+
+	@Test void testMigrate_partitionsExistingRows() {
+		for (final var table : new String[] { "event_log", "http_request" }) {
+			assertThat(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))", Boolean.class, table)).isTrue();
+			assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s".formatted(table), Integer.class)).isEqualTo(2);
+			assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s_default".formatted(table), Integer.class)).isZero();
+			assertThat(jdbcTemplate.queryForList("SELECT a.attname FROM pg_index i JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = ANY(i.indkey) WHERE i.indrelid = to_regclass(?) AND i.indisprimary", String.class, table)).containsExactlyInAnyOrder("id", "created_date");
+		}
+
+		// monthly partitions from the oldest row through two months from now
+		assertThat(partitions("event_log")).hasSize(17).contains(monthlyPartition("event_log", THIS_MONTH.minusMonths(14)), monthlyPartition("event_log", THIS_MONTH.plusMonths(2)));
+		assertThat(partitions("http_request")).hasSize(8).contains(monthlyPartition("http_request", THIS_MONTH.minusMonths(5)), monthlyPartition("http_request", THIS_MONTH.plusMonths(2)));
+	}
+
+	@Test void testMaintain_createsUpcomingAndDropsExpiredPartitions() {
+		// a row older than every partition lands in the default partition
+		insertEventLog(THIS_MONTH.minusYears(5));
+
+		tablePartitionManager(Period.ofYears(1), Period.ofMonths(3)).maintain();
+
+		// event_log: the partitions from 14 and 13 months ago have expired, as has the row in the default partition
+		assertThat(partitions("event_log")).hasSize(16)
+			.doesNotContain(monthlyPartition("event_log", THIS_MONTH.minusMonths(14)), monthlyPartition("event_log", THIS_MONTH.minusMonths(13)))
+			.contains(monthlyPartition("event_log", THIS_MONTH.minusMonths(12)), monthlyPartition("event_log", THIS_MONTH.plusMonths(3)));
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_log", Integer.class)).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_log_default", Integer.class)).isZero();
+
+		// http_request: the partitions from 5 and 4 months ago have expired
+		assertThat(partitions("http_request")).hasSize(7)
+			.doesNotContain(monthlyPartition("http_request", THIS_MONTH.minusMonths(5)), monthlyPartition("http_request", THIS_MONTH.minusMonths(4)))
+			.contains(monthlyPartition("http_request", THIS_MONTH.minusMonths(3)), monthlyPartition("http_request", THIS_MONTH.plusMonths(3)));
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_request", Integer.class)).isEqualTo(1);
+
+		assertThat(meterRegistry.get("table_partitions.created").tag("table", "event_log").counter().count()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("table_partitions.dropped").tag("table", "event_log").counter().count()).isEqualTo(2.0);
+		assertThat(meterRegistry.get("table_retention.rows.deleted").tag("table", "event_log").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test void testMaintain_whenRetentionDisabled_onlyCreatesPartitions() {
+		insertEventLog(THIS_MONTH.minusYears(5));
+
+		tablePartitionManager(null, null).maintain();
+
+		assertThat(partitions("event_log")).hasSize(18).contains(monthlyPartition("event_log", THIS_MONTH.minusMonths(14)), monthlyPartition("event_log", THIS_MONTH.plusMonths(3)));
+		assertThat(partitions("http_request")).hasSize(9).contains(monthlyPartition("http_request", THIS_MONTH.minusMonths(5)), monthlyPartition("http_request", THIS_MONTH.plusMonths(3)));
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_log", Integer.class)).isEqualTo(3);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_log_default", Integer.class)).isEqualTo(1);
+		assertThat(meterRegistry.find("table_partitions.dropped").counter()).isNull();
+	}
+
+	@Test void testMaintain_isIdempotent() {
+		final var tablePartitionManager = tablePartitionManager(Period.ofYears(1), Period.ofMonths(3));
+		tablePartitionManager.maintain();
+		final var partitions = partitions("event_log");
+
+		tablePartitionManager.maintain();
+
+		assertThat(partitions("event_log")).containsExactlyInAnyOrderElementsOf(partitions);
+		assertThat(meterRegistry.get("table_partitions.created").tag("table", "event_log").counter().count()).isEqualTo(1.0);
+	}
+
+	TablePartitionManager tablePartitionManager(Period eventLogRetention, Period httpRequestRetention) {
+		final var retentionEnabled = eventLogRetention != null && httpRequestRetention != null;
+		final var properties = new PartitioningProperties(retentionEnabled, Interval.MONTH, 3, Duration.ofHours(1), eventLogRetention, httpRequestRetention);
+		return new TablePartitionManager(jdbcTemplate, meterRegistry, properties, new DataSourceTransactionManager(dataSource));
+	}
+
+	Flyway flyway(String target) {
+		return Flyway.configure()
+			.dataSource(dataSource)
+			.locations("classpath:db-migrations/common", "classpath:db-migrations/postgresql")
+			.sqlMigrationPrefix("v")
+			.sqlMigrationSeparator("-")
+			.javaMigrations(new NormalizeSearchColumnsMigration())
+			.cleanDisabled(false)
+			.target(target)
+			.load();
+	}
+
+	void insertEventLog(LocalDate createdDate) {
+		jdbcTemplate.update("INSERT INTO event_log (id, description, details, event_type, created_by, created_date) VALUES (?, 'description', '{}', 'READ_STATUS_SUCCESS', 'test', ?)", UUID.randomUUID().toString(), createdDate.atStartOfDay());
+	}
+
+	void insertHttpRequest(LocalDate createdDate) {
+		jdbcTemplate.update("INSERT INTO http_request (id, request_method, request_uri, response_status, timestamp, created_by, created_date) VALUES (?, 'GET', '/', 200, ?, 'test', ?)", UUID.randomUUID().toString(), createdDate.atStartOfDay(), createdDate.atStartOfDay());
+	}
+
+	List<String> partitions(String table) {
+		return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?) AND c.relname <> ?", String.class, table, table + "_default");
+	}
+
+	String monthlyPartition(String table, LocalDate from) {
+		return new Partition(table, from, from.plusMonths(1)).name();
+	}
+
+}
@@ -0,0 +1,80 @@
+package ca.gov.dtsstn.passport.api.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ca.gov.dtsstn.passport.api.config.properties.PartitioningProperties;
+import ca.gov.dtsstn.passport.api.config.properties.PartitioningProperties.Interval;
+import ca.gov.dtsstn.passport.api.data.TablePartitionManager.Partition;
+import jakarta.validation.Validation;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class TablePartitionManagerTests {
+
+	static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+	@Test void testPartitionsToCreate_monthly() {
+		assertThat(TablePartitionManager.partitionsToCreate("event_log", List.of(), TODAY, Interval.MONTH, 2))
+			.extracting(Partition::name)
+			.containsExactly("event_log_20261001_20261101", "event_log_20261101_20261201", "event_log_20261201_20270101");
+	}
+
+	@Test void testPartitionsToCreate_skipsExisting() {
+		final var existing = List.of(partition("2026-10-01", "2026-11-01"), partition("2026-11-01", "2026-12-01"));
+
+		assertThat(TablePartitionManager.partitionsToCreate("event_log", existing, TODAY, Interval.MONTH, 2))
+			.extracting(Partition::name)
+			.containsExactly("event_log_20261201_20270101");
+	}
+
+	@Test void testPartitionsToCreate_intervalChanged() {
+		// monthly partitions exist through november; weekly partitions are trimmed to fit around them
+		final var existing = List.of(partition("2026-10-01", "2026-11-01"), partition("2026-11-01", "2026-12-01"));
+
+		assertThat(TablePartitionManager.partitionsToCreate("event_log", existing, LocalDate.of(2026, 11, 27), Interval.WEEK, 1))
+			.extracting(Partition::name)
+			.containsExactly("event_log_20261201_20261207");
+	}
+
+	@Test void testPartitionsToDrop() {
+		final var existing = List.of(partition("2024-09-01", "2024-10-01"), partition("2024-10-01", "2024-11-01"), partition("2026-10-01", "2026-11-01"));
+
+		assertThat(TablePartitionManager.partitionsToDrop(existing, LocalDate.of(2024, 10, 17)))
+			.extracting(Partition::name)
+			.containsExactly("event_log_20240901_20241001");
+	}
+
+	@Test void testParse() {
+		assertThat(Partition.parse("event_log", "event_log_20261001_20261101")).contains(partition("2026-10-01", "2026-11-01"));
+		assertThat(Partition.parse("event_log", "event_log_default")).isEmpty();
+		assertThat(Partition.parse("http_request", "event_log_20261001_20261101")).isEmpty();
+	}
+
+	@Test void testProperties_requireRetentionWhenRetentionEnabled() {
+		try (final var validatorFactory = Validation.buildDefaultValidatorFactory()) {
+			final var validator = validatorFactory.getValidator();
+
+			assertThat(validator.validate(partitioningProperties(false, null, null))).isEmpty();
+			assertThat(validator.validate(partitioningProperties(true, Period.ofYears(2), Period.ofMonths(3)))).isEmpty();
+			assertThat(validator.validate(partitioningProperties(true, Period.ofYears(2), null))).extracting(violation -> violation.getPropertyPath().toString()).containsExactly("retentionValid");
+			assertThat(validator.validate(partitioningProperties(true, Period.ZERO, Period.ofMonths(3)))).extracting(violation -> violation.getPropertyPath().toString()).containsExactly("retentionValid");
+		}
+	}
+
+	PartitioningProperties partitioningProperties(boolean retentionEnabled, Period eventLogRetention, Period httpRequestRetention) {
+		return new PartitioningProperties(retentionEnabled, Interval.MONTH, 2, Duration.ofHours(1), eventLogRetention, httpRequestRetention);
+	}
+
+	Partition partition(String from, String to) {
+		return new Partition("event_log", LocalDate.parse(from), LocalDate.parse(to));
+	}
+
+}
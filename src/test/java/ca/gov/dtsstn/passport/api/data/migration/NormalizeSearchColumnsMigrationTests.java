@@ -0,0 +1,73 @@
+package ca.gov.dtsstn.passport.api.data.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Runs the migration against an in-memory H2 database holding only the columns it touches.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class NormalizeSearchColumnsMigrationTests {
+
+	SingleConnectionDataSource dataSource;
+
+	JdbcTemplate jdbcTemplate;
+
+	@BeforeEach void beforeEach() {
+		this.dataSource = new SingleConnectionDataSource("jdbc:h2:mem:%s".formatted(UUID.randomUUID()), true);
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE passport_status (id VARCHAR(64) PRIMARY KEY, email VARCHAR(256), file_number VARCHAR(32), given_name VARCHAR(128), surname VARCHAR(128), email_norm VARCHAR(256), file_number_norm VARCHAR(32), given_name_norm VARCHAR(128), surname_norm VARCHAR(128))");
+		jdbcTemplate.execute("CREATE TABLE passport_status_latest (application_register_sid VARCHAR(256) PRIMARY KEY, passport_status_id VARCHAR(64), email_norm VARCHAR(256), file_number_norm VARCHAR(32), given_name_norm VARCHAR(128), surname_norm VARCHAR(128))");
+	}
+
+	@AfterEach void afterEach() {
+		dataSource.destroy();
+	}
+
+	@Test void testMigrate_renormalizesRowsBackfilledInSql() throws Exception {
+		// as backfilled by v4 on H2 with stripAccents(), which leaves ß in place to be removed as non alpha-numeric
+		insert("1", "Jean@Example.com", "ABCD1234", "Jean", "Groß", "jean@example.com", "abcd1234", "jean", "gro");
+
+		migrate();
+
+		assertThat(jdbcTemplate.queryForList("SELECT surname_norm FROM passport_status", String.class)).containsExactly("gross");
+		assertThat(jdbcTemplate.queryForList("SELECT surname_norm FROM passport_status_latest", String.class)).containsExactly("gross");
+	}
+
+	@Test void testMigrate_manyPages() throws Exception {
+		final var rows = (2 * NormalizeSearchColumnsMigration.PAGE_SIZE) + 1;
+		IntStream.range(0, rows).forEach(i -> insert("%05d".formatted(i), null, "ABCD1234", "Jean-François", "O'Brien", null, "stale", "stale", "stale"));
+
+		migrate();
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM passport_status WHERE file_number_norm = 'abcd1234' AND given_name_norm = 'jeanfrancois' AND surname_norm = 'obrien'", Integer.class)).isEqualTo(rows);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM passport_status_latest WHERE surname_norm = 'obrien'", Integer.class)).isEqualTo(rows);
+	}
+
+	void migrate() throws Exception {
+		final Connection connection = dataSource.getConnection();
+		final var context = mock(Context.class);
+		when(context.getConnection()).thenReturn(connection);
+
+		new NormalizeSearchColumnsMigration().migrate(context);
+	}
+
+	void insert(String id, String email, String fileNumber, String givenName, String surname, String emailNorm, String fileNumberNorm, String givenNameNorm, String surnameNorm) {
+		jdbcTemplate.update("INSERT INTO passport_status VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", id, email, fileNumber, givenName, surname, emailNorm, fileNumberNorm, givenNameNorm, surnameNorm);
+		jdbcTemplate.update("INSERT INTO passport_status_latest VALUES (?, ?, ?, ?, ?, ?)", "SID" + id, id, emailNorm, fileNumberNorm, givenNameNorm, surnameNorm);
+	}
+
+}
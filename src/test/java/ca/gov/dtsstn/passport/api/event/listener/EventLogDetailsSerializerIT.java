@@ -0,0 +1,143 @@
+package ca.gov.dtsstn.passport.api.event.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import ca.gov.dtsstn.passport.api.config.properties.EventLogProperties.DetailsCompression;
+import ca.gov.dtsstn.passport.api.data.EventLogDetailsCodec;
+import ca.gov.dtsstn.passport.api.data.entity.EventLogEntityBuilder;
+import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusCreatedEvent;
+import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusReadEvent;
+import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusUpdatedEvent;
+import ca.gov.dtsstn.passport.api.event.NotificationSentEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBatchSearchEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBulkReadEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBulkReadEvent.Operation;
+import ca.gov.dtsstn.passport.api.event.PassportStatusCreatedEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusReadEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusSearchEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusSearchEvent.Result;
+import ca.gov.dtsstn.passport.api.event.PassportStatusUpdatedEvent;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatusFixtures;
+
+/**
+ * Verifies that the {@link EventLogDetailsSerializer} writes the same details as the per-listener {@link ObjectMapper}s
+ * it replaces (less the {@code null} properties), and benchmarks the two, along with the size of the stored details
+ * with and without compression (the results are logged).
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class EventLogDetailsSerializerIT {
+
+	static final Logger log = LoggerFactory.getLogger(EventLogDetailsSerializerIT.class);
+
+	static final int BENCHMARK_ITERATIONS = 200_000;
+
+	static final int WARMUP_ITERATIONS = 50_000;
+
+	/** the object mapper each listener used to build for itself */
+	final ObjectMapper listenerObjectMapper = new ObjectMapper()
+		.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+		.findAndRegisterModules();
+
+	final EventLogDetailsSerializer detailsSerializer = new EventLogDetailsSerializer();
+
+	final EventLogDetailsCodec detailsCodec = new EventLogDetailsCodec(DetailsCompression.DEFLATE, DataSize.ofBytes(0));
+
+	@Test void testSerializeOmitsNullsOnly() throws Exception {
+		final var event = ImmutablePassportStatusCreatedEvent.of(passportStatus(0));
+
+		final var expected = listenerObjectMapper.readTree(listenerObjectMapper.writeValueAsString(event));
+		((ObjectNode) expected.get("entity")).remove("manifestNumber");
+
+		assertThat(listenerObjectMapper.readTree(detailsSerializer.serialize(PassportStatusCreatedEvent.class, event))).isEqualTo(expected);
+	}
+
+	@Test void benchmark() throws Exception {
+		benchmark(PassportStatusCreatedEvent.class, ImmutablePassportStatusCreatedEvent.of(passportStatus(0)));
+		benchmark(PassportStatusReadEvent.class, ImmutablePassportStatusReadEvent.of(passportStatus(0)));
+		benchmark(PassportStatusUpdatedEvent.class, ImmutablePassportStatusUpdatedEvent.of(passportStatus(0), passportStatus(1)));
+		benchmark(PassportStatusSearchEvent.class, PassportStatusSearchEvent.builder().result(Result.HIT).dateOfBirth(LocalDate.of(2000, 1, 1)).fileNumber("ABCD1234").givenName("Jean-François").surname("O'Brien").passportStatus(passportStatus(0)).build());
+		benchmark(PassportStatusBatchSearchEvent.class, PassportStatusBatchSearchEvent.builder().applicationRegisterSids(sids(100)).hits(90).misses(5).nonUnique(5).build());
+		benchmark(PassportStatusBulkReadEvent.class, PassportStatusBulkReadEvent.builder().operation(Operation.READ_ALL).parameters(Map.of("page", "0", "size", "100")).ids(ids(100)).applicationRegisterSids(sids(100)).build());
+		benchmark(NotificationSentEvent.class, NotificationSentEvent.builder().email("jean-francois.obrien@example.com").fileNumber("ABCD1234").givenName("Jean-François").surname("O'Brien").preferredLanguage("fr").passportStatus(passportStatus(0)).build());
+	}
+
+	<T> void benchmark(Class<T> eventType, T event) throws JsonProcessingException {
+		final var listenerTime = time(() -> listenerObjectMapper.writeValueAsString(event));
+		final var serializerTime = time(() -> detailsSerializer.serialize(eventType, event));
+
+		final var listenerDetails = listenerObjectMapper.writeValueAsString(event);
+		final var details = detailsSerializer.serialize(eventType, event);
+		final var compressedDetails = detailsCodec.encode(new EventLogEntityBuilder().details(details).build()).getCompressedDetails();
+
+		assertThat(details.length()).isLessThanOrEqualTo(listenerDetails.length());
+
+		log.info("{}: listener object mapper {} ns/event, {} bytes; details serializer {} ns/event, {} bytes; deflated {} bytes",
+			eventType.getSimpleName(),
+			listenerTime.toNanos() / BENCHMARK_ITERATIONS, listenerDetails.getBytes(StandardCharsets.UTF_8).length,
+			serializerTime.toNanos() / BENCHMARK_ITERATIONS, details.getBytes(StandardCharsets.UTF_8).length,
+			compressedDetails.length);
+	}
+
+	Duration time(ThrowingSupplier<String> serializer) throws JsonProcessingException {
+		var length = 0L;
+
+		for (var i = 0; i < WARMUP_ITERATIONS; i++) { length += serializer.get().length(); }
+
+		final var startTime = System.nanoTime();
+		for (var i = 0; i < BENCHMARK_ITERATIONS; i++) { length += serializer.get().length(); }
+		final var elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+
+		assertThat(length).isPositive();
+		return elapsed;
+	}
+
+	PassportStatus passportStatus(long version) {
+		return PassportStatusFixtures.johnDoe()
+			.id(UUID.randomUUID().toString())
+			.createdBy("Passport Status API")
+			.createdDate(Instant.now())
+			.lastModifiedBy("Passport Status API")
+			.lastModifiedDate(Instant.now())
+			.applicationRegisterSid("ABCDEF0123456789")
+			.email("jean-francois.obrien@example.com")
+			.givenName("Jean-François")
+			.surname("O'Brien")
+			.version(version)
+			.build();
+	}
+
+	List<String> ids(int count) {
+		return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID().toString()).toList();
+	}
+
+	List<String> sids(int count) {
+		return IntStream.range(0, count).mapToObj(i -> "SID%012d".formatted(i)).toList();
+	}
+
+	@FunctionalInterface
+	interface ThrowingSupplier<T> {
+		T get() throws JsonProcessingException;
+	}
+
+}
@@ -0,0 +1,140 @@
+package ca.gov.dtsstn.passport.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+
+import ca.gov.dtsstn.passport.api.config.properties.JmsProperties;
+import ca.gov.dtsstn.passport.api.config.properties.JmsProperties.ConsumerProperties;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatusFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.jms.ConnectionFactory;
+
+/**
+ * Drains a backlog of passport statuses from the embedded broker using an increasing number of consumers, and verifies
+ * that every version of each application is still processed in order. Throughput is logged for each consumer count.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PassportStatusJmsConsumerIT {
+
+	static final Logger log = LoggerFactory.getLogger(PassportStatusJmsConsumerIT.class);
+
+	static final int APPLICATIONS = 250;
+
+	static final int VERSIONS = 8;
+
+	record CreatedVersion(String applicationRegisterSid, long version, Instant createdDate) {}
+
+	@Autowired ConnectionFactory connectionFactory;
+
+	@Autowired Environment environment;
+
+	@Autowired JdbcTemplate jdbcTemplate;
+
+	@Autowired JmsProperties jmsProperties;
+
+	@Autowired MessageConverter messageConverter;
+
+	@Autowired MeterRegistry meterRegistry;
+
+	@Autowired PassportStatusJmsConsumer passportStatusJmsConsumer;
+
+	@Autowired PassportStatusJmsService passportStatusJmsService;
+
+	@Autowired PassportStatusService passportStatusService;
+
+	@BeforeEach void beforeEach() {
+		passportStatusJmsConsumer.stop();
+	}
+
+	@AfterEach void afterEach() {
+		passportStatusJmsConsumer.start();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 2, 4 })
+	void testThroughput(int concurrency) throws Exception {
+		final var consumerProperties = jmsProperties.consumer();
+		final var consumer = new PassportStatusJmsConsumer(connectionFactory, environment, new JmsProperties(jmsProperties.destination(), new ConsumerProperties(consumerProperties.batchSize(), consumerProperties.batchTimeout(), concurrency, consumerProperties.receiveTimeout(), consumerProperties.recoveryInterval()), jmsProperties.message(), jmsProperties.broker()), messageConverter, meterRegistry, passportStatusService);
+		final var applicationRegisterSidPrefix = UUID.randomUUID().toString().substring(0, 8) + "-";
+
+		consumer.start();
+
+		try {
+			final var startTime = System.nanoTime();
+
+			// interleave the applications so that the versions of each one are spread throughout the queue
+			for (var version = 1L; version <= VERSIONS; version++) {
+				final var passportStatuses = new ArrayList<PassportStatus>(APPLICATIONS);
+				for (var i = 0; i < APPLICATIONS; i++) { passportStatuses.add(passportStatus(applicationRegisterSidPrefix + i, version)); }
+				passportStatusJmsService.sendAll(passportStatuses);
+			}
+
+			awaitCount(applicationRegisterSidPrefix, APPLICATIONS * VERSIONS, Duration.ofMinutes(2));
+
+			final var elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+			log.info("Consumed {} passport statuses with {} consumer(s) in {} ms ({} messages/s)", APPLICATIONS * VERSIONS, concurrency, elapsed.toMillis(), Math.round(APPLICATIONS * VERSIONS / (elapsed.toNanos() / 1e9)));
+		}
+		finally {
+			consumer.stop();
+		}
+
+		assertVersionsCreatedInOrder(applicationRegisterSidPrefix);
+	}
+
+	void awaitCount(String applicationRegisterSidPrefix, int expectedCount, Duration timeout) throws InterruptedException {
+		final var deadline = System.nanoTime() + timeout.toNanos();
+
+		while (count(applicationRegisterSidPrefix) < expectedCount) {
+			assertThat(System.nanoTime()).as("timed out waiting for passport statuses to be consumed").isLessThan(deadline);
+			Thread.sleep(50);
+		}
+	}
+
+	/**
+	 * Asserts that, for every application, a newer version was never created before an older one.
+	 */
+	void assertVersionsCreatedInOrder(String applicationRegisterSidPrefix) {
+		final var rows = jdbcTemplate.query("SELECT application_register_sid, version, created_date FROM passport_status WHERE application_register_sid LIKE ? ORDER BY application_register_sid, version",
+			(resultSet, rowNum) -> new CreatedVersion(resultSet.getString(1), resultSet.getLong(2), resultSet.getTimestamp(3).toInstant()), applicationRegisterSidPrefix + "%");
+
+		for (var i = 1; i < rows.size(); i++) {
+			final var previous = rows.get(i - 1);
+			final var current = rows.get(i);
+			if (!previous.applicationRegisterSid().equals(current.applicationRegisterSid())) { continue; }
+
+			assertThat(current.createdDate())
+				.as("version %s of %s was created before version %s", current.version(), current.applicationRegisterSid(), previous.version())
+				.isAfterOrEqualTo(previous.createdDate());
+		}
+	}
+
+	int count(String applicationRegisterSidPrefix) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM passport_status WHERE application_register_sid LIKE ?", Integer.class, applicationRegisterSidPrefix + "%");
+	}
+
+	PassportStatus passportStatus(String applicationRegisterSid, Long version) {
+		return PassportStatusFixtures.johnDoe().applicationRegisterSid(applicationRegisterSid).version(version).build();
+	}
+
+}
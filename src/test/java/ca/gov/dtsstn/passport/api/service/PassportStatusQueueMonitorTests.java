@@ -0,0 +1,116 @@
+package ca.gov.dtsstn.passport.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import ca.gov.dtsstn.passport.api.config.properties.AdmissionControlProperties;
+import ca.gov.dtsstn.passport.api.config.properties.JmsProperties;
+import ca.gov.dtsstn.passport.api.config.properties.JmsProperties.DestinationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@ExtendWith({ MockitoExtension.class })
+class PassportStatusQueueMonitorTests {
+
+	static final AdmissionControlProperties ADMISSION_CONTROL_PROPERTIES = new AdmissionControlProperties(true, 1000, Duration.ofMinutes(5), Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+	static final JmsProperties JMS_PROPERTIES = new JmsProperties(new DestinationProperties("passport-statuses"), null, null, null);
+
+	PassportStatusQueueMonitor queueMonitor;
+
+	SimpleMeterRegistry meterRegistry;
+
+	@Mock ActiveMQServer activeMqServer;
+
+	@Mock EmbeddedActiveMQ embeddedActiveMq;
+
+	@Mock ObjectProvider<EmbeddedActiveMQ> embeddedActiveMqProvider;
+
+	@Mock Queue queue;
+
+	@BeforeEach void beforeEach() {
+		lenient().when(embeddedActiveMqProvider.getIfAvailable()).thenReturn(embeddedActiveMq);
+		lenient().when(embeddedActiveMq.getActiveMQServer()).thenReturn(activeMqServer);
+		lenient().when(activeMqServer.locateQueue("passport-statuses")).thenReturn(queue);
+
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.queueMonitor = new PassportStatusQueueMonitor(ADMISSION_CONTROL_PROPERTIES, embeddedActiveMqProvider, JMS_PROPERTIES, meterRegistry);
+	}
+
+	@Test void testSample() throws Exception {
+		when(queue.getMessageCount()).thenReturn(10L, 20L);
+		when(queue.getMessagesAdded()).thenReturn(100L, 200L);
+		when(queue.getMessagesAcknowledged()).thenReturn(90L, 180L);
+
+		queueMonitor.sample();
+		Thread.sleep(10);
+		queueMonitor.sample();
+
+		assertThat(queueMonitor.isSaturated()).isFalse();
+		assertThat(queueMonitor.getEnqueueRate()).isPositive();
+		assertThat(queueMonitor.getDequeueRate()).isPositive().isLessThan(queueMonitor.getEnqueueRate());
+		assertThat(meterRegistry.get("passport_statuses.jms.queue.depth").gauge().value()).isEqualTo(20.0);
+		assertThat(meterRegistry.get("passport_statuses.jms.queue.consumer_lag").gauge().value()).isZero();
+	}
+
+	@Test void testSample_whenQueueTooDeep() {
+		when(queue.getMessageCount()).thenReturn(1001L);
+
+		queueMonitor.sample();
+
+		assertThat(queueMonitor.isSaturated()).isTrue();
+		assertThat(meterRegistry.get("passport_statuses.jms.queue.saturated").gauge().value()).isEqualTo(1.0);
+	}
+
+	@Test void testSample_whenConsumerLagging() {
+		final var message = mock(Message.class);
+		final var messageReference = mock(MessageReference.class);
+		when(message.getTimestamp()).thenReturn(System.currentTimeMillis() - Duration.ofMinutes(10).toMillis());
+		when(messageReference.getMessage()).thenReturn(message);
+		when(queue.peekFirstMessage()).thenReturn(messageReference);
+		when(queue.getMessageCount()).thenReturn(10L);
+
+		queueMonitor.sample();
+
+		assertThat(queueMonitor.isSaturated()).isTrue();
+		assertThat(meterRegistry.get("passport_statuses.jms.queue.consumer_lag").gauge().value()).isGreaterThanOrEqualTo(600.0);
+	}
+
+	@Test void testSample_whenDisabled() {
+		final var disabledQueueMonitor = new PassportStatusQueueMonitor(new AdmissionControlProperties(false, 1000, Duration.ofMinutes(5), Duration.ofSeconds(5), Duration.ofSeconds(1)), embeddedActiveMqProvider, JMS_PROPERTIES, new SimpleMeterRegistry());
+		when(queue.getMessageCount()).thenReturn(1001L);
+
+		disabledQueueMonitor.sample();
+
+		assertThat(disabledQueueMonitor.isSaturated()).isFalse();
+	}
+
+	@Test void testSample_whenBrokerNotEmbedded() {
+		when(embeddedActiveMqProvider.getIfAvailable()).thenReturn(null);
+
+		queueMonitor.sample();
+
+		assertThat(queueMonitor.isSaturated()).isFalse();
+		assertThat(queueMonitor.getEnqueueRate()).isNaN();
+		assertThat(meterRegistry.get("passport_statuses.jms.queue.depth").gauge().value()).isNaN();
+	}
+
+}
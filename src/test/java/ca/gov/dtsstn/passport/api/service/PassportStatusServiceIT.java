@@ -0,0 +1,75 @@
+package ca.gov.dtsstn.passport.api.service;
+
+import static ca.gov.dtsstn.passport.api.service.domain.PassportStatusFixtures.johnDoe;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+
+/**
+ * Runs concurrent writers of the same passport statuses against the database, to verify that each passport status is
+ * created exactly once and that every other writer sees it as a conflict.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PassportStatusServiceIT {
+
+	@Autowired JdbcTemplate jdbcTemplate;
+
+	@Autowired PassportStatusService passportStatusService;
+
+	@Autowired PlatformTransactionManager transactionManager;
+
+	@Test void testCreateAll_concurrentWriters() throws Exception {
+		final var applicationRegisterSidPrefix = UUID.randomUUID().toString().substring(0, 8) + "-";
+		final var transactionTemplate = new TransactionTemplate(transactionManager);
+		final var firstBatchInserted = new CountDownLatch(1);
+
+		// the first writer holds its transaction open, so the second writer's inserts of b and c must wait for it
+		final var firstBatch = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+			final var passportStatuses = passportStatusService.createAll(List.of(johnDoe(applicationRegisterSidPrefix + "a"), johnDoe(applicationRegisterSidPrefix + "b"), johnDoe(applicationRegisterSidPrefix + "c")));
+			firstBatchInserted.countDown();
+			sleep(500);
+			return passportStatuses;
+		}));
+
+		assertThat(firstBatchInserted.await(30, TimeUnit.SECONDS)).isTrue();
+
+		final var secondBatch = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> passportStatusService.createAll(List.of(johnDoe(applicationRegisterSidPrefix + "b"), johnDoe(applicationRegisterSidPrefix + "c"), johnDoe(applicationRegisterSidPrefix + "d")))));
+
+		final var firstPassportStatuses = firstBatch.get(30, TimeUnit.SECONDS);
+		final var secondPassportStatuses = secondBatch.get(30, TimeUnit.SECONDS);
+
+		// the second writer gets the first writer's b and c back as conflicts
+		assertThat(secondPassportStatuses.subList(0, 2)).extracting(PassportStatus::getId).containsExactlyElementsOf(firstPassportStatuses.subList(1, 3).stream().map(PassportStatus::getId).toList());
+		assertThat(secondPassportStatuses.get(2).getId()).isNotNull().isNotIn(firstPassportStatuses.stream().map(PassportStatus::getId).toList());
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM passport_status WHERE application_register_sid LIKE ?", Integer.class, applicationRegisterSidPrefix + "%")).isEqualTo(4);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM passport_status_latest WHERE application_register_sid LIKE ?", Integer.class, applicationRegisterSidPrefix + "%")).isEqualTo(4);
+	}
+
+	void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (final InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
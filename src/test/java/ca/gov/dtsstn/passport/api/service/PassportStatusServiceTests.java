@@ -3,35 +3,61 @@ package ca.gov.dtsstn.passport.api.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
+
+import ca.gov.dtsstn.passport.api.data.PassportStatusBatchSearchRepository.FileNumberSearchTerms;
+import ca.gov.dtsstn.passport.api.data.PassportStatusBatchSearchRepository.StatusVersion;
+import ca.gov.dtsstn.passport.api.data.PassportStatusLatestRepository;
 import ca.gov.dtsstn.passport.api.data.PassportStatusRepository;
 import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
 import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntityBuilder;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBulkReadEvent;
+import ca.gov.dtsstn.passport.api.event.PassportStatusBulkReadEvent.Operation;
 import ca.gov.dtsstn.passport.api.event.PassportStatusCreateConflictEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusCreatedEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusDeletedEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusReadEvent;
 import ca.gov.dtsstn.passport.api.event.PassportStatusUpdatedEvent;
+import ca.gov.dtsstn.passport.api.event.listener.EventLogDetailsSerializer;
 import ca.gov.dtsstn.passport.api.service.domain.ImmutablePassportStatus;
 import ca.gov.dtsstn.passport.api.service.domain.mapper.PassportStatusMapper;
+import ca.gov.dtsstn.passport.api.service.search.PassportStatusBloomFilter;
+import ca.gov.dtsstn.passport.api.service.search.PassportStatusSearchCache;
+import ca.gov.dtsstn.passport.api.service.search.PassportStatusSearchIndex;
+import ca.gov.dtsstn.passport.api.service.search.SearchKey;
 
 /**
  * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
@@ -43,25 +69,41 @@ class PassportStatusServiceTests {
 
 	@Mock ApplicationEventPublisher applicationEventPublisher;
 
+	@Mock PassportStatusBloomFilter passportStatusBloomFilter;
+
+	@Mock PassportStatusLatestRepository passportStatusLatestRepository;
+
 	@Mock PassportStatusRepository passportStatusRepository;
 
 	@Mock PassportStatusMapper passportStatusMapper;
 
+	@Mock PassportStatusSearchCache passportStatusSearchCache;
+
+	@Mock PassportStatusSearchIndex passportStatusSearchIndex;
+
 	@BeforeEach void beforeEach() {
-		this.passportStatusService = new PassportStatusService(applicationEventPublisher, passportStatusMapper, passportStatusRepository);
+		this.passportStatusService = new PassportStatusService(passportStatusBloomFilter, applicationEventPublisher, passportStatusLatestRepository, passportStatusMapper, passportStatusRepository, passportStatusSearchCache, passportStatusSearchIndex);
+
+		// pass every search through the (mocked) cache to the loader
+		lenient().when(passportStatusSearchCache.get(any(), any())).thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+		lenient().when(passportStatusSearchCache.getAll(any(), any())).thenAnswer(invocation -> invocation.getArgument(1, Function.class).apply(Set.copyOf(invocation.getArgument(0, Collection.class))));
 	}
 
 	@Test void testCreate_whenNoConflict() {
-		when(passportStatusRepository.findByApplicationRegisterSidAndVersion(any(), any())).thenReturn(Optional.empty());
-		when(passportStatusRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-		when(passportStatusMapper.fromEntity(any())).thenReturn(ImmutablePassportStatus.builder().build());
+		when(passportStatusRepository.insertIfAbsent(any())).thenReturn(true);
+		when(passportStatusMapper.fromEntity(any())).thenReturn(ImmutablePassportStatus.builder().id("id").build());
 		when(passportStatusMapper.toEntity(any())).thenReturn(new PassportStatusEntityBuilder().build());
 
-		final var passportStatus = passportStatusService.create(ImmutablePassportStatus.builder().build());
+		final var createResult = passportStatusService.create(ImmutablePassportStatus.builder().build());
 
-		assertThat(passportStatus).isNotNull();
-		verify(passportStatusRepository).findByApplicationRegisterSidAndVersion(any(), any());
-		verify(passportStatusRepository).save(any());
+		assertThat(createResult.passportStatus()).isNotNull();
+		assertThat(createResult.created()).isTrue();
+		verify(passportStatusRepository).insertIfAbsent(any());
+		verify(passportStatusRepository, never()).findByApplicationRegisterSidAndVersion(any(), any());
+		verify(passportStatusRepository, never()).save(any());
+		verify(passportStatusLatestRepository).insertLatestIfAbsent(List.of("id"));
+		verify(passportStatusLatestRepository).updateLatestIfNewer(List.of("id"));
+		verify(passportStatusBloomFilter).put(any());
 		verify(passportStatusMapper).fromEntity(any());
 		verify(passportStatusMapper).toEntity(any());
 		verify(applicationEventPublisher, never()).publishEvent(any(PassportStatusCreateConflictEvent.class));
@@ -69,20 +111,66 @@ class PassportStatusServiceTests {
 	}
 
 	@Test void testCreate_whenConflict() {
+		when(passportStatusRepository.insertIfAbsent(any())).thenReturn(false);
 		when(passportStatusRepository.findByApplicationRegisterSidAndVersion(any(), any())).thenReturn(Optional.of(new PassportStatusEntity()));
 		when(passportStatusMapper.fromEntity(any())).thenReturn(ImmutablePassportStatus.builder().build());
+		when(passportStatusMapper.toEntity(any())).thenReturn(new PassportStatusEntityBuilder().build());
 
-		final var passportStatus = passportStatusService.create(ImmutablePassportStatus.builder().build());
+		final var createResult = passportStatusService.create(ImmutablePassportStatus.builder().build());
 
-		assertThat(passportStatus).isNotNull();
+		assertThat(createResult.passportStatus()).isNotNull();
+		assertThat(createResult.created()).isFalse();
+		verify(passportStatusRepository).insertIfAbsent(any());
 		verify(passportStatusRepository).findByApplicationRegisterSidAndVersion(any(), any());
 		verify(passportStatusRepository, never()).save(any());
+		verify(passportStatusLatestRepository, never()).insertLatestIfAbsent(any());
+		verify(passportStatusLatestRepository, never()).updateLatestIfNewer(any());
 		verify(passportStatusMapper).fromEntity(any());
-		verify(passportStatusMapper, never()).toEntity(any());
+		verify(passportStatusMapper).toEntity(any());
 		verify(applicationEventPublisher).publishEvent(any(PassportStatusCreateConflictEvent.class));
 		verify(applicationEventPublisher, never()).publishEvent(any(PassportStatusCreatedEvent.class));
 	}
 
+	@Test void testCreateAll() {
+		final var existing = ImmutablePassportStatus.builder().applicationRegisterSid("sid-1").version(1L).build();
+		final var created = ImmutablePassportStatus.builder().applicationRegisterSid("sid-2").version(1L).build();
+
+		final var existingEntity = new PassportStatusEntityBuilder().applicationRegisterSid("sid-1").version(1L).build();
+		final var createdEntity = new PassportStatusEntityBuilder().applicationRegisterSid("sid-2").version(1L).build();
+
+		// sid-1 conflicts with an existing passport status, so only sid-2 is inserted
+		when(passportStatusMapper.toEntity(any())).thenReturn(existingEntity, createdEntity);
+		when(passportStatusRepository.insertAllIfAbsent(any())).thenReturn(List.of(createdEntity));
+		when(passportStatusRepository.findAllByStatusVersions(any())).thenReturn(List.of(existingEntity));
+		when(passportStatusMapper.fromEntity(any())).thenReturn(created, existing);
+
+		final var passportStatuses = passportStatusService.createAll(List.of(existing, created, created));
+
+		assertThat(passportStatuses).containsExactly(existing, created, created);
+		verify(passportStatusRepository).insertAllIfAbsent(List.of(existingEntity, createdEntity));
+		verify(passportStatusRepository).findAllByStatusVersions(List.of(new StatusVersion("sid-1", 1L)));
+		verify(passportStatusRepository, never()).saveAll(any());
+		verify(passportStatusRepository, never()).save(any());
+		verify(passportStatusLatestRepository).insertLatestIfAbsent(argThat(passportStatusIds -> passportStatusIds.size() == 1));
+		verify(passportStatusLatestRepository).updateLatestIfNewer(argThat(passportStatusIds -> passportStatusIds.size() == 1));
+		verify(passportStatusBloomFilter).put(created);
+		verify(applicationEventPublisher, times(2)).publishEvent(any(PassportStatusCreateConflictEvent.class));
+		verify(applicationEventPublisher).publishEvent(any(PassportStatusCreatedEvent.class));
+	}
+
+	@Test void testCreateAll_whenNoConflicts() {
+		final var created = ImmutablePassportStatus.builder().applicationRegisterSid("sid-2").version(1L).build();
+		final var createdEntity = new PassportStatusEntityBuilder().applicationRegisterSid("sid-2").version(1L).build();
+
+		when(passportStatusMapper.toEntity(any())).thenReturn(createdEntity);
+		when(passportStatusRepository.insertAllIfAbsent(any())).thenReturn(List.of(createdEntity));
+		when(passportStatusMapper.fromEntity(any())).thenReturn(created);
+
+		assertThat(passportStatusService.createAll(List.of(created))).containsExactly(created);
+		verify(passportStatusRepository, never()).findAllByStatusVersions(any());
+		verify(applicationEventPublisher, never()).publishEvent(any(PassportStatusCreateConflictEvent.class));
+	}
+
 	@Test void testRead() {
 		when(passportStatusRepository.findById(any())).thenReturn(Optional.of(new PassportStatusEntityBuilder().build()));
 		when(passportStatusMapper.fromEntity(any())).thenReturn(ImmutablePassportStatus.builder().build());
@@ -128,6 +216,8 @@ class PassportStatusServiceTests {
 		passportStatusService.delete("id");
 
 		verify(passportStatusRepository).deleteById(any());
+		verify(passportStatusLatestRepository).deleteByApplicationRegisterSid(any());
+		verify(passportStatusLatestRepository).insertNewest(any());
 		verify(passportStatusMapper).fromEntity(any());
 		verify(applicationEventPublisher).publishEvent(any(PassportStatusDeletedEvent.class));
 	}
@@ -142,7 +232,8 @@ class PassportStatusServiceTests {
 		assertThat(passportStatuses).isNotNull();
 		verify(passportStatusRepository).findAll(any(Pageable.class));
 		verify(passportStatusMapper, times(2)).fromEntity(any());
-		verify(applicationEventPublisher, times(2)).publishEvent(any(PassportStatusReadEvent.class));
+		verify(applicationEventPublisher).publishEvent(argThat((PassportStatusBulkReadEvent event) -> event.getOperation() == Operation.READ_ALL && Iterables.size(event.getIds()) == 2));
+		verify(applicationEventPublisher, never()).publishEvent(any(PassportStatusReadEvent.class));
 	}
 
 	@Test void testSearch() {
@@ -154,6 +245,111 @@ class PassportStatusServiceTests {
 		assertThat(passportStatuses).isNotNull();
 		verify(passportStatusRepository).fileNumberSearch(any(), any(), any(), any());
 		verify(passportStatusMapper).fromEntity(any());
-		verify(applicationEventPublisher).publishEvent(any(PassportStatusReadEvent.class));
+		verify(applicationEventPublisher).publishEvent(any(PassportStatusBulkReadEvent.class));
+	}
+
+	@Test void testSearch_normalizesSearchTerms() {
+		final var dateOfBirth = LocalDate.now();
+		when(passportStatusRepository.fileNumberSearch(any(), any(), any(), any())).thenReturn(List.of());
+
+		passportStatusService.fileNumberSearch(dateOfBirth, "ABCD1234", "Jean-François", "O'Brien");
+
+		verify(passportStatusRepository).fileNumberSearch(eq("abcd1234"), eq(dateOfBirth), eq("jeanfrancois"), eq("obrien"));
+	}
+
+	@Test void testSearch_whenSearchIndexReady() {
+		when(passportStatusSearchIndex.search(any())).thenReturn(Optional.of(List.of(ImmutablePassportStatus.builder().build())));
+
+		final var passportStatuses = passportStatusService.fileNumberSearch(LocalDate.now(), "fileNumber", "givenName", "surname");
+
+		assertThat(passportStatuses).hasSize(1);
+		verify(passportStatusRepository, never()).fileNumberSearch(any(), any(), any(), any());
+		verify(applicationEventPublisher).publishEvent(any(PassportStatusBulkReadEvent.class));
+	}
+
+	@Test void testSearch_whenBloomFilterRulesOutMatch() {
+		when(passportStatusBloomFilter.isDefinitelyAbsent(any())).thenReturn(true);
+
+		final var passportStatuses = passportStatusService.fileNumberSearch(LocalDate.now(), "fileNumber", "givenName", "surname");
+
+		assertThat(passportStatuses).isEmpty();
+		verify(passportStatusRepository, never()).fileNumberSearch(any(), any(), any(), any());
+		verify(passportStatusBloomFilter, never()).recordFalsePositive();
+	}
+
+	@Test void testSearch_whenBloomFilterFalsePositive() {
+		when(passportStatusRepository.fileNumberSearch(any(), any(), any(), any())).thenReturn(List.of());
+
+		final var passportStatuses = passportStatusService.fileNumberSearch(LocalDate.now(), "fileNumber", "givenName", "surname");
+
+		assertThat(passportStatuses).isEmpty();
+		verify(passportStatusRepository).fileNumberSearch(any(), any(), any(), any());
+		verify(passportStatusBloomFilter).recordFalsePositive();
+	}
+
+	@Test void testSearch_whenCached() {
+		doReturn(List.of(ImmutablePassportStatus.builder().build())).when(passportStatusSearchCache).get(any(), any());
+
+		final var passportStatuses = passportStatusService.fileNumberSearch(LocalDate.now(), "fileNumber", "givenName", "surname");
+
+		assertThat(passportStatuses).hasSize(1);
+		verify(passportStatusRepository, never()).fileNumberSearch(any(), any(), any(), any());
+		verify(applicationEventPublisher).publishEvent(any(PassportStatusBulkReadEvent.class));
+	}
+
+	@Test void testBatchSearch() {
+		final var dateOfBirth = LocalDate.now();
+		final var hitSearchKey = SearchKey.ofFileNumber(dateOfBirth, "ABCD1234", "John", "Doe");
+		final var missSearchKey = SearchKey.ofFileNumber(dateOfBirth, "ABCD1234", "Jane", "Doe");
+		final var bloomFilteredSearchKey = SearchKey.ofFileNumber(dateOfBirth, "ABCD1234", "Jim", "Doe");
+
+		when(passportStatusBloomFilter.isDefinitelyAbsent(any())).thenAnswer(invocation -> bloomFilteredSearchKey.equals(invocation.getArgument(0)));
+		when(passportStatusRepository.fileNumberSearch(anyList())).thenAnswer(invocation -> invocation.<List<FileNumberSearchTerms>>getArgument(0).stream()
+			.map(searchTerms -> "john".equals(searchTerms.givenNameNorm()) ? List.of(new PassportStatusEntity()) : List.<PassportStatusEntity>of())
+			.toList());
+		when(passportStatusMapper.fromEntity(any())).thenReturn(ImmutablePassportStatus.builder().build());
+
+		final var passportStatuses = passportStatusService.fileNumberSearch(List.of(hitSearchKey, missSearchKey, bloomFilteredSearchKey));
+
+		assertThat(passportStatuses.get(hitSearchKey)).hasSize(1);
+		assertThat(passportStatuses.get(missSearchKey)).isEmpty();
+		assertThat(passportStatuses.get(bloomFilteredSearchKey)).isEmpty();
+		verify(passportStatusRepository).fileNumberSearch(anyList());
+		verify(passportStatusRepository, never()).fileNumberSearch(any(), any(), any(), any());
+		verify(applicationEventPublisher).publishEvent(any(PassportStatusBulkReadEvent.class));
+	}
+
+	@Test void testBatchSearch_whenMaximumBatchSize() throws Exception {
+		final var dateOfBirth = LocalDate.now();
+		final var searchKeys = IntStream.range(0, 1000).mapToObj(index -> SearchKey.ofFileNumber(dateOfBirth, "FILE%04d".formatted(index), "John", "Doe")).toList();
+
+		// every search is non-unique, and every applicationRegisterSid is as long as it can be (256 characters)
+		when(passportStatusRepository.fileNumberSearch(anyList())).thenAnswer(invocation -> invocation.<List<FileNumberSearchTerms>>getArgument(0).stream()
+			.map(searchTerms -> List.of(new PassportStatusEntity(), new PassportStatusEntity()))
+			.toList());
+		when(passportStatusMapper.fromEntity(any())).thenAnswer(invocation -> ImmutablePassportStatus.builder()
+			.id(UUID.randomUUID().toString())
+			.applicationRegisterSid(Strings.padEnd(UUID.randomUUID().toString(), 256, 'X'))
+			.build());
+
+		final var passportStatuses = passportStatusService.fileNumberSearch(searchKeys);
+
+		assertThat(passportStatuses).hasSize(1000);
+
+		final var eventCaptor = ArgumentCaptor.forClass(PassportStatusBulkReadEvent.class);
+		verify(applicationEventPublisher, times(20)).publishEvent(eventCaptor.capture());
+
+		final var detailsSerializer = new EventLogDetailsSerializer();
+		final var ids = new ArrayList<String>();
+
+		for (final var event : eventCaptor.getAllValues()) {
+			assertThat(event.getIds()).hasSize(PassportStatusService.BULK_READ_EVENT_CHUNK_SIZE);
+			assertThat(event.getParameters()).containsEntry("searches", "1000").containsEntry("chunks", "20");
+			assertThat(detailsSerializer.serialize(PassportStatusBulkReadEvent.class, event).length()).isLessThan(65536);
+			event.getIds().forEach(ids::add);
+		}
+
+		assertThat(eventCaptor.getAllValues()).extracting(event -> event.getParameters().get("chunk")).containsExactlyElementsOf(IntStream.rangeClosed(1, 20).mapToObj(String::valueOf).toList());
+		assertThat(ids).doesNotHaveDuplicates().hasSize(2000);
 	}
 }
@@ -0,0 +1,72 @@
+package ca.gov.dtsstn.passport.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ca.gov.dtsstn.passport.api.service.domain.StatusCode;
+
+/**
+ * Verifies that the {@link ReferenceDataRegistry} agrees with the database-backed {@link StatusCodeService}, and
+ * benchmarks cdoCode lookups through the registry against the {@code @Cacheable} service (the results are logged).
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReferenceDataRegistryIT {
+
+	static final Logger log = LoggerFactory.getLogger(ReferenceDataRegistryIT.class);
+
+	static final int BENCHMARK_ITERATIONS = 1_000_000;
+
+	static final int WARMUP_ITERATIONS = 200_000;
+
+	@Autowired ReferenceDataRegistry referenceDataRegistry;
+
+	@Autowired StatusCodeService statusCodeService;
+
+	@Test void testRegistryMatchesService() {
+		final var statusCodes = statusCodeService.readAll();
+		assertThat(statusCodes).isNotEmpty();
+
+		for (final var statusCode : statusCodes) {
+			assertThat(referenceDataRegistry.readStatusCode(statusCode.getId())).contains(statusCode);
+			assertThat(referenceDataRegistry.readStatusCodeByCdoCode(statusCode.getCdoCode())).isEqualTo(statusCodeService.readByCdoCode(statusCode.getCdoCode()));
+		}
+	}
+
+	@Test void benchmark() {
+		final var cdoCodes = statusCodeService.readAll().stream().map(StatusCode::getCdoCode).toList();
+
+		benchmark(cdoCodes, "cached service", statusCodeService::readByCdoCode);
+		benchmark(cdoCodes, "registry", referenceDataRegistry::readStatusCodeByCdoCode);
+	}
+
+	void benchmark(List<String> cdoCodes, String name, Function<String, ?> lookup) {
+		var hits = 0L;
+
+		for (var i = 0; i < WARMUP_ITERATIONS; i++) {
+			hits += lookup.apply(cdoCodes.get(i % cdoCodes.size())) == null ? 0 : 1;
+		}
+
+		final var startTime = System.nanoTime();
+		for (var i = 0; i < BENCHMARK_ITERATIONS; i++) {
+			hits += lookup.apply(cdoCodes.get(i % cdoCodes.size())) == null ? 0 : 1;
+		}
+		final var elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+
+		assertThat(hits).isEqualTo(WARMUP_ITERATIONS + BENCHMARK_ITERATIONS);
+		log.info("{}: {} status code lookups by cdoCode in {} ms ({} ns/lookup)", name, BENCHMARK_ITERATIONS, elapsed.toMillis(), elapsed.toNanos() / BENCHMARK_ITERATIONS);
+	}
+
+}
@@ -0,0 +1,82 @@
+package ca.gov.dtsstn.passport.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ca.gov.dtsstn.passport.api.data.SourceCodeRepository;
+import ca.gov.dtsstn.passport.api.data.StatusCodeRepository;
+import ca.gov.dtsstn.passport.api.data.entity.SourceCodeEntityBuilder;
+import ca.gov.dtsstn.passport.api.data.entity.StatusCodeEntity;
+import ca.gov.dtsstn.passport.api.data.entity.StatusCodeEntityBuilder;
+import ca.gov.dtsstn.passport.api.service.domain.StatusCode;
+import ca.gov.dtsstn.passport.api.service.domain.mapper.SourceCodeMapper;
+import ca.gov.dtsstn.passport.api.service.domain.mapper.StatusCodeMapper;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@ExtendWith({ MockitoExtension.class })
+class ReferenceDataRegistryTests {
+
+	ReferenceDataRegistry referenceDataRegistry;
+
+	@Mock SourceCodeRepository sourceCodeRepository;
+
+	@Mock StatusCodeRepository statusCodeRepository;
+
+	@BeforeEach void beforeEach() {
+		this.referenceDataRegistry = new ReferenceDataRegistry(Mappers.getMapper(SourceCodeMapper.class), sourceCodeRepository, Mappers.getMapper(StatusCodeMapper.class), statusCodeRepository);
+	}
+
+	@Test void testLookups() {
+		when(sourceCodeRepository.findAll()).thenReturn(List.of(new SourceCodeEntityBuilder().id("source-id").code("PASSPORT").cdoCode("2").isActive(true).build()));
+		when(statusCodeRepository.findAll()).thenReturn(List.of(statusCode("status-id", "FILE_BEING_PROCESSED", "1")));
+
+		referenceDataRegistry.refresh();
+
+		assertThat(referenceDataRegistry.readSourceCode("source-id")).get().extracting("code").isEqualTo("PASSPORT");
+		assertThat(referenceDataRegistry.readSourceCodeByCode("PASSPORT")).get().extracting("id").isEqualTo("source-id");
+		assertThat(referenceDataRegistry.readSourceCodeByCdoCode("2")).get().extracting("id").isEqualTo("source-id");
+		assertThat(referenceDataRegistry.readStatusCode("status-id")).get().extracting(StatusCode::getCdoCode).isEqualTo("1");
+		assertThat(referenceDataRegistry.readStatusCodeByCode("FILE_BEING_PROCESSED")).get().extracting(StatusCode::getId).isEqualTo("status-id");
+		assertThat(referenceDataRegistry.readStatusCodeByCdoCode("1")).get().extracting(StatusCode::getId).isEqualTo("status-id");
+		assertThat(referenceDataRegistry.readStatusCodeByCdoCode("999")).isEmpty();
+	}
+
+	@Test void testRefresh_swapsSnapshot() {
+		when(statusCodeRepository.findAll())
+			.thenReturn(List.of(statusCode("status-id", "FILE_BEING_PROCESSED", "1")))
+			.thenReturn(List.of(statusCode("status-id", "FILE_BEING_PROCESSED", "1"), statusCode("other-id", "PASSPORT_ISSUED_SHIPPING_FEDEX", "2")));
+
+		final var firstSnapshot = referenceDataRegistry.refresh();
+		assertThat(referenceDataRegistry.readStatusCodeByCdoCode("2")).isEmpty();
+
+		final var secondSnapshot = referenceDataRegistry.refresh();
+		assertThat(referenceDataRegistry.getSnapshot()).isSameAs(secondSnapshot).isNotSameAs(firstSnapshot);
+		assertThat(referenceDataRegistry.readStatusCodeByCdoCode("2")).get().extracting(StatusCode::getId).isEqualTo("other-id");
+		assertThat(firstSnapshot.statusCodesByCdoCode()).doesNotContainKey("2");
+	}
+
+	@Test void testRefresh_skipsNullKeys() {
+		when(statusCodeRepository.findAll()).thenReturn(List.of(statusCode("status-id", "FILE_BEING_PROCESSED", null)));
+
+		final var snapshot = referenceDataRegistry.refresh();
+
+		assertThat(snapshot.statusCodesById()).containsOnlyKeys("status-id");
+		assertThat(snapshot.statusCodesByCdoCode()).isEmpty();
+	}
+
+	StatusCodeEntity statusCode(String id, String code, String cdoCode) {
+		return new StatusCodeEntityBuilder().id(id).code(code).cdoCode(cdoCode).isActive(true).build();
+	}
+
+}
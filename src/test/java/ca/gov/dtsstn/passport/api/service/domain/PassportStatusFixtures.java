@@ -0,0 +1,46 @@
+package ca.gov.dtsstn.passport.api.service.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Passport statuses shared by the tests. Their source and status codes exist in the reference data, so they can be
+ * written to a real database.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+public final class PassportStatusFixtures {
+
+	public static final LocalDate DATE_OF_BIRTH = LocalDate.of(2000, 1, 1);
+
+	/** the {@code IRIS} source code */
+	public static final String SOURCE_CODE_ID = "327c25eb-e3f4-492e-bd47-4feb20189e78";
+
+	/** the {@code FILE_BEING_PROCESSED} status code */
+	public static final String STATUS_CODE_ID = "57fe687e-50a6-411f-af63-2a659622127d";
+
+	private PassportStatusFixtures() {}
+
+	/**
+	 * A builder for John Doe's (first version of his) passport status, less its {@code applicationRegisterSid}.
+	 */
+	public static ImmutablePassportStatus.Builder johnDoe() {
+		return ImmutablePassportStatus.builder()
+			.dateOfBirth(DATE_OF_BIRTH)
+			.email("john.doe@example.com")
+			.fileNumber("ABCD1234")
+			.givenName("John")
+			.surname("Doe")
+			.sourceCodeId(SOURCE_CODE_ID)
+			.statusCodeId(STATUS_CODE_ID)
+			.statusDate(DATE_OF_BIRTH)
+			.version(1L);
+	}
+
+	/**
+	 * John Doe's (first version of his) passport status, with the given {@code applicationRegisterSid}.
+	 */
+	public static PassportStatus johnDoe(String applicationRegisterSid) {
+		return johnDoe().applicationRegisterSid(applicationRegisterSid).build();
+	}
+
+}
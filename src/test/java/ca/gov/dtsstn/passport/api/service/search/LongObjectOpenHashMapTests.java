@@ -0,0 +1,53 @@
+package ca.gov.dtsstn.passport.api.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+class LongObjectOpenHashMapTests {
+
+	@Test void testPutGetRemove() {
+		final var map = new LongObjectOpenHashMap<String>(0);
+
+		assertThat(map.put(1L, "one")).isNull();
+		assertThat(map.put(0L, "zero")).isNull();
+		assertThat(map.put(1L, "uno")).isEqualTo("one");
+
+		assertThat(map.get(0L)).isEqualTo("zero");
+		assertThat(map.get(1L)).isEqualTo("uno");
+		assertThat(map.get(2L)).isNull();
+		assertThat(map.size()).isEqualTo(2);
+
+		assertThat(map.remove(1L)).isEqualTo("uno");
+		assertThat(map.remove(1L)).isNull();
+		assertThat(map.size()).isEqualTo(1);
+	}
+
+	@Test void testAgainstHashMap() {
+		final var random = new Random(0L);
+		final var expected = new HashMap<Long, Long>();
+		final var map = new LongObjectOpenHashMap<Long>(16);
+
+		for (var i = 0; i < 200_000; i++) {
+			// a small key space forces plenty of collisions, overwrites and removals
+			final var key = (long) random.nextInt(5_000) << (random.nextBoolean() ? 32 : 0);
+
+			if (random.nextInt(3) == 0) {
+				assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+			}
+			else {
+				assertThat(map.put(key, (long) i)).isEqualTo(expected.put(key, (long) i));
+			}
+		}
+
+		assertThat(map.size()).isEqualTo(expected.size());
+		expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+	}
+
+}
@@ -0,0 +1,122 @@
+package ca.gov.dtsstn.passport.api.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ca.gov.dtsstn.passport.api.config.properties.BloomFilterProperties;
+import ca.gov.dtsstn.passport.api.data.PassportStatusLatestRepository;
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusLatestEntity;
+import ca.gov.dtsstn.passport.api.service.domain.ImmutablePassportStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@ExtendWith({ MockitoExtension.class })
+class PassportStatusBloomFilterTests {
+
+	static final LocalDate DATE_OF_BIRTH = LocalDate.of(2000, 1, 1);
+
+	PassportStatusBloomFilter bloomFilter;
+
+	SimpleMeterRegistry meterRegistry;
+
+	@Mock EntityManager entityManager;
+
+	@Mock PassportStatusLatestRepository repository;
+
+	@Mock PlatformTransactionManager transactionManager;
+
+	@BeforeEach void beforeEach() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.bloomFilter = new PassportStatusBloomFilter(entityManager, meterRegistry, new BloomFilterProperties(true, 1000, 0.01, Duration.ofHours(6)), repository, transactionManager);
+	}
+
+	@Test void testIsDefinitelyAbsent_whenNotBuilt() {
+		assertThat(bloomFilter.isReady()).isFalse();
+		assertThat(bloomFilter.isDefinitelyAbsent(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "John", "Doe"))).isFalse();
+	}
+
+	@Test void testIsDefinitelyAbsent_whenDisabled() {
+		final var disabledBloomFilter = new PassportStatusBloomFilter(entityManager, new SimpleMeterRegistry(), new BloomFilterProperties(false, 1000, 0.01, Duration.ofHours(6)), repository, transactionManager);
+		disabledBloomFilter.build();
+
+		assertThat(disabledBloomFilter.isReady()).isFalse();
+		assertThat(disabledBloomFilter.isDefinitelyAbsent(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "John", "Doe"))).isFalse();
+		verify(repository, never()).streamAll();
+	}
+
+	@Test void testBuild() {
+		final var latest = mock(PassportStatusLatestEntity.class);
+		when(latest.getDateOfBirth()).thenReturn(DATE_OF_BIRTH);
+		when(latest.getEmailNorm()).thenReturn("jf.obrien@example.com");
+		when(latest.getFileNumberNorm()).thenReturn("abcd1234");
+		when(latest.getGivenNameNorm()).thenReturn("jeanfrancois");
+		when(latest.getSurnameNorm()).thenReturn("obrien");
+		when(repository.streamAll()).thenReturn(Stream.of(latest));
+
+		bloomFilter.build();
+
+		assertThat(bloomFilter.isReady()).isTrue();
+		assertThat(bloomFilter.isDefinitelyAbsent(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "Jean-François", "O'Brien"))).isFalse();
+		assertThat(bloomFilter.isDefinitelyAbsent(SearchKey.ofEmail(DATE_OF_BIRTH, "JF.OBrien@example.com", "Jean-François", "O'Brien"))).isFalse();
+		assertThat(bloomFilter.isDefinitelyAbsent(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "John", "Doe"))).isTrue();
+
+		assertThat(meterRegistry.get("passport_statuses.bloom_filter.lookups").tag("result", "definite_miss").counter().count()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("passport_statuses.bloom_filter.lookups").tag("result", "possible_hit").counter().count()).isEqualTo(2.0);
+		assertThat(meterRegistry.get("passport_statuses.bloom_filter.keys").gauge().value()).isEqualTo(2.0);
+		assertThat(meterRegistry.get("passport_statuses.bloom_filter.fill_ratio").gauge().value()).isBetween(0.0, 0.01);
+	}
+
+	@Test void testPut_beforeBuild() {
+		// keys written while the filter is being (re)built must survive the swap
+		bloomFilter.put(ImmutablePassportStatus.builder()
+			.dateOfBirth(DATE_OF_BIRTH)
+			.fileNumber("ABCD1234")
+			.givenName("John")
+			.surname("Doe")
+			.build());
+
+		when(repository.streamAll()).thenReturn(Stream.empty());
+		bloomFilter.build();
+
+		assertThat(bloomFilter.isDefinitelyAbsent(SearchKey.ofFileNumber(DATE_OF_BIRTH, "abcd1234", "john", "doe"))).isFalse();
+		assertThat(bloomFilter.isDefinitelyAbsent(SearchKey.ofFileNumber(DATE_OF_BIRTH, "abcd1234", "jane", "doe"))).isTrue();
+	}
+
+	@Test void testRebuild_shedsRemovedKeys() {
+		final var latest = mock(PassportStatusLatestEntity.class);
+		when(latest.getDateOfBirth()).thenReturn(DATE_OF_BIRTH);
+		when(latest.getFileNumberNorm()).thenReturn("abcd1234");
+		when(latest.getGivenNameNorm()).thenReturn("john");
+		when(latest.getSurnameNorm()).thenReturn("doe");
+		when(repository.streamAll()).thenReturn(Stream.of(latest), Stream.empty());
+
+		bloomFilter.build();
+		assertThat(bloomFilter.isDefinitelyAbsent(SearchKey.ofFileNumber(DATE_OF_BIRTH, "abcd1234", "john", "doe"))).isFalse();
+
+		bloomFilter.rebuild();
+		assertThat(bloomFilter.isDefinitelyAbsent(SearchKey.ofFileNumber(DATE_OF_BIRTH, "abcd1234", "john", "doe"))).isTrue();
+	}
+
+	@Test void testNumHashFunctions() {
+		// a 1% false positive probability requires ~7 hash functions
+		assertThat(PassportStatusBloomFilter.numHashFunctions(1000, 0.01)).isEqualTo(7);
+	}
+
+}
@@ -0,0 +1,201 @@
+package ca.gov.dtsstn.passport.api.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import ca.gov.dtsstn.passport.api.config.cache.CaffeineCacheFactory;
+import ca.gov.dtsstn.passport.api.config.properties.ReadReplicaProperties;
+import ca.gov.dtsstn.passport.api.data.PassportStatusRepository;
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
+import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusCreatedEvent;
+import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusDeletedEvent;
+import ca.gov.dtsstn.passport.api.service.domain.ImmutablePassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.mapper.PassportStatusMapper;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@ExtendWith({ MockitoExtension.class })
+class PassportStatusSearchCacheTests {
+
+	static final LocalDate DATE_OF_BIRTH = LocalDate.of(2000, 1, 1);
+
+	static final SearchKey SEARCH_KEY = SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "Bobby", "Ross");
+
+	SimpleCacheManager cacheManager;
+
+	PassportStatusSearchCache searchCache;
+
+	AtomicInteger loads;
+
+	@Mock PassportStatusMapper mapper;
+
+	@Mock PassportStatusRepository repository;
+
+	@BeforeEach void beforeEach() {
+		this.cacheManager = new SimpleCacheManager();
+		cacheManager.setCaches(List.of(new CaffeineCacheFactory(PassportStatusSearchCache.CACHE_NAME).getObject()));
+		cacheManager.afterPropertiesSet();
+
+		this.searchCache = new PassportStatusSearchCache(new StaticListableBeanFactory(Map.of("cacheManager", cacheManager)).getBeanProvider(CacheManager.class), mapper, repository, readReplicaProperties(false));
+		this.loads = new AtomicInteger();
+	}
+
+	@Test void testGet_whenCached() {
+		final var bobby = passportStatus("id-1", "sid-1", 1L, "Bobby");
+
+		assertThat(searchCache.get(SEARCH_KEY, () -> load(bobby))).containsExactly(bobby);
+		assertThat(searchCache.get(SearchKey.ofFileNumber(DATE_OF_BIRTH, "abcd1234", "BOBBY", "ross"), () -> load(bobby))).containsExactly(bobby);
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test void testGet_whenCachingDisabled() {
+		final var disabledSearchCache = new PassportStatusSearchCache(new StaticListableBeanFactory().getBeanProvider(CacheManager.class), mapper, repository, readReplicaProperties(false));
+
+		disabledSearchCache.get(SEARCH_KEY, this::load);
+		disabledSearchCache.get(SEARCH_KEY, this::load);
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test void testGet_whenEvictedDuringLoad() {
+		final var bobby = passportStatus("id-1", "sid-1", 1L, "Bobby");
+
+		// the write (and its eviction) happens after the search read the database
+		searchCache.get(SEARCH_KEY, () -> {
+			final var passportStatuses = load(bobby);
+			searchCache.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(passportStatus("id-2", "sid-1", 2L, "Bob")));
+			return passportStatuses;
+		});
+
+		searchCache.get(SEARCH_KEY, this::load);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test void testCreatedEvent_evictsOlderVersion() {
+		final var bobby = passportStatus("id-1", "sid-1", 1L, "Bobby");
+		searchCache.get(SEARCH_KEY, () -> load(bobby));
+
+		// a newer version with a different name still makes the cached result stale
+		searchCache.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(passportStatus("id-2", "sid-1", 2L, "Bob")));
+
+		assertThat(searchCache.get(SEARCH_KEY, this::load)).isEmpty();
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test void testCreatedEvent_evictsCachedMiss() {
+		searchCache.get(SEARCH_KEY, this::load);
+
+		searchCache.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(passportStatus("id-1", "sid-1", 1L, "Bobby")));
+
+		searchCache.get(SEARCH_KEY, this::load);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test void testDeletedEvent_evictsReinstatedVersion() {
+		searchCache.get(SEARCH_KEY, this::load);
+
+		// deleting v2 (Bob) reinstates v1 (Bobby), which was previously cached as a miss
+		when(repository.findAllByApplicationRegisterSid("sid-1")).thenReturn(List.of(new PassportStatusEntity()));
+		when(mapper.fromEntity(any())).thenReturn(passportStatus("id-1", "sid-1", 1L, "Bobby"));
+		searchCache.handlePassportStatusDeletedEvent(ImmutablePassportStatusDeletedEvent.of(passportStatus("id-2", "sid-1", 2L, "Bob")));
+
+		searchCache.get(SEARCH_KEY, this::load);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test void testDeletedEvent_keepsUnrelatedEntries() {
+		final var bobby = passportStatus("id-1", "sid-1", 1L, "Bobby");
+		searchCache.get(SEARCH_KEY, () -> load(bobby));
+
+		searchCache.handlePassportStatusDeletedEvent(ImmutablePassportStatusDeletedEvent.of(passportStatus("id-2", "sid-2", 1L, "John")));
+
+		assertThat(searchCache.get(SEARCH_KEY, this::load)).containsExactly(bobby);
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test void testCreatedEvent_evictsNonUniqueResult() {
+		final var bobby = passportStatus("id-1", "sid-1", 1L, "Bobby");
+		final var otherBobby = passportStatus("id-2", "sid-2", 1L, "Bobby");
+		searchCache.get(SEARCH_KEY, () -> load(bobby, otherBobby));
+
+		searchCache.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(passportStatus("id-3", "sid-2", 2L, "John")));
+
+		assertThat(searchCache.get(SEARCH_KEY, () -> load(bobby))).containsExactly(bobby);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test void testPut_prunesIndexOfEvictedEntries() {
+		final var entries = (2 * PassportStatusSearchCache.MIN_PRUNE_SIZE);
+
+		for (var i = 0; i < entries; i++) {
+			final var searchKey = SearchKey.ofFileNumber(DATE_OF_BIRTH, "FILE" + i, "Bobby", "Ross");
+			final var passportStatus = passportStatus("id-" + i, "sid-" + i, 1L, "Bobby");
+			searchCache.get(searchKey, () -> load(passportStatus));
+
+			// simulate the entry expiring; its applicationRegisterSid stays in the index until it is pruned
+			cacheManager.getCache(PassportStatusSearchCache.CACHE_NAME).evict(searchKey);
+		}
+
+		assertThat(searchCache.indexSize()).isLessThanOrEqualTo(PassportStatusSearchCache.MIN_PRUNE_SIZE + 1);
+	}
+
+	@Test void testGet_whenReplicaEnabled_doesNotCacheResultsOfRecentWrites() {
+		final var replicaSearchCache = new PassportStatusSearchCache(new StaticListableBeanFactory(Map.of("cacheManager", cacheManager)).getBeanProvider(CacheManager.class), mapper, repository, readReplicaProperties(true));
+		final var bobby = passportStatus("id-1", "sid-1", 1L, "Bobby");
+
+		// v2 renames Bobby to Bob, but the replica has not replayed it yet; it still returns v1 for Bobby, and nothing for Bob
+		replicaSearchCache.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(passportStatus("id-2", "sid-1", 2L, "Bob")));
+		replicaSearchCache.get(SEARCH_KEY, () -> load(bobby));
+		replicaSearchCache.get(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "Bob", "Ross"), this::load);
+
+		replicaSearchCache.get(SEARCH_KEY, this::load);
+		replicaSearchCache.get(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "Bob", "Ross"), this::load);
+		assertThat(loads).hasValue(4);
+
+		// results holding other applicationRegisterSids are still cached
+		final var john = passportStatus("id-3", "sid-2", 1L, "John");
+		replicaSearchCache.get(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "John", "Ross"), () -> load(john));
+		replicaSearchCache.get(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "John", "Ross"), () -> load(john));
+		assertThat(loads).hasValue(5);
+	}
+
+	List<PassportStatus> load(PassportStatus... passportStatuses) {
+		loads.incrementAndGet();
+		return List.of(passportStatuses);
+	}
+
+	ReadReplicaProperties readReplicaProperties(boolean enabled) {
+		return new ReadReplicaProperties(enabled, null, null, null, Duration.ofSeconds(10), Duration.ofSeconds(5), ReadReplicaProperties.DEFAULT_LAG_QUERY);
+	}
+
+	PassportStatus passportStatus(String id, String applicationRegisterSid, Long version, String givenName) {
+		return ImmutablePassportStatus.builder()
+			.id(id)
+			.applicationRegisterSid(applicationRegisterSid)
+			.dateOfBirth(DATE_OF_BIRTH)
+			.fileNumber("ABCD1234")
+			.givenName(givenName)
+			.surname("Ross")
+			.version(version)
+			.build();
+	}
+
+}
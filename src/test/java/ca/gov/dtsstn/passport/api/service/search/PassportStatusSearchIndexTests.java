@@ -0,0 +1,140 @@
+package ca.gov.dtsstn.passport.api.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ca.gov.dtsstn.passport.api.config.properties.SearchIndexProperties;
+import ca.gov.dtsstn.passport.api.data.PassportStatusRepository;
+import ca.gov.dtsstn.passport.api.data.entity.PassportStatusEntity;
+import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusCreatedEvent;
+import ca.gov.dtsstn.passport.api.event.ImmutablePassportStatusDeletedEvent;
+import ca.gov.dtsstn.passport.api.service.domain.ImmutablePassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.mapper.PassportStatusMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@ExtendWith({ MockitoExtension.class })
+class PassportStatusSearchIndexTests {
+
+	static final LocalDate DATE_OF_BIRTH = LocalDate.of(2000, 1, 1);
+
+	PassportStatusSearchIndex searchIndex;
+
+	@Mock EntityManager entityManager;
+
+	@Mock PassportStatusMapper mapper;
+
+	@Mock PassportStatusRepository repository;
+
+	@Mock PlatformTransactionManager transactionManager;
+
+	@BeforeEach void beforeEach() {
+		this.searchIndex = new PassportStatusSearchIndex(entityManager, mapper, new SimpleMeterRegistry(), new SearchIndexProperties(true, 16), repository, transactionManager);
+	}
+
+	@Test void testSearch_whenNotLoaded() {
+		assertThat(searchIndex.isReady()).isFalse();
+		assertThat(searchIndex.search(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "John", "Doe"))).isEmpty();
+	}
+
+	@Test void testSearch_whenDisabled() {
+		final var disabledSearchIndex = new PassportStatusSearchIndex(entityManager, mapper, new SimpleMeterRegistry(), new SearchIndexProperties(false, 16), repository, transactionManager);
+		disabledSearchIndex.load();
+
+		assertThat(disabledSearchIndex.isReady()).isFalse();
+		assertThat(disabledSearchIndex.search(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "John", "Doe"))).isEmpty();
+	}
+
+	@Test void testLoadAndSearch() {
+		final var passportStatus = passportStatus("id-1", "sid-1", 1L, "Jean-François", "O'Brien");
+		when(repository.streamAllLatest()).thenReturn(Stream.of(new PassportStatusEntity()));
+		when(mapper.fromEntity(any())).thenReturn(passportStatus);
+
+		searchIndex.load();
+
+		assertThat(searchIndex.isReady()).isTrue();
+		assertThat(searchIndex.size()).isEqualTo(1);
+		assertThat(searchIndex.estimatedHeapBytesPerMillionEntries()).isPositive();
+		assertThat(searchIndex.search(SearchKey.ofFileNumber(DATE_OF_BIRTH, "abcd1234", "jean francois", "OBRIEN"))).contains(List.of(passportStatus));
+		assertThat(searchIndex.search(SearchKey.ofEmail(DATE_OF_BIRTH, "SID-1@EXAMPLE.COM", "Jean-François", "O'Brien"))).contains(List.of(passportStatus));
+		assertThat(searchIndex.search(SearchKey.ofFileNumber(DATE_OF_BIRTH, "abcd1234", "john", "doe"))).contains(List.of());
+	}
+
+	@Test void testCreatedEvent_replacesOlderVersion() {
+		loadEmpty();
+
+		final var bobby = passportStatus("id-1", "sid-1", 1L, "Bobby", "Ross");
+		final var bob = passportStatus("id-2", "sid-1", 2L, "Bob", "Ross");
+		searchIndex.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(bobby));
+		searchIndex.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(bob));
+
+		// an out-of-order (older) version must not replace the newer one
+		searchIndex.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(bobby));
+
+		assertThat(searchIndex.size()).isEqualTo(1);
+		assertThat(searchIndex.search(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "Bob", "Ross"))).contains(List.of(bob));
+		assertThat(searchIndex.search(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "Bobby", "Ross"))).contains(List.of());
+	}
+
+	@Test void testCreatedEvent_nonUniqueResults() {
+		loadEmpty();
+
+		final var first = passportStatus("id-1", "sid-1", 1L, "John", "Doe");
+		final var second = passportStatus("id-2", "sid-2", 1L, "John", "Doe");
+		searchIndex.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(first));
+		searchIndex.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(second));
+
+		assertThat(searchIndex.search(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "John", "Doe")).orElseThrow()).containsExactlyInAnyOrder(first, second);
+	}
+
+	@Test void testDeletedEvent_restoresPreviousVersion() {
+		loadEmpty();
+
+		final var bobby = passportStatus("id-1", "sid-1", 1L, "Bobby", "Ross");
+		final var bob = passportStatus("id-2", "sid-1", 2L, "Bob", "Ross");
+		searchIndex.handlePassportStatusCreatedEvent(ImmutablePassportStatusCreatedEvent.of(bob));
+
+		when(repository.findAllByApplicationRegisterSid("sid-1")).thenReturn(List.of(new PassportStatusEntity()));
+		when(mapper.fromEntity(any())).thenReturn(bobby);
+		searchIndex.handlePassportStatusDeletedEvent(ImmutablePassportStatusDeletedEvent.of(bob));
+
+		assertThat(searchIndex.size()).isEqualTo(1);
+		assertThat(searchIndex.search(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "Bob", "Ross"))).contains(List.of());
+		assertThat(searchIndex.search(SearchKey.ofFileNumber(DATE_OF_BIRTH, "ABCD1234", "Bobby", "Ross"))).contains(List.of(bobby));
+	}
+
+	void loadEmpty() {
+		when(repository.streamAllLatest()).thenReturn(Stream.empty());
+		searchIndex.load();
+	}
+
+	PassportStatus passportStatus(String id, String applicationRegisterSid, Long version, String givenName, String surname) {
+		return ImmutablePassportStatus.builder()
+			.id(id)
+			.applicationRegisterSid(applicationRegisterSid)
+			.dateOfBirth(DATE_OF_BIRTH)
+			.email(applicationRegisterSid + "@example.com")
+			.fileNumber("ABCD1234")
+			.givenName(givenName)
+			.surname(surname)
+			.version(version)
+			.build();
+	}
+
+}
@@ -25,4 +25,43 @@ class StringUtilsTests {
 			Arguments.of("(A)B,.C|d_e1é@!.>", "ABCde1")
 		);
 	}
+
+	@ParameterizedTest
+	@MethodSource
+	void testNormalizeName(String input, String expected) {
+		final var act = StringUtils.normalizeName(input);
+		assertThat(act).isEqualTo(expected);
+	}
+
+	private static Stream<Arguments> testNormalizeName() {
+		return Stream.of(
+			Arguments.of(null, null),
+			Arguments.of("", ""),
+			Arguments.of("Jean-François", "jeanfrancois"),
+			Arguments.of("O'Brien", "obrien"),
+			Arguments.of("ÉLÈVE 2", "eleve2"),
+			Arguments.of("Groß", "gross"),
+			Arguments.of("Gross", "gross"),
+			Arguments.of("Ærøskøbing", "aeroskobing"),
+			Arguments.of("Øyvind", "oyvind"),
+			Arguments.of("Œuvre", "oeuvre"),
+			Arguments.of("Łukasz", "lukasz")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource
+	void testNormalizeIdentifier(String input, String expected) {
+		final var act = StringUtils.normalizeIdentifier(input);
+		assertThat(act).isEqualTo(expected);
+	}
+
+	private static Stream<Arguments> testNormalizeIdentifier() {
+		return Stream.of(
+			Arguments.of(null, null),
+			Arguments.of("", ""),
+			Arguments.of("ABCD1234", "abcd1234"),
+			Arguments.of("User@Example.COM", "user@example.com")
+		);
+	}
 }
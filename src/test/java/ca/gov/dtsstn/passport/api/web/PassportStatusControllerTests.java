@@ -0,0 +1,259 @@
+package ca.gov.dtsstn.passport.api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ca.gov.dtsstn.passport.api.config.properties.AdmissionControlProperties;
+import ca.gov.dtsstn.passport.api.config.properties.SynchronousCreateProperties;
+import ca.gov.dtsstn.passport.api.service.PassportStatusJmsService;
+import ca.gov.dtsstn.passport.api.service.PassportStatusQueueMonitor;
+import ca.gov.dtsstn.passport.api.service.PassportStatusService;
+import ca.gov.dtsstn.passport.api.service.PassportStatusService.CreateResult;
+import ca.gov.dtsstn.passport.api.service.domain.ImmutablePassportStatus;
+import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
+import ca.gov.dtsstn.passport.api.web.exception.ServiceUnavailableException;
+import ca.gov.dtsstn.passport.api.web.model.GetCertificateApplicationRepresentationModel;
+import ca.gov.dtsstn.passport.api.web.model.ImmutableCreateCertificateApplicationRequestModel;
+import ca.gov.dtsstn.passport.api.web.model.IssueModel;
+import ca.gov.dtsstn.passport.api.web.model.PassportStatusBulkCreateLineErrorModel;
+import ca.gov.dtsstn.passport.api.web.model.assembler.GetCertificateApplicationRepresentationModelAssembler;
+import ca.gov.dtsstn.passport.api.web.model.mapper.CertificateApplicationModelMapper;
+
+/**
+ * Tests for {@link PassportStatusController}.
+ *
+ * @author Greg Baker (gregory.j.baker@hrsdc-rhdcc.gc.ca)
+ */
+@ExtendWith({ MockitoExtension.class })
+class PassportStatusControllerTests {
+
+	static final Duration RETRY_AFTER = Duration.ofSeconds(7);
+
+	PassportStatusController controller;
+
+	@Mock ApplicationEventPublisher eventPublisher;
+
+	@Mock GetCertificateApplicationRepresentationModelAssembler assembler;
+
+	@Mock CertificateApplicationModelMapper mapper;
+
+	@Mock PassportStatusJmsService passportStatusJmsService;
+
+	@Mock PassportStatusQueueMonitor passportStatusQueueMonitor;
+
+	@Mock PassportStatusService passportStatusService;
+
+	@Mock SpringValidatorAdapter validator;
+
+	final PassportStatus passportStatus = ImmutablePassportStatus.builder().applicationRegisterSid("sid").version(1L).build();
+
+	@BeforeEach void beforeEach() {
+		final var admissionControlProperties = new AdmissionControlProperties(true, 100_000, Duration.ofMinutes(5), RETRY_AFTER, Duration.ofSeconds(1));
+		final var synchronousCreateProperties = new SynchronousCreateProperties(1, Duration.ofMillis(10), RETRY_AFTER);
+
+		this.controller = new PassportStatusController(admissionControlProperties, eventPublisher, assembler, mapper, new ObjectMapper().findAndRegisterModules(), passportStatusJmsService, passportStatusQueueMonitor, passportStatusService, synchronousCreateProperties, validator);
+
+		lenient().when(mapper.toDomain(any())).thenReturn(passportStatus);
+	}
+
+	@Test void testCreate_synchronous_whenCreated() {
+		final var model = mock(GetCertificateApplicationRepresentationModel.class);
+		when(passportStatusService.create(passportStatus)).thenReturn(new CreateResult(passportStatus, true));
+		when(assembler.toModel(passportStatus)).thenReturn(model);
+
+		final var response = controller.create(ImmutableCreateCertificateApplicationRequestModel.builder().build(), "false");
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(response.getBody()).isSameAs(model);
+		verifyNoInteractions(passportStatusJmsService);
+	}
+
+	@Test void testCreate_synchronous_whenReplayed() {
+		final var existingPassportStatus = ImmutablePassportStatus.copyOf(passportStatus).withId("existing-id");
+		final var model = mock(GetCertificateApplicationRepresentationModel.class);
+		when(passportStatusService.create(passportStatus)).thenReturn(new CreateResult(existingPassportStatus, false));
+		when(assembler.toModel(existingPassportStatus)).thenReturn(model);
+
+		final var response = controller.create(ImmutableCreateCertificateApplicationRequestModel.builder().build(), "false");
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isSameAs(model);
+	}
+
+	@Test void testCreate_synchronous_whenNoPermitsAvailable() throws Exception {
+		final var createStarted = new CountDownLatch(1);
+		final var createReleased = new CountDownLatch(1);
+
+		when(passportStatusService.create(passportStatus)).thenAnswer(invocation -> {
+			createStarted.countDown();
+			createReleased.await(10, TimeUnit.SECONDS);
+			return new CreateResult(passportStatus, true);
+		});
+
+		// the only permit is held by a create that has not finished yet
+		final var heldCreate = CompletableFuture.runAsync(() -> controller.create(ImmutableCreateCertificateApplicationRequestModel.builder().build(), "false"));
+		assertThat(createStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+		try {
+			final var exception = catchThrowableOfType(() -> controller.create(ImmutableCreateCertificateApplicationRequestModel.builder().build(), "false"), ServiceUnavailableException.class);
+			assertThat(exception).isNotNull();
+
+			final var response = new ApiErrorHandler().handleServiceUnavailableException(exception, new ServletWebRequest(new MockHttpServletRequest()));
+			assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+			assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+		}
+		finally {
+			createReleased.countDown();
+			heldCreate.get(10, TimeUnit.SECONDS);
+		}
+
+		// the permit is returned once the held create finishes
+		controller.create(ImmutableCreateCertificateApplicationRequestModel.builder().build(), "false");
+		verify(passportStatusService, times(2)).create(passportStatus);
+	}
+
+	@Test void testBulkCreate_mixedLines() throws Exception {
+		final var batchSizes = recordBatchSizes();
+
+		// line 2 and 6 are blank (and skipped); lines 3, 5 and 7 are invalid
+		final var response = controller.bulkCreate(ndjson("{}", "", "{not json", "{}", "{} {}", "   ", "[]", "{}\r"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+		assertThat(response.getBody().getAcceptedCount()).isEqualTo(3);
+		assertThat(response.getBody().getRejectedCount()).isEqualTo(3);
+		assertThat(response.getBody().getFirstUnprocessedLineNumber()).isNull();
+		assertThat(response.getBody().getLineErrors()).extracting(PassportStatusBulkCreateLineErrorModel::getLineNumber).containsExactly(3L, 5L, 7L);
+		assertThat(response.getBody().getLineErrors()).flatExtracting(PassportStatusBulkCreateLineErrorModel::getIssues).extracting(IssueModel::getIssueCode).containsOnly("API-0400");
+		assertThat(batchSizes).containsExactly(3);
+	}
+
+	@Test void testBulkCreate_whenLineCannotBeMapped() throws Exception {
+		final var batchSizes = recordBatchSizes();
+		when(mapper.toDomain(any())).thenReturn(passportStatus).thenThrow(new IllegalArgumentException("unknown status code")).thenReturn(passportStatus);
+
+		final var response = controller.bulkCreate(ndjson("{}", "{}", "{}"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+		assertThat(response.getBody().getAcceptedCount()).isEqualTo(2);
+		assertThat(response.getBody().getLineErrors()).singleElement()
+			.satisfies(lineError -> assertThat(lineError.getLineNumber()).isEqualTo(2))
+			.satisfies(lineError -> assertThat(lineError.getIssues()).extracting(IssueModel::getIssueCode).containsExactly("API-0422"));
+		assertThat(batchSizes).containsExactly(2);
+	}
+
+	@Test void testBulkCreate_whenLineTooLong() throws Exception {
+		final var batchSizes = recordBatchSizes();
+		final var tooLongLine = "{\"x\":\"" + "x".repeat(64 * 1024) + "\"}";
+
+		final var response = controller.bulkCreate(ndjson("{}", tooLongLine, "{}"));
+
+		assertThat(response.getBody().getAcceptedCount()).isEqualTo(2);
+		assertThat(response.getBody().getRejectedCount()).isEqualTo(1);
+		assertThat(response.getBody().getLineErrors()).singleElement().extracting(PassportStatusBulkCreateLineErrorModel::getLineNumber).isEqualTo(2L);
+		assertThat(batchSizes).containsExactly(2);
+	}
+
+	@Test void testBulkCreate_lineErrorsAreCapped() throws Exception {
+		final var lines = new ArrayList<String>();
+		lines.add("{}");
+		IntStream.range(0, 1005).forEach(i -> lines.add("{not json"));
+
+		final var response = controller.bulkCreate(ndjson(lines.toArray(String[]::new)));
+
+		assertThat(response.getBody().getAcceptedCount()).isEqualTo(1);
+		assertThat(response.getBody().getRejectedCount()).isEqualTo(1005);
+		assertThat(response.getBody().getLineErrors()).hasSize(1000);
+		assertThat(response.getBody().getLineErrors().get(999).getLineNumber()).isEqualTo(1001);
+	}
+
+	@Test void testBulkCreate_batchBoundaries() throws Exception {
+		final var batchSizes = recordBatchSizes();
+
+		assertThat(controller.bulkCreate(ndjson(Collections.nCopies(100, "{}").toArray(String[]::new))).getBody().getAcceptedCount()).isEqualTo(100);
+		assertThat(batchSizes).containsExactly(100);
+
+		batchSizes.clear();
+
+		assertThat(controller.bulkCreate(ndjson(Collections.nCopies(101, "{}").toArray(String[]::new))).getBody().getAcceptedCount()).isEqualTo(101);
+		assertThat(batchSizes).containsExactly(100, 1);
+	}
+
+	@Test void testBulkCreate_whenBatchCannotBeQueued() throws Exception {
+		final var batchSizes = recordBatchSizes();
+		doAnswer(invocation -> { batchSizes.add(invocation.getArgument(0, List.class).size()); return null; })
+			.doThrow(new UncategorizedJmsException("broker unavailable"))
+			.when(passportStatusJmsService).sendAll(any());
+
+		// line 2 is invalid, so the second batch starts at line 102
+		final var lines = new ArrayList<>(Collections.nCopies(250, "{}"));
+		lines.add(1, "{not json");
+
+		final var response = controller.bulkCreate(ndjson(lines.toArray(String[]::new)));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+		assertThat(response.getBody().getAcceptedCount()).isEqualTo(100);
+		assertThat(response.getBody().getRejectedCount()).isEqualTo(1);
+		assertThat(response.getBody().getFirstUnprocessedLineNumber()).isEqualTo(102);
+		assertThat(batchSizes).containsExactly(100);
+	}
+
+	@Test void testBulkCreate_whenQueueSaturated() {
+		when(passportStatusQueueMonitor.isSaturated()).thenReturn(true);
+
+		final var exception = catchThrowableOfType(() -> controller.bulkCreate(ndjson("{}")), ServiceUnavailableException.class);
+
+		assertThat(exception).isNotNull();
+		assertThat(exception.getRetryAfter()).isEqualTo(RETRY_AFTER);
+		verifyNoInteractions(passportStatusJmsService);
+	}
+
+	/**
+	 * Records the size of each batch sent to the queue (the controller reuses its batch list, so it cannot be captured).
+	 */
+	List<Integer> recordBatchSizes() {
+		final var batchSizes = new ArrayList<Integer>();
+		lenient().doAnswer(invocation -> batchSizes.add(invocation.getArgument(0, List.class).size())).when(passportStatusJmsService).sendAll(any());
+		return batchSizes;
+	}
+
+	InputStream ndjson(String... lines) {
+		return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -20,8 +20,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import ca.gov.dtsstn.passport.api.service.SourceCodeService;
-import ca.gov.dtsstn.passport.api.service.StatusCodeService;
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry;
 import ca.gov.dtsstn.passport.api.service.domain.ImmutablePassportStatus;
 import ca.gov.dtsstn.passport.api.service.domain.ImmutableStatusCode;
 import ca.gov.dtsstn.passport.api.service.domain.PassportStatus;
@@ -51,15 +50,11 @@ class CertificateApplicationModelMapperTests {
 	CertificateApplicationModelMapper mapper = Mappers.getMapper(CertificateApplicationModelMapper.class);
 
 	@Mock
-	private SourceCodeService sourceCodeService;
-
-	@Mock
-	private StatusCodeService statusCodeService;
+	private ReferenceDataRegistry referenceDataRegistry;
 
 	@BeforeEach
 	void setUp() {
-		ReflectionTestUtils.setField(mapper, "sourceCodeService", sourceCodeService);
-		ReflectionTestUtils.setField(mapper, "statusCodeService", statusCodeService);
+		ReflectionTestUtils.setField(mapper, "referenceDataRegistry", referenceDataRegistry);
 	}
 
 	@Test
@@ -189,7 +184,7 @@ class CertificateApplicationModelMapperTests {
 
 	@Test
 	void testToModel_nonnull() {
-		when(statusCodeService.read(any())).thenReturn(Optional.ofNullable(ImmutableStatusCode.builder().cdoCode(STATUS_CODE__FILE_BEING_PROCESSED__CDO_CODE).build()));
+		when(referenceDataRegistry.readStatusCode(any())).thenReturn(Optional.ofNullable(ImmutableStatusCode.builder().cdoCode(STATUS_CODE__FILE_BEING_PROCESSED__CDO_CODE).build()));
 
 		final var applicationRegisterSid = "https://open.spotify.com/track/7GonnnalI2s19OCQO1J7Tf";
 		final var dateOfBirth = LocalDate.of(2004, 12, 8);
@@ -273,7 +268,7 @@ class CertificateApplicationModelMapperTests {
 			.extracting(StatusDateModel::getDate)
 			.isEqualTo(statusDate.toString());
 
-		verify(statusCodeService).read(any());
+		verify(referenceDataRegistry).readStatusCode(any());
 	}
 
 	@Test
@@ -283,7 +278,7 @@ class CertificateApplicationModelMapperTests {
 
 	@Test
 	void testToDomain_nonnull() throws Exception {
-		when(statusCodeService.readByCdoCode(any())).thenReturn(Optional.ofNullable(ImmutableStatusCode.builder().id(STATUS_CODE__FILE_BEING_PROCESSED__ID).build()));
+		when(referenceDataRegistry.readStatusCodeByCdoCode(any())).thenReturn(Optional.ofNullable(ImmutableStatusCode.builder().id(STATUS_CODE__FILE_BEING_PROCESSED__ID).build()));
 
 		final var objectMapper = new ObjectMapper().findAndRegisterModules();
 
@@ -349,13 +344,13 @@ class CertificateApplicationModelMapperTests {
 			.extracting(PassportStatus::getStatusDate)
 			.isEqualTo(LocalDate.of(2000, 01, 01));
 
-		verify(statusCodeService).readByCdoCode(any());
+		verify(referenceDataRegistry).readStatusCodeByCdoCode(any());
 	}
 
 	@Test
 	void testToStatusCodeId() {
 		// arrange
-		when(statusCodeService.readByCdoCode(any())).thenReturn(Optional.ofNullable(ImmutableStatusCode.builder().id(STATUS_CODE__FILE_BEING_PROCESSED__ID).build()));
+		when(referenceDataRegistry.readStatusCodeByCdoCode(any())).thenReturn(Optional.ofNullable(ImmutableStatusCode.builder().id(STATUS_CODE__FILE_BEING_PROCESSED__ID).build()));
 
 		final var certificateApplicationStatusModel = ImmutableCertificateApplicationStatusModel.builder().statusCode(STATUS_CODE__FILE_BEING_PROCESSED__CDO_CODE).build();
 
@@ -364,19 +359,19 @@ class CertificateApplicationModelMapperTests {
 
 		// assert
 		assertThat(act).isEqualTo(STATUS_CODE__FILE_BEING_PROCESSED__ID);
-		verify(statusCodeService).readByCdoCode(any());
+		verify(referenceDataRegistry).readStatusCodeByCdoCode(any());
 	}
 
 	@Test
 	void testToStatusCdoCode() {
 		// arrange
-		when(statusCodeService.read(any())).thenReturn(Optional.ofNullable(ImmutableStatusCode.builder().cdoCode(STATUS_CODE__FILE_BEING_PROCESSED__CDO_CODE).build()));
+		when(referenceDataRegistry.readStatusCode(any())).thenReturn(Optional.ofNullable(ImmutableStatusCode.builder().cdoCode(STATUS_CODE__FILE_BEING_PROCESSED__CDO_CODE).build()));
 
 		// act
 		final var act = mapper.toStatusCdoCode(STATUS_CODE__FILE_BEING_PROCESSED__ID);
 
 		// assert
 		assertThat(act).isEqualTo(STATUS_CODE__FILE_BEING_PROCESSED__CDO_CODE);
-		verify(statusCodeService).read(any());
+		verify(referenceDataRegistry).readStatusCode(any());
 	}
 }
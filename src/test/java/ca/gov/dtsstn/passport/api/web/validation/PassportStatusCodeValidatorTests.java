@@ -18,7 +18,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import ca.gov.dtsstn.passport.api.service.StatusCodeService;
+import ca.gov.dtsstn.passport.api.service.ReferenceDataRegistry;
 import ca.gov.dtsstn.passport.api.service.domain.ImmutableStatusCode;
 import ca.gov.dtsstn.passport.api.service.domain.StatusCode;
 
@@ -31,11 +31,11 @@ class PassportStatusCodeValidatorTests {
 	PassportStatusCodeValidator validator;
 
 	@Mock
-	StatusCodeService statusCodeService;
+	ReferenceDataRegistry referenceDataRegistry;
 
 	@BeforeEach
 	void init() {
-		validator = new PassportStatusCodeValidator(statusCodeService);
+		validator = new PassportStatusCodeValidator(referenceDataRegistry);
 	}
 
 	@Test
@@ -45,21 +45,21 @@ class PassportStatusCodeValidatorTests {
 
 		// assert
 		assertThat(act).isTrue();
-		verify(statusCodeService, never()).readByCdoCode(any());
+		verify(referenceDataRegistry, never()).readStatusCodeByCdoCode(any());
 	}
 
 	@ParameterizedTest
 	@MethodSource
 	void testIsValid_WithValue(Optional<StatusCode> readByCdoCodeValue, boolean expected) {
 		// arrange
-		when(statusCodeService.readByCdoCode(any())).thenReturn(readByCdoCodeValue);
+		when(referenceDataRegistry.readStatusCodeByCdoCode(any())).thenReturn(readByCdoCodeValue);
 
 		// act
 		var act = validator.isValid("mock-code", null);
 
 		// assert
 		assertThat(act).isEqualTo(expected);
-		verify(statusCodeService).readByCdoCode(any());
+		verify(referenceDataRegistry).readStatusCodeByCdoCode(any());
 	}
 
 	private static Stream<Arguments> testIsValid_WithValue() {